@@ -4,13 +4,24 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
+import com.cgi.bank.account.config.AsyncOperationProperties;
+import com.cgi.bank.account.config.BalanceCacheProperties;
+import com.cgi.bank.account.config.CacheInvalidationProperties;
 import com.cgi.bank.account.config.ExchangeRateProperties;
+import com.cgi.bank.account.config.HoldProperties;
+import com.cgi.bank.account.config.IdempotencyProperties;
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.config.TransactionExportProperties;
+import com.cgi.bank.account.config.VirtualThreadProperties;
 
 /**
  * Main application class for the account-service.
  */
 @SpringBootApplication
-@EnableConfigurationProperties(ExchangeRateProperties.class)
+@EnableConfigurationProperties({AsyncOperationProperties.class, BalanceCacheProperties.class,
+        CacheInvalidationProperties.class, ExchangeRateProperties.class, HoldProperties.class,
+        IdempotencyProperties.class, LedgerProperties.class, TransactionExportProperties.class,
+        VirtualThreadProperties.class})
 public class AccountServiceApplication {
 
     public static void main(String[] args) {
@@ -2,27 +2,44 @@ package com.cgi.bank.account.config;
 
 import java.util.concurrent.Executor;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * Configuration for asynchronous task execution.
- * Enables async processing and configures a thread pool for executing async tasks.
+ * Enables async processing and configures the executor for async tasks, backed by a small thread pool or,
+ * when virtual threads are enabled, by one virtual thread per task.
+ * Also enables scheduled maintenance tasks such as purging expired idempotency keys.
  */
 @Configuration
 @EnableAsync
+@EnableScheduling
+@Slf4j
 public class AsyncConfig {
 
     /**
      * Creates a custom task executor for asynchronous operations.
      * This executor is used for background tasks like notification sending.
      *
+     * @param environment the environment, checked for a virtual thread request this runtime cannot honour
      * @return A configured ThreadPoolTaskExecutor
      */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor taskExecutor(Environment environment) {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("Virtual threads are enabled but the runtime is Java {}; using platform threads",
+                    Runtime.version().feature());
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
@@ -31,4 +48,21 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Creates the task executor used when virtual threads are enabled.
+     * Each task gets its own virtual thread, so notifications blocked on I/O do not hold a pool thread;
+     * the concurrency limit makes submitters wait instead of starting unbounded work.
+     *
+     * @param properties the virtual thread settings
+     * @return a SimpleAsyncTaskExecutor that starts virtual threads
+     */
+    @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualThreadTaskExecutor(VirtualThreadProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("NotificationTask-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(properties.getMaxConcurrentNotifications());
+        return executor;
+    }
+}
@@ -0,0 +1,77 @@
+package com.cgi.bank.account.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for write operations accepted with {@code Prefer: respond-async}.
+ * Binds to values under the 'app.async-operations' prefix in application configuration.
+ */
+@ConfigurationProperties(prefix = "app.async-operations")
+@Getter
+@Setter
+@Validated
+public class AsyncOperationProperties {
+
+    /**
+     * Number of worker threads executing accepted operations.
+     */
+    @Min(1)
+    private int workers = 4;
+
+    /**
+     * Number of accepted operations waiting for a worker in memory; beyond it, operations stay stored as
+     * pending until the sweep picks them up.
+     */
+    @Min(1)
+    private int queueCapacity = 10_000;
+
+    /**
+     * How often stored operations that no worker picked up are dispatched again.
+     */
+    @NotNull
+    private Duration sweepInterval = Duration.ofSeconds(5);
+
+    /**
+     * How long an operation may stay pending before the sweep dispatches it.
+     */
+    @NotNull
+    private Duration sweepDelay = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of pending operations dispatched by one sweep.
+     */
+    @Min(1)
+    private int sweepBatchSize = 500;
+
+    /**
+     * How long an operation may stay running before it is considered abandoned by a stopped instance.
+     */
+    @NotNull
+    private Duration runningTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Upper bound for the {@code wait} of a long-poll request.
+     */
+    @NotNull
+    private Duration maxWait = Duration.ofSeconds(30);
+
+    /**
+     * How long finished operations can be polled before they are deleted.
+     */
+    @NotNull
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * How often finished operations past their retention are deleted from the database.
+     */
+    @NotNull
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,40 @@
+package com.cgi.bank.account.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the in-process cache of account balances.
+ * Binds to values under the 'app.balance-cache' prefix in application configuration.
+ */
+@ConfigurationProperties(prefix = "app.balance-cache")
+@Getter
+@Setter
+@Validated
+public class BalanceCacheProperties {
+
+    /**
+     * Whether balance reads are answered from the cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of accounts whose balances are cached.
+     */
+    @Min(1)
+    private long maximumSize = 100_000;
+
+    /**
+     * How long cached balances are served after they were last written, bounding how stale they can be when
+     * they were changed outside this instance's write paths.
+     */
+    @NotNull
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,73 @@
+package com.cgi.bank.account.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for cross-instance invalidation of the balance cache over PostgreSQL
+ * {@code LISTEN}/{@code NOTIFY}.
+ * Binds to values under the 'app.cache-invalidation' prefix in application configuration.
+ */
+@ConfigurationProperties(prefix = "app.cache-invalidation")
+@Getter
+@Setter
+@Validated
+public class CacheInvalidationProperties {
+
+    /**
+     * Whether changed accounts are published to, and evicted on notice from, other instances.
+     * Requires PostgreSQL.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Notification channel shared by all instances; used unquoted in {@code LISTEN}.
+     */
+    @NotNull
+    @Pattern(regexp = "[a-z_][a-z0-9_]*")
+    private String channel = "balance_changes";
+
+    /**
+     * Maximum number of account IDs collected before they are published.
+     */
+    @Min(1)
+    private int maxBatchSize = 1000;
+
+    /**
+     * How long the publisher waits for more changed accounts after the first one before publishing.
+     */
+    @NotNull
+    private Duration maxWait = Duration.ofMillis(10);
+
+    /**
+     * Capacity of the queue of changed accounts; when it is full, all instances are asked to flush instead.
+     */
+    @Min(1)
+    private int queueCapacity = 10_000;
+
+    /**
+     * How long the listener waits for notifications before checking whether it should stop.
+     */
+    @NotNull
+    private Duration pollTimeout = Duration.ofMillis(500);
+
+    /**
+     * How long the listener connection may stay silent before it is validated.
+     */
+    @NotNull
+    private Duration validationInterval = Duration.ofSeconds(30);
+
+    /**
+     * Delay before reconnecting the listener, or publishing again, after a database error.
+     */
+    @NotNull
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,28 @@
+package com.cgi.bank.account.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+/**
+ * Transaction configuration for the group-commit writer.
+ * The writer's operations are {@code @Transactional} service calls that join the batch transaction. By default a
+ * participating call that fails marks the whole transaction rollback-only, which would discard the batch even
+ * though the writer rolled the failed operation back to its savepoint; here the writer decides instead.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.ledger.group-commit", name = "enabled", havingValue = "true")
+public class GroupCommitConfig {
+
+    /**
+     * Lets the transaction originator decide on rollback when a participating transaction fails.
+     *
+     * @return the customizer applied to the auto-configured transaction manager
+     */
+    @Bean
+    public TransactionManagerCustomizer<AbstractPlatformTransactionManager> participationFailureCustomizer() {
+        return transactionManager -> transactionManager.setGlobalRollbackOnParticipationFailure(false);
+    }
+}
@@ -0,0 +1,67 @@
+package com.cgi.bank.account.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for funds reservations (holds).
+ * Binds to values under the 'app.holds' prefix in application configuration.
+ */
+@ConfigurationProperties(prefix = "app.holds")
+@Getter
+@Setter
+@Validated
+public class HoldProperties {
+
+    /**
+     * How long a hold stays active when the request does not set a time to live.
+     */
+    @NotNull
+    private Duration defaultTtl = Duration.ofDays(7);
+
+    /**
+     * Upper bound for the time to live of a hold.
+     */
+    @NotNull
+    private Duration maxTtl = Duration.ofDays(30);
+
+    /**
+     * Resolution of the expiry timer wheel; holds expire at most one tick late.
+     */
+    @NotNull
+    private Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * Number of buckets in the expiry timer wheel. Holds further away than one revolution stay in their bucket
+     * for the remaining revolutions.
+     */
+    @Min(16)
+    private int wheelSize = 4096;
+
+    /**
+     * How often active holds past their expiry are looked up in the database, to expire holds placed by an
+     * instance that stopped before its wheel released them.
+     */
+    @NotNull
+    private Duration recoveryInterval = Duration.ofMinutes(1);
+
+    /**
+     * How long a hold must be past its expiry before the recovery expires it, so holds are normally left to the
+     * wheel of the instance that placed them.
+     */
+    @NotNull
+    private Duration recoveryGrace = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of overdue holds expired by one recovery run.
+     */
+    @Min(1)
+    private int recoveryBatchSize = 500;
+}
@@ -0,0 +1,53 @@
+package com.cgi.bank.account.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for idempotent write requests.
+ * Binds to values under the 'app.idempotency' prefix in application configuration.
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+@Validated
+public class IdempotencyProperties {
+
+    /**
+     * How long a completed request is remembered and replayed for its key.
+     */
+    @NotNull
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Maximum number of completed requests kept in the in-memory cache in front of the database.
+     */
+    @Min(0)
+    private long cacheSize = 10_000;
+
+    /**
+     * How long a duplicate request waits for the in-flight request with the same key before returning 409.
+     */
+    @NotNull
+    private Duration inFlightTimeout = Duration.ofSeconds(5);
+
+    /**
+     * How long a request holds its key while in progress; after that, a retry may take the key over, since the
+     * instance running the first request is presumed to have stopped. Must exceed the longest write.
+     */
+    @NotNull
+    private Duration claimTimeout = Duration.ofMinutes(1);
+
+    /**
+     * How often expired keys are deleted from the database.
+     */
+    @NotNull
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,454 @@
+package com.cgi.bank.account.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the ledger write path.
+ * Binds to values under the 'app.ledger' prefix in application configuration.
+ */
+@ConfigurationProperties(prefix = "app.ledger")
+@Getter
+@Setter
+@Validated
+public class LedgerProperties {
+
+    /**
+     * Which {@code AccountService} implementation serves ledger operations.
+     */
+    @NotNull
+    private Engine engine = Engine.JPA;
+
+    /**
+     * Settings for the in-memory sharded ledger engine.
+     */
+    @Valid
+    private InMemory inMemory = new InMemory();
+
+    /**
+     * Settings for the write-ahead journal of the in-memory ledger engine.
+     */
+    @Valid
+    private Journal journal = new Journal();
+
+    /**
+     * Settings for the in-process per-account lock manager.
+     */
+    @Valid
+    private Lock lock = new Lock();
+
+    /**
+     * Settings for server-side retries of optimistic-lock conflicts.
+     */
+    @Valid
+    private Retry retry = new Retry();
+
+    /**
+     * Settings for the group-commit writer that applies many operations in one database transaction.
+     */
+    @Valid
+    private GroupCommit groupCommit = new GroupCommit();
+
+    /**
+     * Settings for the batch operations and bulk account creation endpoints.
+     */
+    @Valid
+    private Batch batch = new Batch();
+
+    /**
+     * Settings for splitting the balances of hot accounts into slot rows.
+     */
+    @Valid
+    private HotAccounts hotAccounts = new HotAccounts();
+
+    /**
+     * Which rows carry the optimistic version check for entity-based writes.
+     */
+    @NotNull
+    private Versioning versioning = Versioning.AGGREGATE;
+
+    /**
+     * How deposits are written to the database.
+     */
+    @NotNull
+    private DepositMode depositMode = DepositMode.ENTITY;
+
+    /**
+     * How withdrawals are written to the database.
+     */
+    @NotNull
+    private WithdrawMode withdrawMode = WithdrawMode.ENTITY;
+
+    /**
+     * Ledger engine implementations.
+     */
+    public enum Engine {
+        /**
+         * Every operation is a JPA transaction against the database.
+         */
+        JPA,
+
+        /**
+         * Balances live in memory, owned by single-threaded shards, and are persisted asynchronously.
+         */
+        IN_MEMORY
+    }
+
+    /**
+     * Optimistic versioning strategies for entity-based writes.
+     */
+    public enum Versioning {
+        /**
+         * Load the whole account aggregate; adding a currency also increments the account version.
+         */
+        AGGREGATE,
+
+        /**
+         * Load only the balance rows; the accounts row is never read for update or rewritten, so operations
+         * on different currencies of the same account do not conflict.
+         */
+        BALANCE_ROW
+    }
+
+    /**
+     * Execution modes for deposits.
+     */
+    public enum DepositMode {
+        /**
+         * Load the account aggregate, create or update the balance in memory and flush both.
+         */
+        ENTITY,
+
+        /**
+         * Insert or increment the balance and record the transaction in one PostgreSQL statement.
+         */
+        UPSERT
+    }
+
+    /**
+     * Execution modes for withdrawals.
+     */
+    public enum WithdrawMode {
+        /**
+         * Load the account aggregate, subtract in memory and flush with optimistic version checks.
+         */
+        ENTITY,
+
+        /**
+         * Issue a single conditional UPDATE and detect insufficient funds from the affected row count.
+         */
+        CONDITIONAL_UPDATE
+    }
+
+    /**
+     * Striped lock settings used to serialize writes on the same account within one JVM.
+     */
+    @Getter
+    @Setter
+    public static class Lock {
+
+        /**
+         * Whether write operations acquire the account lock before opening the JPA transaction.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of lock stripes. Accounts are hashed onto stripes, so memory stays bounded.
+         */
+        @Min(1)
+        private int stripes = 64;
+
+        /**
+         * Whether stripes grant the lock to the longest waiting thread first.
+         */
+        private boolean fair = true;
+
+        /**
+         * Maximum time a request waits for its account stripe before giving up.
+         */
+        @NotNull
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Retry policy that re-runs a conflicting write in a fresh transaction before surfacing a 409.
+     */
+    @Getter
+    @Setter
+    public static class Retry {
+
+        /**
+         * Whether optimistic-lock conflicts are retried on the server.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of executions per operation, including the first one.
+         */
+        @Min(1)
+        private int maxAttempts = 4;
+
+        /**
+         * Backoff before the first retry; later retries grow by the multiplier.
+         */
+        @NotNull
+        private Duration initialBackoff = Duration.ofMillis(10);
+
+        /**
+         * Factor applied to the backoff after every failed attempt.
+         */
+        @DecimalMin("1.0")
+        private double multiplier = 2.0;
+
+        /**
+         * Upper bound for a single backoff.
+         */
+        @NotNull
+        private Duration maxBackoff = Duration.ofMillis(200);
+
+        /**
+         * Total time an operation may spend retrying before the conflict is returned to the client.
+         */
+        @NotNull
+        private Duration budget = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Micro-batching settings: operations are queued and a single writer thread commits them together.
+     */
+    @Getter
+    @Setter
+    public static class GroupCommit {
+
+        /**
+         * Whether write operations are routed through the group-commit writer.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of operations applied in one database transaction.
+         */
+        @Min(1)
+        private int maxBatchSize = 64;
+
+        /**
+         * Maximum time the writer waits for more operations after the first one of a batch arrived.
+         */
+        @NotNull
+        private Duration maxWait = Duration.ofNanos(200_000);
+
+        /**
+         * Number of operations that may wait for the writer; when full, callers commit on their own thread.
+         */
+        @Min(1)
+        private int queueCapacity = 10_000;
+    }
+
+    /**
+     * Settings for batches of operations and bulk account creation submitted in one request.
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * Number of operations applied and flushed per transaction in best-effort mode, and per flush in atomic
+         * mode. Best kept a multiple of {@code hibernate.jdbc.batch_size}.
+         */
+        @Min(1)
+        private int chunkSize = 500;
+
+        /**
+         * Maximum number of operations accepted in one request.
+         */
+        @Min(1)
+        private int maxOperations = 100_000;
+
+        /**
+         * Maximum number of accounts created by one bulk creation request.
+         */
+        @Min(1)
+        private int maxAccounts = 100_000;
+    }
+
+    /**
+     * Settings for hot accounts, whose balances are split into slot rows so concurrent deposits do not queue on
+     * a single balance row.
+     */
+    @Getter
+    @Setter
+    public static class HotAccounts {
+
+        /**
+         * Whether writes to flagged accounts use slot rows. Slot writes use PostgreSQL upserts.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Whether accounts are flagged automatically once they exceed the conflict threshold.
+         */
+        private boolean autoDetect = true;
+
+        /**
+         * Number of slots given to an automatically flagged account.
+         */
+        @Min(2)
+        private int defaultSlots = 8;
+
+        /**
+         * Upper bound for the slot count of an account.
+         */
+        @Min(2)
+        private int maxSlots = 64;
+
+        /**
+         * Optimistic-lock conflicts within the window after which an account is flagged.
+         */
+        @Min(1)
+        private int conflictThreshold = 50;
+
+        /**
+         * Window in which conflicts of an account are counted.
+         */
+        @NotNull
+        private Duration conflictWindow = Duration.ofSeconds(10);
+
+        /**
+         * Maximum number of accounts whose conflicts are counted at the same time.
+         */
+        @Min(1)
+        private int trackedAccounts = 10_000;
+
+        /**
+         * How often the flagged accounts are reloaded from the database, and slots of unflagged accounts are
+         * folded back into their balances.
+         */
+        @NotNull
+        private Duration refreshInterval = Duration.ofSeconds(10);
+
+        /**
+         * Maximum number of slot rows folded back by one refresh.
+         */
+        @Min(1)
+        private int consolidationBatchSize = 500;
+    }
+
+    /**
+     * Sharding and persistence settings for the in-memory ledger engine.
+     */
+    @Getter
+    @Setter
+    public static class InMemory {
+
+        /**
+         * Number of shards; each shard is owned by one thread and accounts are hashed onto shards.
+         */
+        @Min(1)
+        private int shards = 8;
+
+        /**
+         * Capacity of each shard's command buffer.
+         */
+        @Min(1)
+        private int ringBufferSize = 4096;
+
+        /**
+         * Maximum time a request waits for room in its shard's command buffer.
+         */
+        @NotNull
+        private Duration submitTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Maximum number of ledger entries written to the database in one batch.
+         */
+        @Min(1)
+        private int flushBatchSize = 500;
+
+        /**
+         * Maximum time ledger entries wait before a partial batch is written.
+         */
+        @NotNull
+        private Duration flushInterval = Duration.ofMillis(50);
+
+        /**
+         * Attempts at writing a batch before it is written one entry at a time, and at writing a single entry
+         * before it is quarantined. Attempts made while the database is unreachable are not counted.
+         */
+        @Min(1)
+        private int flushAttempts = 3;
+
+        /**
+         * Time between two attempts at writing the same entries.
+         */
+        @NotNull
+        private Duration flushRetryDelay = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Memory-mapped write-ahead journal that makes in-memory ledger changes durable before they are persisted.
+     */
+    @Getter
+    @Setter
+    public static class Journal {
+
+        /**
+         * Whether the in-memory engine journals every change before acknowledging it.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the journal segments.
+         */
+        @NotNull
+        private Path directory = Path.of("data", "journal");
+
+        /**
+         * Size of one memory-mapped segment file; a new segment is started when a record does not fit.
+         */
+        @NotNull
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * When appended records are forced to disk.
+         */
+        @NotNull
+        private FsyncPolicy fsync = FsyncPolicy.INTERVAL;
+
+        /**
+         * How often dirty pages are forced to disk with the interval policy.
+         */
+        @NotNull
+        private Duration fsyncInterval = Duration.ofMillis(10);
+    }
+
+    /**
+     * Policies for forcing journal records to disk.
+     */
+    public enum FsyncPolicy {
+        /**
+         * Force every append before the caller is acknowledged.
+         */
+        ALWAYS,
+
+        /**
+         * Force periodically; a crash of the machine loses at most one interval of acknowledged changes.
+         */
+        INTERVAL,
+
+        /**
+         * Leave flushing to the operating system; survives process crashes but not machine crashes.
+         */
+        NEVER
+    }
+}
@@ -0,0 +1,65 @@
+package com.cgi.bank.account.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Transaction configuration for the reactive profile, where JPA and R2DBC run side by side.
+ * Both transaction managers are declared here because the auto-configured ones back off as soon as any
+ * transaction manager exists; the JPA one stays primary, so {@code @Transactional} services are unaffected,
+ * and reactive services demarcate their transactions with the {@link TransactionalOperator}.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveDataConfig {
+
+    /**
+     * Creates the transaction manager used by {@code @Transactional} JPA services.
+     *
+     * @param entityManagerFactory the JPA entity manager factory
+     * @param customizers the customizers the auto-configured manager would have received
+     * @return the primary JPA transaction manager
+     */
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+            ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(available -> available.customize(transactionManager));
+        return transactionManager;
+    }
+
+    /**
+     * Creates the transaction manager for R2DBC connections.
+     *
+     * @param connectionFactory the R2DBC connection factory
+     * @return the reactive transaction manager
+     */
+    @Bean
+    public ReactiveTransactionManager reactiveTransactionManager(ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    /**
+     * Creates the operator that runs a reactive pipeline in an R2DBC transaction.
+     *
+     * @param reactiveTransactionManager the reactive transaction manager
+     * @return the transactional operator
+     */
+    @Bean
+    public TransactionalOperator transactionalOperator(ReactiveTransactionManager reactiveTransactionManager) {
+        return TransactionalOperator.create(reactiveTransactionManager);
+    }
+}
@@ -0,0 +1,46 @@
+package com.cgi.bank.account.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Security configuration for the reactive profile.
+ * Applies the same rules as {@link SecurityConfig} to the WebFlux filter chain.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    /**
+     * Configures security settings for the reactive application.
+     * - Disables CSRF for REST API
+     * - Keeps no security context between requests
+     * - Allows open access to API endpoints for now
+     * - Secures actuator endpoints
+     *
+     * @param http the ServerHttpSecurity to configure
+     * @return the configured SecurityWebFilterChain
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/api/v1/**").permitAll()
+                        .pathMatchers("/v3/api-docs/**", "/webjars/**").permitAll()
+                        .pathMatchers("/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .pathMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .pathMatchers("/actuator/**").authenticated()
+                        .anyExchange().authenticated())
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.cgi.bank.account.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.cgi.bank.account.exception.ServiceOverloadedException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Caps the number of API requests handled at the same time with a fair semaphore.
+ * With virtual threads the servlet container no longer bounds concurrency through its worker pool, so this
+ * limit, matched to the connection pool, keeps excess requests waiting here instead of on the pool, and
+ * rejects them with 503 once they have waited for the configured timeout.
+ */
+class RequestConcurrencyInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = RequestConcurrencyInterceptor.class.getName() + ".permit";
+
+    private final Semaphore permits;
+    private final int limit;
+    private final long timeoutNanos;
+
+    /**
+     * Creates an interceptor admitting at most {@code limit} concurrent requests.
+     *
+     * @param limit the number of permits
+     * @param properties the virtual thread settings holding the acquire timeout
+     */
+    RequestConcurrencyInterceptor(int limit, VirtualThreadProperties properties) {
+        this.permits = new Semaphore(limit, true);
+        this.limit = limit;
+        this.timeoutNanos = properties.getAcquireTimeout().toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException(limit, e);
+        }
+        if (!acquired) {
+            throw new ServiceOverloadedException(limit);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * Releases the permit when a handler hands the response to another thread; the dispatch that completes
+     * the response takes a permit of its own.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        release(request);
+    }
+
+    /**
+     * Returns the number of permits currently available.
+     *
+     * @return the available permits
+     */
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+}
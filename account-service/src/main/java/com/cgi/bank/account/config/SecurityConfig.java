@@ -1,6 +1,8 @@
 package com.cgi.bank.account.config;
 
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,9 +13,11 @@ import org.springframework.security.web.SecurityFilterChain;
 /**
  * Security configuration for the application.
  * Configures basic security settings like CSRF and endpoint access.
+ * The reactive profile uses {@link ReactiveSecurityConfig} instead.
  */
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class SecurityConfig {
 
     /**
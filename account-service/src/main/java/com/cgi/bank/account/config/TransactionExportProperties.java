@@ -0,0 +1,25 @@
+package com.cgi.bank.account.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the streaming transaction export.
+ * Binds to values under the 'app.transaction-export' prefix in application configuration.
+ */
+@ConfigurationProperties(prefix = "app.transaction-export")
+@Getter
+@Setter
+@Validated
+public class TransactionExportProperties {
+
+    /**
+     * Rows fetched from the database cursor per round trip; bounds the rows held in memory by one export.
+     */
+    @Min(1)
+    private int fetchSize = 1000;
+}
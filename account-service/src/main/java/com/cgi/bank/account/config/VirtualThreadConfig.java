@@ -0,0 +1,71 @@
+package com.cgi.bank.account.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards that apply when request handling runs on virtual threads ({@code spring.threads.virtual.enabled}
+ * on Java 21 or later), in which case Spring Boot already moves Tomcat and its own executors onto them.
+ * API requests are admitted through a semaphore sized like the connection pool, and pinned virtual threads
+ * are reported.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    /**
+     * Hikari's own default for {@code maximum-pool-size}.
+     */
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final RequestConcurrencyInterceptor requestConcurrencyInterceptor;
+
+    /**
+     * Creates the configuration, sizing the request limit from the properties or the connection pool.
+     *
+     * @param properties the virtual thread settings
+     * @param environment the environment holding the Hikari pool size
+     * @param meterRegistry the registry for the available permits gauge
+     */
+    public VirtualThreadConfig(VirtualThreadProperties properties, Environment environment,
+            MeterRegistry meterRegistry) {
+        int limit = properties.getMaxConcurrentRequests() != null
+                ? properties.getMaxConcurrentRequests()
+                : environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+                        DEFAULT_POOL_SIZE);
+        this.requestConcurrencyInterceptor = new RequestConcurrencyInterceptor(limit, properties);
+        Gauge.builder("http.server.permits.available", requestConcurrencyInterceptor,
+                        RequestConcurrencyInterceptor::availablePermits)
+                .description("Request permits currently available")
+                .register(meterRegistry);
+        log.info("Virtual threads enabled, admitting at most {} concurrent API requests", limit);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestConcurrencyInterceptor).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Creates the monitor reporting pinned virtual threads.
+     *
+     * @param properties the virtual thread settings
+     * @param meterRegistry the registry for the pinned thread counter
+     * @return the pinned thread monitor
+     */
+    @Bean
+    PinnedVirtualThreadMonitor pinnedVirtualThreadMonitor(VirtualThreadProperties properties,
+            MeterRegistry meterRegistry) {
+        return new PinnedVirtualThreadMonitor(properties.getPinnedThreshold(), meterRegistry);
+    }
+}
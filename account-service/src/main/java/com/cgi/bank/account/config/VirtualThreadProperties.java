@@ -0,0 +1,48 @@
+package com.cgi.bank.account.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for running request handling and async work on virtual threads.
+ * Binds to values under the 'app.virtual-threads' prefix in application configuration.
+ * Only used when {@code spring.threads.virtual.enabled} is set and the runtime is Java 21 or later.
+ */
+@ConfigurationProperties(prefix = "app.virtual-threads")
+@Getter
+@Setter
+@Validated
+public class VirtualThreadProperties {
+
+    /**
+     * Maximum number of API requests handled at the same time. Defaults to the Hikari pool size, so requests
+     * wait on a semaphore instead of piling up on the connection pool.
+     */
+    @Min(1)
+    private Integer maxConcurrentRequests;
+
+    /**
+     * Maximum time a request waits for a permit before it is rejected with 503.
+     */
+    @NotNull
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Maximum number of notification tasks running at the same time; further submissions wait.
+     */
+    @Min(1)
+    private int maxConcurrentNotifications = 200;
+
+    /**
+     * Pinned virtual threads are reported when they stay pinned at least this long.
+     */
+    @NotNull
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
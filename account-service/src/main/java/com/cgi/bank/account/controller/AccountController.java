@@ -1,53 +1,129 @@
 package com.cgi.bank.account.controller;
 
+import java.io.IOException;
 import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.AsyncOperationDTO;
+import com.cgi.bank.account.controller.dto.BatchMode;
+import com.cgi.bank.account.controller.dto.BatchOperationDTO;
+import com.cgi.bank.account.controller.dto.BatchResponseDTO;
+import com.cgi.bank.account.controller.dto.BulkCreateAccountsRequestDTO;
+import com.cgi.bank.account.controller.dto.BulkCreateAccountsResponseDTO;
 import com.cgi.bank.account.controller.dto.DepositRequestDTO;
 import com.cgi.bank.account.controller.dto.ErrorResponseDTO;
 import com.cgi.bank.account.controller.dto.ExchangeRequestDTO;
+import com.cgi.bank.account.controller.dto.TransactionCursorPageDTO;
 import com.cgi.bank.account.controller.dto.TransactionResponseDTO;
+import com.cgi.bank.account.controller.dto.TransactionSliceDTO;
+import com.cgi.bank.account.controller.dto.TransferRequestDTO;
+import com.cgi.bank.account.controller.dto.TransferResponseDTO;
 import com.cgi.bank.account.controller.dto.WithdrawRequestDTO;
+import com.cgi.bank.account.domain.AsyncOperation;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+import com.cgi.bank.account.repository.TransactionFilter;
 import com.cgi.bank.account.service.AccountService;
+import com.cgi.bank.account.service.BatchOperationService;
+import com.cgi.bank.account.service.BulkAccountService;
 import com.cgi.bank.account.service.TransactionService;
+import com.cgi.bank.account.service.async.AsyncOperationService;
+import com.cgi.bank.account.service.export.ExportFormat;
+import com.cgi.bank.account.service.export.TransactionExport;
+import com.cgi.bank.account.service.export.TransactionExportService;
+import com.cgi.bank.account.service.idempotency.IdempotencyService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * REST controller for account-related operations.
+ * The reactive profile serves the balance endpoints from {@link ReactiveAccountController} instead.
  */
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/api/v1/accounts")
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Account Management", description = "APIs for managing bank accounts and balances")
 public class AccountController {
 
+    /**
+     * Header carrying the client-chosen key that makes a write request safe to retry.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Request header whose {@code respond-async} preference selects the asynchronous variant of a write
+     * endpoint (RFC 7240).
+     */
+    public static final String PREFER_HEADER = "Prefer";
+
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    private static final String IDEMPOTENCY_KEY_DESCRIPTION = "Optional client-chosen key; a retried request "
+            + "with the same key returns the first response instead of executing again";
+
+    /**
+     * Balances may be stored by the client but must be revalidated, and are never shared between clients.
+     */
+    private static final CacheControl BALANCES_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final AccountService accountService;
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final BatchOperationService batchOperationService;
+    private final BulkAccountService bulkAccountService;
+    private final AsyncOperationService asyncOperationService;
+    private final TransactionExportService transactionExportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new empty account.
      *
+     * @param idempotencyKey the optional idempotency key of the request
      * @return ResponseEntity containing the account and its balances
      */
     @Operation(summary = "Create new account", description = "Creates a new empty bank account")
@@ -57,9 +133,12 @@ public class AccountController {
                             schema = @Schema(implementation = AccountBalanceResponseDTO.class)))
     })
     @PostMapping
-    public ResponseEntity<AccountBalanceResponseDTO> createAccount() {
+    public ResponseEntity<AccountBalanceResponseDTO> createAccount(
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         log.info("REST request to create a new account");
-        AccountBalanceResponseDTO response = accountService.createAccount();
+        AccountBalanceResponseDTO response = idempotencyService.execute(
+                idempotencyKey, IdempotencyService.fingerprint("create"), accountService::createAccount);
         
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -70,26 +149,70 @@ public class AccountController {
         return ResponseEntity.created(location).body(response);
     }
 
+    /**
+     * Creates many accounts at once, optionally with opening balances.
+     *
+     * @param requestDTO the number of accounts or their client references, and the opening balances
+     * @return ResponseEntity containing the created accounts
+     */
+    @Operation(summary = "Create accounts in bulk",
+            description = "Creates a number of accounts, or one account per client reference, in one transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Accounts created successfully",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = BulkCreateAccountsResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or too many accounts",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateAccountsResponseDTO> createAccounts(
+            @Valid @RequestBody BulkCreateAccountsRequestDTO requestDTO) {
+        log.info("REST request to create accounts in bulk");
+        BulkCreateAccountsResponseDTO response = bulkAccountService.createAccounts(requestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     /**
      * Gets all balances for a specific account.
+     * Responses carry a strong ETag derived from the balance versions, and a request whose If-None-Match still
+     * matches it is answered with 304 without loading the balances.
      *
      * @param accountId the ID of the account
-     * @return ResponseEntity containing the account and its balances
+     * @param ifNoneMatch the optional entity tags the client already holds
+     * @return ResponseEntity containing the account and its balances, or 304 if they are unchanged
      */
     @Operation(summary = "Get account balances", description = "Retrieves all currency balances for a specific account")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Balances retrieved successfully",
                     content = @Content(mediaType = "application/json", 
                             schema = @Schema(implementation = AccountBalanceResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Balances unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Account not found",
                     content = @Content(mediaType = "application/json", 
                             schema = @Schema(implementation = ErrorResponseDTO.class)))
     })
     @GetMapping("/{accountId}/balances")
-    public ResponseEntity<AccountBalanceResponseDTO> getAccountBalances(@PathVariable String accountId) {
+    public ResponseEntity<AccountBalanceResponseDTO> getAccountBalances(
+            @PathVariable String accountId,
+            @Parameter(description = "ETag of a previous response; unchanged balances are answered with 304")
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("REST request to get balances for account: {}", accountId);
+        
+        // Tagged before the balances are read, so a response never carries a tag newer than its body
+        Optional<String> versionTag = accountService.getBalancesVersionTag(accountId);
+        if (versionTag.isPresent() && matches(ifNoneMatch, versionTag.get())) {
+            log.debug("Balances of account {} unchanged at {}", accountId, versionTag.get());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(versionTag.get())
+                    .cacheControl(BALANCES_CACHE_CONTROL)
+                    .build();
+        }
+        
         AccountBalanceResponseDTO response = accountService.getAccountBalances(accountId);
-        return ResponseEntity.ok(response);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(BALANCES_CACHE_CONTROL);
+        versionTag.ifPresent(builder::eTag);
+        return builder.body(response);
     }
     
     /**
@@ -97,6 +220,7 @@ public class AccountController {
      *
      * @param accountId the ID of the account
      * @param requestDTO the deposit request containing amount and currency
+     * @param idempotencyKey the optional idempotency key of the request
      * @return ResponseEntity containing the account and its updated balances
      */
     @Operation(summary = "Deposit money", description = "Adds money to an account in the specified currency")
@@ -114,13 +238,17 @@ public class AccountController {
     @PostMapping("/{accountId}/deposits")
     public ResponseEntity<AccountBalanceResponseDTO> deposit(
             @PathVariable String accountId,
-            @Valid @RequestBody DepositRequestDTO requestDTO) {
+            @Valid @RequestBody DepositRequestDTO requestDTO,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         
         log.info("REST request to deposit {} {} into account: {}", 
                 requestDTO.getAmount(), requestDTO.getCurrency(), accountId);
         
-        AccountBalanceResponseDTO response = accountService.deposit(
-                accountId, requestDTO.getAmount(), requestDTO.getCurrency());
+        AccountBalanceResponseDTO response = idempotencyService.execute(
+                idempotencyKey,
+                IdempotencyService.fingerprint("deposit", accountId, requestDTO.getAmount(), requestDTO.getCurrency()),
+                () -> accountService.deposit(accountId, requestDTO.getAmount(), requestDTO.getCurrency()));
         
         return ResponseEntity.ok(response);
     }
@@ -130,6 +258,7 @@ public class AccountController {
      *
      * @param accountId the ID of the account
      * @param requestDTO the withdrawal request containing amount and currency
+     * @param idempotencyKey the optional idempotency key of the request
      * @return ResponseEntity containing the account and its updated balances
      */
     @Operation(summary = "Withdraw money", description = "Withdraws money from an account in the specified currency")
@@ -150,13 +279,17 @@ public class AccountController {
     @PostMapping("/{accountId}/withdrawals")
     public ResponseEntity<AccountBalanceResponseDTO> withdraw(
             @PathVariable String accountId,
-            @Valid @RequestBody WithdrawRequestDTO requestDTO) {
+            @Valid @RequestBody WithdrawRequestDTO requestDTO,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         
         log.info("REST request to withdraw {} {} from account: {}", 
                 requestDTO.getAmount(), requestDTO.getCurrency(), accountId);
         
-        AccountBalanceResponseDTO response = accountService.withdraw(
-                accountId, requestDTO.getAmount(), requestDTO.getCurrency());
+        AccountBalanceResponseDTO response = idempotencyService.execute(
+                idempotencyKey,
+                IdempotencyService.fingerprint("withdraw", accountId, requestDTO.getAmount(), requestDTO.getCurrency()),
+                () -> accountService.withdraw(accountId, requestDTO.getAmount(), requestDTO.getCurrency()));
         
         return ResponseEntity.ok(response);
     }
@@ -166,6 +299,7 @@ public class AccountController {
      *
      * @param accountId the ID of the account
      * @param requestDTO the exchange request containing from/to currencies and amount
+     * @param idempotencyKey the optional idempotency key of the request
      * @return ResponseEntity containing the account and its updated balances
      */
     @Operation(summary = "Exchange currency", 
@@ -188,34 +322,252 @@ public class AccountController {
     @PostMapping("/{accountId}/exchanges")
     public ResponseEntity<AccountBalanceResponseDTO> exchange(
             @PathVariable String accountId,
-            @Valid @RequestBody ExchangeRequestDTO requestDTO) {
+            @Valid @RequestBody ExchangeRequestDTO requestDTO,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         
         log.info("REST request to exchange {} {} to {} for account: {}", 
                 requestDTO.getAmount(), requestDTO.getFromCurrency(), requestDTO.getToCurrency(), accountId);
         
-        AccountBalanceResponseDTO response = accountService.exchange(
-                accountId, 
-                requestDTO.getFromCurrency(), 
-                requestDTO.getToCurrency(), 
-                requestDTO.getAmount());
+        String fingerprint = IdempotencyService.fingerprint("exchange", accountId,
+                requestDTO.getFromCurrency(), requestDTO.getToCurrency(), requestDTO.getAmount());
+        AccountBalanceResponseDTO response = idempotencyService.execute(idempotencyKey, fingerprint,
+                () -> accountService.exchange(
+                        accountId, 
+                        requestDTO.getFromCurrency(), 
+                        requestDTO.getToCurrency(), 
+                        requestDTO.getAmount()));
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Accepts a deposit for asynchronous execution.
+     *
+     * @param accountId the ID of the account
+     * @param requestDTO the deposit request containing amount and currency
+     * @param idempotencyKey the optional idempotency key of the request
+     * @param prefer the preferences of the request; without {@code respond-async} it executes synchronously
+     * @return ResponseEntity with status 202 containing the pending operation, or the synchronous response
+     */
+    @Operation(summary = "Deposit money asynchronously",
+            description = "Stores the deposit and returns before it executes; poll the operation for its outcome")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Deposit accepted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AsyncOperationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request (negative amount, invalid currency)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping(value = "/{accountId}/deposits", headers = PREFER_HEADER)
+    public ResponseEntity<?> depositAsync(
+            @PathVariable String accountId,
+            @Valid @RequestBody DepositRequestDTO requestDTO,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(PREFER_HEADER) String prefer) {
+        if (!prefersRespondAsync(prefer)) {
+            return deposit(accountId, requestDTO, idempotencyKey);
+        }
+        log.info("REST request to deposit {} {} into account {} asynchronously",
+                requestDTO.getAmount(), requestDTO.getCurrency(), accountId);
+        return accepted(asyncOperationService.submit(AsyncOperation.Type.DEPOSIT, accountId,
+                requestDTO.getCurrency(), null, requestDTO.getAmount(), idempotencyKey));
+    }
+
+    /**
+     * Accepts a withdrawal for asynchronous execution.
+     *
+     * @param accountId the ID of the account
+     * @param requestDTO the withdrawal request containing amount and currency
+     * @param idempotencyKey the optional idempotency key of the request
+     * @param prefer the preferences of the request; without {@code respond-async} it executes synchronously
+     * @return ResponseEntity with status 202 containing the pending operation, or the synchronous response
+     */
+    @Operation(summary = "Withdraw money asynchronously",
+            description = "Stores the withdrawal and returns before it executes; poll the operation for its outcome")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Withdrawal accepted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AsyncOperationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping(value = "/{accountId}/withdrawals", headers = PREFER_HEADER)
+    public ResponseEntity<?> withdrawAsync(
+            @PathVariable String accountId,
+            @Valid @RequestBody WithdrawRequestDTO requestDTO,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(PREFER_HEADER) String prefer) {
+        if (!prefersRespondAsync(prefer)) {
+            return withdraw(accountId, requestDTO, idempotencyKey);
+        }
+        log.info("REST request to withdraw {} {} from account {} asynchronously",
+                requestDTO.getAmount(), requestDTO.getCurrency(), accountId);
+        return accepted(asyncOperationService.submit(AsyncOperation.Type.WITHDRAWAL, accountId,
+                requestDTO.getCurrency(), null, requestDTO.getAmount(), idempotencyKey));
+    }
+
+    /**
+     * Accepts a currency exchange for asynchronous execution.
+     *
+     * @param accountId the ID of the account
+     * @param requestDTO the exchange request containing from/to currencies and amount
+     * @param idempotencyKey the optional idempotency key of the request
+     * @param prefer the preferences of the request; without {@code respond-async} it executes synchronously
+     * @return ResponseEntity with status 202 containing the pending operation, or the synchronous response
+     */
+    @Operation(summary = "Exchange currency asynchronously",
+            description = "Stores the exchange and returns before it executes; poll the operation for its outcome")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Exchange accepted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AsyncOperationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping(value = "/{accountId}/exchanges", headers = PREFER_HEADER)
+    public ResponseEntity<?> exchangeAsync(
+            @PathVariable String accountId,
+            @Valid @RequestBody ExchangeRequestDTO requestDTO,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(PREFER_HEADER) String prefer) {
+        if (!prefersRespondAsync(prefer)) {
+            return exchange(accountId, requestDTO, idempotencyKey);
+        }
+        log.info("REST request to exchange {} {} to {} for account {} asynchronously",
+                requestDTO.getAmount(), requestDTO.getFromCurrency(), requestDTO.getToCurrency(), accountId);
+        if (requestDTO.getFromCurrency() == requestDTO.getToCurrency()) {
+            throw new IllegalArgumentException("Source and target currencies must be different");
+        }
+        return accepted(asyncOperationService.submit(AsyncOperation.Type.EXCHANGE, accountId,
+                requestDTO.getFromCurrency(), requestDTO.getToCurrency(), requestDTO.getAmount(), idempotencyKey));
+    }
+
+    /**
+     * Transfers money from an account to another account, optionally converting it to another currency.
+     *
+     * @param accountId the ID of the account the money is sent from
+     * @param requestDTO the transfer request containing the destination account, amount and currencies
+     * @param idempotencyKey the optional idempotency key of the request
+     * @return ResponseEntity containing the transfer ID and the source account's updated balances
+     */
+    @Operation(summary = "Transfer funds", 
+                description = "Debits an account and credits another account in one transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transfer successful",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = TransferResponseDTO.class))),
+            @ApiResponse(responseCode = "400", 
+                    description = "Invalid request, same source and destination, or unsupported currency pair",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Source or destination account not found",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "422", description = "Insufficient funds",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "501", description = "Transfers are not supported by the ledger engine",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping("/{accountId}/transfers")
+    public ResponseEntity<TransferResponseDTO> transfer(
+            @PathVariable String accountId,
+            @Valid @RequestBody TransferRequestDTO requestDTO,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION)
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        
+        log.info("REST request to transfer {} {} from account {} to account {}", 
+                requestDTO.getAmount(), requestDTO.getCurrency(), accountId, requestDTO.getToAccountId());
+        
+        Currency toCurrency = requestDTO.getToCurrency() != null
+                ? requestDTO.getToCurrency()
+                : requestDTO.getCurrency();
+        String fingerprint = IdempotencyService.fingerprint("transfer", accountId, requestDTO.getToAccountId(),
+                requestDTO.getAmount(), requestDTO.getCurrency(), toCurrency);
+        TransferResponseDTO response = idempotencyService.execute(idempotencyKey, fingerprint,
+                TransferResponseDTO.class,
+                () -> accountService.transfer(
+                        accountId, 
+                        requestDTO.getToAccountId(), 
+                        requestDTO.getAmount(), 
+                        requestDTO.getCurrency(), 
+                        toCurrency));
         
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Gets transaction history for a specific account.
+     * Applies a batch of deposits, withdrawals and exchanges across many accounts.
+     * The body is a JSON array that is parsed while the operations are applied, so large batches are never
+     * held in memory as a whole.
+     *
+     * @param mode whether the batch is applied all-or-nothing or best-effort
+     * @param request the current request, whose body is read as a stream
+     * @return ResponseEntity containing the outcome of every operation
+     * @throws IOException if the request body cannot be opened
+     */
+    @Operation(summary = "Execute batch of operations",
+            description = "Applies many deposits, withdrawals and exchanges in one request, "
+                    + "either all-or-nothing (ATOMIC) or committing every operation that succeeds (BEST_EFFORT)")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = BatchOperationDTO.class))))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see the per-operation results",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = BatchResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Body is not a JSON array or mode is unknown",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "501", description = "Mode is not supported by the ledger engine",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping(value = "/batch", consumes = "application/json")
+    public ResponseEntity<BatchResponseDTO> executeBatch(
+            @RequestParam(defaultValue = "ATOMIC") BatchMode mode,
+            HttpServletRequest request) throws IOException {
+        
+        log.info("REST request to execute a batch in {} mode", mode);
+        
+        try (JsonParser parser = objectMapper.createParser(request.getInputStream())) {
+            BatchResponseDTO response = batchOperationService.execute(
+                    mode, new BatchOperationReader(parser, objectMapper));
+            return ResponseEntity.ok(response);
+        }
+    }
+
+    /**
+     * Gets transaction history for a specific account, optionally restricted to a time range, transaction types
+     * and currencies.
      *
      * @param accountId the ID of the account
      * @param page the page number (0-based)
      * @param size the page size
+     * @param from the earliest timestamp included, if any
+     * @param to the timestamp up to which transactions are included, exclusive, if any
+     * @param types the transaction types included, if restricted
+     * @param currencies the currencies included, if restricted
      * @return ResponseEntity containing the list of transactions
      */
     @Operation(summary = "Get transaction history", 
-            description = "Retrieves transaction history for a specific account with pagination")
+            description = "Retrieves transaction history for a specific account with pagination, optionally "
+                    + "filtered by time range, type and currency")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully",
                     content = @Content(mediaType = "application/json", 
                             schema = @Schema(implementation = TransactionResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or page beyond the addressable range",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
             @ApiResponse(responseCode = "404", description = "Account not found",
                     content = @Content(mediaType = "application/json", 
                             schema = @Schema(implementation = ErrorResponseDTO.class)))
@@ -224,14 +576,271 @@ public class AccountController {
     public ResponseEntity<Page<TransactionResponseDTO>> getTransactionHistory(
             @PathVariable String accountId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Earliest timestamp included, ISO-8601 with offset")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Timestamp up to which transactions are included, exclusive")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Transaction types included; repeat the parameter for several")
+            @RequestParam(name = "type", required = false) List<TransactionType> types,
+            @Parameter(description = "Currencies included; repeat the parameter for several")
+            @RequestParam(name = "currency", required = false) List<Currency> currencies) {
         
-        log.info("REST request to get transaction history for account: {}, page: {}, size: {}", 
-                accountId, page, size);
+        checkOffset(page, size);
+        TransactionFilter filter = filter(from, to, types, currencies);
+        log.info("REST request to get transaction history for account: {}, page: {}, size: {}, filter: {}", 
+                accountId, page, size, filter);
         
         Page<TransactionResponseDTO> transactions = transactionService.getTransactionHistory(
-                accountId, page, size);
+                accountId, filter, page, size);
         
         return ResponseEntity.ok(transactions);
     }
+
+    /**
+     * Gets transaction history for a specific account with pagination, without counting the whole history.
+     * Selected by {@code count=false}.
+     *
+     * @param accountId the ID of the account
+     * @param page the page number (0-based)
+     * @param size the page size
+     * @param from the earliest timestamp included, if any
+     * @param to the timestamp up to which transactions are included, exclusive, if any
+     * @param types the transaction types included, if restricted
+     * @param currencies the currencies included, if restricted
+     * @return ResponseEntity containing the page of transactions and whether a next page exists
+     */
+    @Operation(summary = "Get transaction history without totals",
+            description = "Retrieves transaction history with pagination and a compact envelope that only tells "
+                    + "whether a next page exists, so the history is not counted")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TransactionSliceDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Page beyond the addressable range",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping(path = "/{accountId}/transactions", params = {"count=false", "!after"})
+    public ResponseEntity<TransactionSliceDTO> getTransactionHistorySlice(
+            @PathVariable String accountId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Earliest timestamp included, ISO-8601 with offset")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Timestamp up to which transactions are included, exclusive")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Transaction types included; repeat the parameter for several")
+            @RequestParam(name = "type", required = false) List<TransactionType> types,
+            @Parameter(description = "Currencies included; repeat the parameter for several")
+            @RequestParam(name = "currency", required = false) List<Currency> currencies) {
+        
+        checkOffset(page, size);
+        TransactionFilter filter = filter(from, to, types, currencies);
+        log.info("REST request to get transaction slice for account: {}, page: {}, size: {}, filter: {}",
+                accountId, page, size, filter);
+        
+        return ResponseEntity.ok(transactionService.getTransactionHistorySlice(accountId, filter, page, size));
+    }
+
+    /**
+     * Gets transaction history for a specific account with cursor pagination.
+     * Selected when the request carries the {@code after} parameter; an empty value starts at the newest
+     * transaction.
+     *
+     * @param accountId the ID of the account
+     * @param after the cursor returned with the previous page, or empty for the first page
+     * @param size the page size
+     * @param from the earliest timestamp included, if any
+     * @param to the timestamp up to which transactions are included, exclusive, if any
+     * @param types the transaction types included, if restricted
+     * @param currencies the currencies included, if restricted
+     * @return ResponseEntity containing the page of transactions and the cursor of the next page
+     */
+    @Operation(summary = "Get transaction history with a cursor",
+            description = "Retrieves transaction history newest first, continuing after the given cursor. Unlike "
+                    + "page numbers, cursors stay fast on deep pages and no total count is computed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TransactionCursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping(path = "/{accountId}/transactions", params = "after")
+    public ResponseEntity<TransactionCursorPageDTO> getTransactionHistoryAfter(
+            @PathVariable String accountId,
+            @Parameter(description = "nextCursor of the previous page; empty for the first page")
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Earliest timestamp included, ISO-8601 with offset")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Timestamp up to which transactions are included, exclusive")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Transaction types included; repeat the parameter for several")
+            @RequestParam(name = "type", required = false) List<TransactionType> types,
+            @Parameter(description = "Currencies included; repeat the parameter for several")
+            @RequestParam(name = "currency", required = false) List<Currency> currencies) {
+        
+        TransactionFilter filter = filter(from, to, types, currencies);
+        log.info("REST request to get transaction history for account: {}, after: {}, size: {}, filter: {}",
+                accountId, after, size, filter);
+        
+        return ResponseEntity.ok(transactionService.getTransactionHistoryAfter(accountId, filter, after, size));
+    }
+
+    /**
+     * Exports the whole transaction history of an account, oldest first, streaming rows as they are read.
+     * The response is gzip-compressed when the client accepts it.
+     *
+     * @param accountId the ID of the account
+     * @param format the output format, ndjson or csv
+     * @param acceptEncoding the content codings accepted by the client
+     * @return ResponseEntity whose body streams the transactions
+     */
+    @Operation(summary = "Export transaction history",
+            description = "Streams every transaction of an account, oldest first, as NDJSON or CSV without "
+                    + "paging. Send Accept-Encoding: gzip to receive the export compressed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transactions streamed",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Unsupported format",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping("/{accountId}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable String accountId,
+            @Parameter(description = "ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        ExportFormat exportFormat = ExportFormat.of(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        log.info("REST request to export transactions for account: {}, format: {}, gzip: {}",
+                accountId, exportFormat, gzip);
+        
+        TransactionExport export = transactionExportService.prepare(accountId, exportFormat);
+        StreamingResponseBody body = output -> {
+            if (!gzip) {
+                export.writeTo(output);
+                return;
+            }
+            // The container closes the response stream; closing the gzip stream only finishes it
+            try (GZIPOutputStream compressed = new GZIPOutputStream(StreamUtils.nonClosing(output),
+                    GZIP_BUFFER_SIZE)) {
+                export.writeTo(compressed);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions-" + accountId + "." + exportFormat.getFileExtension())
+                        .build()
+                        .toString())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Evaluates If-None-Match against the current tag, using the weak comparison RFC 9110 requires.
+     */
+    private static boolean matches(String ifNoneMatch, String versionTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = new ETag(versionTag, false);
+        return ETag.parse(ifNoneMatch).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+
+    /**
+     * Rejects a page whose first row lies beyond what a query offset can address; clients reading that deep
+     * should page with a cursor instead.
+     */
+    private static void checkOffset(int page, int size) {
+        if ((long) page * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page " + page + " of size " + size
+                    + " is beyond the last addressable transaction; use cursor pagination instead");
+        }
+    }
+
+    /**
+     * Builds the history filter from the optional request parameters.
+     */
+    private static TransactionFilter filter(Instant from, Instant to, List<TransactionType> types,
+            List<Currency> currencies) {
+        return new TransactionFilter(from, to, types == null ? null : Set.copyOf(types),
+                currencies == null ? null : Set.copyOf(currencies));
+    }
+
+    /**
+     * Whether Accept-Encoding lists gzip with a non-zero quality; a wildcard is not taken as a request to compress.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (!"gzip".equalsIgnoreCase(name) && !"x-gzip".equalsIgnoreCase(name)) {
+                continue;
+            }
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the Prefer header lists the respond-async preference, which may be combined with other preferences
+     * and parameters, as in {@code respond-async, wait=10}.
+     */
+    private static boolean prefersRespondAsync(String prefer) {
+        for (String preference : prefer.split(",")) {
+            String token = preference.split("[;=]", 2)[0].trim();
+            if (RESPOND_ASYNC.equalsIgnoreCase(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the 202 response for an accepted operation, pointing to the operation's status resource.
+     */
+    private static ResponseEntity<AsyncOperationDTO> accepted(AsyncOperationDTO operation) {
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/api/v1/operations/{id}")
+                .buildAndExpand(operation.getOperationId())
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(operation);
+    }
 } 
\ No newline at end of file
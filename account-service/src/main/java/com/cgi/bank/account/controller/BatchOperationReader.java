@@ -0,0 +1,108 @@
+package com.cgi.bank.account.controller;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.cgi.bank.account.controller.dto.BatchOperationDTO;
+import com.cgi.bank.account.exception.MalformedBatchException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads the operations of a batch request one at a time from a streaming parser, so only the operation
+ * being applied is held in memory.
+ * An element that is valid JSON but not a valid operation makes {@link #next()} throw
+ * {@link IllegalArgumentException}; the element is consumed, so iteration can continue with the next one.
+ * Syntax errors and a body that is not an array throw {@link MalformedBatchException}, after which the rest
+ * of the body cannot be read.
+ */
+class BatchOperationReader implements Iterator<BatchOperationDTO> {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+
+    private JsonNode nextElement;
+    private boolean finished;
+    private int read;
+
+    /**
+     * Creates a reader positioned inside the top-level array.
+     *
+     * @param parser the parser over the request body
+     * @param objectMapper the mapper used to bind each element
+     * @throws MalformedBatchException if the body does not start with a JSON array
+     */
+    BatchOperationReader(JsonParser parser, ObjectMapper objectMapper) {
+        this.parser = parser;
+        this.objectMapper = objectMapper;
+        if (nextToken() != JsonToken.START_ARRAY) {
+            throw new MalformedBatchException("Batch request body must be a JSON array of operations");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MalformedBatchException if the next element cannot be parsed
+     */
+    @Override
+    public boolean hasNext() {
+        if (nextElement == null && !finished) {
+            JsonToken token = nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                finished = true;
+            } else if (token == null) {
+                throw new MalformedBatchException("Batch request body ended before the closing bracket");
+            } else {
+                nextElement = readElement();
+            }
+        }
+        return nextElement != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the element is not a valid operation
+     */
+    @Override
+    public BatchOperationDTO next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JsonNode element = nextElement;
+        nextElement = null;
+        read++;
+        try {
+            return objectMapper.treeToValue(element, BatchOperationDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid operation: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private JsonToken nextToken() {
+        try {
+            return parser.nextToken();
+        } catch (IOException e) {
+            throw malformed(e);
+        }
+    }
+
+    private JsonNode readElement() {
+        try {
+            return objectMapper.readTree(parser);
+        } catch (IOException e) {
+            throw malformed(e);
+        }
+    }
+
+    private MalformedBatchException malformed(IOException e) {
+        String reason = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+        return new MalformedBatchException(
+                "Malformed batch request body after " + read + " operation(s): " + reason, e);
+    }
+}
@@ -5,6 +5,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -13,13 +15,23 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import com.cgi.bank.account.controller.dto.ErrorResponseDTO;
+import com.cgi.bank.account.exception.AccountLockTimeoutException;
 import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.exception.AsyncOperationNotFoundException;
 import com.cgi.bank.account.exception.BalanceNotFoundException;
+import com.cgi.bank.account.exception.HoldNotActiveException;
+import com.cgi.bank.account.exception.HoldNotFoundException;
+import com.cgi.bank.account.exception.IdempotencyKeyInProgressException;
+import com.cgi.bank.account.exception.IdempotencyKeyReuseException;
 import com.cgi.bank.account.exception.InsufficientFundsException;
 import com.cgi.bank.account.exception.InvalidCurrencyException;
+import com.cgi.bank.account.exception.MalformedBatchException;
 import com.cgi.bank.account.exception.OptimisticLockingConflictException;
+import com.cgi.bank.account.exception.ServiceOverloadedException;
+import com.cgi.bank.account.exception.UnsupportedLedgerOperationException;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
  * Global exception handler for providing consistent error responses.
  */
 @ControllerAdvice
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @Slf4j
 public class GlobalExceptionHandler {
 
@@ -52,6 +65,69 @@ public class GlobalExceptionHandler {
                 request.getRequestURI());
     }
 
+    /**
+     * Handles AsyncOperationNotFoundException and maps it to a 404 Not Found response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(AsyncOperationNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleAsyncOperationNotFoundException(
+            AsyncOperationNotFoundException ex, 
+            HttpServletRequest request) {
+        
+        log.debug("Operation not found: {}", ex.getMessage());
+        
+        return buildErrorResponse(
+                ex,
+                HttpStatus.NOT_FOUND,
+                "Operation not found",
+                request.getRequestURI());
+    }
+
+    /**
+     * Handles HoldNotFoundException and maps it to a 404 Not Found response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleHoldNotFoundException(
+            HoldNotFoundException ex, 
+            HttpServletRequest request) {
+        
+        log.debug("Hold not found: {}", ex.getMessage());
+        
+        return buildErrorResponse(
+                ex,
+                HttpStatus.NOT_FOUND,
+                "Hold not found",
+                request.getRequestURI());
+    }
+
+    /**
+     * Handles HoldNotActiveException and maps it to a 409 Conflict response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(HoldNotActiveException.class)
+    public ResponseEntity<ErrorResponseDTO> handleHoldNotActiveException(
+            HoldNotActiveException ex, 
+            HttpServletRequest request) {
+        
+        log.debug("Hold not active: {}", ex.getMessage());
+        
+        return buildErrorResponse(
+                ex,
+                HttpStatus.CONFLICT,
+                "Hold not active",
+                request.getRequestURI());
+    }
+
     /**
      * Handles BalanceNotFoundException and maps it to a 400 Bad Request response.
      *
@@ -171,6 +247,27 @@ public class GlobalExceptionHandler {
                 request.getRequestURI());
     }
 
+    /**
+     * Handles MalformedBatchException and maps it to a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(MalformedBatchException.class)
+    public ResponseEntity<ErrorResponseDTO> handleMalformedBatchException(
+            MalformedBatchException ex, 
+            HttpServletRequest request) {
+        
+        log.debug("Malformed batch: {}", ex.getMessage());
+        
+        return buildErrorResponse(
+                ex,
+                HttpStatus.BAD_REQUEST,
+                "Malformed request body",
+                request.getRequestURI());
+    }
+
     /**
      * Handles ObjectOptimisticLockingFailureException and maps it to a 409 Conflict response.
      *
@@ -192,6 +289,137 @@ public class GlobalExceptionHandler {
                 request.getRequestURI());
     }
 
+    /**
+     * Handles AccountLockTimeoutException and maps it to a 409 Conflict response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(AccountLockTimeoutException.class)
+    public ResponseEntity<ErrorResponseDTO> handleAccountLockTimeoutException(
+            AccountLockTimeoutException ex, 
+            HttpServletRequest request) {
+        
+        log.debug("Account lock timeout: {}", ex.getMessage());
+        
+        return buildErrorResponse(
+                ex,
+                HttpStatus.CONFLICT,
+                "Account busy",
+                request.getRequestURI());
+    }
+
+    /**
+     * Handles ServiceOverloadedException and maps it to a 503 Service Unavailable response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponseDTO> handleServiceOverloadedException(
+            ServiceOverloadedException ex, 
+            HttpServletRequest request) {
+        
+        log.debug("Request rejected: {}", ex.getMessage());
+        
+        return buildErrorResponse(
+                ex,
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Service overloaded",
+                request.getRequestURI());
+    }
+
+    /**
+     * Handles UnsupportedLedgerOperationException and maps it to a 501 Not Implemented response, since the
+     * request is valid but the configured ledger engine cannot perform it.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(UnsupportedLedgerOperationException.class)
+    public ResponseEntity<ErrorResponseDTO> handleUnsupportedLedgerOperationException(
+            UnsupportedLedgerOperationException ex, 
+            HttpServletRequest request) {
+        
+        log.debug("Operation not supported: {}", ex.getMessage());
+        
+        return buildErrorResponse(
+                ex,
+                HttpStatus.NOT_IMPLEMENTED,
+                "Not implemented",
+                request.getRequestURI());
+    }
+
+    /**
+     * Handles IdempotencyKeyInProgressException and maps it to a 409 Conflict response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIdempotencyKeyInProgressException(
+            IdempotencyKeyInProgressException ex, 
+            HttpServletRequest request) {
+        
+        log.debug("Idempotent request in progress: {}", ex.getMessage());
+        
+        return buildErrorResponse(
+                ex,
+                HttpStatus.CONFLICT,
+                "Request in progress",
+                request.getRequestURI());
+    }
+
+    /**
+     * Handles IdempotencyKeyReuseException and maps it to a 422 Unprocessable Entity response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIdempotencyKeyReuseException(
+            IdempotencyKeyReuseException ex, 
+            HttpServletRequest request) {
+        
+        log.debug("Idempotency key reused: {}", ex.getMessage());
+        
+        return buildErrorResponse(
+                ex,
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency key reused",
+                request.getRequestURI());
+    }
+
+    /**
+     * Handles MethodArgumentTypeMismatchException, raised when a path or query parameter cannot be converted,
+     * and maps it to a 400 Bad Request response. Unsupported currencies are reported like in request bodies.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponseDTO> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex, 
+            HttpServletRequest request) {
+        
+        if (ex.getMostSpecificCause() instanceof InvalidCurrencyException invalidCurrency) {
+            return handleInvalidCurrencyException(invalidCurrency, request);
+        }
+        log.debug("Invalid parameter {}: {}", ex.getName(), ex.getMessage());
+        
+        return buildErrorResponse(
+                "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'",
+                HttpStatus.BAD_REQUEST,
+                "Invalid argument",
+                request.getRequestURI());
+    }
+
     /**
      * Handles IllegalArgumentException and maps it to a 400 Bad Request response.
      *
@@ -250,11 +478,29 @@ public class GlobalExceptionHandler {
             String error,
             String path) {
         
+        return buildErrorResponse(exception.getMessage(), status, error, path);
+    }
+
+    /**
+     * Builds a standardized error response with the given message.
+     *
+     * @param message the error message
+     * @param status the HTTP status
+     * @param error the error type description
+     * @param path the request path
+     * @return a ResponseEntity containing the error details
+     */
+    private ResponseEntity<ErrorResponseDTO> buildErrorResponse(
+            String message,
+            HttpStatus status,
+            String error,
+            String path) {
+        
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 LocalDateTime.now(),
                 status.value(),
                 error,
-                exception.getMessage(),
+                message,
                 path
         );
         
@@ -0,0 +1,173 @@
+package com.cgi.bank.account.controller;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.cgi.bank.account.controller.dto.CaptureHoldRequestDTO;
+import com.cgi.bank.account.controller.dto.ErrorResponseDTO;
+import com.cgi.bank.account.controller.dto.HoldDTO;
+import com.cgi.bank.account.controller.dto.HoldRequestDTO;
+import com.cgi.bank.account.service.hold.HoldService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST controller for reserving money on a balance and later capturing or releasing it.
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.ledger", name = "engine", havingValue = "jpa", matchIfMissing = true)
+@RequestMapping("/api/v1/accounts/{accountId}/holds")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Holds", description = "APIs for reserving, capturing and releasing money")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    /**
+     * Places a hold on a balance.
+     *
+     * @param accountId the ID of the account
+     * @param requestDTO the amount, currency and optional time to live of the hold
+     * @return ResponseEntity containing the active hold
+     */
+    @Operation(summary = "Place hold", 
+            description = "Reserves money on a balance; it can no longer be withdrawn until captured or released")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Hold placed",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = HoldDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or no balance in the currency",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Account not found",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "422", description = "Insufficient available funds",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping
+    public ResponseEntity<HoldDTO> placeHold(
+            @PathVariable String accountId,
+            @Valid @RequestBody HoldRequestDTO requestDTO) {
+        
+        log.info("REST request to hold {} {} on account: {}", 
+                requestDTO.getAmount(), requestDTO.getCurrency(), accountId);
+        
+        Duration ttl = requestDTO.getTtlSeconds() != null ? Duration.ofSeconds(requestDTO.getTtlSeconds()) : null;
+        HoldDTO hold = holdService.placeHold(accountId, requestDTO.getCurrency(), requestDTO.getAmount(), ttl);
+        
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(hold.getHoldId())
+                .toUri();
+        
+        return ResponseEntity.created(location).body(hold);
+    }
+
+    /**
+     * Gets a hold.
+     *
+     * @param accountId the ID of the account
+     * @param holdId the ID of the hold
+     * @return ResponseEntity containing the hold in its current state
+     */
+    @Operation(summary = "Get hold", description = "Returns a hold and whether it is still active")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold found",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = HoldDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Hold not found",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping("/{holdId}")
+    public ResponseEntity<HoldDTO> getHold(@PathVariable String accountId, @PathVariable String holdId) {
+        log.debug("REST request to get hold {} of account: {}", holdId, accountId);
+        return ResponseEntity.ok(holdService.getHold(accountId, holdId));
+    }
+
+    /**
+     * Captures a hold, debiting the given amount or the whole held amount.
+     *
+     * @param accountId the ID of the account
+     * @param holdId the ID of the hold
+     * @param requestDTO the optional amount to debit
+     * @return ResponseEntity containing the captured hold
+     */
+    @Operation(summary = "Capture hold", 
+            description = "Debits part or all of the held money; the rest becomes available again")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold captured",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = HoldDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Amount exceeds the held amount",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Hold not found",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "409", description = "Hold already captured, released or expired",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping("/{holdId}/capture")
+    public ResponseEntity<HoldDTO> capture(
+            @PathVariable String accountId,
+            @PathVariable String holdId,
+            @Valid @RequestBody(required = false) CaptureHoldRequestDTO requestDTO) {
+        
+        log.info("REST request to capture hold {} of account: {}", holdId, accountId);
+        
+        return ResponseEntity.ok(holdService.capture(accountId, holdId, 
+                requestDTO != null ? requestDTO.getAmount() : null));
+    }
+
+    /**
+     * Releases a hold without debiting it.
+     *
+     * @param accountId the ID of the account
+     * @param holdId the ID of the hold
+     * @return ResponseEntity containing the released hold
+     */
+    @Operation(summary = "Release hold", description = "Makes the held money available again")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold released",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = HoldDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Hold not found",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(responseCode = "409", description = "Hold already captured, released or expired",
+                    content = @Content(mediaType = "application/json", 
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping("/{holdId}/release")
+    public ResponseEntity<HoldDTO> release(@PathVariable String accountId, @PathVariable String holdId) {
+        log.info("REST request to release hold {} of account: {}", holdId, accountId);
+        return ResponseEntity.ok(holdService.release(accountId, holdId));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cgi.bank.account.controller;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.cgi.bank.account.domain.HotAccount;
+import com.cgi.bank.account.service.concurrency.HotAccountRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Actuator endpoint for flagging hot accounts and adjusting their slot counts at runtime.
+ * Exposed as {@code /actuator/hotaccounts}, which requires authentication like the other non-health endpoints.
+ */
+@Component
+@Endpoint(id = "hotaccounts")
+@RequiredArgsConstructor
+@Slf4j
+public class HotAccountEndpoint {
+
+    private final HotAccountRegistry hotAccounts;
+
+    /**
+     * Lists the hot accounts known to this instance.
+     *
+     * @return the slot count per account ID
+     */
+    @ReadOperation
+    public Map<String, Integer> hotAccounts() {
+        return hotAccounts.getSlotCounts();
+    }
+
+    /**
+     * Flags an account as hot, or changes its slot count.
+     *
+     * @param accountId the ID of the account
+     * @param slots the number of slots deposits are spread over
+     */
+    @WriteOperation
+    public void setSlots(@Selector String accountId, int slots) {
+        log.info("Actuator request to set {} slots for account {}", slots, accountId);
+        hotAccounts.setSlots(accountId, slots, HotAccount.Source.MANUAL);
+    }
+
+    /**
+     * Unflags an account; its slots are folded back into its balances by the next consolidation sweep.
+     *
+     * @param accountId the ID of the account
+     */
+    @DeleteOperation
+    public void remove(@Selector String accountId) {
+        log.info("Actuator request to unflag hot account {}", accountId);
+        hotAccounts.remove(accountId);
+    }
+}
@@ -0,0 +1,120 @@
+package com.cgi.bank.account.controller;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.cgi.bank.account.config.AsyncOperationProperties;
+import com.cgi.bank.account.controller.dto.AsyncOperationDTO;
+import com.cgi.bank.account.controller.dto.ErrorResponseDTO;
+import com.cgi.bank.account.service.async.AsyncOperationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST controller for polling write operations accepted with {@code Prefer: respond-async}.
+ */
+@RestController
+@RequestMapping("/api/v1/operations")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Asynchronous Operations", description = "APIs for polling asynchronously executed writes")
+public class OperationController {
+
+    private final AsyncOperationService asyncOperationService;
+    private final AsyncOperationProperties properties;
+
+    /**
+     * Gets the current state of an operation.
+     *
+     * @param operationId the ID of the operation
+     * @return ResponseEntity containing the operation and, once finished, its result or error
+     */
+    @Operation(summary = "Get operation status",
+            description = "Returns the status of an asynchronous operation and, once finished, its outcome")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AsyncOperationDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Operation not found or purged",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping("/{operationId}")
+    public ResponseEntity<AsyncOperationDTO> getOperation(@PathVariable String operationId) {
+        log.debug("REST request to get operation: {}", operationId);
+        return ResponseEntity.ok(asyncOperationService.getOperation(operationId));
+    }
+
+    /**
+     * Waits until an operation has finished, or the wait has elapsed, and returns its state.
+     * The request thread is released while waiting.
+     *
+     * @param operationId the ID of the operation
+     * @param waitSeconds the maximum number of seconds to wait, capped by {@code app.async-operations.max-wait}
+     * @return the operation, finished unless the wait elapsed first
+     */
+    @Operation(summary = "Wait for operation",
+            description = "Long-polls until the operation has succeeded or failed, or the wait has elapsed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation finished, or the wait elapsed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AsyncOperationDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Operation not found or purged",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping(value = "/{operationId}", params = "wait")
+    public DeferredResult<ResponseEntity<AsyncOperationDTO>> awaitOperation(
+            @PathVariable String operationId,
+            @Parameter(description = "Maximum number of seconds to wait for the operation to finish")
+            @RequestParam("wait") long waitSeconds) {
+        if (waitSeconds < 0) {
+            throw new IllegalArgumentException("wait must not be negative");
+        }
+        Duration wait = Duration.ofSeconds(waitSeconds);
+        if (wait.compareTo(properties.getMaxWait()) > 0) {
+            wait = properties.getMaxWait();
+        }
+        log.debug("REST request to wait {} for operation: {}", wait, operationId);
+        if (wait.isZero()) {
+            // A zero timeout would mean no timeout for the servlet container
+            DeferredResult<ResponseEntity<AsyncOperationDTO>> result = new DeferredResult<>();
+            result.setResult(ResponseEntity.ok(asyncOperationService.getOperation(operationId)));
+            return result;
+        }
+
+        CompletableFuture<AsyncOperationDTO> completion = asyncOperationService.awaitCompletion(operationId);
+        DeferredResult<ResponseEntity<AsyncOperationDTO>> result = new DeferredResult<>(wait.toMillis());
+        // The operation may have finished on another instance, so the stored state is returned on timeout
+        result.onTimeout(() -> result.setResult(ResponseEntity.ok(asyncOperationService.getOperation(operationId))));
+        result.onCompletion(() -> completion.cancel(false));
+        completion.whenComplete((operation, error) -> {
+            if (error == null) {
+                result.setResult(ResponseEntity.ok(operation));
+            } else if (!completion.isCancelled()) {
+                result.setErrorResult(error instanceof CompletionException ? error.getCause() : error);
+            }
+        });
+        return result;
+    }
+}
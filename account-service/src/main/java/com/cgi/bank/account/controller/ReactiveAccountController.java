@@ -0,0 +1,124 @@
+package com.cgi.bank.account.controller;
+
+import java.net.URI;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.DepositRequestDTO;
+import com.cgi.bank.account.controller.dto.ExchangeRequestDTO;
+import com.cgi.bank.account.controller.dto.WithdrawRequestDTO;
+import com.cgi.bank.account.service.ReactiveAccountService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking REST controller for the balance endpoints, active when the application runs on WebFlux
+ * (the 'reactive' profile). Paths, request bodies and responses match {@link AccountController}; transfers,
+ * batches, bulk creation, transaction history and idempotency keys are only served by the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/v1/accounts")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService accountService;
+
+    /**
+     * Creates a new empty account.
+     *
+     * @param request the current request, used to build the Location header
+     * @return the new account and its balances
+     */
+    @PostMapping
+    public Mono<ResponseEntity<AccountBalanceResponseDTO>> createAccount(ServerHttpRequest request) {
+        log.info("REST request to create a new account");
+        return accountService.createAccount()
+                .map(response -> {
+                    URI location = UriComponentsBuilder.fromUri(request.getURI())
+                            .path("/{id}")
+                            .buildAndExpand(response.getAccountId())
+                            .toUri();
+                    return ResponseEntity.created(location).body(response);
+                });
+    }
+
+    /**
+     * Gets all balances for a specific account.
+     *
+     * @param accountId the ID of the account
+     * @return the account and its balances
+     */
+    @GetMapping("/{accountId}/balances")
+    public Mono<ResponseEntity<AccountBalanceResponseDTO>> getAccountBalances(@PathVariable String accountId) {
+        log.info("REST request to get balances for account: {}", accountId);
+        return accountService.getAccountBalances(accountId).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Deposits money into an account in the specified currency.
+     *
+     * @param accountId the ID of the account
+     * @param requestDTO the deposit request containing amount and currency
+     * @return the account and its updated balances
+     */
+    @PostMapping("/{accountId}/deposits")
+    public Mono<ResponseEntity<AccountBalanceResponseDTO>> deposit(
+            @PathVariable String accountId,
+            @Valid @RequestBody DepositRequestDTO requestDTO) {
+        log.info("REST request to deposit {} {} into account: {}",
+                requestDTO.getAmount(), requestDTO.getCurrency(), accountId);
+        return accountService.deposit(accountId, requestDTO.getAmount(), requestDTO.getCurrency())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Withdraws money from an account in the specified currency.
+     *
+     * @param accountId the ID of the account
+     * @param requestDTO the withdrawal request containing amount and currency
+     * @return the account and its updated balances
+     */
+    @PostMapping("/{accountId}/withdrawals")
+    public Mono<ResponseEntity<AccountBalanceResponseDTO>> withdraw(
+            @PathVariable String accountId,
+            @Valid @RequestBody WithdrawRequestDTO requestDTO) {
+        log.info("REST request to withdraw {} {} from account: {}",
+                requestDTO.getAmount(), requestDTO.getCurrency(), accountId);
+        return accountService.withdraw(accountId, requestDTO.getAmount(), requestDTO.getCurrency())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Exchanges money from one currency to another within an account.
+     *
+     * @param accountId the ID of the account
+     * @param requestDTO the exchange request containing from/to currencies and amount
+     * @return the account and its updated balances
+     */
+    @PostMapping("/{accountId}/exchanges")
+    public Mono<ResponseEntity<AccountBalanceResponseDTO>> exchange(
+            @PathVariable String accountId,
+            @Valid @RequestBody ExchangeRequestDTO requestDTO) {
+        log.info("REST request to exchange {} {} to {} for account: {}",
+                requestDTO.getAmount(), requestDTO.getFromCurrency(), requestDTO.getToCurrency(), accountId);
+        return accountService.exchange(accountId, requestDTO.getFromCurrency(), requestDTO.getToCurrency(),
+                        requestDTO.getAmount())
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,199 @@
+package com.cgi.bank.account.controller;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.cgi.bank.account.controller.dto.ErrorResponseDTO;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.exception.BalanceNotFoundException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.exception.InvalidCurrencyException;
+import com.cgi.bank.account.exception.OptimisticLockingConflictException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exception handler for the reactive controllers.
+ * Maps exceptions to the same statuses and error bodies as {@link GlobalExceptionHandler}.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handles AccountNotFoundException and maps it to a 404 Not Found response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleAccountNotFoundException(
+            AccountNotFoundException ex,
+            ServerHttpRequest request) {
+        log.debug("Account not found: {}", ex.getMessage());
+        return buildErrorResponse(ex, HttpStatus.NOT_FOUND, "Account not found", request);
+    }
+
+    /**
+     * Handles BalanceNotFoundException and maps it to a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(BalanceNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleBalanceNotFoundException(
+            BalanceNotFoundException ex,
+            ServerHttpRequest request) {
+        log.debug("Balance not found: {}", ex.getMessage());
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, "Balance not found", request);
+    }
+
+    /**
+     * Handles InsufficientFundsException and maps it to a 422 Unprocessable Entity response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(InsufficientFundsException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInsufficientFundsException(
+            InsufficientFundsException ex,
+            ServerHttpRequest request) {
+        log.debug("Insufficient funds: {}", ex.getMessage());
+        return buildErrorResponse(ex, HttpStatus.UNPROCESSABLE_ENTITY, "Insufficient funds", request);
+    }
+
+    /**
+     * Handles InvalidCurrencyException and maps it to a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(InvalidCurrencyException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCurrencyException(
+            InvalidCurrencyException ex,
+            ServerHttpRequest request) {
+        log.debug("Invalid currency: {}", ex.getMessage());
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, "Invalid currency", request);
+    }
+
+    /**
+     * Handles WebExchangeBindException and maps it to a 400 Bad Request response.
+     * Extracts validation errors from the BindingResult.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponseDTO> handleWebExchangeBindException(
+            WebExchangeBindException ex,
+            ServerHttpRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error -> {
+            String fieldName = error instanceof FieldError ? ((FieldError) error).getField() : error.getObjectName();
+            errors.put(fieldName, error.getDefaultMessage());
+        });
+
+        String errorMessage = errors.entrySet().stream()
+                .map(e -> e.getKey() + ": " + e.getValue())
+                .collect(Collectors.joining(", "));
+
+        log.debug("Validation error: {}", errorMessage);
+        return buildErrorResponse(new Exception(errorMessage), HttpStatus.BAD_REQUEST, "Validation error", request);
+    }
+
+    /**
+     * Handles ServerWebInputException, raised for unreadable bodies and invalid path or header values,
+     * and maps it to a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponseDTO> handleServerWebInputException(
+            ServerWebInputException ex,
+            ServerHttpRequest request) {
+        log.debug("Malformed request body: {}", ex.getMessage());
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, "Malformed request body", request);
+    }
+
+    /**
+     * Handles optimistic locking conflicts and maps them to a 409 Conflict response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockingConflictException.class})
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailureException(
+            Exception ex,
+            ServerHttpRequest request) {
+        log.debug("Optimistic locking conflict: {}", ex.getMessage());
+        return buildErrorResponse(ex, HttpStatus.CONFLICT, "Concurrent modification conflict", request);
+    }
+
+    /**
+     * Handles IllegalArgumentException and maps it to a 400 Bad Request response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIllegalArgumentException(
+            IllegalArgumentException ex,
+            ServerHttpRequest request) {
+        log.debug("Invalid argument: {}", ex.getMessage());
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, "Invalid argument", request);
+    }
+
+    /**
+     * Fallback handler for any unhandled exceptions.
+     * Maps to a 500 Internal Server Error response.
+     *
+     * @param ex the exception
+     * @param request the current request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDTO> handleGenericException(
+            Exception ex,
+            ServerHttpRequest request) {
+        log.error("Unhandled exception", ex);
+        return buildErrorResponse(ex, HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error", request);
+    }
+
+    private ResponseEntity<ErrorResponseDTO> buildErrorResponse(
+            Exception exception,
+            HttpStatus status,
+            String error,
+            ServerHttpRequest request) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                LocalDateTime.now(),
+                status.value(),
+                error,
+                exception.getMessage(),
+                request.getPath().value());
+        return new ResponseEntity<>(errorResponse, status);
+    }
+}
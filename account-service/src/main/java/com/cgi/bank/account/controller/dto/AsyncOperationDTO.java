@@ -0,0 +1,50 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for returning the state of an asynchronously executed write operation.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "State of a write operation accepted for asynchronous execution")
+public class AsyncOperationDTO {
+
+    @Schema(description = "Identifier used to poll the operation", example = "9b2f6c1e-4d7a-4e8b-a1c3-2f5d8e9a0b14")
+    private String operationId;
+
+    @Schema(description = "Kind of write", example = "DEPOSIT")
+    private String type;
+
+    @Schema(description = "Account the operation applies to", example = "acc-123456")
+    private String accountId;
+
+    @Schema(description = "PENDING, RUNNING, SUCCEEDED, FAILED or UNKNOWN", example = "SUCCEEDED")
+    private String status;
+
+    @Schema(description = "When the operation was accepted", example = "2023-09-15T14:30:15.123Z")
+    private Instant createdAt;
+
+    @Schema(description = "When the operation succeeded or failed", example = "2023-09-15T14:30:15.180Z")
+    private Instant completedAt;
+
+    @Schema(description = "Balances after the operation, present once it succeeded")
+    private AccountBalanceResponseDTO result;
+
+    @Schema(description = "HTTP status the synchronous endpoint would have returned, present once it failed",
+            example = "422")
+    private Integer errorStatus;
+
+    @Schema(description = "Error message, present once it failed",
+            example = "Insufficient funds in account acc-123456 for currency EUR")
+    private String errorMessage;
+}
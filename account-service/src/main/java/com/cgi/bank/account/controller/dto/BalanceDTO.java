@@ -2,6 +2,8 @@ package com.cgi.bank.account.controller.dto;
 
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -20,4 +22,31 @@ public class BalanceDTO {
     
     @Schema(description = "Current balance amount", example = "150.50")
     private BigDecimal amount;
-} 
\ No newline at end of file
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Amount not reserved by holds, present while the balance has active holds",
+            example = "120.50")
+    private BigDecimal availableAmount;
+
+    /**
+     * Creates a balance without holds.
+     *
+     * @param currency the currency code
+     * @param amount the balance amount
+     */
+    public BalanceDTO(String currency, BigDecimal amount) {
+        this(currency, amount, null);
+    }
+
+    /**
+     * Creates a balance, including the available amount only if part of it is held.
+     *
+     * @param currency the currency code
+     * @param amount the balance amount
+     * @param heldAmount the amount reserved by active holds
+     * @return the balance DTO
+     */
+    public static BalanceDTO of(String currency, BigDecimal amount, BigDecimal heldAmount) {
+        return new BalanceDTO(currency, amount, heldAmount.signum() > 0 ? amount.subtract(heldAmount) : null);
+    }
+}
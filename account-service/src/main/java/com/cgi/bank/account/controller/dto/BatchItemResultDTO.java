@@ -0,0 +1,47 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO representing the outcome of one operation of a batch.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Outcome of one operation of a batch")
+public class BatchItemResultDTO {
+
+    /**
+     * Outcomes of a batched operation.
+     */
+    public enum Status {
+        /** The operation was applied and committed. */
+        SUCCEEDED,
+        /** The operation failed; see the error. */
+        FAILED,
+        /** The operation was applied, but the atomic batch it belonged to was rolled back. */
+        ROLLED_BACK,
+        /** The operation was not attempted because the atomic batch had already failed. */
+        SKIPPED
+    }
+
+    @Schema(description = "Zero-based position of the operation in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Account the operation applied to", example = "f7e9a1b2-c3d4-5e6f-7a8b-9c0d1e2f3a4b")
+    private String accountId;
+
+    @Schema(description = "Outcome of the operation", example = "SUCCEEDED")
+    private Status status;
+
+    @Schema(description = "Reason the operation failed", example = "Insufficient funds for account ...")
+    private String error;
+
+    @Schema(description = "Balances of the account after the operation, for succeeded operations")
+    private List<BalanceDTO> balances;
+}
@@ -0,0 +1,20 @@
+package com.cgi.bank.account.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Failure semantics of a batch of operations.
+ */
+@Schema(description = "Failure semantics of a batch of operations")
+public enum BatchMode {
+
+    /**
+     * All operations are applied in one transaction; the first failure rolls back the whole batch.
+     */
+    ATOMIC,
+
+    /**
+     * Every operation that succeeds is committed; failures are reported per operation.
+     */
+    BEST_EFFORT
+}
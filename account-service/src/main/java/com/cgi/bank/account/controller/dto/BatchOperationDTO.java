@@ -0,0 +1,48 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.math.BigDecimal;
+
+import com.cgi.bank.account.domain.Currency;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a single operation of a batch request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "One deposit, withdrawal or exchange of a batch request")
+public class BatchOperationDTO {
+
+    /**
+     * Kinds of operations that can be batched.
+     */
+    public enum Type {
+        DEPOSIT,
+        WITHDRAW,
+        EXCHANGE
+    }
+
+    @Schema(description = "Operation type", example = "DEPOSIT", required = true)
+    private Type type;
+
+    @Schema(description = "Account the operation applies to", example = "f7e9a1b2-c3d4-5e6f-7a8b-9c0d1e2f3a4b",
+            required = true)
+    private String accountId;
+
+    @Schema(description = "Amount to deposit, withdraw or exchange", example = "100.00", required = true)
+    private BigDecimal amount;
+
+    @Schema(description = "Currency of a deposit or withdrawal", example = "EUR")
+    private Currency currency;
+
+    @Schema(description = "Source currency of an exchange", example = "EUR")
+    private Currency fromCurrency;
+
+    @Schema(description = "Target currency of an exchange", example = "USD")
+    private Currency toCurrency;
+}
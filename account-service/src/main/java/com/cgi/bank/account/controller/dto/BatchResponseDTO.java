@@ -0,0 +1,39 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO summarizing the outcome of a batch of operations.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Outcome of a batch of operations")
+public class BatchResponseDTO {
+
+    @Schema(description = "Failure semantics the batch was executed with", example = "ATOMIC")
+    private BatchMode mode;
+
+    @Schema(description = "Whether any changes of the batch were committed", example = "true")
+    private boolean committed;
+
+    @Schema(description = "Number of operations read from the request", example = "2")
+    private int total;
+
+    @Schema(description = "Number of operations that were applied and committed", example = "2")
+    private int succeeded;
+
+    @Schema(description = "Number of operations that failed", example = "0")
+    private int failed;
+
+    @Schema(description = "Reason the batch was aborted, if the request could not be read to the end")
+    private String error;
+
+    @Schema(description = "Per-operation outcomes, in request order")
+    private List<BatchItemResultDTO> results;
+}
@@ -0,0 +1,35 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a bulk account creation request. Either {@code count} or {@code references} is given.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Request payload for creating many accounts at once")
+public class BulkCreateAccountsRequestDTO {
+
+    @Positive(message = "Count must be positive")
+    @Schema(description = "Number of accounts to create, if no references are given", example = "1000")
+    private Integer count;
+
+    @Schema(description = "Client references, one account is created per reference and returned with it",
+            example = "[\"customer-1001\", \"customer-1002\"]")
+    private List<@NotBlank(message = "References must not be blank")
+            @Size(max = 100, message = "References must be at most 100 characters") String> references;
+
+    @Valid
+    @Schema(description = "Balances every created account starts with")
+    private List<OpeningBalanceDTO> openingBalances;
+}
@@ -0,0 +1,27 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO summarizing the accounts created by a bulk creation request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Accounts created by a bulk creation request")
+public class BulkCreateAccountsResponseDTO {
+
+    @Schema(description = "Number of accounts created", example = "2")
+    private int created;
+
+    @Schema(description = "Balances every created account starts with")
+    private List<BalanceDTO> openingBalances;
+
+    @Schema(description = "Created accounts, in the order of the references")
+    private List<CreatedAccountDTO> accounts;
+}
@@ -0,0 +1,23 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.math.BigDecimal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for capturing a hold.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Request payload for debiting held money")
+public class CaptureHoldRequestDTO {
+    
+    @Positive(message = "Amount must be positive")
+    @Schema(description = "Amount to debit, at most the held amount; defaults to the held amount", example = "20.00")
+    private BigDecimal amount;
+}
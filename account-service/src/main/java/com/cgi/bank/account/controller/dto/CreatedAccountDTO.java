@@ -0,0 +1,23 @@
+package com.cgi.bank.account.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for an account created by a bulk creation request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Account created by a bulk creation request")
+public class CreatedAccountDTO {
+
+    @Schema(description = "Client reference the account was created for, if references were given",
+            example = "customer-1001")
+    private String reference;
+
+    @Schema(description = "Identifier of the created account", example = "0192a7c4-5e21-7b3f-8c4d-2a9e6f1b3c70")
+    private String accountId;
+}
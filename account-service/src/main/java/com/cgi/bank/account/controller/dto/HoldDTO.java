@@ -0,0 +1,50 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for returning a hold.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Money reserved on an account balance")
+public class HoldDTO {
+
+    @Schema(description = "Identifier used to capture or release the hold", 
+            example = "5c0e2a7b-8f3d-4b1e-9a6c-7d2e4f1b3a90")
+    private String holdId;
+
+    @Schema(description = "Account the money is held on", example = "acc-123456")
+    private String accountId;
+
+    @Schema(description = "Currency of the held balance", example = "EUR")
+    private String currency;
+
+    @Schema(description = "Amount reserved by the hold", example = "25.00")
+    private BigDecimal amount;
+
+    @Schema(description = "Amount debited, present once the hold was captured", example = "20.00")
+    private BigDecimal capturedAmount;
+
+    @Schema(description = "ACTIVE, CAPTURED, RELEASED or EXPIRED", example = "ACTIVE")
+    private String status;
+
+    @Schema(description = "When the hold was placed", example = "2023-09-15T14:30:15.123Z")
+    private Instant createdAt;
+
+    @Schema(description = "When an active hold is released automatically", example = "2023-09-22T14:30:15.123Z")
+    private Instant expiresAt;
+
+    @Schema(description = "When the hold was captured, released or expired", example = "2023-09-16T09:12:40.512Z")
+    private Instant completedAt;
+}
@@ -0,0 +1,35 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.math.BigDecimal;
+
+import com.cgi.bank.account.domain.Currency;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for placing a hold on a balance.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Request payload for reserving money on an account balance")
+public class HoldRequestDTO {
+    
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @Schema(description = "Amount to reserve", example = "25.00", required = true)
+    private BigDecimal amount;
+    
+    @NotNull(message = "Currency is required")
+    @Schema(description = "Currency code (EUR, USD, SEK, RUB)", example = "EUR", required = true)
+    private Currency currency;
+    
+    @Positive(message = "Time to live must be positive")
+    @Schema(description = "Seconds until the hold expires; defaults to app.holds.default-ttl", example = "3600")
+    private Long ttlSeconds;
+}
@@ -0,0 +1,31 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.math.BigDecimal;
+
+import com.cgi.bank.account.domain.Currency;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a balance every account of a bulk creation request starts with.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Opening balance of each created account")
+public class OpeningBalanceDTO {
+
+    @NotNull(message = "Currency is required")
+    @Schema(description = "Currency code (EUR, USD, SEK, RUB)", example = "EUR", required = true)
+    private Currency currency;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @Schema(description = "Opening amount, recorded as a deposit", example = "100.00", required = true)
+    private BigDecimal amount;
+}
@@ -0,0 +1,25 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one page of an account's transaction history read with a cursor.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Page of transactions, newest first, with the cursor of the next page")
+public class TransactionCursorPageDTO {
+
+    @Schema(description = "Transactions of this page")
+    private List<TransactionResponseDTO> content;
+
+    @Schema(description = "Value of 'after' for the next page; null when this is the last page",
+            example = "MjAyNS0wNS0wMVQxMjozMDowMC4xMjM0NTZaLzQyMTc")
+    private String nextCursor;
+}
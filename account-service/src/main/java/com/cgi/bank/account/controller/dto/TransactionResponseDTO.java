@@ -28,7 +28,8 @@ public class TransactionResponseDTO {
     @Schema(description = "Account ID associated with the transaction", example = "acc-123456")
     private String accountId;
     
-    @Schema(description = "Type of transaction: DEPOSIT, WITHDRAWAL, EXCHANGE_FROM, EXCHANGE_TO", example = "DEPOSIT")
+    @Schema(description = "Type of transaction: DEPOSIT, WITHDRAWAL, EXCHANGE_FROM, EXCHANGE_TO, TRANSFER_OUT, " +
+            "TRANSFER_IN", example = "DEPOSIT")
     private TransactionType type;
     
     @Schema(description = "Amount involved in the transaction", example = "100.50")
@@ -46,4 +47,8 @@ public class TransactionResponseDTO {
     
     @Schema(description = "Description or reference for the transaction", example = "Cash deposit")
     private String description;
+
+    @Schema(description = "Identifier shared by both transactions of a transfer",
+            example = "3c1d7a52-8f0e-4b6a-9d2c-5e4f1a0b7c93")
+    private String transferId;
 } 
\ No newline at end of file
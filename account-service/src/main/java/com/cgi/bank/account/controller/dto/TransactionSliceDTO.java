@@ -0,0 +1,30 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one numbered page of an account's transaction history, without totals.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Page of transactions, newest first, that only tells whether a next page exists")
+public class TransactionSliceDTO {
+
+    @Schema(description = "Transactions of this page")
+    private List<TransactionResponseDTO> content;
+
+    @Schema(description = "Page number (0-based)", example = "0")
+    private int page;
+
+    @Schema(description = "Requested page size", example = "20")
+    private int size;
+
+    @Schema(description = "Whether another page follows", example = "true")
+    private boolean hasNext;
+}
@@ -0,0 +1,41 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.math.BigDecimal;
+
+import com.cgi.bank.account.domain.Currency;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for transfer request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Request payload for transferring money to another account")
+public class TransferRequestDTO {
+
+    @NotBlank(message = "Destination account ID is required")
+    @Schema(description = "Account the money is sent to", example = "f7e9a1b2-c3d4-5e6f-7a8b-9c0d1e2f3a4b",
+            required = true)
+    private String toAccountId;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @Schema(description = "Amount to debit from the source account", example = "100.00", required = true)
+    private BigDecimal amount;
+
+    @NotNull(message = "Currency is required")
+    @Schema(description = "Currency debited from the source account", example = "EUR", required = true)
+    private Currency currency;
+
+    @Schema(description = "Currency credited to the destination account, defaults to the debited currency",
+            example = "USD")
+    private Currency toCurrency;
+}
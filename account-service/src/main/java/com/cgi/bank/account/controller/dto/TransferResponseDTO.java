@@ -0,0 +1,44 @@
+package com.cgi.bank.account.controller.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for returning the outcome of a transfer.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Outcome of a transfer between two accounts")
+public class TransferResponseDTO {
+
+    @Schema(description = "Identifier linking the debit and credit transactions of the transfer",
+            example = "3c1d7a52-8f0e-4b6a-9d2c-5e4f1a0b7c93")
+    private String transferId;
+
+    @Schema(description = "Account the money was sent from", example = "acc-123456")
+    private String fromAccountId;
+
+    @Schema(description = "Account the money was sent to", example = "acc-654321")
+    private String toAccountId;
+
+    @Schema(description = "Amount debited from the source account", example = "100.00")
+    private BigDecimal amount;
+
+    @Schema(description = "Currency debited from the source account", example = "EUR")
+    private String currency;
+
+    @Schema(description = "Amount credited to the destination account", example = "108.00")
+    private BigDecimal creditedAmount;
+
+    @Schema(description = "Currency credited to the destination account", example = "USD")
+    private String creditedCurrency;
+
+    @Schema(description = "Balances of the source account after the transfer")
+    private List<BalanceDTO> balances;
+}
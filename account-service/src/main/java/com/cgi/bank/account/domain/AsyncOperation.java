@@ -0,0 +1,178 @@
+package com.cgi.bank.account.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Represents a write operation accepted for asynchronous execution and, once it has run, its outcome.
+ */
+@Entity
+@Table(name = "async_operations")
+@Getter
+@Setter
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@ToString(exclude = "resultBody")
+public class AsyncOperation {
+
+    /**
+     * Kinds of write that can be executed asynchronously.
+     */
+    public enum Type {
+        DEPOSIT,
+        WITHDRAWAL,
+        EXCHANGE
+    }
+
+    /**
+     * Lifecycle of an asynchronous operation.
+     */
+    public enum Status {
+        /** Stored and waiting for a worker. */
+        PENDING,
+        /** Claimed by a worker and executing. */
+        RUNNING,
+        /** Executed; the balance response is stored. */
+        SUCCEEDED,
+        /** Rejected before anything was written; the error is stored. */
+        FAILED,
+        /** Interrupted after it may have been applied; whether the write happened was not recorded. */
+        UNKNOWN;
+
+        /**
+         * Checks whether the operation has reached its final state.
+         *
+         * @return true for succeeded, failed and unknown operations
+         */
+        public boolean isFinished() {
+            return this != PENDING && this != RUNNING;
+        }
+    }
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 500;
+
+    @Id
+    @Column(name = "operation_id", length = 36)
+    private String operationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Column(name = "account_id", nullable = false, length = 36)
+    private String accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private Currency currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_currency", length = 3)
+    private Currency targetCurrency;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "idempotency_key", length = 100, unique = true)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;
+
+    @Column(name = "result_body", columnDefinition = "TEXT")
+    private String resultBody;
+
+    @Column(name = "error_status")
+    private Integer errorStatus;
+
+    @Column(name = "error_message", length = MAX_ERROR_MESSAGE_LENGTH)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    /**
+     * Creates a pending operation with a new ID.
+     *
+     * @param type           the kind of write
+     * @param accountId      the account the operation applies to
+     * @param currency       the currency of the deposit or withdrawal, or the source currency of an exchange
+     * @param targetCurrency the target currency of an exchange, null otherwise
+     * @param amount         the amount of the operation
+     * @param createdAt      when the operation was accepted
+     */
+    public AsyncOperation(Type type, String accountId, Currency currency, Currency targetCurrency,
+            BigDecimal amount, Instant createdAt) {
+        this.operationId = UUID.randomUUID().toString();
+        this.type = type;
+        this.accountId = accountId;
+        this.currency = currency;
+        this.targetCurrency = targetCurrency;
+        this.amount = amount;
+        this.status = Status.PENDING;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Stores the balance response and marks the operation succeeded.
+     *
+     * @param result      the serialized balance response
+     * @param completedAt when the operation finished
+     */
+    public void succeed(String result, Instant completedAt) {
+        this.resultBody = result;
+        this.status = Status.SUCCEEDED;
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * Marks an operation whose worker stopped without recording an outcome. The write may or may not have
+     * been applied, so no error status is stored.
+     *
+     * @param message     the explanation returned to the client
+     * @param completedAt when the operation was given up on
+     */
+    public void abandon(String message, Instant completedAt) {
+        this.errorStatus = null;
+        this.errorMessage = message;
+        this.status = Status.UNKNOWN;
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * Stores the error and marks the operation failed.
+     *
+     * @param httpStatus  the status the synchronous endpoint would have returned
+     * @param message     the error message, truncated to the column length
+     * @param completedAt when the operation finished
+     */
+    public void fail(int httpStatus, String message, Instant completedAt) {
+        this.errorStatus = httpStatus;
+        this.errorMessage = message != null && message.length() > MAX_ERROR_MESSAGE_LENGTH
+                ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH)
+                : message;
+        this.status = Status.FAILED;
+        this.completedAt = completedAt;
+    }
+}
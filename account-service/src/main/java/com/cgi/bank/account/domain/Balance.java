@@ -24,7 +24,8 @@ import lombok.ToString;
 
 /**
  * Represents a currency balance for an account.
- * Each account can have multiple balances, one per currency.
+ * Each account can have multiple balances, one per currency. Part of the amount can be reserved by holds;
+ * withdrawals can only take the available amount, which excludes the held amount.
  */
 @Entity
 @Table(name = "balances", uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "currency"}))
@@ -49,6 +50,9 @@ public class Balance {
     @Column(nullable = false, precision = 19, scale = 4)
     private BigDecimal amount = BigDecimal.ZERO;
 
+    @Column(name = "held_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
     @Version
     private Long version;
 
@@ -78,27 +82,88 @@ public class Balance {
         this.amount = this.amount.add(value);
     }
 
+    /**
+     * Gets the amount that is not reserved by holds.
+     *
+     * @return the amount minus the held amount
+     */
+    public BigDecimal getAvailableAmount() {
+        return amount.subtract(heldAmount);
+    }
+
     /**
      * Subtracts the specified amount from the balance if sufficient funds are available.
      *
      * @param value the amount to subtract (must be positive)
      * @throws IllegalArgumentException if value is negative or zero
-     * @throws InsufficientFundsException if the balance is less than the amount to subtract
+     * @throws InsufficientFundsException if the available amount is less than the amount to subtract
      */
     public void subtractAmount(BigDecimal value) {
         if (value.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Amount to subtract must be positive");
         }
         
-        if (this.amount.compareTo(value) < 0) {
+        requireAvailable(value);
+        
+        this.amount = this.amount.subtract(value);
+    }
+
+    /**
+     * Reserves the specified amount, so it can no longer be withdrawn until it is captured or released.
+     *
+     * @param value the amount to hold (must be positive)
+     * @throws IllegalArgumentException if value is negative or zero
+     * @throws InsufficientFundsException if the available amount is less than the amount to hold
+     */
+    public void hold(BigDecimal value) {
+        if (value.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount to hold must be positive");
+        }
+        
+        requireAvailable(value);
+        
+        this.heldAmount = this.heldAmount.add(value);
+    }
+
+    /**
+     * Ends a hold by debiting part or all of it; the rest of the held amount becomes available again.
+     *
+     * @param held the amount the hold reserved
+     * @param captured the amount to debit (positive, at most the held amount)
+     * @throws IllegalArgumentException if the captured amount is not positive or exceeds the held amount
+     */
+    public void capture(BigDecimal held, BigDecimal captured) {
+        if (captured.compareTo(BigDecimal.ZERO) <= 0 || captured.compareTo(held) > 0) {
+            throw new IllegalArgumentException("Captured amount must be positive and at most the held amount");
+        }
+        
+        release(held);
+        this.amount = this.amount.subtract(captured);
+    }
+
+    /**
+     * Ends a hold without debiting it; the held amount becomes available again.
+     *
+     * @param held the amount the hold reserved
+     * @throws IllegalStateException if the balance holds less than the amount
+     */
+    public void release(BigDecimal held) {
+        if (this.heldAmount.compareTo(held) < 0) {
+            throw new IllegalStateException("Balance holds " + heldAmount + ", cannot release " + held);
+        }
+        
+        this.heldAmount = this.heldAmount.subtract(held);
+    }
+
+    private void requireAvailable(BigDecimal value) {
+        BigDecimal available = getAvailableAmount();
+        if (available.compareTo(value) < 0) {
             throw new InsufficientFundsException(
                     account.getAccountId(), 
                     currency, 
                     value, 
-                    amount
+                    available
             );
         }
-        
-        this.amount = this.amount.subtract(value);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.cgi.bank.account.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Represents funds reserved on a balance until they are captured, released or expire.
+ * The held amount is also added to the balance's {@code heldAmount}, which is what withdrawals check.
+ */
+@Entity
+@Table(name = "holds")
+@Getter
+@Setter
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@ToString
+public class Hold {
+
+    /**
+     * Lifecycle of a hold.
+     */
+    public enum Status {
+        /** The funds are reserved. */
+        ACTIVE,
+        /** Part or all of the funds were debited. */
+        CAPTURED,
+        /** The funds were made available again on request. */
+        RELEASED,
+        /** The funds were made available again after the hold's expiry. */
+        EXPIRED
+    }
+
+    @Id
+    @Column(name = "hold_id", length = 36)
+    private String holdId;
+
+    @Column(name = "account_id", nullable = false, length = 36)
+    private String accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private Currency currency;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(name = "captured_amount", precision = 19, scale = 4)
+    private BigDecimal capturedAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    /**
+     * Creates an active hold with a new ID.
+     *
+     * @param accountId the account the funds are held on
+     * @param currency  the currency of the held balance
+     * @param amount    the amount to reserve
+     * @param createdAt when the hold was placed
+     * @param expiresAt when the hold is released if it is still active
+     */
+    public Hold(String accountId, Currency currency, BigDecimal amount, Instant createdAt, Instant expiresAt) {
+        this.holdId = UUID.randomUUID().toString();
+        this.accountId = accountId;
+        this.currency = currency;
+        this.amount = amount;
+        this.status = Status.ACTIVE;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Marks the hold captured.
+     *
+     * @param captured    the debited amount
+     * @param completedAt when the hold was captured
+     */
+    public void capture(BigDecimal captured, Instant completedAt) {
+        this.capturedAmount = captured;
+        complete(Status.CAPTURED, completedAt);
+    }
+
+    /**
+     * Marks the hold released, on request or because it expired.
+     *
+     * @param status      {@link Status#RELEASED} or {@link Status#EXPIRED}
+     * @param completedAt when the hold was released
+     */
+    public void release(Status status, Instant completedAt) {
+        complete(status, completedAt);
+    }
+
+    /**
+     * Checks whether the funds are still reserved.
+     *
+     * @return true for active holds
+     */
+    public boolean isActive() {
+        return status == Status.ACTIVE;
+    }
+
+    private void complete(Status status, Instant completedAt) {
+        this.status = status;
+        this.completedAt = completedAt;
+    }
+}
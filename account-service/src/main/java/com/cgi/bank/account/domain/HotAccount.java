@@ -0,0 +1,65 @@
+package com.cgi.bank.account.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Represents an account whose deposits are spread over {@link BalanceSlot} rows.
+ */
+@Entity
+@Table(name = "hot_accounts")
+@Getter
+@Setter
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@ToString
+public class HotAccount {
+
+    /**
+     * How an account was flagged as hot.
+     */
+    public enum Source {
+        /** Flagged by an operator. */
+        MANUAL,
+        /** Flagged after exceeding the optimistic-lock conflict threshold. */
+        DETECTED
+    }
+
+    @Id
+    @Column(name = "account_id", length = 36)
+    private String accountId;
+
+    @Column(nullable = false)
+    private int slots;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Source source;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Flags an account as hot.
+     *
+     * @param accountId the ID of the account
+     * @param slots     the number of slots deposits are spread over
+     * @param source    how the account was flagged
+     * @param updatedAt when the account was flagged
+     */
+    public HotAccount(String accountId, int slots, Source source, Instant updatedAt) {
+        this.accountId = accountId;
+        this.slots = slots;
+        this.source = source;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,109 @@
+package com.cgi.bank.account.domain;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Represents a write request sent with an {@code Idempotency-Key} header and, once completed, its response.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@Setter
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+@ToString(exclude = "responseBody")
+public class IdempotencyRecord {
+
+    /**
+     * Lifecycle of an idempotent request.
+     */
+    public enum Status {
+        /** The first request with the key is executing. */
+        IN_PROGRESS,
+        /** The request finished and its response is stored. */
+        COMPLETED
+    }
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "claimed_at", nullable = false)
+    private Instant claimedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Creates a record claiming the key for a request that is about to execute.
+     *
+     * @param idempotencyKey the key sent by the client
+     * @param requestHash    the fingerprint of the request
+     * @param createdAt      when the key was first used
+     * @param expiresAt      when the key may be reused
+     */
+    public IdempotencyRecord(String idempotencyKey, String requestHash, Instant createdAt, Instant expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.status = Status.IN_PROGRESS;
+        this.createdAt = createdAt;
+        this.claimedAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Stores the response of the request and marks it completed.
+     *
+     * @param response the serialized response
+     */
+    public void complete(String response) {
+        this.responseBody = response;
+        this.status = Status.COMPLETED;
+    }
+
+    /**
+     * Checks whether the key has expired and may be reused.
+     *
+     * @param now the current time
+     * @return true if the record is past its expiry
+     */
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Checks whether the request holding the key has been in progress for so long that its instance is
+     * presumed to have stopped, so a retry may claim the key.
+     *
+     * @param now the current time
+     * @param claimTimeout how long a claim is held before it may be taken over
+     * @return true if the record is still in progress and its claim is older than the timeout
+     */
+    public boolean isClaimAbandoned(Instant now, Duration claimTimeout) {
+        return status == Status.IN_PROGRESS && !claimedAt.plus(claimTimeout).isAfter(now);
+    }
+}
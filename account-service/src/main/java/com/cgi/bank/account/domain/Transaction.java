@@ -3,6 +3,8 @@ package com.cgi.bank.account.domain;
 import java.math.BigDecimal;
 import java.time.Instant;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -14,6 +16,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -22,7 +25,7 @@ import lombok.ToString;
 
 /**
  * Represents a transaction record for audit purposes.
- * Tracks deposits, withdrawals, and currency exchanges.
+ * Tracks deposits, withdrawals, currency exchanges, transfers and captured holds.
  */
 @Entity
 @Table(name = "transactions")
@@ -32,8 +35,18 @@ import lombok.ToString;
 @ToString(exclude = "account")
 public class Transaction {
 
+    /**
+     * Drawn in blocks from the pooled {@code transactions_id_seq}, so new rows need no round trip each and are
+     * inserted in JDBC batches. The block size follows the sequence increment set by the V5 migration.
+     * Plain SQL inserts rely on the column default instead; the pooled optimizer never hands out a value that
+     * the sequence returns to them. The default below is only used where Hibernate creates the schema (H2),
+     * PostgreSQL keeps the one from V1.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_id_generator")
+    @SequenceGenerator(name = "transaction_id_generator", sequenceName = "transactions_id_seq",
+            allocationSize = 50)
+    @ColumnDefault("next value for transactions_id_seq")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -54,6 +67,18 @@ public class Transaction {
     @Column(nullable = false)
     private Instant timestamp;
 
+    /**
+     * Sequence of the ledger journal record this transaction was persisted from, null when written directly.
+     */
+    @Column(name = "journal_sequence", unique = true)
+    private Long journalSequence;
+
+    /**
+     * Identifier shared by the two rows of a transfer, null for other transactions.
+     */
+    @Column(name = "transfer_id", length = 36)
+    private String transferId;
+
     @PrePersist
     protected void onCreate() {
         if (timestamp == null) {
@@ -124,4 +149,48 @@ public class Transaction {
     public static Transaction createExchangeTo(Account account, Currency toCurrency, BigDecimal amount) {
         return new Transaction(account, TransactionType.EXCHANGE_TO, toCurrency, amount);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Factory method to create the debit side of a transfer.
+     *
+     * @param account    the account the money is sent from
+     * @param currency   the currency debited
+     * @param amount     the amount debited
+     * @param transferId the identifier linking both sides of the transfer
+     * @return a new transfer out transaction
+     */
+    public static Transaction createTransferOut(Account account, Currency currency, BigDecimal amount,
+            String transferId) {
+        Transaction transaction = new Transaction(account, TransactionType.TRANSFER_OUT, currency, amount);
+        transaction.setTransferId(transferId);
+        return transaction;
+    }
+
+    /**
+     * Factory method to create the credit side of a transfer.
+     *
+     * @param account    the account the money is sent to
+     * @param currency   the currency credited
+     * @param amount     the amount credited, after exchange if the currencies differ
+     * @param transferId the identifier linking both sides of the transfer
+     * @return a new transfer in transaction
+     */
+    public static Transaction createTransferIn(Account account, Currency currency, BigDecimal amount,
+            String transferId) {
+        Transaction transaction = new Transaction(account, TransactionType.TRANSFER_IN, currency, amount);
+        transaction.setTransferId(transferId);
+        return transaction;
+    }
+
+    /**
+     * Factory method to create the debit of a captured hold.
+     *
+     * @param account  the account the hold was placed on
+     * @param currency the currency of the hold
+     * @param amount   the captured amount
+     * @return a new capture transaction
+     */
+    public static Transaction createCapture(Account account, Currency currency, BigDecimal amount) {
+        return new Transaction(account, TransactionType.CAPTURE, currency, amount);
+    }
+}
@@ -7,5 +7,8 @@ public enum TransactionType {
     DEPOSIT,       // Money added to an account
     WITHDRAWAL,    // Money removed from an account
     EXCHANGE_FROM, // Money removed as part of a currency exchange
-    EXCHANGE_TO    // Money added as part of a currency exchange
+    EXCHANGE_TO,   // Money added as part of a currency exchange
+    TRANSFER_OUT,  // Money sent to another account
+    TRANSFER_IN,   // Money received from another account
+    CAPTURE        // Held money debited when a hold is captured
 } 
\ No newline at end of file
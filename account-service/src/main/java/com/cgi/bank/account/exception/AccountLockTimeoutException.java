@@ -0,0 +1,15 @@
+package com.cgi.bank.account.exception;
+
+/**
+ * Exception thrown when a write operation cannot acquire the account lock within the configured timeout.
+ */
+public class AccountLockTimeoutException extends RuntimeException {
+
+    public AccountLockTimeoutException(String accountId) {
+        super("Timed out waiting for concurrent operations on account " + accountId + " to complete");
+    }
+
+    public AccountLockTimeoutException(String accountId, Throwable cause) {
+        super("Interrupted while waiting for concurrent operations on account " + accountId + " to complete", cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.cgi.bank.account.exception;
+
+/**
+ * Exception thrown when an asynchronous operation cannot be found, or has been purged.
+ */
+public class AsyncOperationNotFoundException extends RuntimeException {
+
+    public AsyncOperationNotFoundException(String operationId) {
+        super("Operation not found with ID: " + operationId);
+    }
+}
@@ -0,0 +1,13 @@
+package com.cgi.bank.account.exception;
+
+import com.cgi.bank.account.domain.Hold;
+
+/**
+ * Exception thrown when a hold is captured or released after it has already been captured, released or expired.
+ */
+public class HoldNotActiveException extends RuntimeException {
+
+    public HoldNotActiveException(String holdId, Hold.Status status) {
+        super(String.format("Hold %s is already %s", holdId, status));
+    }
+}
@@ -0,0 +1,11 @@
+package com.cgi.bank.account.exception;
+
+/**
+ * Exception thrown when a hold cannot be found on an account.
+ */
+public class HoldNotFoundException extends RuntimeException {
+
+    public HoldNotFoundException(String accountId, String holdId) {
+        super(String.format("Hold %s not found for account %s", holdId, accountId));
+    }
+}
@@ -0,0 +1,11 @@
+package com.cgi.bank.account.exception;
+
+/**
+ * Exception thrown when a request with the same idempotency key is still executing.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String idempotencyKey) {
+        super("A request with idempotency key " + idempotencyKey + " is still in progress");
+    }
+}
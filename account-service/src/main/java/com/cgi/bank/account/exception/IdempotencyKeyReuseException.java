@@ -0,0 +1,11 @@
+package com.cgi.bank.account.exception;
+
+/**
+ * Exception thrown when an idempotency key is reused with a different operation, account or request body.
+ */
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used with a different request");
+    }
+}
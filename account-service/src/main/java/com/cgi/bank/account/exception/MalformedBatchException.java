@@ -0,0 +1,15 @@
+package com.cgi.bank.account.exception;
+
+/**
+ * Exception thrown when a batch request body cannot be read as a JSON array of operations.
+ */
+public class MalformedBatchException extends RuntimeException {
+
+    public MalformedBatchException(String message) {
+        super(message);
+    }
+
+    public MalformedBatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
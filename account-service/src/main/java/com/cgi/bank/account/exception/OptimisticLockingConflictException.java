@@ -1,6 +1,6 @@
 package com.cgi.bank.account.exception;
 
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 /**
  * Exception thrown when a concurrent update on the same entity is detected (optimistic locking conflict).
@@ -11,7 +11,7 @@ public class OptimisticLockingConflictException extends RuntimeException {
         super(message);
     }
 
-    public OptimisticLockingConflictException(String message, ObjectOptimisticLockingFailureException cause) {
+    public OptimisticLockingConflictException(String message, OptimisticLockingFailureException cause) {
         super(message, cause);
     }
 } 
\ No newline at end of file
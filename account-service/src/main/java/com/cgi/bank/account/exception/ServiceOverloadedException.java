@@ -0,0 +1,16 @@
+package com.cgi.bank.account.exception;
+
+/**
+ * Exception thrown when a request cannot be admitted because the service is handling its maximum number of
+ * concurrent requests.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(int limit) {
+        super("Too many concurrent requests (limit " + limit + "), please retry later");
+    }
+
+    public ServiceOverloadedException(int limit, Throwable cause) {
+        super("Interrupted while waiting for one of " + limit + " request permits", cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.cgi.bank.account.exception;
+
+/**
+ * Exception thrown when a valid request asks for an operation that the configured ledger engine does not
+ * implement.
+ */
+public class UnsupportedLedgerOperationException extends RuntimeException {
+
+    public UnsupportedLedgerOperationException(String message) {
+        super(message);
+    }
+}
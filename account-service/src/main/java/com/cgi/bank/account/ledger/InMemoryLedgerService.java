@@ -0,0 +1,372 @@
+package com.cgi.bank.account.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.controller.dto.TransferResponseDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.exception.UnsupportedLedgerOperationException;
+import com.cgi.bank.account.integration.NotificationClient;
+import com.cgi.bank.account.service.AccountService;
+import com.cgi.bank.account.service.CurrencyExchangeService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link AccountService} backed by the in-memory sharded ledger, enabled with {@code app.ledger.engine=in-memory}.
+ * Accounts are hashed onto shards; each shard owns its balances and applies commands sequentially on its own
+ * thread, so operations never wait on database locks or optimistic versions. Applied changes are written to the
+ * {@code transactions} and {@code balances} tables asynchronously in batches, and the shards are rebuilt from
+ * those tables on startup.
+ * Callers are answered as soon as their command is applied in memory. Without the journal, changes not yet
+ * persisted are lost on a crash; with {@code app.ledger.journal.enabled=true} every change is appended to the
+ * {@link LedgerJournal} first and the unpersisted tail is replayed on startup.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "app.ledger", name = "engine", havingValue = "in-memory")
+@Slf4j
+public class InMemoryLedgerService implements AccountService, SmartLifecycle {
+
+    /**
+     * Start before and stop after the embedded web server, so no request reaches a shard that is not running.
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CurrencyExchangeService currencyExchangeService;
+    private final NotificationClient notificationClient;
+    private final LedgerJournal journal;
+    private final Object journalLock = new Object();
+    private final LedgerPersister persister;
+    private final LedgerShard[] shards;
+
+    private volatile boolean running;
+
+    /**
+     * Creates the shards and the persister; state is loaded and threads are started with the application context.
+     *
+     * @param ledgerProperties the ledger configuration containing the engine settings
+     * @param jdbcTemplate the template used to load state and persist ledger entries
+     * @param transactionManager the transaction manager used for persistence batches
+     * @param currencyExchangeService the service used to convert exchange amounts
+     * @param notificationClient the client used to send deposit notifications
+     * @param meterRegistry the registry used to publish shard and persistence backlogs
+     */
+    public InMemoryLedgerService(LedgerProperties ledgerProperties, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, CurrencyExchangeService currencyExchangeService,
+            NotificationClient notificationClient, MeterRegistry meterRegistry) {
+        LedgerProperties.InMemory properties = ledgerProperties.getInMemory();
+        this.jdbcTemplate = jdbcTemplate;
+        this.currencyExchangeService = currencyExchangeService;
+        this.notificationClient = notificationClient;
+        this.journal = ledgerProperties.getJournal().isEnabled() ? openJournal(ledgerProperties.getJournal()) : null;
+        this.persister = new LedgerPersister(jdbcTemplate, new TransactionTemplate(transactionManager), properties,
+                journal != null ? journal::release : sequence -> { },
+                Counter.builder("ledger.engine.persist.quarantined")
+                        .description("Ledger entries skipped because they could not be written to the database")
+                        .register(meterRegistry));
+        this.shards = new LedgerShard[properties.getShards()];
+
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new LedgerShard(i, properties.getRingBufferSize(), properties.getSubmitTimeout(),
+                    this::record);
+            Gauge.builder("ledger.engine.shard.backlog", shards[i], LedgerShard::backlog)
+                    .description("Number of commands waiting in a ledger shard's buffer")
+                    .tag("shard", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("ledger.engine.persist.backlog", persister, LedgerPersister::backlog)
+                .description("Number of applied ledger entries not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceResponseDTO createAccount() {
+        String accountId = UUID.randomUUID().toString();
+        // The account row is written synchronously so that persisted entries can always reference it
+        jdbcTemplate.update("INSERT INTO accounts (account_id, version) VALUES (?, 0)", accountId);
+        return execute(LedgerCommand.open(accountId));
+    }
+
+    /**
+     * Opens accounts whose rows have already been inserted and credits each with the opening balances, which are
+     * recorded and persisted as deposits without sending deposit notifications. All commands are submitted before
+     * any result is awaited, so the shards work through them in parallel.
+     *
+     * @param accountIds the identifiers of the inserted accounts
+     * @param openingBalances the amount each account starts with, per currency
+     */
+    public void openAccounts(List<String> accountIds, Map<Currency, BigDecimal> openingBalances) {
+        List<CompletableFuture<Map<Currency, BigDecimal>>> results =
+                new ArrayList<>(accountIds.size() * (1 + openingBalances.size()));
+        for (String accountId : accountIds) {
+            LedgerShard shard = shardFor(accountId);
+            results.add(shard.submit(LedgerCommand.open(accountId)));
+            openingBalances.forEach((currency, amount) ->
+                    results.add(shard.submit(LedgerCommand.deposit(accountId, currency, amount))));
+        }
+        results.forEach(InMemoryLedgerService::join);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceResponseDTO getAccountBalances(String accountId) {
+        return execute(LedgerCommand.read(accountId));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Balances are read from memory and carry no version, so they are not tagged.
+     */
+    @Override
+    public Optional<String> getBalancesVersionTag(String accountId) {
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceResponseDTO deposit(String accountId, BigDecimal amount, Currency currency) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Deposit amount must be positive");
+        }
+
+        AccountBalanceResponseDTO response = execute(LedgerCommand.deposit(accountId, currency, amount));
+
+        notificationClient.sendDepositNotification(
+                accountId,
+                amount.toString(),
+                currency.name());
+
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceResponseDTO withdraw(String accountId, BigDecimal amount, Currency currency) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive");
+        }
+        return execute(LedgerCommand.withdraw(accountId, currency, amount));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceResponseDTO exchange(String accountId, Currency fromCurrency, Currency toCurrency,
+            BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Exchange amount must be positive");
+        }
+        if (fromCurrency == toCurrency) {
+            throw new IllegalArgumentException("Source and target currencies must be different");
+        }
+
+        // Rates are resolved on the caller thread to keep the shard thread free of I/O
+        BigDecimal exchangedAmount = currencyExchangeService.calculateExchange(fromCurrency, toCurrency, amount);
+        return execute(LedgerCommand.exchange(accountId, fromCurrency, amount, toCurrency, exchangedAmount));
+    }
+
+    /**
+     * Not supported: the two accounts of a transfer may live on different shards, which apply commands
+     * independently of each other, so the debit and credit could not be made atomic.
+     *
+     * @throws UnsupportedLedgerOperationException always
+     */
+    @Override
+    public TransferResponseDTO transfer(String fromAccountId, String toAccountId, BigDecimal amount,
+            Currency fromCurrency, Currency toCurrency) {
+        throw new UnsupportedLedgerOperationException("Transfers are not supported by the in-memory ledger engine");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start() {
+        restoreState();
+        persister.start();
+        replayJournal();
+        for (LedgerShard shard : shards) {
+            shard.start();
+        }
+        running = true;
+        log.info("In-memory ledger started with {} shards", shards.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            for (LedgerShard shard : shards) {
+                shard.stop();
+            }
+            persister.stop();
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("In-memory ledger stopped, {} entries left unpersisted", persister.backlog());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Loads every account and balance into its shard. Runs before the shard threads start.
+     *
+     * @throws IllegalStateException if the database holds funds the shards cannot represent
+     */
+    private void restoreState() {
+        checkRestorable();
+        jdbcTemplate.query("SELECT account_id FROM accounts",
+                rs -> {
+                    String accountId = rs.getString("account_id");
+                    shardFor(accountId).restoreAccount(accountId);
+                });
+        jdbcTemplate.query("SELECT account_id, currency, amount FROM balances",
+                rs -> {
+                    String accountId = rs.getString("account_id");
+                    shardFor(accountId).restoreBalance(
+                            accountId, Currency.valueOf(rs.getString("currency")), rs.getBigDecimal("amount"));
+                });
+    }
+
+    /**
+     * Refuses to start on state written by the JPA engine that the shards would lose: held amounts, which would
+     * become withdrawable, and balance slots of hot accounts, which would be missing from the balances.
+     */
+    private void checkRestorable() {
+        Integer held = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM balances WHERE held_amount > 0",
+                Integer.class);
+        Integer slotted = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM balance_slots WHERE amount > 0",
+                Integer.class);
+        if (held != null && held > 0) {
+            throw new IllegalStateException("The in-memory ledger engine does not support holds, but " + held
+                    + " balance(s) have held funds; capture or release the holds with the jpa engine first");
+        }
+        if (slotted != null && slotted > 0) {
+            throw new IllegalStateException("The in-memory ledger engine does not support balance slots, but "
+                    + slotted + " slot(s) hold funds; unflag the hot accounts and let the jpa engine consolidate "
+                    + "them first");
+        }
+    }
+
+    /**
+     * Replays journal records that were acknowledged but not persisted before the last shutdown. The highest
+     * {@code journal_sequence} in the transactions table marks the persisted prefix of the journal.
+     */
+    private void replayJournal() {
+        if (journal == null) {
+            return;
+        }
+        Long persisted = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(journal_sequence), 0) FROM transactions", Long.class);
+        try {
+            int replayed = journal.replay(persisted, entry -> {
+                shardFor(entry.accountId()).restoreBalance(entry.accountId(), entry.currency(), entry.balanceAfter());
+                persister.append(List.of(entry));
+            });
+            log.info("Replayed {} journal record(s) after sequence {}", replayed, persisted);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay the ledger journal", e);
+        }
+    }
+
+    /**
+     * Entry sink of the shards. Journal appends and persister hand-off happen under one lock, so entries
+     * reach the persister in sequence order and the persisted prefix of the journal has no gaps.
+     * The journal's own monitor is not held while waiting for the persister, which releases segments through it.
+     */
+    private void record(List<LedgerEntry> entries) {
+        if (journal == null) {
+            persister.append(entries);
+            return;
+        }
+        synchronized (journalLock) {
+            persister.append(journal.append(entries));
+        }
+    }
+
+    private static LedgerJournal openJournal(LedgerProperties.Journal properties) {
+        try {
+            return new LedgerJournal(properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the ledger journal in " + properties.getDirectory(), e);
+        }
+    }
+
+    private LedgerShard shardFor(String accountId) {
+        int hash = accountId.hashCode();
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+
+    private AccountBalanceResponseDTO execute(LedgerCommand command) {
+        Map<Currency, BigDecimal> balances = join(shardFor(command.accountId()).submit(command));
+        List<BalanceDTO> balanceDTOs = balances.entrySet().stream()
+                .map(balance -> new BalanceDTO(balance.getKey().name(), balance.getValue()))
+                .toList();
+        return new AccountBalanceResponseDTO(command.accountId(), balanceDTOs);
+    }
+
+    private static Map<Currency, BigDecimal> join(CompletableFuture<Map<Currency, BigDecimal>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.cgi.bank.account.ledger;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.cgi.bank.account.domain.Currency;
+
+/**
+ * A command placed in a shard's buffer. The shard thread applies it and completes the result with a snapshot
+ * of the account's balances, or exceptionally with the business error it raised.
+ *
+ * @param type what the command does
+ * @param accountId the account the command targets
+ * @param currency the currency debited or credited (the source currency for exchanges)
+ * @param amount the amount in {@code currency}
+ * @param targetCurrency the currency credited by an exchange, otherwise null
+ * @param targetAmount the amount credited by an exchange, otherwise null
+ * @param result the future completed by the shard thread
+ */
+record LedgerCommand(
+        Type type,
+        String accountId,
+        Currency currency,
+        BigDecimal amount,
+        Currency targetCurrency,
+        BigDecimal targetAmount,
+        CompletableFuture<Map<Currency, BigDecimal>> result) {
+
+    /**
+     * Command types understood by a shard.
+     */
+    enum Type {
+        OPEN,
+        READ,
+        DEPOSIT,
+        WITHDRAW,
+        EXCHANGE
+    }
+
+    static LedgerCommand open(String accountId) {
+        return new LedgerCommand(Type.OPEN, accountId, null, null, null, null, new CompletableFuture<>());
+    }
+
+    static LedgerCommand read(String accountId) {
+        return new LedgerCommand(Type.READ, accountId, null, null, null, null, new CompletableFuture<>());
+    }
+
+    static LedgerCommand deposit(String accountId, Currency currency, BigDecimal amount) {
+        return new LedgerCommand(Type.DEPOSIT, accountId, currency, amount, null, null, new CompletableFuture<>());
+    }
+
+    static LedgerCommand withdraw(String accountId, Currency currency, BigDecimal amount) {
+        return new LedgerCommand(Type.WITHDRAW, accountId, currency, amount, null, null, new CompletableFuture<>());
+    }
+
+    static LedgerCommand exchange(String accountId, Currency fromCurrency, BigDecimal amount,
+            Currency toCurrency, BigDecimal exchangedAmount) {
+        return new LedgerCommand(Type.EXCHANGE, accountId, fromCurrency, amount, toCurrency, exchangedAmount,
+                new CompletableFuture<>());
+    }
+}
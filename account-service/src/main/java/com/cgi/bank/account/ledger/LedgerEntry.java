@@ -0,0 +1,38 @@
+package com.cgi.bank.account.ledger;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+
+/**
+ * A balance change applied by a ledger shard, waiting to be written to the database.
+ *
+ * @param accountId the account that changed
+ * @param type the transaction type recorded in the transactions table
+ * @param currency the currency of the changed balance
+ * @param amount the transaction amount (always positive)
+ * @param balanceAfter the balance in this currency after the change
+ * @param timestamp when the change was applied
+ * @param sequence the journal sequence of the entry, 0 when it has not been journaled
+ */
+public record LedgerEntry(
+        String accountId,
+        TransactionType type,
+        Currency currency,
+        BigDecimal amount,
+        BigDecimal balanceAfter,
+        Instant timestamp,
+        long sequence) {
+
+    /**
+     * Returns a copy of this entry carrying the given journal sequence.
+     *
+     * @param journalSequence the sequence assigned by the journal
+     * @return the sequenced entry
+     */
+    public LedgerEntry withSequence(long journalSequence) {
+        return new LedgerEntry(accountId, type, currency, amount, balanceAfter, timestamp, journalSequence);
+    }
+}
@@ -0,0 +1,325 @@
+package com.cgi.bank.account.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only write-ahead journal of ledger entries, written through memory-mapped segment files.
+ * Each segment is named after the first sequence it holds and pre-sized to {@code segment-size}; when a record
+ * does not fit, the next segment is started. A record is framed as {@code [payload length][CRC32C][payload]}.
+ * A zero length marks the end of the written part of a segment, and a record whose length or checksum does not
+ * match is treated as a torn write that ends the journal.
+ * Segments are deleted once every record in them has been persisted to the database.
+ */
+@Slf4j
+class LedgerJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int MAX_PAYLOAD_BYTES = 512;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final LedgerProperties.FsyncPolicy fsyncPolicy;
+    private final NavigableMap<Long, Path> segments = new TreeMap<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_PAYLOAD_BYTES);
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService fsyncScheduler;
+
+    private volatile MappedByteBuffer active;
+    private long lastSequence;
+
+    /**
+     * Opens the journal, creating the directory and first segment if needed, and positions it after the last
+     * intact record.
+     *
+     * @param properties the journal settings
+     * @throws IOException if the segments cannot be listed, created or mapped
+     */
+    LedgerJournal(LedgerProperties.Journal properties) throws IOException {
+        this.directory = properties.getDirectory();
+        this.segmentSize = Math.toIntExact(properties.getSegmentSize().toBytes());
+        this.fsyncPolicy = properties.getFsync();
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(LedgerJournal::isSegment)
+                    .forEach(file -> segments.put(firstSequenceOf(file), file));
+        }
+
+        if (segments.isEmpty()) {
+            lastSequence = 0;
+            openSegment(1);
+        } else {
+            Map.Entry<Long, Path> last = segments.lastEntry();
+            active = map(last.getValue(), FileChannel.MapMode.READ_WRITE);
+            lastSequence = last.getKey() - 1;
+            readRecords(active, entry -> lastSequence = entry.sequence());
+        }
+
+        this.fsyncScheduler = fsyncPolicy == LedgerProperties.FsyncPolicy.INTERVAL
+                ? startFsyncScheduler(properties.getFsyncInterval())
+                : null;
+        log.info("Ledger journal opened in {}: {} segment(s), last sequence {}, fsync={}",
+                directory, segments.size(), lastSequence, fsyncPolicy);
+    }
+
+    /**
+     * Appends entries and assigns them consecutive sequences. With the {@code always} policy the records are
+     * forced to disk before this method returns.
+     *
+     * @param entries the entries to journal
+     * @return the entries carrying their journal sequence
+     */
+    synchronized List<LedgerEntry> append(List<LedgerEntry> entries) {
+        List<LedgerEntry> sequenced = new ArrayList<>(entries.size());
+        int start = active.position();
+        for (LedgerEntry entry : entries) {
+            LedgerEntry next = entry.withSequence(lastSequence + 1);
+            encode(next);
+            if (active.remaining() < HEADER_BYTES + scratch.remaining() + Integer.BYTES) {
+                forceRange(start);
+                openSegment(next.sequence());
+                start = 0;
+            }
+            crc.reset();
+            crc.update(scratch.duplicate());
+            active.putInt(scratch.remaining());
+            active.putInt((int) crc.getValue());
+            active.put(scratch);
+            lastSequence = next.sequence();
+            sequenced.add(next);
+        }
+        if (fsyncPolicy == LedgerProperties.FsyncPolicy.ALWAYS) {
+            forceRange(start);
+        }
+        return sequenced;
+    }
+
+    /**
+     * Reads every intact record with a sequence greater than the given one, in sequence order.
+     * Must be called before the first append. The journal lock is not held while the consumer runs, so the
+     * consumer may wait for records to be persisted and released.
+     *
+     * @param afterSequence the highest sequence already persisted to the database
+     * @param consumer receives the records to replay
+     * @return the number of replayed records
+     * @throws IOException if a segment cannot be mapped
+     */
+    int replay(long afterSequence, Consumer<LedgerEntry> consumer) throws IOException {
+        List<Path> toRead;
+        synchronized (this) {
+            Long from = segments.floorKey(afterSequence + 1);
+            toRead = new ArrayList<>(segments.tailMap(from == null ? segments.firstKey() : from, true).values());
+        }
+
+        int[] replayed = {0};
+        for (Path segment : toRead) {
+            readRecords(map(segment, FileChannel.MapMode.READ_ONLY), entry -> {
+                if (entry.sequence() > afterSequence) {
+                    consumer.accept(entry);
+                    replayed[0]++;
+                }
+            });
+        }
+        return replayed[0];
+    }
+
+    /**
+     * Deletes closed segments whose records have all been persisted.
+     *
+     * @param persistedSequence the highest sequence known to be persisted to the database
+     */
+    synchronized void release(long persistedSequence) {
+        Iterator<Map.Entry<Long, Path>> iterator = segments.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Path> segment = iterator.next();
+            Long nextFirst = segments.higherKey(segment.getKey());
+            if (nextFirst == null || nextFirst - 1 > persistedSequence) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(segment.getValue());
+                iterator.remove();
+            } catch (IOException e) {
+                log.warn("Could not delete persisted journal segment {}", segment.getValue(), e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Highest sequence written to the journal.
+     *
+     * @return the last sequence, 0 if the journal is empty
+     */
+    synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Stops the fsync scheduler and forces the active segment to disk.
+     */
+    @Override
+    public synchronized void close() {
+        if (fsyncScheduler != null) {
+            fsyncScheduler.shutdown();
+        }
+        active.force();
+    }
+
+    private ScheduledExecutorService startFsyncScheduler(Duration interval) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-journal-fsync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long nanos = interval.toNanos();
+        scheduler.scheduleWithFixedDelay(this::forceActive, nanos, nanos, TimeUnit.NANOSECONDS);
+        return scheduler;
+    }
+
+    /**
+     * Forces the active segment without holding the journal lock, so appends continue during the sync.
+     */
+    private void forceActive() {
+        active.force();
+    }
+
+    private void forceRange(int start) {
+        if (fsyncPolicy != LedgerProperties.FsyncPolicy.NEVER && active.position() > start) {
+            active.force(start, active.position() - start);
+        }
+    }
+
+    private void openSegment(long firstSequence) {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        try {
+            active = map(file, FileChannel.MapMode.READ_WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment " + file, e);
+        }
+        segments.put(firstSequence, file);
+    }
+
+    private MappedByteBuffer map(Path file, FileChannel.MapMode mode) throws IOException {
+        boolean readOnly = mode == FileChannel.MapMode.READ_ONLY;
+        try (FileChannel channel = readOnly
+                ? FileChannel.open(file, StandardOpenOption.READ)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed; new files are zero-filled up to the segment size
+            return channel.map(mode, 0, readOnly ? channel.size() : segmentSize);
+        }
+    }
+
+    /**
+     * Decodes records from the buffer's position until the end marker or the first damaged record, leaving
+     * the position right after the last intact record.
+     */
+    private void readRecords(ByteBuffer buffer, Consumer<LedgerEntry> consumer) {
+        CRC32C check = new CRC32C();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > MAX_PAYLOAD_BYTES || length > buffer.remaining()) {
+                buffer.position(start);
+                return;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            check.reset();
+            check.update(payload.duplicate());
+            if ((int) check.getValue() != checksum) {
+                log.warn("Journal record at offset {} failed its checksum; treating it as the end of the journal",
+                        start);
+                buffer.position(start);
+                return;
+            }
+            consumer.accept(decode(payload));
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    private void encode(LedgerEntry entry) {
+        scratch.clear();
+        scratch.putLong(entry.sequence());
+        scratch.putLong(entry.timestamp().getEpochSecond());
+        scratch.putInt(entry.timestamp().getNano());
+        scratch.put((byte) entry.type().ordinal());
+        scratch.put((byte) entry.currency().ordinal());
+        byte[] accountId = entry.accountId().getBytes(StandardCharsets.UTF_8);
+        scratch.put((byte) accountId.length);
+        scratch.put(accountId);
+        putDecimal(entry.amount());
+        putDecimal(entry.balanceAfter());
+        scratch.flip();
+    }
+
+    private static LedgerEntry decode(ByteBuffer payload) {
+        final long sequence = payload.getLong();
+        final Instant timestamp = Instant.ofEpochSecond(payload.getLong(), payload.getInt());
+        final TransactionType type = TransactionType.values()[payload.get()];
+        final Currency currency = Currency.values()[payload.get()];
+        byte[] accountId = new byte[payload.get()];
+        payload.get(accountId);
+        BigDecimal amount = getDecimal(payload);
+        BigDecimal balanceAfter = getDecimal(payload);
+        return new LedgerEntry(new String(accountId, StandardCharsets.UTF_8), type, currency, amount,
+                balanceAfter, timestamp, sequence);
+    }
+
+    private void putDecimal(BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        scratch.putInt(value.scale());
+        scratch.put((byte) unscaled.length);
+        scratch.put(unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer payload) {
+        int scale = payload.getInt();
+        byte[] unscaled = new byte[payload.get()];
+        payload.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long firstSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,259 @@
+package com.cgi.bank.account.ledger;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cgi.bank.account.config.LedgerProperties;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes ledger entries produced by the shards to the {@code transactions} and {@code balances} tables.
+ * Entries are collected into batches of up to {@code flush-batch-size} or {@code flush-interval}, whichever
+ * comes first, and written with JDBC batching in one transaction. Each batch inserts one transaction row per
+ * entry and sets every touched balance to its latest absolute value; a failed batch is rolled back and
+ * retried as a whole. A batch that still fails after {@code flush-attempts} is written one entry at a time, and
+ * an entry that fails on its own as often, such as one whose account was deleted, is quarantined: logged,
+ * counted and skipped, so it cannot stall persistence. Failures while the database is unreachable are retried
+ * without counting. Journaled entries arrive in sequence order, so the highest persisted
+ * {@code journal_sequence} marks where journal replay has to resume.
+ */
+@Slf4j
+class LedgerPersister {
+
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transactions (account_id, type, currency, amount, timestamp, journal_sequence) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_BALANCE =
+            "UPDATE balances SET amount = ?, version = version + 1 WHERE account_id = ? AND currency = ?";
+    private static final String INSERT_BALANCE =
+            "INSERT INTO balances (account_id, currency, amount, version) VALUES (?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushBatchSize;
+    private final Duration flushInterval;
+    private final int flushAttempts;
+    private final Duration retryDelay;
+    private final BlockingQueue<LedgerEntry> backlog;
+    private final LongConsumer persistedListener;
+    private final Counter quarantinedCounter;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Creates the persister; entries are accepted immediately and written once it is started.
+     *
+     * @param jdbcTemplate the template used for batched statements
+     * @param transactionTemplate the template that wraps each batch in one transaction
+     * @param properties the in-memory engine settings containing the batch size, interval and retry settings
+     * @param persistedListener receives the highest journal sequence of every committed batch
+     * @param quarantinedCounter counts the entries skipped because they could not be written
+     */
+    LedgerPersister(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            LedgerProperties.InMemory properties, LongConsumer persistedListener, Counter quarantinedCounter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.flushBatchSize = properties.getFlushBatchSize();
+        this.flushInterval = properties.getFlushInterval();
+        this.flushAttempts = properties.getFlushAttempts();
+        this.retryDelay = properties.getFlushRetryDelay();
+        this.backlog = new LinkedBlockingQueue<>(flushBatchSize * 64);
+        this.persistedListener = persistedListener;
+        this.quarantinedCounter = quarantinedCounter;
+    }
+
+    /**
+     * Queues entries for the next batch, blocking while the backlog is full so that shards slow down
+     * instead of outrunning the database without bound.
+     *
+     * @param entries the entries produced by one command
+     */
+    void append(List<LedgerEntry> entries) {
+        try {
+            for (LedgerEntry entry : entries) {
+                backlog.put(entry);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing ledger entries for persistence", e);
+        }
+    }
+
+    /**
+     * Number of entries not yet written to the database.
+     *
+     * @return the backlog size
+     */
+    int backlog() {
+        return backlog.size();
+    }
+
+    void start() {
+        running = true;
+        thread = new Thread(this::run, "ledger-persister");
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    private void run() {
+        List<LedgerEntry> batch = new ArrayList<>(flushBatchSize);
+        while (running || !backlog.isEmpty()) {
+            try {
+                LedgerEntry first = backlog.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                backlog.drainTo(batch, flushBatchSize - 1);
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Ledger persister interrupted, {} entries were not persisted",
+                        batch.size() + backlog.size());
+                return;
+            }
+        }
+    }
+
+    private void flush(List<LedgerEntry> batch) throws InterruptedException {
+        Outcome outcome = writeWithRetries(batch);
+        if (outcome == Outcome.FAILED) {
+            log.warn("Writing {} ledger entries one at a time after {} failed attempts", batch.size(), flushAttempts);
+            for (LedgerEntry entry : batch) {
+                outcome = writeWithRetries(List.of(entry));
+                if (outcome == Outcome.STOPPED) {
+                    return;
+                }
+                if (outcome == Outcome.FAILED) {
+                    quarantine(entry);
+                }
+            }
+        }
+        if (outcome != Outcome.STOPPED) {
+            persistedListener.accept(batch.get(batch.size() - 1).sequence());
+        }
+    }
+
+    /**
+     * Writes the entries in one transaction, retrying up to {@code flush-attempts} times. Attempts that fail
+     * while the database is unreachable are not counted, since the entries themselves are not at fault.
+     */
+    private Outcome writeWithRetries(List<LedgerEntry> entries) throws InterruptedException {
+        int attempts = 0;
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(entries));
+                return Outcome.WRITTEN;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.error("Ledger persister stopping, dropping {} entries after a failed write",
+                            entries.size(), e);
+                    return Outcome.STOPPED;
+                }
+                if (isDatabaseReachable() && ++attempts >= flushAttempts) {
+                    log.error("Failed to persist {} ledger entries after {} attempts", entries.size(), attempts, e);
+                    return Outcome.FAILED;
+                }
+                log.error("Failed to persist {} ledger entries, retrying in {} ms",
+                        entries.size(), retryDelay.toMillis(), e);
+                TimeUnit.NANOSECONDS.sleep(retryDelay.toNanos());
+            }
+        }
+    }
+
+    private boolean isDatabaseReachable() {
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void quarantine(LedgerEntry entry) {
+        quarantinedCounter.increment();
+        log.error("Quarantined ledger entry that cannot be persisted: account={}, type={}, currency={}, amount={}, "
+                + "balanceAfter={}, timestamp={}, sequence={}", entry.accountId(), entry.type(), entry.currency(),
+                entry.amount(), entry.balanceAfter(), entry.timestamp(), entry.sequence());
+    }
+
+    /**
+     * Writes one batch. Must run inside a transaction.
+     *
+     * @param batch the entries to write, in the order they were applied
+     */
+    void write(List<LedgerEntry> batch) {
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, batch, batch.size(), (ps, entry) -> {
+            ps.setString(1, entry.accountId());
+            ps.setString(2, entry.type().name());
+            ps.setString(3, entry.currency().name());
+            ps.setBigDecimal(4, entry.amount());
+            ps.setTimestamp(5, Timestamp.from(entry.timestamp()));
+            if (entry.sequence() > 0) {
+                ps.setLong(6, entry.sequence());
+            } else {
+                ps.setNull(6, Types.BIGINT);
+            }
+        });
+
+        List<LedgerEntry> latest = latestBalances(batch);
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_BALANCE, latest, latest.size(), (ps, entry) -> {
+            ps.setBigDecimal(1, entry.balanceAfter());
+            ps.setString(2, entry.accountId());
+            ps.setString(3, entry.currency().name());
+        });
+
+        List<LedgerEntry> missing = new ArrayList<>();
+        for (int i = 0; i < latest.size(); i++) {
+            if (updated[0][i] == 0) {
+                missing.add(latest.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BALANCE, missing, missing.size(), (ps, entry) -> {
+                ps.setString(1, entry.accountId());
+                ps.setString(2, entry.currency().name());
+                ps.setBigDecimal(3, entry.balanceAfter());
+            });
+        }
+    }
+
+    /**
+     * Result of writing entries with retries.
+     */
+    private enum Outcome {
+        WRITTEN,
+        FAILED,
+        STOPPED
+    }
+
+    private static List<LedgerEntry> latestBalances(List<LedgerEntry> batch) {
+        Map<String, LedgerEntry> latest = new LinkedHashMap<>();
+        for (LedgerEntry entry : batch) {
+            latest.put(entry.accountId() + ':' + entry.currency(), entry);
+        }
+        return new ArrayList<>(latest.values());
+    }
+}
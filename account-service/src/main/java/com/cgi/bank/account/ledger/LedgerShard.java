@@ -0,0 +1,200 @@
+package com.cgi.bank.account.ledger;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+import com.cgi.bank.account.exception.AccountLockTimeoutException;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.exception.BalanceNotFoundException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One partition of the in-memory ledger. The shard's balances are only ever touched by its own thread,
+ * which takes commands from a bounded buffer and applies them one at a time, so no locks or version checks
+ * are needed. Every change is handed to the entry sink before it is applied and the caller is completed.
+ */
+@Slf4j
+class LedgerShard {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final int index;
+    private final BlockingQueue<LedgerCommand> ringBuffer;
+    private final Duration submitTimeout;
+    private final Consumer<List<LedgerEntry>> entrySink;
+    private final Map<String, Map<Currency, BigDecimal>> accounts = new HashMap<>();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Creates a shard; state may be restored until {@link #start()} is called.
+     *
+     * @param index the shard number, used for the thread name
+     * @param capacity the size of the command buffer
+     * @param submitTimeout how long callers wait for room in the buffer
+     * @param entrySink receives the ledger entries produced by each command, on the shard thread
+     */
+    LedgerShard(int index, int capacity, Duration submitTimeout, Consumer<List<LedgerEntry>> entrySink) {
+        this.index = index;
+        this.ringBuffer = new ArrayBlockingQueue<>(capacity);
+        this.submitTimeout = submitTimeout;
+        this.entrySink = entrySink;
+    }
+
+    /**
+     * Registers a persisted account. Must be called before the shard is started.
+     *
+     * @param accountId the account ID
+     */
+    void restoreAccount(String accountId) {
+        accounts.computeIfAbsent(accountId, id -> new EnumMap<>(Currency.class));
+    }
+
+    /**
+     * Registers a persisted balance. Must be called before the shard is started.
+     *
+     * @param accountId the account ID
+     * @param currency the currency of the balance
+     * @param amount the persisted amount
+     */
+    void restoreBalance(String accountId, Currency currency, BigDecimal amount) {
+        accounts.computeIfAbsent(accountId, id -> new EnumMap<>(Currency.class)).put(currency, amount);
+    }
+
+    /**
+     * Places a command in the buffer.
+     *
+     * @param command the command to apply
+     * @return the future completed once the command has been applied
+     * @throws AccountLockTimeoutException if the buffer stays full for longer than the submit timeout
+     */
+    CompletableFuture<Map<Currency, BigDecimal>> submit(LedgerCommand command) {
+        try {
+            if (!ringBuffer.offer(command, submitTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new AccountLockTimeoutException(command.accountId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountLockTimeoutException(command.accountId(), e);
+        }
+        return command.result();
+    }
+
+    /**
+     * Number of commands waiting in the buffer.
+     *
+     * @return the buffer depth
+     */
+    int backlog() {
+        return ringBuffer.size();
+    }
+
+    void start() {
+        running = true;
+        thread = new Thread(this::run, "ledger-shard-" + index);
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    private void run() {
+        while (running || !ringBuffer.isEmpty()) {
+            LedgerCommand command;
+            try {
+                command = ringBuffer.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Ledger shard {} interrupted with {} command(s) pending", index, ringBuffer.size());
+                return;
+            }
+            if (command != null) {
+                execute(command);
+            }
+        }
+    }
+
+    private void execute(LedgerCommand command) {
+        try {
+            command.result().complete(apply(command));
+        } catch (RuntimeException e) {
+            command.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Applies a command to the shard state. The resulting entries are computed and handed to the entry sink
+     * before any balance is modified, so a failing check or sink leaves the state untouched.
+     *
+     * @param command the command to apply
+     * @return a snapshot of the account's balances after the command
+     */
+    Map<Currency, BigDecimal> apply(LedgerCommand command) {
+        String accountId = command.accountId();
+        if (command.type() == LedgerCommand.Type.OPEN) {
+            restoreAccount(accountId);
+            return Map.of();
+        }
+
+        Map<Currency, BigDecimal> balances = accounts.get(accountId);
+        if (balances == null) {
+            throw new AccountNotFoundException(accountId);
+        }
+
+        Instant now = Instant.now();
+        List<LedgerEntry> entries = switch (command.type()) {
+            case OPEN, READ -> List.of();
+            case DEPOSIT -> List.of(
+                    credit(accountId, balances, TransactionType.DEPOSIT, command.currency(), command.amount(), now));
+            case WITHDRAW -> List.of(
+                    debit(accountId, balances, TransactionType.WITHDRAWAL, command.currency(), command.amount(), now));
+            case EXCHANGE -> List.of(
+                    debit(accountId, balances, TransactionType.EXCHANGE_FROM, command.currency(), command.amount(),
+                            now),
+                    credit(accountId, balances, TransactionType.EXCHANGE_TO, command.targetCurrency(),
+                            command.targetAmount(), now));
+        };
+        if (!entries.isEmpty()) {
+            entrySink.accept(entries);
+            entries.forEach(entry -> balances.put(entry.currency(), entry.balanceAfter()));
+        }
+        return new EnumMap<>(balances);
+    }
+
+    private static LedgerEntry credit(String accountId, Map<Currency, BigDecimal> balances, TransactionType type,
+            Currency currency, BigDecimal amount, Instant timestamp) {
+        BigDecimal balanceAfter = balances.getOrDefault(currency, BigDecimal.ZERO).add(amount);
+        return new LedgerEntry(accountId, type, currency, amount, balanceAfter, timestamp, 0L);
+    }
+
+    private static LedgerEntry debit(String accountId, Map<Currency, BigDecimal> balances, TransactionType type,
+            Currency currency, BigDecimal amount, Instant timestamp) {
+        BigDecimal available = balances.get(currency);
+        if (available == null) {
+            throw new BalanceNotFoundException(accountId, currency);
+        }
+        if (available.compareTo(amount) < 0) {
+            throw new InsufficientFundsException(accountId, currency, amount, available);
+        }
+        return new LedgerEntry(accountId, type, currency, amount, available.subtract(amount), timestamp, 0L);
+    }
+}
@@ -0,0 +1,96 @@
+package com.cgi.bank.account.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.cgi.bank.account.domain.AsyncOperation;
+
+/**
+ * Repository for managing AsyncOperation entities.
+ */
+@Repository
+public interface AsyncOperationRepository extends JpaRepository<AsyncOperation, String> {
+
+    /**
+     * Finds the operation submitted with an idempotency key.
+     *
+     * @param idempotencyKey the key sent by the client
+     * @return the operation, if the key was used before
+     */
+    Optional<AsyncOperation> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Moves a pending operation to running. Only one worker, on any instance, can claim an operation.
+     *
+     * @param operationId the ID of the operation
+     * @param now the current time, stored as the start time
+     * @return 1 if this caller claimed the operation, 0 if it was not pending
+     */
+    @Modifying
+    @Query("UPDATE AsyncOperation o SET o.status = com.cgi.bank.account.domain.AsyncOperation.Status.RUNNING, "
+            + "o.startedAt = :now WHERE o.operationId = :operationId "
+            + "AND o.status = com.cgi.bank.account.domain.AsyncOperation.Status.PENDING")
+    int claim(@Param("operationId") String operationId, @Param("now") Instant now);
+
+    /**
+     * Records the outcome of a running operation. The update is conditional, so a worker finishing late and the
+     * sweep giving up on it, possibly on different instances, cannot overwrite each other's outcome.
+     *
+     * @param operationId the ID of the operation
+     * @param status the final status
+     * @param resultBody the serialized balance response, null unless the operation succeeded
+     * @param errorStatus the HTTP status of the failure, null unless the operation failed
+     * @param errorMessage the error message, null if the operation succeeded
+     * @param completedAt when the operation finished
+     * @return 1 if the outcome was recorded, 0 if the operation was no longer running
+     */
+    @Modifying
+    @Query("UPDATE AsyncOperation o SET o.status = :status, o.resultBody = :resultBody, "
+            + "o.errorStatus = :errorStatus, o.errorMessage = :errorMessage, o.completedAt = :completedAt "
+            + "WHERE o.operationId = :operationId "
+            + "AND o.status = com.cgi.bank.account.domain.AsyncOperation.Status.RUNNING")
+    int finish(@Param("operationId") String operationId, @Param("status") AsyncOperation.Status status,
+            @Param("resultBody") String resultBody, @Param("errorStatus") Integer errorStatus,
+            @Param("errorMessage") String errorMessage, @Param("completedAt") Instant completedAt);
+
+    /**
+     * Finds the IDs of operations that have been pending since before the given time, oldest first.
+     *
+     * @param createdBefore only operations accepted before this time are returned
+     * @param pageable the maximum number of IDs to return
+     * @return the IDs of the pending operations
+     */
+    @Query("SELECT o.operationId FROM AsyncOperation o "
+            + "WHERE o.status = com.cgi.bank.account.domain.AsyncOperation.Status.PENDING "
+            + "AND o.createdAt < :createdBefore ORDER BY o.createdAt")
+    List<String> findPendingIds(@Param("createdBefore") Instant createdBefore, Pageable pageable);
+
+    /**
+     * Finds operations that have been running since before the given time, i.e. whose worker has stopped.
+     *
+     * @param startedBefore only operations claimed before this time are returned
+     * @return the abandoned operations
+     */
+    @Query("SELECT o FROM AsyncOperation o "
+            + "WHERE o.status = com.cgi.bank.account.domain.AsyncOperation.Status.RUNNING "
+            + "AND o.startedAt < :startedBefore")
+    List<AsyncOperation> findRunningStartedBefore(@Param("startedBefore") Instant startedBefore);
+
+    /**
+     * Deletes every finished operation completed before the given time.
+     *
+     * @param completedBefore the retention cut-off
+     * @return the number of deleted operations
+     */
+    @Modifying
+    @Query("DELETE FROM AsyncOperation o WHERE o.completedAt < :completedBefore")
+    int deleteCompletedBefore(@Param("completedBefore") Instant completedBefore);
+}
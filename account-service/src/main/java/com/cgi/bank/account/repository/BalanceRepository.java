@@ -0,0 +1,177 @@
+package com.cgi.bank.account.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.cgi.bank.account.domain.Balance;
+import com.cgi.bank.account.domain.Currency;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository for managing Balance entities directly, without loading the owning Account aggregate.
+ */
+@Repository
+public interface BalanceRepository extends JpaRepository<Balance, Long> {
+
+    /**
+     * Finds all balances of an account, ordered by currency.
+     * The fixed order makes the balance rows of multi-currency operations get flushed, and therefore locked,
+     * in the same order by every writer.
+     *
+     * @param accountId the account ID
+     * @return the balances of the account, empty if it has none or does not exist
+     */
+    @Query("SELECT b FROM Balance b WHERE b.account.accountId = :accountId ORDER BY b.currency")
+    List<Balance> findByAccountId(@Param("accountId") String accountId);
+
+    /**
+     * Finds the currency and row version of every balance of an account, without loading the balances.
+     *
+     * @param accountId the account ID
+     * @return the versions of the account's balances, empty if it has none or does not exist
+     */
+    @Query("SELECT b.currency AS currency, b.version AS version FROM Balance b WHERE b.account.accountId = :accountId")
+    List<CurrencyVersion> findVersionsByAccountId(@Param("accountId") String accountId);
+
+    /**
+     * Finds the balance of an account in a specific currency.
+     *
+     * @param accountId the account ID
+     * @param currency the currency of the balance
+     * @return an Optional containing the balance if it exists
+     */
+    @Query("SELECT b FROM Balance b WHERE b.account.accountId = :accountId AND b.currency = :currency")
+    Optional<Balance> findByAccountIdAndCurrency(@Param("accountId") String accountId,
+            @Param("currency") Currency currency);
+
+    /**
+     * Finds and write-locks the two balances a transfer touches. Rows are locked in account ID and currency
+     * order, whichever account is the source, so two transfers between the same balances always wait for each
+     * other on the same first row instead of deadlocking.
+     *
+     * @param fromAccountId the source account ID
+     * @param fromCurrency the currency debited
+     * @param toAccountId the destination account ID
+     * @param toCurrency the currency credited
+     * @return the balances that exist, in lock order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Balance b " +
+            "WHERE (b.account.accountId = :fromAccountId AND b.currency = :fromCurrency) " +
+            "OR (b.account.accountId = :toAccountId AND b.currency = :toCurrency) " +
+            "ORDER BY b.account.accountId, b.currency")
+    List<Balance> findAndLockForTransfer(@Param("fromAccountId") String fromAccountId,
+            @Param("fromCurrency") Currency fromCurrency, @Param("toAccountId") String toAccountId,
+            @Param("toCurrency") Currency toCurrency);
+
+    /**
+     * Finds and write-locks the balance of an account in a specific currency.
+     *
+     * @param accountId the account ID
+     * @param currency the currency of the balance
+     * @return an Optional containing the locked balance if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Balance b WHERE b.account.accountId = :accountId AND b.currency = :currency")
+    Optional<Balance> findAndLock(@Param("accountId") String accountId, @Param("currency") Currency currency);
+
+    /**
+     * Atomically subtracts an amount from a balance if its available amount, excluding holds, is sufficient.
+     * The balance version is incremented so that concurrent entity-based writers still detect the change.
+     *
+     * @param accountId the account ID
+     * @param currency the currency of the balance
+     * @param amount the amount to subtract (must be positive)
+     * @return the number of updated rows: 1 on success, 0 if the balance is missing or insufficient
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Balance b SET b.amount = b.amount - :amount, b.version = b.version + 1 " +
+            "WHERE b.account.accountId = :accountId AND b.currency = :currency " +
+            "AND b.amount - b.heldAmount >= :amount")
+    int withdrawIfSufficient(@Param("accountId") String accountId, @Param("currency") Currency currency,
+            @Param("amount") BigDecimal amount);
+
+    /**
+     * Deposits an amount in a single PostgreSQL statement: the balance is inserted or incremented through
+     * {@code uq_balances_account_currency}, the DEPOSIT transaction is recorded, and all balances of the account
+     * are returned as they are after the deposit.
+     * Data-modifying CTEs are not visible to the outer query, so the other currencies are read from the table
+     * and combined with the upserted row.
+     *
+     * @param accountId the account ID
+     * @param currency the currency name of the balance
+     * @param amount the amount to add (must be positive)
+     * @return the currency, amount and held amount of every balance of the account
+     */
+    @Query(value = "WITH upserted AS (" +
+            "INSERT INTO balances (account_id, currency, amount, version) " +
+            "VALUES (:accountId, :currency, :amount, 0) " +
+            "ON CONFLICT ON CONSTRAINT uq_balances_account_currency DO UPDATE " +
+            "SET amount = balances.amount + EXCLUDED.amount, version = balances.version + 1 " +
+            "RETURNING currency, amount, held_amount), " +
+            "recorded AS (" +
+            "INSERT INTO transactions (account_id, type, currency, amount) " +
+            "SELECT :accountId, 'DEPOSIT', currency, :amount FROM upserted) " +
+            "SELECT currency, amount, held_amount FROM upserted " +
+            "UNION ALL " +
+            "SELECT currency, amount, held_amount FROM balances WHERE account_id = :accountId AND currency <> :currency",
+            nativeQuery = true)
+    List<CurrencyAmount> depositWithUpsert(@Param("accountId") String accountId,
+            @Param("currency") String currency, @Param("amount") BigDecimal amount);
+
+    /**
+     * Projection of a balance row returned by native queries.
+     */
+    interface CurrencyAmount {
+
+        /**
+         * Returns the currency name of the balance.
+         *
+         * @return the currency name
+         */
+        String getCurrency();
+
+        /**
+         * Returns the amount of the balance.
+         *
+         * @return the balance amount
+         */
+        BigDecimal getAmount();
+
+        /**
+         * Returns the amount of the balance reserved by active holds.
+         *
+         * @return the held amount
+         */
+        BigDecimal getHeldAmount();
+    }
+
+    /**
+     * Projection of the currency and row version of a balance.
+     */
+    interface CurrencyVersion {
+
+        /**
+         * Returns the currency of the balance.
+         *
+         * @return the currency
+         */
+        Currency getCurrency();
+
+        /**
+         * Returns the row version of the balance.
+         *
+         * @return the version
+         */
+        Long getVersion();
+    }
+}
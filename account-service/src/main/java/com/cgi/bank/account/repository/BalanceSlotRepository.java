@@ -0,0 +1,131 @@
+package com.cgi.bank.account.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.cgi.bank.account.domain.BalanceSlot;
+import com.cgi.bank.account.domain.Currency;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository for the slot rows of hot account balances.
+ */
+@Repository
+public interface BalanceSlotRepository extends JpaRepository<BalanceSlot, Long> {
+
+    /**
+     * Adds an amount to a slot in a single PostgreSQL statement. The slot is inserted or incremented through
+     * {@code uq_balance_slots_account_currency_slot}, and an empty balance row is inserted if the currency has
+     * none, so the currency shows up in balance queries. The balance row is never updated, and therefore never
+     * locked, by this statement.
+     *
+     * @param accountId the account ID
+     * @param currency the currency name of the balance
+     * @param slot the slot number
+     * @param amount the amount to add (must be positive)
+     * @return the number of upserted slot rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "WITH opened AS (" +
+            "INSERT INTO balances (account_id, currency, amount, version) " +
+            "VALUES (:accountId, :currency, 0, 0) " +
+            "ON CONFLICT ON CONSTRAINT uq_balances_account_currency DO NOTHING) " +
+            "INSERT INTO balance_slots (account_id, currency, slot, amount) " +
+            "VALUES (:accountId, :currency, :slot, :amount) " +
+            "ON CONFLICT ON CONSTRAINT uq_balance_slots_account_currency_slot DO UPDATE " +
+            "SET amount = balance_slots.amount + EXCLUDED.amount",
+            nativeQuery = true)
+    int depositToSlot(@Param("accountId") String accountId, @Param("currency") String currency,
+            @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    /**
+     * Atomically subtracts an amount from a slot if it holds sufficient funds. Slots are not drawn from while
+     * the balance has holds, since holds are only checked against the balance row.
+     *
+     * @param accountId the account ID
+     * @param currency the currency of the balance
+     * @param slot the slot number
+     * @param amount the amount to subtract (must be positive)
+     * @return the number of updated rows: 1 on success, 0 if the slot is missing or insufficient
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BalanceSlot s SET s.amount = s.amount - :amount " +
+            "WHERE s.accountId = :accountId AND s.currency = :currency AND s.slot = :slot " +
+            "AND s.amount >= :amount AND NOT EXISTS (SELECT b FROM Balance b " +
+            "WHERE b.account.accountId = :accountId AND b.currency = :currency AND b.heldAmount > 0)")
+    int withdrawIfSufficient(@Param("accountId") String accountId, @Param("currency") Currency currency,
+            @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    /**
+     * Finds and write-locks the slots of a balance in slot order, so concurrent consolidations wait for each
+     * other on the first slot.
+     *
+     * @param accountId the account ID
+     * @param currency the currency of the balance
+     * @return the slots of the balance
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BalanceSlot s WHERE s.accountId = :accountId AND s.currency = :currency ORDER BY s.slot")
+    List<BalanceSlot> findAndLock(@Param("accountId") String accountId, @Param("currency") Currency currency);
+
+    /**
+     * Finds and write-locks slots of accounts that are no longer flagged as hot.
+     *
+     * @param pageable the maximum number of slots to return
+     * @return the slots, ordered by account, currency and slot
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BalanceSlot s " +
+            "WHERE NOT EXISTS (SELECT h FROM HotAccount h WHERE h.accountId = s.accountId) " +
+            "ORDER BY s.accountId, s.currency, s.slot")
+    List<BalanceSlot> findAndLockUnflagged(Pageable pageable);
+
+    /**
+     * Finds and write-locks slots of any account, used when slot writes are disabled.
+     *
+     * @param pageable the maximum number of slots to return
+     * @return the slots, ordered by account, currency and slot
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BalanceSlot s ORDER BY s.accountId, s.currency, s.slot")
+    List<BalanceSlot> findAndLockAll(Pageable pageable);
+
+    /**
+     * Sums the slots of an account per currency.
+     *
+     * @param accountId the account ID
+     * @return the slot total of every currency that has slots
+     */
+    @Query("SELECT s.currency AS currency, SUM(s.amount) AS amount FROM BalanceSlot s " +
+            "WHERE s.accountId = :accountId GROUP BY s.currency")
+    List<SlotTotal> sumByAccountId(@Param("accountId") String accountId);
+
+    /**
+     * Projection of the slot total of one currency.
+     */
+    interface SlotTotal {
+
+        /**
+         * Returns the currency of the slots.
+         *
+         * @return the currency
+         */
+        Currency getCurrency();
+
+        /**
+         * Returns the sum of the slot amounts.
+         *
+         * @return the slot total
+         */
+        BigDecimal getAmount();
+    }
+}
@@ -0,0 +1,48 @@
+package com.cgi.bank.account.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.cgi.bank.account.domain.Transaction;
+
+/**
+ * Transaction history queries restricted by a {@link TransactionFilter}. Only the criteria a filter sets become
+ * predicates, so each combination gets a plan for exactly those predicates; the type and currency criteria are
+ * served by {@code idx_transactions_account_type_timestamp} and {@code idx_transactions_account_currency_timestamp}.
+ * Results are ordered by timestamp and then ID, both descending.
+ */
+public interface FilteredTransactionRepository {
+
+    /**
+     * Finds a window of an account's matching transactions.
+     *
+     * @param accountId the account ID
+     * @param filter the criteria the transactions must match
+     * @param offset the number of matching transactions skipped
+     * @param limit the maximum number of transactions returned
+     * @return the transactions, newest first
+     */
+    List<Transaction> findFiltered(String accountId, TransactionFilter filter, long offset, int limit);
+
+    /**
+     * Finds an account's matching transactions that come after the given position, without skipping rows.
+     *
+     * @param accountId the account ID
+     * @param filter the criteria the transactions must match
+     * @param timestamp the timestamp of the last transaction already returned
+     * @param id the ID of the last transaction already returned
+     * @param limit the maximum number of transactions returned
+     * @return the transactions, newest first
+     */
+    List<Transaction> findFilteredAfter(String accountId, TransactionFilter filter, Instant timestamp, long id,
+            int limit);
+
+    /**
+     * Counts an account's matching transactions.
+     *
+     * @param accountId the account ID
+     * @param filter the criteria the transactions must match
+     * @return the number of matching transactions
+     */
+    long countFiltered(String accountId, TransactionFilter filter);
+}
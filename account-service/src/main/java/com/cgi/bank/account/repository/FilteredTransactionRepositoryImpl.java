@@ -0,0 +1,93 @@
+package com.cgi.bank.account.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cgi.bank.account.domain.Transaction;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Criteria API implementation of the {@link FilteredTransactionRepository} fragment of the
+ * {@link TransactionRepository}.
+ */
+@RequiredArgsConstructor
+class FilteredTransactionRepositoryImpl implements FilteredTransactionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Transaction> findFiltered(String accountId, TransactionFilter filter, long offset, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Transaction> query = builder.createQuery(Transaction.class);
+        Root<Transaction> transaction = query.from(Transaction.class);
+        query.where(predicates(builder, transaction, accountId, filter).toArray(Predicate[]::new));
+        return newestFirst(query, builder, transaction, offset, limit);
+    }
+
+    @Override
+    public List<Transaction> findFilteredAfter(String accountId, TransactionFilter filter, Instant timestamp, long id,
+            int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Transaction> query = builder.createQuery(Transaction.class);
+        Root<Transaction> transaction = query.from(Transaction.class);
+        List<Predicate> predicates = predicates(builder, transaction, accountId, filter);
+        Path<Instant> transactionTimestamp = transaction.get("timestamp");
+        Path<Long> transactionId = transaction.get("id");
+        // Same seek predicate as TransactionRepository.findAfter, including its redundant range bound
+        predicates.add(builder.lessThanOrEqualTo(transactionTimestamp, timestamp));
+        predicates.add(builder.or(builder.lessThan(transactionTimestamp, timestamp),
+                builder.lessThan(transactionId, id)));
+        query.where(predicates.toArray(Predicate[]::new));
+        return newestFirst(query, builder, transaction, 0, limit);
+    }
+
+    @Override
+    public long countFiltered(String accountId, TransactionFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Transaction> transaction = query.from(Transaction.class);
+        query.select(builder.count(transaction))
+                .where(predicates(builder, transaction, accountId, filter).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<Transaction> newestFirst(CriteriaQuery<Transaction> query, CriteriaBuilder builder,
+            Root<Transaction> transaction, long offset, int limit) {
+        query.orderBy(builder.desc(transaction.get("timestamp")), builder.desc(transaction.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Builds the predicates of the criteria the filter sets; unset criteria add none.
+     */
+    private static List<Predicate> predicates(CriteriaBuilder builder, Root<Transaction> transaction,
+            String accountId, TransactionFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.equal(transaction.get("account").get("accountId"), accountId));
+        Path<Instant> timestamp = transaction.get("timestamp");
+        if (filter.from() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(timestamp, filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(builder.lessThan(timestamp, filter.to()));
+        }
+        if (!filter.types().isEmpty()) {
+            predicates.add(transaction.get("type").in(filter.types()));
+        }
+        if (!filter.currencies().isEmpty()) {
+            predicates.add(transaction.get("currency").in(filter.currencies()));
+        }
+        return predicates;
+    }
+}
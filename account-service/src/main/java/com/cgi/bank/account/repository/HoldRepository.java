@@ -0,0 +1,44 @@
+package com.cgi.bank.account.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.cgi.bank.account.domain.Hold;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository for managing Hold entities.
+ */
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, String> {
+
+    /**
+     * Finds and write-locks a hold, so concurrent captures, releases and expiries of it run one after another.
+     *
+     * @param holdId the ID of the hold
+     * @return an Optional containing the locked hold if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Hold h WHERE h.holdId = :holdId")
+    Optional<Hold> findAndLock(@Param("holdId") String holdId);
+
+    /**
+     * Finds active holds that expire before the given time, soonest first.
+     *
+     * @param expiresBefore only holds expiring before this time are returned
+     * @param pageable the maximum number of holds to return
+     * @return the active holds
+     */
+    @Query("SELECT h FROM Hold h WHERE h.status = com.cgi.bank.account.domain.Hold.Status.ACTIVE " +
+            "AND h.expiresAt < :expiresBefore ORDER BY h.expiresAt")
+    List<Hold> findActiveExpiringBefore(@Param("expiresBefore") Instant expiresBefore, Pageable pageable);
+}
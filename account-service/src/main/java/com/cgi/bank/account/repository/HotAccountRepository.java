@@ -0,0 +1,13 @@
+package com.cgi.bank.account.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.cgi.bank.account.domain.HotAccount;
+
+/**
+ * Repository for managing HotAccount entities.
+ */
+@Repository
+public interface HotAccountRepository extends JpaRepository<HotAccount, String> {
+}
@@ -0,0 +1,102 @@
+package com.cgi.bank.account.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cgi.bank.account.domain.IdempotencyRecord;
+
+/**
+ * Repository for managing IdempotencyRecord entities.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims an unused key for a request about to execute. The insert is skipped rather than merged when the
+     * key exists, so of two instances claiming the same key only one succeeds.
+     *
+     * @param idempotencyKey the key sent by the client
+     * @param requestHash the fingerprint of the request
+     * @param now the current time, stored as the creation and claim time
+     * @param expiresAt when the key may be reused
+     * @return 1 if the key was claimed, 0 if it already exists
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys "
+            + "(idempotency_key, request_hash, status, created_at, claimed_at, expires_at) "
+            + "VALUES (:idempotencyKey, :requestHash, 'IN_PROGRESS', :now, :now, :expiresAt) "
+            + "ON CONFLICT (idempotency_key) DO NOTHING", nativeQuery = true)
+    int insertClaim(@Param("idempotencyKey") String idempotencyKey, @Param("requestHash") String requestHash,
+            @Param("now") Instant now, @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Claims an existing key that has expired, or whose claim by the same request was abandoned before
+     * {@code abandonedBefore}.
+     *
+     * @param idempotencyKey the key sent by the client
+     * @param requestHash the fingerprint of the request
+     * @param now the current time, stored as the creation and claim time
+     * @param expiresAt when the key may be reused
+     * @param abandonedBefore claims older than this are presumed abandoned
+     * @return 1 if the key was claimed, 0 if it is held or completed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.requestHash = :requestHash, "
+            + "r.status = com.cgi.bank.account.domain.IdempotencyRecord.Status.IN_PROGRESS, r.responseBody = null, "
+            + "r.createdAt = :now, r.claimedAt = :now, r.expiresAt = :expiresAt "
+            + "WHERE r.idempotencyKey = :idempotencyKey AND (r.expiresAt <= :now "
+            + "OR (r.status = com.cgi.bank.account.domain.IdempotencyRecord.Status.IN_PROGRESS "
+            + "AND r.requestHash = :requestHash AND r.claimedAt <= :abandonedBefore))")
+    int takeOverClaim(@Param("idempotencyKey") String idempotencyKey, @Param("requestHash") String requestHash,
+            @Param("now") Instant now, @Param("expiresAt") Instant expiresAt,
+            @Param("abandonedBefore") Instant abandonedBefore);
+
+    /**
+     * Stores the response of a request, provided its claim has not been taken over in the meantime.
+     *
+     * @param idempotencyKey the key sent by the client
+     * @param claimedAt the claim time of the request
+     * @param responseBody the serialized response
+     * @return 1 if the response was stored, 0 if the claim is no longer held
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody, "
+            + "r.status = com.cgi.bank.account.domain.IdempotencyRecord.Status.COMPLETED "
+            + "WHERE r.idempotencyKey = :idempotencyKey AND r.claimedAt = :claimedAt "
+            + "AND r.status = com.cgi.bank.account.domain.IdempotencyRecord.Status.IN_PROGRESS")
+    int complete(@Param("idempotencyKey") String idempotencyKey, @Param("claimedAt") Instant claimedAt,
+            @Param("responseBody") String responseBody);
+
+    /**
+     * Releases the claim of a failed request, provided it has not been taken over in the meantime.
+     *
+     * @param idempotencyKey the key sent by the client
+     * @param claimedAt the claim time of the request
+     * @return 1 if the claim was released, 0 if it is no longer held
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey "
+            + "AND r.claimedAt = :claimedAt "
+            + "AND r.status = com.cgi.bank.account.domain.IdempotencyRecord.Status.IN_PROGRESS")
+    int releaseClaim(@Param("idempotencyKey") String idempotencyKey, @Param("claimedAt") Instant claimedAt);
+
+    /**
+     * Deletes every record that expired before the given time.
+     *
+     * @param now the current time
+     * @return the number of deleted records
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,51 @@
+package com.cgi.bank.account.repository;
+
+import java.time.Instant;
+import java.util.Set;
+
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+
+/**
+ * Restricts a transaction history query. Every criterion is optional; an empty set matches any value.
+ *
+ * @param from the earliest timestamp included, or null for no lower bound
+ * @param to the timestamp up to which transactions are included, exclusive, or null for no upper bound
+ * @param types the transaction types included
+ * @param currencies the currencies included
+ */
+public record TransactionFilter(Instant from, Instant to, Set<TransactionType> types, Set<Currency> currencies) {
+
+    private static final TransactionFilter NONE = new TransactionFilter(null, null, Set.of(), Set.of());
+
+    /**
+     * Creates the filter, treating null sets as empty.
+     *
+     * @throws IllegalArgumentException if {@code from} is not before {@code to}
+     */
+    public TransactionFilter {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        types = types == null ? Set.of() : Set.copyOf(types);
+        currencies = currencies == null ? Set.of() : Set.copyOf(currencies);
+    }
+
+    /**
+     * The filter matching every transaction.
+     *
+     * @return the empty filter
+     */
+    public static TransactionFilter none() {
+        return NONE;
+    }
+
+    /**
+     * Whether the filter matches every transaction.
+     *
+     * @return true if no criterion is set
+     */
+    public boolean isEmpty() {
+        return from == null && to == null && types.isEmpty() && currencies.isEmpty();
+    }
+}
@@ -1,8 +1,14 @@
 package com.cgi.bank.account.repository;
 
+import java.time.Instant;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.cgi.bank.account.domain.Account;
@@ -12,7 +18,7 @@ import com.cgi.bank.account.domain.Transaction;
  * Repository for managing Transaction entities.
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, FilteredTransactionRepository {
     
     /**
      * Find all transactions for a specific account.
@@ -22,4 +28,41 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @return a page of transactions
      */
     Page<Transaction> findByAccount(Account account, Pageable pageable);
+
+    /**
+     * Finds a page of an account's transactions without counting them; one row more than the page size is read
+     * to tell whether a next page exists.
+     *
+     * @param accountId the account ID
+     * @param pageable pagination information, including the sort order
+     * @return a slice of transactions
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.account.accountId = :accountId")
+    Slice<Transaction> findSliceByAccountId(@Param("accountId") String accountId, Pageable pageable);
+
+    /**
+     * Finds the newest transactions of an account, without counting them.
+     *
+     * @param accountId the account ID
+     * @param limit the number of transactions to return, as the page size of an unsorted page request
+     * @return the transactions, ordered by timestamp and then ID, both descending
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.account.accountId = :accountId ORDER BY t.timestamp DESC, t.id DESC")
+    List<Transaction> findLatest(@Param("accountId") String accountId, Pageable limit);
+
+    /**
+     * Finds the transactions of an account that come after the given position, without counting or skipping rows.
+     * The redundant {@code timestamp <=} bound lets PostgreSQL start the backward scan of
+     * {@code idx_transactions_account_timestamp} at the position instead of filtering from the newest row.
+     *
+     * @param accountId the account ID
+     * @param timestamp the timestamp of the last transaction already returned
+     * @param id the ID of the last transaction already returned
+     * @param limit the number of transactions to return, as the page size of an unsorted page request
+     * @return the transactions, ordered by timestamp and then ID, both descending
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.account.accountId = :accountId AND t.timestamp <= :timestamp " +
+            "AND (t.timestamp < :timestamp OR t.id < :id) ORDER BY t.timestamp DESC, t.id DESC")
+    List<Transaction> findAfter(@Param("accountId") String accountId, @Param("timestamp") Instant timestamp,
+            @Param("id") long id, Pageable limit);
 } 
\ No newline at end of file
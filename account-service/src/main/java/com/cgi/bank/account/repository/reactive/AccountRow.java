@@ -0,0 +1,34 @@
+package com.cgi.bank.account.repository.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * R2DBC mapping of a row of the {@code accounts} table.
+ * Saving a row with a version issues a version-checked update, which the reactive service uses in the same
+ * places where Hibernate increments the version of the {@code Account} aggregate.
+ */
+@Table("accounts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountRow {
+
+    @Id
+    @Column("account_id")
+    private String accountId;
+
+    /**
+     * Null until the row is inserted, which tells Spring Data to insert instead of update.
+     */
+    @Version
+    private Long version;
+}
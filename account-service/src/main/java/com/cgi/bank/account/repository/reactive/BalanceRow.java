@@ -0,0 +1,87 @@
+package com.cgi.bank.account.repository.reactive;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * R2DBC mapping of a row of the {@code balances} table.
+ * Amount changes follow the rules of the JPA {@code Balance} entity, including its holds, and saves are
+ * version-checked.
+ */
+@Table("balances")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceRow {
+
+    @Id
+    private Long id;
+
+    @Column("account_id")
+    private String accountId;
+
+    private Currency currency;
+
+    private BigDecimal amount;
+
+    @Column("held_amount")
+    private BigDecimal heldAmount;
+
+    @Version
+    private Long version;
+
+    /**
+     * Creates a balance row that has not been inserted yet.
+     *
+     * @param accountId the ID of the account the balance belongs to
+     * @param currency the currency of the balance
+     * @return a new row with a zero amount
+     */
+    public static BalanceRow open(String accountId, Currency currency) {
+        return new BalanceRow(null, accountId, currency, BigDecimal.ZERO, BigDecimal.ZERO, null);
+    }
+
+    /**
+     * Adds the specified amount to the balance.
+     *
+     * @param value the amount to add (must be positive)
+     * @throws IllegalArgumentException if value is negative or zero
+     */
+    public void addAmount(BigDecimal value) {
+        if (value.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount to add must be positive");
+        }
+        this.amount = this.amount.add(value);
+    }
+
+    /**
+     * Subtracts the specified amount from the balance if sufficient funds are available.
+     *
+     * @param value the amount to subtract (must be positive)
+     * @throws IllegalArgumentException if value is negative or zero
+     * @throws InsufficientFundsException if the amount not reserved by holds is less than the amount to subtract
+     */
+    public void subtractAmount(BigDecimal value) {
+        if (value.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount to subtract must be positive");
+        }
+        BigDecimal available = this.amount.subtract(heldAmount);
+        if (available.compareTo(value) < 0) {
+            throw new InsufficientFundsException(accountId, currency, value, available);
+        }
+        this.amount = this.amount.subtract(value);
+    }
+}
@@ -0,0 +1,11 @@
+package com.cgi.bank.account.repository.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reactive repository for account rows.
+ */
+@Repository
+public interface ReactiveAccountRepository extends R2dbcRepository<AccountRow, String> {
+}
@@ -0,0 +1,21 @@
+package com.cgi.bank.account.repository.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive repository for balance rows.
+ */
+@Repository
+public interface ReactiveBalanceRepository extends R2dbcRepository<BalanceRow, Long> {
+
+    /**
+     * Finds the balances of an account in currency order, the order in which they are updated.
+     *
+     * @param accountId the ID of the account
+     * @return the balances of the account
+     */
+    Flux<BalanceRow> findByAccountIdOrderByCurrency(String accountId);
+}
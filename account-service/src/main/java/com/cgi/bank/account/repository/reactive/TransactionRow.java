@@ -0,0 +1,55 @@
+package com.cgi.bank.account.repository.reactive;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * R2DBC mapping of the columns of the {@code transactions} table written by the reactive service.
+ * The ID is left to the column default.
+ */
+@Table("transactions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionRow {
+
+    @Id
+    private Long id;
+
+    @Column("account_id")
+    private String accountId;
+
+    private TransactionType type;
+
+    private Currency currency;
+
+    private BigDecimal amount;
+
+    private Instant timestamp;
+
+    /**
+     * Creates a transaction row that has not been inserted yet.
+     *
+     * @param accountId the ID of the account
+     * @param type the type of transaction
+     * @param currency the currency of the transaction
+     * @param amount the amount of the transaction
+     * @return a new row stamped with the current time
+     */
+    public static TransactionRow of(String accountId, TransactionType type, Currency currency, BigDecimal amount) {
+        return new TransactionRow(null, accountId, type, currency, amount, Instant.now());
+    }
+}
@@ -1,8 +1,10 @@
 package com.cgi.bank.account.service;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.TransferResponseDTO;
 import com.cgi.bank.account.domain.Currency;
 
 /**
@@ -26,6 +28,16 @@ public interface AccountService {
      */
     AccountBalanceResponseDTO getAccountBalances(String accountId);
     
+    /**
+     * Returns a tag of the current state of an account's balances without loading them, so unchanged balances
+     * need not be sent again. The tag changes whenever the balances change.
+     *
+     * @param accountId the ID of the account
+     * @return the tag, or empty if the balances cannot be tagged cheaply, e.g. because the account is unknown,
+     *         has no balances or keeps them in unversioned slots
+     */
+    Optional<String> getBalancesVersionTag(String accountId);
+    
     /**
      * Deposits money into an account in the specified currency.
      *
@@ -72,4 +84,28 @@ public interface AccountService {
      */
     AccountBalanceResponseDTO exchange(String accountId, Currency fromCurrency, Currency toCurrency, 
             BigDecimal amount);
-} 
\ No newline at end of file
+
+    /**
+     * Transfers money from one account to another in a single transaction, converting it when the currencies
+     * differ. The debit and credit are recorded as two transactions sharing a transfer ID.
+     *
+     * @param fromAccountId the ID of the account the money is sent from
+     * @param toAccountId the ID of the account the money is sent to
+     * @param amount the amount to debit in the source currency
+     * @param fromCurrency the currency debited from the source account
+     * @param toCurrency the currency credited to the destination account
+     * @return a DTO containing the transfer ID, the credited amount and the source account's updated balances
+     * @throws com.cgi.bank.account.exception.AccountNotFoundException if either account is not found
+     * @throws com.cgi.bank.account.exception.BalanceNotFoundException if the source account has no balance
+     *         in the source currency
+     * @throws com.cgi.bank.account.exception.InsufficientFundsException if the source account has insufficient
+     *         funds
+     * @throws com.cgi.bank.account.exception.InvalidCurrencyException if the exchange rate is not found
+     *         for the currency pair
+     * @throws IllegalArgumentException if the amount is not positive or if both accounts are the same
+     * @throws com.cgi.bank.account.exception.UnsupportedLedgerOperationException if the configured ledger engine
+     *         does not support transfers
+     */
+    TransferResponseDTO transfer(String fromAccountId, String toAccountId, BigDecimal amount,
+            Currency fromCurrency, Currency toCurrency);
+}
@@ -0,0 +1,34 @@
+package com.cgi.bank.account.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.cgi.bank.account.domain.Currency;
+
+/**
+ * Builds the entity tag of an account's balances from their row versions.
+ * Every committed change of a balance row, including its held amount, increments the row version, and a new
+ * currency adds a row, so the tag changes whenever the balances do.
+ */
+public final class BalanceVersionTag {
+
+    private BalanceVersionTag() {
+    }
+
+    /**
+     * Builds the tag of the given balance versions, e.g. {@code EUR-3.USD-0}.
+     *
+     * @param versions the row version of every balance of the account, by currency
+     * @return the tag, or empty if the account has no balances or a version is not yet known
+     */
+    public static Optional<String> of(Map<Currency, Long> versions) {
+        if (versions.isEmpty() || versions.containsValue(null)) {
+            return Optional.empty();
+        }
+        return Optional.of(new TreeMap<>(versions).entrySet().stream()
+                .map(entry -> entry.getKey().name() + "-" + entry.getValue())
+                .collect(Collectors.joining(".")));
+    }
+}
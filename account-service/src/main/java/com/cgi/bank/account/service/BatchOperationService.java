@@ -0,0 +1,28 @@
+package com.cgi.bank.account.service;
+
+import java.util.Iterator;
+
+import com.cgi.bank.account.controller.dto.BatchMode;
+import com.cgi.bank.account.controller.dto.BatchOperationDTO;
+import com.cgi.bank.account.controller.dto.BatchResponseDTO;
+
+/**
+ * Service interface for applying many ledger operations in one request.
+ */
+public interface BatchOperationService {
+
+    /**
+     * Applies a batch of deposits, withdrawals and exchanges across any number of accounts.
+     * Operations are consumed from the iterator as they are applied, so the batch never has to be held in
+     * memory as a whole. The iterator may throw {@link IllegalArgumentException} from {@code next()} for an
+     * element that is not a valid operation, which fails that operation only, and
+     * {@link com.cgi.bank.account.exception.MalformedBatchException} when the rest of the batch cannot be read.
+     *
+     * @param mode whether the batch is applied all-or-nothing or best-effort
+     * @param operations the operations in request order
+     * @return the outcome of every operation read
+     * @throws com.cgi.bank.account.exception.UnsupportedLedgerOperationException if the mode is not supported by
+     *         the configured ledger engine
+     */
+    BatchResponseDTO execute(BatchMode mode, Iterator<BatchOperationDTO> operations);
+}
@@ -0,0 +1,20 @@
+package com.cgi.bank.account.service;
+
+import com.cgi.bank.account.controller.dto.BulkCreateAccountsRequestDTO;
+import com.cgi.bank.account.controller.dto.BulkCreateAccountsResponseDTO;
+
+/**
+ * Service interface for creating many accounts in one request.
+ */
+public interface BulkAccountService {
+
+    /**
+     * Creates a number of accounts, or one account per client reference, each starting with the given opening
+     * balances. Either all accounts are created or none.
+     *
+     * @param request the number of accounts or their references, and the opening balances
+     * @return the created accounts, in the order of the references
+     * @throws IllegalArgumentException if the request is inconsistent or exceeds the configured maximum
+     */
+    BulkCreateAccountsResponseDTO createAccounts(BulkCreateAccountsRequestDTO request);
+}
@@ -0,0 +1,64 @@
+package com.cgi.bank.account.service;
+
+import java.math.BigDecimal;
+
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.domain.Currency;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the balance operations of {@link AccountService}, backed by R2DBC.
+ * Failures are signalled with the same exceptions as the blocking service.
+ */
+public interface ReactiveAccountService {
+
+    /**
+     * Creates a new account with no balances.
+     *
+     * @return the new account's ID and an empty balance list
+     */
+    Mono<AccountBalanceResponseDTO> createAccount();
+
+    /**
+     * Retrieves all balances for an account.
+     *
+     * @param accountId the ID of the account
+     * @return the account ID and its balances, or an error with
+     *         {@link com.cgi.bank.account.exception.AccountNotFoundException} if the account does not exist
+     */
+    Mono<AccountBalanceResponseDTO> getAccountBalances(String accountId);
+
+    /**
+     * Deposits money into an account, opening the balance for the currency if it does not exist.
+     *
+     * @param accountId the ID of the account
+     * @param amount the amount to deposit (must be positive)
+     * @param currency the currency of the deposit
+     * @return the account ID and its updated balances
+     */
+    Mono<AccountBalanceResponseDTO> deposit(String accountId, BigDecimal amount, Currency currency);
+
+    /**
+     * Withdraws money from an account.
+     *
+     * @param accountId the ID of the account
+     * @param amount the amount to withdraw (must be positive)
+     * @param currency the currency of the withdrawal
+     * @return the account ID and its updated balances, or an error with
+     *         {@link com.cgi.bank.account.exception.InsufficientFundsException} if the balance does not cover it
+     */
+    Mono<AccountBalanceResponseDTO> withdraw(String accountId, BigDecimal amount, Currency currency);
+
+    /**
+     * Exchanges money between two currency balances of the same account.
+     *
+     * @param accountId the ID of the account
+     * @param fromCurrency the source currency
+     * @param toCurrency the target currency
+     * @param amount the amount in the source currency (must be positive)
+     * @return the account ID and its updated balances
+     */
+    Mono<AccountBalanceResponseDTO> exchange(String accountId, Currency fromCurrency, Currency toCurrency,
+            BigDecimal amount);
+}
@@ -0,0 +1,58 @@
+package com.cgi.bank.account.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+import com.cgi.bank.account.domain.Transaction;
+
+/**
+ * Position in an account's transaction history, which is ordered by timestamp and then ID, both descending.
+ * Clients receive it as an opaque URL-safe string and pass it back to continue after that transaction.
+ *
+ * @param timestamp the timestamp of the last transaction returned
+ * @param id the ID of the last transaction returned
+ */
+public record TransactionCursor(Instant timestamp, long id) {
+
+    private static final char SEPARATOR = '/';
+
+    /**
+     * Creates the cursor pointing after the given transaction.
+     *
+     * @param transaction the last transaction of a page
+     * @return the cursor
+     */
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(transaction.getTimestamp(), transaction.getId());
+    }
+
+    /**
+     * Reads a cursor previously returned by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new TransactionCursor(Instant.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid transaction cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Encodes the cursor for clients.
+     *
+     * @return the opaque cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
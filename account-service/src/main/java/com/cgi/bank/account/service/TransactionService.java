@@ -2,13 +2,16 @@ package com.cgi.bank.account.service;
 
 import org.springframework.data.domain.Page;
 
+import com.cgi.bank.account.controller.dto.TransactionCursorPageDTO;
 import com.cgi.bank.account.controller.dto.TransactionResponseDTO;
+import com.cgi.bank.account.controller.dto.TransactionSliceDTO;
+import com.cgi.bank.account.repository.TransactionFilter;
 
 /**
  * Service interface for transaction-related operations.
  */
 public interface TransactionService {
-    
+
     /**
      * Retrieves transaction history for a given account with pagination.
      *
@@ -18,5 +21,74 @@ public interface TransactionService {
      * @return a page of transaction DTOs
      * @throws com.cgi.bank.account.exception.AccountNotFoundException if the account is not found
      */
-    Page<TransactionResponseDTO> getTransactionHistory(String accountId, int page, int size);
-} 
\ No newline at end of file
+    default Page<TransactionResponseDTO> getTransactionHistory(String accountId, int page, int size) {
+        return getTransactionHistory(accountId, TransactionFilter.none(), page, size);
+    }
+
+    /**
+     * Retrieves the transactions of a given account that match a filter, with pagination.
+     *
+     * @param accountId the ID of the account
+     * @param filter the criteria the transactions must match
+     * @param page the page number (0-based)
+     * @param size the page size
+     * @return a page of transaction DTOs
+     * @throws com.cgi.bank.account.exception.AccountNotFoundException if the account is not found
+     */
+    Page<TransactionResponseDTO> getTransactionHistory(String accountId, TransactionFilter filter, int page, int size);
+
+    /**
+     * Retrieves transaction history for a given account with pagination, without counting the whole history.
+     *
+     * @param accountId the ID of the account
+     * @param page the page number (0-based)
+     * @param size the page size
+     * @return the page of transaction DTOs and whether a next page exists
+     * @throws com.cgi.bank.account.exception.AccountNotFoundException if the account is not found
+     */
+    default TransactionSliceDTO getTransactionHistorySlice(String accountId, int page, int size) {
+        return getTransactionHistorySlice(accountId, TransactionFilter.none(), page, size);
+    }
+
+    /**
+     * Retrieves the transactions of a given account that match a filter, with pagination, without counting them.
+     *
+     * @param accountId the ID of the account
+     * @param filter the criteria the transactions must match
+     * @param page the page number (0-based)
+     * @param size the page size
+     * @return the page of transaction DTOs and whether a next page exists
+     * @throws com.cgi.bank.account.exception.AccountNotFoundException if the account is not found
+     */
+    TransactionSliceDTO getTransactionHistorySlice(String accountId, TransactionFilter filter, int page, int size);
+
+    /**
+     * Retrieves transaction history for a given account with keyset pagination: each page continues after the
+     * last transaction of the previous one, so deep pages cost the same as the first and nothing is counted.
+     *
+     * @param accountId the ID of the account
+     * @param after the cursor returned with the previous page, or null or empty for the newest transactions
+     * @param size the page size
+     * @return the page of transaction DTOs, with the cursor of the next page if there is one
+     * @throws com.cgi.bank.account.exception.AccountNotFoundException if the account is not found
+     * @throws IllegalArgumentException if the cursor is invalid or the size is out of range
+     */
+    default TransactionCursorPageDTO getTransactionHistoryAfter(String accountId, String after, int size) {
+        return getTransactionHistoryAfter(accountId, TransactionFilter.none(), after, size);
+    }
+
+    /**
+     * Retrieves the transactions of a given account that match a filter, with keyset pagination. The cursor only
+     * records a position, so the same filter is expected with every page.
+     *
+     * @param accountId the ID of the account
+     * @param filter the criteria the transactions must match
+     * @param after the cursor returned with the previous page, or null or empty for the newest transactions
+     * @param size the page size
+     * @return the page of transaction DTOs, with the cursor of the next page if there is one
+     * @throws com.cgi.bank.account.exception.AccountNotFoundException if the account is not found
+     * @throws IllegalArgumentException if the cursor is invalid or the size is out of range
+     */
+    TransactionCursorPageDTO getTransactionHistoryAfter(String accountId, TransactionFilter filter, String after,
+            int size);
+}
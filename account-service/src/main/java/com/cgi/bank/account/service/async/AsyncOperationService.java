@@ -0,0 +1,419 @@
+package com.cgi.bank.account.service.async;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cgi.bank.account.config.AsyncOperationProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.AsyncOperationDTO;
+import com.cgi.bank.account.domain.AsyncOperation;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.exception.AccountLockTimeoutException;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.exception.AsyncOperationNotFoundException;
+import com.cgi.bank.account.exception.BalanceNotFoundException;
+import com.cgi.bank.account.exception.IdempotencyKeyReuseException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.exception.InvalidCurrencyException;
+import com.cgi.bank.account.exception.OptimisticLockingConflictException;
+import com.cgi.bank.account.exception.ServiceOverloadedException;
+import com.cgi.bank.account.repository.AsyncOperationRepository;
+import com.cgi.bank.account.service.AccountService;
+import com.cgi.bank.account.service.idempotency.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Accepts deposits, withdrawals and exchanges for asynchronous execution.
+ * An operation is committed to the {@code async_operations} table before it is acknowledged, then handed to a
+ * bounded pool of worker threads, so a spike of writes is absorbed by the queue instead of by HTTP and database
+ * connections. When the in-memory queue is full, or the instance stops, the operation stays pending in the
+ * database and the periodic sweep of any instance dispatches it; a conditional claim makes sure it executes once,
+ * and a conditional update makes sure only the first of the worker and the sweep records its outcome.
+ * Workers run the operation through the primary {@link AccountService}, so locking, retries and group commit
+ * apply as for synchronous requests, and store the balance response or the error for polling.
+ */
+@Service
+@Slf4j
+public class AsyncOperationService implements SmartLifecycle {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final AsyncOperationRepository repository;
+    private final AccountService accountService;
+    private final AsyncOperationProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final Set<String> dispatched = ConcurrentHashMap.newKeySet();
+    private final Cache<String, CompletableFuture<AsyncOperationDTO>> waiters;
+    private final Counter succeededCounter;
+    private final Counter failedCounter;
+    private final Counter deferredCounter;
+    private final Counter abandonedCounter;
+
+    private volatile boolean running;
+
+    /**
+     * Creates the service and its worker pool; workers accept operations once the application context has started.
+     *
+     * @param repository the repository storing accepted operations
+     * @param accountService the service executing the operations
+     * @param properties the asynchronous operation configuration
+     * @param objectMapper the mapper used to store balance responses as JSON
+     * @param transactionManager the transaction manager used to claim operations
+     * @param meterRegistry the registry used to publish queue depth and outcomes
+     */
+    public AsyncOperationService(AsyncOperationRepository repository, AccountService accountService,
+            AsyncOperationProperties properties, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.accountService = accountService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("AsyncOperation-"));
+        this.waiters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getMaxWait().multipliedBy(2))
+                .build();
+        Gauge.builder("operations.async.queue.size", workers, executor -> executor.getQueue().size())
+                .description("Accepted operations waiting for a worker on this instance")
+                .register(meterRegistry);
+        this.succeededCounter = outcomeCounter(meterRegistry, "succeeded");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.deferredCounter = outcomeCounter(meterRegistry, "deferred");
+        this.abandonedCounter = outcomeCounter(meterRegistry, "abandoned");
+    }
+
+    /**
+     * Stores a write operation and queues it for execution.
+     *
+     * @param type the kind of write
+     * @param accountId the account the operation applies to
+     * @param currency the currency of the deposit or withdrawal, or the source currency of an exchange
+     * @param targetCurrency the target currency of an exchange, null otherwise
+     * @param amount the amount of the operation
+     * @param idempotencyKey the optional idempotency key of the request
+     * @return the pending operation, or the operation first submitted with the same key
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws IdempotencyKeyReuseException if the key was used for a different request
+     */
+    public AsyncOperationDTO submit(AsyncOperation.Type type, String accountId, Currency currency,
+            Currency targetCurrency, BigDecimal amount, String idempotencyKey) {
+        String fingerprint = null;
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException(
+                        "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            }
+            fingerprint = IdempotencyService.fingerprint("async-" + type, accountId, currency, targetCurrency, amount);
+            AsyncOperation existing = repository.findByIdempotencyKey(idempotencyKey).orElse(null);
+            if (existing != null) {
+                return replay(idempotencyKey, existing, fingerprint);
+            }
+        }
+
+        AsyncOperation operation = new AsyncOperation(type, accountId, currency, targetCurrency, amount,
+                Instant.now());
+        operation.setIdempotencyKey(idempotencyKey);
+        operation.setRequestHash(fingerprint);
+        try {
+            repository.saveAndFlush(operation);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent submission with the same key was stored first
+            AsyncOperation existing = repository.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+            return replay(idempotencyKey, existing, fingerprint);
+        }
+
+        log.debug("Accepted {} {} for asynchronous execution", operation.getType(), operation.getOperationId());
+        dispatch(operation.getOperationId());
+        return toDTO(operation);
+    }
+
+    /**
+     * Returns the current state of an operation.
+     *
+     * @param operationId the ID of the operation
+     * @return the operation and, once finished, its result or error
+     * @throws AsyncOperationNotFoundException if no such operation exists
+     */
+    public AsyncOperationDTO getOperation(String operationId) {
+        return repository.findById(operationId)
+                .map(this::toDTO)
+                .orElseThrow(() -> new AsyncOperationNotFoundException(operationId));
+    }
+
+    /**
+     * Returns a future completed when an operation executed by this instance finishes. Operations finished
+     * elsewhere are not signalled, so callers should re-read the operation when they stop waiting.
+     *
+     * @param operationId the ID of the operation
+     * @return a future with the finished operation, already completed if it has finished
+     * @throws AsyncOperationNotFoundException if no such operation exists
+     */
+    public CompletableFuture<AsyncOperationDTO> awaitCompletion(String operationId) {
+        // Registered before the read, so a completion between the two is not missed
+        CompletableFuture<AsyncOperationDTO> completion = waiters.get(operationId, id -> new CompletableFuture<>());
+        AsyncOperationDTO current;
+        try {
+            current = getOperation(operationId);
+        } catch (AsyncOperationNotFoundException e) {
+            waiters.invalidate(operationId);
+            throw e;
+        }
+        if (AsyncOperation.Status.valueOf(current.getStatus()).isFinished()) {
+            completion.complete(current);
+        }
+        return completion.copy();
+    }
+
+    /**
+     * Dispatches operations that no worker picked up, and gives up on operations whose worker has stopped.
+     * Such an operation may have been applied before its outcome was lost, so it is marked UNKNOWN rather
+     * than failed, which would invite the client to submit it again.
+     */
+    @Scheduled(fixedDelayString = "${app.async-operations.sweep-interval:5s}")
+    public void sweep() {
+        if (!running) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (AsyncOperation abandoned
+                : repository.findRunningStartedBefore(now.minus(properties.getRunningTimeout()))) {
+            log.warn("Operation {} has been running since {}; marking its outcome unknown",
+                    abandoned.getOperationId(), abandoned.getStartedAt());
+            abandoned.abandon("Operation was interrupted before its outcome was recorded and may have been "
+                    + "applied; check the transaction history before resubmitting", now);
+            if (complete(abandoned)) {
+                abandonedCounter.increment();
+            }
+        }
+
+        List<String> pending = repository.findPendingIds(now.minus(properties.getSweepDelay()),
+                PageRequest.of(0, properties.getSweepBatchSize()));
+        if (!pending.isEmpty()) {
+            log.debug("Dispatching {} pending operation(s)", pending.size());
+            pending.forEach(this::dispatch);
+        }
+    }
+
+    /**
+     * Deletes finished operations past their retention from the database.
+     */
+    @Scheduled(fixedDelayString = "${app.async-operations.purge-interval:1h}")
+    @Transactional
+    public void purgeFinished() {
+        int purged = repository.deleteCompletedBefore(Instant.now().minus(properties.getRetention()));
+        if (purged > 0) {
+            log.debug("Purged {} finished operation(s)", purged);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Stops dispatching and waits for the workers to finish the operations they hold. Operations still queued
+     * after the timeout stay pending and are dispatched by the sweep of a running instance.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                List<Runnable> queued = workers.shutdownNow();
+                log.warn("Stopped with {} operation(s) still queued; they remain pending", queued.size());
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void dispatch(String operationId) {
+        if (!running || !dispatched.add(operationId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    execute(operationId);
+                } finally {
+                    dispatched.remove(operationId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Stays pending in the database until a sweep finds room for it
+            dispatched.remove(operationId);
+            deferredCounter.increment();
+        }
+    }
+
+    /**
+     * Claims the operation and runs it; does nothing if another worker claimed it first.
+     */
+    void execute(String operationId) {
+        Integer claimed = transactionTemplate.execute(status -> repository.claim(operationId, Instant.now()));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        AsyncOperation operation = repository.findById(operationId)
+                .orElseThrow(() -> new AsyncOperationNotFoundException(operationId));
+
+        AccountBalanceResponseDTO response;
+        try {
+            response = apply(operation);
+        } catch (RuntimeException e) {
+            log.debug("Operation {} failed: {}", operationId, e.getMessage());
+            operation.fail(errorStatus(e), e.getMessage(), Instant.now());
+            complete(operation);
+            failedCounter.increment();
+            return;
+        }
+
+        String result = null;
+        try {
+            result = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            // The write has happened; only the balances are missing from the stored outcome
+            log.warn("Could not store the response of operation {}", operationId, e);
+        }
+        operation.succeed(result, Instant.now());
+        succeededCounter.increment();
+        try {
+            complete(operation);
+        } catch (RuntimeException e) {
+            // The write committed in its own transaction; the sweep reports the operation as UNKNOWN
+            log.error("Operation {} was applied but its outcome could not be recorded", operationId, e);
+        }
+    }
+
+    private AccountBalanceResponseDTO apply(AsyncOperation operation) {
+        return switch (operation.getType()) {
+            case DEPOSIT -> accountService.deposit(
+                    operation.getAccountId(), operation.getAmount(), operation.getCurrency());
+            case WITHDRAWAL -> accountService.withdraw(
+                    operation.getAccountId(), operation.getAmount(), operation.getCurrency());
+            case EXCHANGE -> accountService.exchange(operation.getAccountId(), operation.getCurrency(),
+                    operation.getTargetCurrency(), operation.getAmount());
+        };
+    }
+
+    /**
+     * Records the final state of a running operation and signals the callers waiting for it on this instance.
+     *
+     * @return false if the operation was no longer running, e.g. because the sweep gave up on it first
+     */
+    private boolean complete(AsyncOperation operation) {
+        Integer recorded = transactionTemplate.execute(status -> repository.finish(operation.getOperationId(),
+                operation.getStatus(), operation.getResultBody(), operation.getErrorStatus(),
+                operation.getErrorMessage(), operation.getCompletedAt()));
+        if (recorded == null || recorded == 0) {
+            log.warn("Operation {} is no longer running; its {} outcome was not recorded",
+                    operation.getOperationId(), operation.getStatus());
+            return false;
+        }
+        CompletableFuture<AsyncOperationDTO> completion = waiters.asMap().remove(operation.getOperationId());
+        if (completion != null) {
+            completion.complete(toDTO(operation));
+        }
+        return true;
+    }
+
+    private AsyncOperationDTO replay(String idempotencyKey, AsyncOperation existing, String fingerprint) {
+        if (!fingerprint.equals(existing.getRequestHash())) {
+            throw new IdempotencyKeyReuseException(idempotencyKey);
+        }
+        return toDTO(existing);
+    }
+
+    private AsyncOperationDTO toDTO(AsyncOperation operation) {
+        AccountBalanceResponseDTO result = null;
+        if (operation.getResultBody() != null) {
+            try {
+                result = objectMapper.readValue(operation.getResultBody(), AccountBalanceResponseDTO.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(
+                        "Stored result of operation " + operation.getOperationId() + " cannot be read", e);
+            }
+        }
+        return new AsyncOperationDTO(
+                operation.getOperationId(),
+                operation.getType().name(),
+                operation.getAccountId(),
+                operation.getStatus().name(),
+                operation.getCreatedAt(),
+                operation.getCompletedAt(),
+                result,
+                operation.getErrorStatus(),
+                operation.getErrorMessage());
+    }
+
+    /**
+     * Maps a failure to the status the synchronous endpoint returns for it, see {@code GlobalExceptionHandler}.
+     */
+    static int errorStatus(RuntimeException e) {
+        if (e instanceof AccountNotFoundException) {
+            return 404;
+        }
+        if (e instanceof InsufficientFundsException) {
+            return 422;
+        }
+        if (e instanceof BalanceNotFoundException || e instanceof InvalidCurrencyException
+                || e instanceof IllegalArgumentException) {
+            return 400;
+        }
+        if (e instanceof OptimisticLockingConflictException || e instanceof OptimisticLockingFailureException
+                || e instanceof AccountLockTimeoutException) {
+            return 409;
+        }
+        if (e instanceof ServiceOverloadedException) {
+            return 503;
+        }
+        return 500;
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("operations.async")
+                .description("Asynchronous operations, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,326 @@
+package com.cgi.bank.account.service.cache;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cgi.bank.account.config.BalanceCacheProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.domain.Balance;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.service.BalanceVersionTag;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process cache of account balances, so repeated balance reads are answered without a database
+ * connection.
+ * Write paths hand over the balance entities they changed; the cache is only updated once the transaction has
+ * committed, and a write rolled back never reaches it. Every cached balance keeps the row version it was read
+ * or written at, and an update only replaces a balance with a higher version. Writes that commit in one order
+ * but report in another therefore cannot roll a balance back. Writes that do not know the resulting versions,
+ * such as upserts and slot writes, evict the account instead. After an eviction, writes no longer repopulate the
+ * account; only a read that started after the eviction does, so a read that began before a concurrent write
+ * cannot cache what that write replaced.
+ * Listeners registered with {@link #addChangeListener} learn about every account a committed transaction changed
+ * through this instance, so other instances can be told to evict it.
+ */
+@Component
+public class BalanceCache {
+
+    private final boolean enabled;
+    private final Cache<String, Map<Currency, CachedBalance>> balances;
+    private final Cache<String, Long> evictions;
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+    private volatile long flushedAt;
+
+    /**
+     * Creates the cache and publishes its size, hit, miss and eviction metrics under {@code balances}.
+     *
+     * @param properties the cache configuration
+     * @param meterRegistry the registry used to publish the cache metrics
+     */
+    public BalanceCache(BalanceCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.balances = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.evictions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, balances, "balances");
+    }
+
+    /**
+     * Returns the cached balances of an account.
+     *
+     * @param accountId the ID of the account
+     * @return the balances ordered by currency, or empty if the account is not cached
+     */
+    public Optional<AccountBalanceResponseDTO> get(String accountId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Map<Currency, CachedBalance> cached = balances.getIfPresent(accountId);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        List<BalanceDTO> balanceDTOs = cached.values().stream()
+                .map(CachedBalance::toDTO)
+                .collect(Collectors.toList());
+        return Optional.of(new AccountBalanceResponseDTO(accountId, balanceDTOs));
+    }
+
+    /**
+     * Returns the version tag of the cached balances of an account.
+     *
+     * @param accountId the ID of the account
+     * @return the tag built by {@link BalanceVersionTag}, or empty if the account is not cached
+     */
+    public Optional<String> getVersionTag(String accountId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Map<Currency, CachedBalance> cached = balances.getIfPresent(accountId);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        Map<Currency, Long> versions = new EnumMap<>(Currency.class);
+        // A balance cached without a known version leaves the account untagged
+        cached.forEach((currency, balance) ->
+                versions.put(currency, balance.version() >= 0 ? balance.version() : null));
+        return BalanceVersionTag.of(versions);
+    }
+
+    /**
+     * Marks the start of a database read whose result may be passed to {@link #fill}.
+     *
+     * @return the stamp to pass to {@link #fill}
+     */
+    public long startRead() {
+        return clock.get();
+    }
+
+    /**
+     * Caches all balances of an account as read from the database, unless the account was evicted after the read
+     * started.
+     *
+     * @param accountId the ID of the account
+     * @param read the balance rows of the account
+     * @param readStamp the stamp returned by {@link #startRead()} before the rows were read
+     */
+    public void fill(String accountId, Collection<Balance> read, long readStamp) {
+        if (!enabled) {
+            return;
+        }
+        Map<Currency, CachedBalance> snapshot = snapshot(read);
+        balances.asMap().compute(accountId, (id, current) -> {
+            if (current != null) {
+                return merge(current, snapshot);
+            }
+            Long evictedAt = evictions.getIfPresent(id);
+            boolean evicted = evictedAt != null && evictedAt > readStamp || flushedAt > readStamp;
+            return evicted ? null : snapshot;
+        });
+    }
+
+    /**
+     * Caches all balances of an account once the current transaction has committed.
+     *
+     * @param accountId the ID of the account
+     * @param written all balance rows of the account, including those the transaction changed
+     */
+    public void putAfterCommit(String accountId, Collection<Balance> written) {
+        List<Balance> rows = List.copyOf(written);
+        long registeredAt = clock.get();
+        // Versions are read after commit, when the flush has incremented them
+        afterCommit(accountId, () -> balances.asMap().compute(accountId, (id, current) -> {
+            if (current != null) {
+                return merge(current, snapshot(rows));
+            }
+            return evictions.getIfPresent(id) == null && flushedAt <= registeredAt ? snapshot(rows) : null;
+        }));
+    }
+
+    /**
+     * Updates one cached balance of an account, if the account is cached, once the current transaction has
+     * committed.
+     *
+     * @param accountId the ID of the account
+     * @param written the balance row the transaction changed
+     */
+    public void mergeAfterCommit(String accountId, Balance written) {
+        afterCommit(accountId, () -> balances.asMap().computeIfPresent(accountId,
+                (id, current) -> merge(current, snapshot(List.of(written)))));
+    }
+
+    /**
+     * Removes an account from the cache once the current transaction has committed.
+     *
+     * @param accountId the ID of the account
+     */
+    public void evictAfterCommit(String accountId) {
+        afterCommit(accountId, () -> evict(accountId));
+    }
+
+    /**
+     * Removes an account from the cache now, for changes that have already been committed.
+     *
+     * @param accountId the ID of the account
+     */
+    public void evict(String accountId) {
+        if (!enabled) {
+            return;
+        }
+        // Recorded before the removal, which runs after any concurrent update of the same key
+        evictions.put(accountId, clock.incrementAndGet());
+        balances.asMap().remove(accountId);
+    }
+
+    /**
+     * Removes all accounts from the cache, for when changes made elsewhere may have gone unnoticed. As after
+     * {@link #evict}, only reads started afterwards repopulate the cache.
+     */
+    public void evictAll() {
+        if (!enabled) {
+            return;
+        }
+        flushedAt = clock.incrementAndGet();
+        balances.invalidateAll();
+    }
+
+    /**
+     * Registers a callback that is run, after commit, with the ID of every account a transaction changed through
+     * this instance. It runs even when the cache itself is disabled.
+     *
+     * @param listener the callback; it must not block
+     */
+    public void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Counts the cache updates waiting for the current transaction to commit.
+     *
+     * @return the number of pending updates, to pass to {@link #discardPendingSince(int)}
+     */
+    public int pendingCount() {
+        return pending().size();
+    }
+
+    /**
+     * Drops the cache updates registered after the given count, for work rolled back to a savepoint while the
+     * transaction itself goes on to commit.
+     *
+     * @param count the number of pending updates to keep
+     */
+    public void discardPendingSince(int count) {
+        List<PendingUpdate> pending = pending();
+        for (int i = count; i < pending.size(); i++) {
+            pending.get(i).discard();
+        }
+    }
+
+    private void afterCommit(String accountId, Runnable update) {
+        if (!enabled && changeListeners.isEmpty()) {
+            return;
+        }
+        Runnable committed = () -> {
+            if (enabled) {
+                update.run();
+            }
+            changeListeners.forEach(listener -> listener.accept(accountId));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new PendingUpdate(committed));
+        } else {
+            committed.run();
+        }
+    }
+
+    private List<PendingUpdate> pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return List.of();
+        }
+        return TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingUpdate.class::isInstance)
+                .map(PendingUpdate.class::cast)
+                .filter(update -> update.owner() == this)
+                .collect(Collectors.toList());
+    }
+
+    private static Map<Currency, CachedBalance> snapshot(Collection<Balance> rows) {
+        Map<Currency, CachedBalance> snapshot = new EnumMap<>(Currency.class);
+        rows.forEach(row -> snapshot.put(row.getCurrency(), new CachedBalance(row.getCurrency(), row.getAmount(),
+                row.getHeldAmount(), row.getVersion() != null ? row.getVersion() : -1L)));
+        return snapshot;
+    }
+
+    /**
+     * Combines two views of an account per currency, keeping the balance with the higher version.
+     */
+    private static Map<Currency, CachedBalance> merge(Map<Currency, CachedBalance> current,
+            Map<Currency, CachedBalance> update) {
+        Map<Currency, CachedBalance> merged = new EnumMap<>(current);
+        update.forEach((currency, balance) -> merged.merge(currency, balance,
+                (existing, candidate) -> candidate.version() > existing.version() ? candidate : existing));
+        return merged;
+    }
+
+    /**
+     * A balance as last seen at a known row version.
+     */
+    private record CachedBalance(Currency currency, BigDecimal amount, BigDecimal heldAmount, long version) {
+
+        BalanceDTO toDTO() {
+            return BalanceDTO.of(currency.name(), amount, heldAmount);
+        }
+    }
+
+    /**
+     * A cache update applied after commit unless it was discarded.
+     */
+    private final class PendingUpdate implements TransactionSynchronization {
+
+        private final Runnable update;
+        private volatile boolean discarded;
+
+        PendingUpdate(Runnable update) {
+            this.update = update;
+        }
+
+        BalanceCache owner() {
+            return BalanceCache.this;
+        }
+
+        void discard() {
+            discarded = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!discarded) {
+                update.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.cgi.bank.account.service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import com.cgi.bank.account.config.CacheInvalidationProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Invalidation bus that keeps the balance caches of several instances sharing one PostgreSQL database coherent.
+ * The IDs of accounts changed by transactions committed on this instance are queued, and a publisher thread sends
+ * up to {@code max-batch-size} of them, or whatever arrives within {@code max-wait} of the first one, with
+ * {@code pg_notify}, packing as many IDs into each notification as its payload allows. A listener thread keeps
+ * a dedicated connection outside the pool on {@code LISTEN} and evicts the accounts other instances report.
+ * Notifications sent while the listener is not connected are lost, so every (re)connect flushes the whole cache;
+ * when the queue overflows or a publish fails, all instances are asked to flush instead of missing IDs.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cache-invalidation", name = "enabled", havingValue = "true")
+@Slf4j
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    /**
+     * Notification body that asks every instance to flush its whole cache.
+     */
+    static final String FLUSH_ALL = "*";
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    // PostgreSQL rejects payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final char SENDER_SEPARATOR = '|';
+    private static final char ID_SEPARATOR = ',';
+    private static final ResultSetExtractor<Void> IGNORE_RESULT = resultSet -> null;
+
+    private final CacheInvalidationProperties properties;
+    private final BalanceCache balanceCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final BlockingQueue<String> outbox;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter publishedCounter;
+    private final Counter notificationCounter;
+    private final Counter receivedCounter;
+    private final Counter connectFlushCounter;
+    private final Counter remoteFlushCounter;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread publisherThread;
+    private Thread listenerThread;
+
+    /**
+     * Creates the bus and subscribes it to the accounts changed through the balance cache; its threads are started
+     * with the application context.
+     *
+     * @param properties the invalidation configuration
+     * @param balanceCache the local cache whose changes are published and whose entries are evicted on notice
+     * @param jdbcTemplate the template used to send notifications over a pooled connection
+     * @param dataSourceProperties the datasource settings used to open the dedicated listener connection
+     * @param meterRegistry the registry used to publish notification counts and the listener state
+     */
+    public CacheInvalidationBus(CacheInvalidationProperties properties, BalanceCache balanceCache,
+            JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.balanceCache = balanceCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.outbox = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.publishedCounter = Counter.builder("cache.invalidation.published")
+                .description("Changed account IDs published to other instances")
+                .register(meterRegistry);
+        this.notificationCounter = Counter.builder("cache.invalidation.notifications")
+                .description("Notifications sent to other instances")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("cache.invalidation.received")
+                .description("Account IDs evicted on notice from other instances")
+                .register(meterRegistry);
+        this.connectFlushCounter = Counter.builder("cache.invalidation.flushes")
+                .tag("reason", "connect")
+                .description("Full cache flushes")
+                .register(meterRegistry);
+        this.remoteFlushCounter = Counter.builder("cache.invalidation.flushes")
+                .tag("reason", "remote")
+                .description("Full cache flushes")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.listening", this, bus -> bus.isListening() ? 1 : 0)
+                .description("Whether the listener connection is receiving notifications")
+                .register(meterRegistry);
+        balanceCache.addChangeListener(this::publish);
+    }
+
+    /**
+     * Whether the listener connection is currently receiving notifications.
+     *
+     * @return true if the listener is connected and listening
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        publisherThread = new Thread(this::runPublisher, "cache-invalidation-publisher");
+        publisherThread.start();
+        listenerThread = new Thread(this::runListener, "cache-invalidation-listener");
+        listenerThread.start();
+        log.info("CacheInvalidationBus started: channel={}, instanceId={}, maxBatchSize={}, maxWait={}",
+                properties.getChannel(), instanceId, properties.getMaxBatchSize(), properties.getMaxWait());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        // The publisher drains what is queued; the listener may be waiting to reconnect
+        listenerThread.interrupt();
+        try {
+            publisherThread.join();
+            listenerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("CacheInvalidationBus stopped");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void publish(String accountId) {
+        if (!outbox.offer(accountId)) {
+            flushRequested.set(true);
+        }
+    }
+
+    private void runPublisher() {
+        List<String> batch = new ArrayList<>(properties.getMaxBatchSize());
+        while (running || !outbox.isEmpty()) {
+            try {
+                collectBatch(batch);
+                // A dropped ID cannot be published any more; a flush covers it
+                if (flushRequested.getAndSet(false)) {
+                    send(List.of(FLUSH_ALL));
+                } else if (!batch.isEmpty()) {
+                    send(new LinkedHashSet<>(batch));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Blocks for the first changed account, then keeps collecting until the batch is full or the wait window closes.
+     */
+    private void collectBatch(List<String> batch) throws InterruptedException {
+        String first = outbox.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+        while (batch.size() < properties.getMaxBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            String next = remaining > 0 ? outbox.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                outbox.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void send(Collection<String> accountIds) throws InterruptedException {
+        try {
+            for (String payload : payloads(accountIds)) {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", IGNORE_RESULT, properties.getChannel(), payload);
+                notificationCounter.increment();
+            }
+            publishedCounter.increment(accountIds.size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish {} cache invalidation(s), requesting a flush in {}: {}",
+                    accountIds.size(), properties.getReconnectDelay(), e.getMessage());
+            flushRequested.set(true);
+            if (running) {
+                Thread.sleep(properties.getReconnectDelay().toMillis());
+            }
+        }
+    }
+
+    /**
+     * Packs the account IDs into notification payloads of the form {@code <instanceId>|<id>,<id>,...}.
+     */
+    List<String> payloads(Collection<String> accountIds) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(instanceId).append(SENDER_SEPARATOR);
+        int prefixLength = payload.length();
+        int payloadBytes = prefixLength;
+        for (String accountId : accountIds) {
+            int idBytes = accountId.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (payload.length() > prefixLength && payloadBytes + idBytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload.setLength(prefixLength);
+                payloadBytes = prefixLength;
+            }
+            if (payload.length() > prefixLength) {
+                payload.append(ID_SEPARATOR);
+            }
+            payload.append(accountId);
+            payloadBytes += idBytes;
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    private void runListener() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listen(connection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting in {}: {}",
+                            properties.getReconnectDelay(), e.getMessage());
+                }
+            } finally {
+                listening = false;
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(properties.getReconnectDelay().toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + properties.getChannel());
+        }
+        // Changes made elsewhere while this instance was not listening went unnoticed
+        balanceCache.evictAll();
+        connectFlushCounter.increment();
+        listening = true;
+        log.info("Cache invalidation listener connected on channel {}", properties.getChannel());
+
+        PGConnection notifications = connection.unwrap(PGConnection.class);
+        int pollTimeoutMillis = (int) properties.getPollTimeout().toMillis();
+        long validationIntervalNanos = properties.getValidationInterval().toNanos();
+        long lastHeard = System.nanoTime();
+        while (running) {
+            PGNotification[] received = notifications.getNotifications(pollTimeoutMillis);
+            if (received != null && received.length > 0) {
+                for (PGNotification notification : received) {
+                    receive(notification.getParameter());
+                }
+                lastHeard = System.nanoTime();
+            } else if (System.nanoTime() - lastHeard > validationIntervalNanos) {
+                // A half-open connection would otherwise wait for notifications forever
+                if (!connection.isValid((int) properties.getReconnectDelay().toSeconds())) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+                lastHeard = System.nanoTime();
+            }
+        }
+    }
+
+    void receive(String payload) {
+        int separator = payload.indexOf(SENDER_SEPARATOR);
+        if (separator > 0 && instanceId.equals(payload.substring(0, separator))) {
+            // This instance already applied its own changes
+            return;
+        }
+        String body = payload.substring(separator + 1);
+        if (separator < 0 || FLUSH_ALL.equals(body)) {
+            balanceCache.evictAll();
+            remoteFlushCounter.increment();
+            return;
+        }
+        String[] accountIds = body.split(String.valueOf(ID_SEPARATOR));
+        for (String accountId : accountIds) {
+            balanceCache.evict(accountId);
+        }
+        receivedCounter.increment(accountIds.length);
+    }
+}
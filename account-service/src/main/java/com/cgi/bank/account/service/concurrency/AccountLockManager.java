@@ -0,0 +1,157 @@
+package com.cgi.bank.account.service.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.exception.AccountLockTimeoutException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process lock manager that serializes write operations per account.
+ * Accounts are hashed onto a fixed number of fair {@link ReentrantLock} stripes, so memory use is bounded
+ * regardless of how many accounts are active. Callers wait up to the configured timeout for their stripe
+ * and queue behind other requests for the same account instead of racing on optimistic versions.
+ */
+@Component
+@Slf4j
+public class AccountLockManager {
+
+    private final boolean enabled;
+    private final Duration timeout;
+    private final ReentrantLock[] stripes;
+    private final Timer[] waitTimers;
+    private final Counter timeoutCounter;
+
+    /**
+     * Creates the lock stripes and registers their metrics.
+     *
+     * @param ledgerProperties the ledger configuration containing the lock settings
+     * @param meterRegistry the registry used to publish wait time and queue depth per stripe
+     */
+    public AccountLockManager(LedgerProperties ledgerProperties, MeterRegistry meterRegistry) {
+        LedgerProperties.Lock lockProperties = ledgerProperties.getLock();
+        this.enabled = lockProperties.isEnabled();
+        this.timeout = lockProperties.getTimeout();
+        this.stripes = new ReentrantLock[lockProperties.getStripes()];
+        this.waitTimers = new Timer[stripes.length];
+
+        for (int i = 0; i < stripes.length; i++) {
+            String stripe = String.valueOf(i);
+            stripes[i] = new ReentrantLock(lockProperties.isFair());
+            waitTimers[i] = Timer.builder("ledger.account.lock.wait")
+                    .description("Time spent waiting for an account lock stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            Gauge.builder("ledger.account.lock.queue", stripes[i], ReentrantLock::getQueueLength)
+                    .description("Number of threads queued on an account lock stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+
+        this.timeoutCounter = Counter.builder("ledger.account.lock.timeouts")
+                .description("Number of lock acquisitions that timed out")
+                .register(meterRegistry);
+
+        log.info("AccountLockManager initialized: enabled={}, stripes={}, fair={}, timeout={}",
+                enabled, stripes.length, lockProperties.isFair(), timeout);
+    }
+
+    /**
+     * Runs the given action while holding the lock stripe of the account.
+     * When locking is disabled the action is executed directly.
+     *
+     * @param accountId the account the action writes to
+     * @param action the action to execute
+     * @param <T> the result type
+     * @return the result of the action
+     * @throws AccountLockTimeoutException if the stripe cannot be acquired within the timeout
+     */
+    public <T> T executeLocked(String accountId, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+
+        int index = stripeFor(accountId);
+        ReentrantLock lock = acquire(accountId, index);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the given action while holding the lock stripes of two accounts.
+     * Stripes are acquired in ascending index order, whichever account is named first, so two actions on the
+     * same pair of accounts cannot deadlock. Accounts that share a stripe take it once.
+     *
+     * @param firstAccountId one account the action writes to
+     * @param secondAccountId the other account the action writes to
+     * @param action the action to execute
+     * @param <T> the result type
+     * @return the result of the action
+     * @throws AccountLockTimeoutException if either stripe cannot be acquired within the timeout
+     */
+    public <T> T executeLocked(String firstAccountId, String secondAccountId, Supplier<T> action) {
+        int first = stripeFor(firstAccountId);
+        int second = stripeFor(secondAccountId);
+        if (!enabled || first == second) {
+            return executeLocked(firstAccountId, action);
+        }
+
+        boolean firstIsLower = first < second;
+        ReentrantLock lower = acquire(firstIsLower ? firstAccountId : secondAccountId, Math.min(first, second));
+        try {
+            ReentrantLock upper = acquire(firstIsLower ? secondAccountId : firstAccountId, Math.max(first, second));
+            try {
+                return action.get();
+            } finally {
+                upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+
+    /**
+     * Resolves the stripe index for an account.
+     *
+     * @param accountId the account ID
+     * @return the index of the stripe guarding the account
+     */
+    int stripeFor(String accountId) {
+        int hash = accountId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    private ReentrantLock acquire(String accountId, int index) {
+        ReentrantLock lock = stripes[index];
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountLockTimeoutException(accountId, e);
+        } finally {
+            waitTimers[index].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            timeoutCounter.increment();
+            log.warn("Timed out after {} waiting for lock stripe {} of account: {}", timeout, index, accountId);
+            throw new AccountLockTimeoutException(accountId);
+        }
+        return lock;
+    }
+}
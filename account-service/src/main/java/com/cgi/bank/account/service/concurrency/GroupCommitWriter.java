@@ -0,0 +1,302 @@
+package com.cgi.bank.account.service.concurrency;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.hibernate.Session;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.service.cache.BalanceCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group-commit writer that applies queued ledger operations in shared database transactions.
+ * A single writer thread drains up to {@code max-batch-size} operations, or whatever arrives within
+ * {@code max-wait} of the first one, and runs them in one transaction so the batch pays for one commit.
+ * Every operation runs in its own savepoint, taken on the JDBC connection because the JPA dialect does not
+ * support nested transactions, and is flushed immediately, so a business failure such as insufficient funds
+ * rolls back only that operation. A failure that leaves the transaction itself unable to commit, such as a
+ * conflict raised by the flush, rolls the batch back instead, and the other operations are applied again in a
+ * new one. Callers are completed once the batch has committed.
+ * Relies on participating transactions not marking the batch rollback-only when they fail, see
+ * {@link com.cgi.bank.account.config.GroupCommitConfig}.
+ */
+@Component
+@Slf4j
+public class GroupCommitWriter implements SmartLifecycle {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final LedgerProperties.GroupCommit properties;
+    private final TransactionTemplate batchTemplate;
+    private final EntityManager entityManager;
+    private final BalanceCache balanceCache;
+    private final BlockingQueue<PendingOperation<?>> queue;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer commitTimer;
+    private final Counter rejectedCounter;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    /**
+     * Creates the writer; the writer thread is started with the application context when group commit is enabled.
+     *
+     * @param ledgerProperties the ledger configuration containing the group-commit settings
+     * @param transactionManager the transaction manager used for batch transactions
+     * @param entityManager the shared entity manager, flushed after every operation and used to take savepoints
+     * @param balanceCache the balance cache whose updates are dropped for operations rolled back to their savepoint
+     * @param meterRegistry the registry used to publish batch sizes and commit latency
+     */
+    public GroupCommitWriter(LedgerProperties ledgerProperties, PlatformTransactionManager transactionManager,
+            EntityManager entityManager, BalanceCache balanceCache, MeterRegistry meterRegistry) {
+        this.properties = ledgerProperties.getGroupCommit();
+        this.batchTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.balanceCache = balanceCache;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSizeSummary = DistributionSummary.builder("ledger.groupcommit.batch.size")
+                .description("Number of operations committed per group-commit transaction")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("ledger.groupcommit.commit")
+                .description("Time spent applying and committing one group-commit batch")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("ledger.groupcommit.rejected")
+                .description("Operations committed on the caller thread because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether operations submitted now are handed to the writer thread.
+     *
+     * @return true if group commit is enabled and the writer is running
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Queues the action for the next batch and waits until that batch has committed.
+     * When the writer is not running or the queue is full, the action runs on the calling thread instead.
+     *
+     * @param operation the operation name used for logging (e.g. "deposit")
+     * @param action the transactional unit of work
+     * @param <T> the result type
+     * @return the result of the action once it has been committed
+     */
+    public <T> T submit(String operation, Supplier<T> action) {
+        PendingOperation<T> pending = new PendingOperation<>(operation, action, new CompletableFuture<>());
+        if (!running) {
+            return action.get();
+        }
+        if (!queue.offer(pending)) {
+            rejectedCounter.increment();
+            return action.get();
+        }
+        // The writer may have drained its last batch and exited between the check and the offer
+        if (!running && queue.remove(pending)) {
+            return action.get();
+        }
+
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriter, "ledger-group-commit");
+        writerThread.start();
+        log.info("GroupCommitWriter started: maxBatchSize={}, maxWait={}, queueCapacity={}",
+                properties.getMaxBatchSize(), properties.getMaxWait(), properties.getQueueCapacity());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("GroupCommitWriter stopped");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runWriter() {
+        List<PendingOperation<?>> batch = new ArrayList<>(properties.getMaxBatchSize());
+        boolean interrupted = false;
+        while ((running || !queue.isEmpty()) && !interrupted) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+            }
+            if (!batch.isEmpty()) {
+                commitTimer.record(() -> commitBatch(batch));
+                batchSizeSummary.record(batch.size());
+                batch.clear();
+            }
+        }
+        if (interrupted) {
+            running = false;
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        List<PendingOperation<?>> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        log.warn("Group-commit writer interrupted, failing {} queued operation(s)", abandoned.size());
+        IllegalStateException failure = new IllegalStateException("Group-commit writer was interrupted");
+        abandoned.forEach(pending -> pending.result().completeExceptionally(failure));
+    }
+
+    /**
+     * Blocks for the first operation, then keeps collecting until the batch is full or the wait window closes.
+     */
+    private void collectBatch(List<PendingOperation<?>> batch) throws InterruptedException {
+        PendingOperation<?> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+        while (batch.size() < properties.getMaxBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            PendingOperation<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                queue.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commitBatch(List<PendingOperation<?>> batch) {
+        List<PendingOperation<?>> remaining = new ArrayList<>(batch);
+        while (!remaining.isEmpty()) {
+            List<Runnable> completions = new ArrayList<>(remaining.size());
+            try {
+                batchTemplate.executeWithoutResult(status -> {
+                    Iterator<PendingOperation<?>> operations = remaining.iterator();
+                    while (operations.hasNext()) {
+                        Runnable completion = apply(operations.next());
+                        if (completion != null) {
+                            completions.add(completion);
+                            continue;
+                        }
+                        operations.remove();
+                        if (status.isRollbackOnly()) {
+                            throw new BatchRollbackRequiredException();
+                        }
+                    }
+                });
+            } catch (BatchRollbackRequiredException e) {
+                log.debug("Group-commit batch rolled back after a failure its savepoint could not undo, "
+                        + "re-applying {} operation(s)", remaining.size());
+                continue;
+            } catch (RuntimeException e) {
+                log.error("Group-commit batch of {} operation(s) failed to commit", remaining.size(), e);
+                remaining.forEach(pending -> pending.result().completeExceptionally(e));
+                return;
+            }
+            completions.forEach(Runnable::run);
+            return;
+        }
+    }
+
+    /**
+     * Applies one operation inside a savepoint of the batch transaction. A failed operation is rolled back to
+     * its savepoint and its caller is failed right away, since nothing it did can be committed.
+     *
+     * @return the completion to run after the batch has committed, or null if the operation failed
+     */
+    private <T> Runnable apply(PendingOperation<T> pending) {
+        int pendingCacheUpdates = balanceCache.pendingCount();
+        Session session = entityManager.unwrap(Session.class);
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        try {
+            T result = pending.action().get();
+            entityManager.flush();
+            session.doWork(connection -> connection.releaseSavepoint(savepoint));
+            return () -> pending.result().complete(result);
+        } catch (RuntimeException e) {
+            log.debug("Group-commit {} failed and was rolled back to its savepoint: {}",
+                    pending.operation(), e.getMessage());
+            session.doWork(connection -> connection.rollback(savepoint));
+            // The savepoint restored the database; drop whatever the failed operation left in the context
+            entityManager.clear();
+            // The batch still commits, so cache updates registered by the failed operation would otherwise apply
+            balanceCache.discardPendingSince(pendingCacheUpdates);
+            pending.result().completeExceptionally(e);
+            return null;
+        }
+    }
+
+    /**
+     * Thrown out of a batch transaction that a failed operation has marked rollback-only, so the batch is
+     * rolled back and applied again without it.
+     */
+    private static class BatchRollbackRequiredException extends RuntimeException {
+
+        BatchRollbackRequiredException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * An operation waiting for the writer, together with the future its caller is blocked on.
+     */
+    private record PendingOperation<T>(String operation, Supplier<T> action, CompletableFuture<T> result) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.cgi.bank.account.service.concurrency;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.domain.HotAccount;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.repository.AccountRepository;
+import com.cgi.bank.account.repository.HotAccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps track of hot accounts, whose balances are split into slot rows, and of how many slots each one has.
+ * The flagged accounts are stored in the {@code hot_accounts} table and held here as an immutable snapshot,
+ * reloaded periodically so that slot counts changed on another instance are picked up. Accounts are flagged
+ * by an operator, or automatically once their optimistic-lock conflicts exceed the configured threshold
+ * within the conflict window.
+ */
+@Component
+@Slf4j
+public class HotAccountRegistry {
+
+    private final HotAccountRepository repository;
+    private final AccountRepository accountRepository;
+    private final LedgerProperties.HotAccounts properties;
+    private final Cache<String, AtomicInteger> conflicts;
+    private final Counter detectedCounter;
+    private volatile Map<String, Integer> slotCounts = Map.of();
+
+    /**
+     * Creates the registry and registers its metrics.
+     *
+     * @param repository the repository storing flagged accounts
+     * @param accountRepository the repository used to check that a flagged account exists
+     * @param ledgerProperties the ledger configuration containing the hot account settings
+     * @param meterRegistry the registry used to publish the number of hot accounts and detections
+     */
+    public HotAccountRegistry(HotAccountRepository repository, AccountRepository accountRepository,
+            LedgerProperties ledgerProperties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.accountRepository = accountRepository;
+        this.properties = ledgerProperties.getHotAccounts();
+        // Counted from the first conflict, not the last, so every window ends
+        this.conflicts = Caffeine.newBuilder()
+                .maximumSize(properties.getTrackedAccounts())
+                .expireAfterWrite(properties.getConflictWindow())
+                .build();
+        Gauge.builder("ledger.hot.accounts", this, registry -> registry.slotCounts.size())
+                .description("Accounts whose balances are split into slots")
+                .register(meterRegistry);
+        this.detectedCounter = Counter.builder("ledger.hot.detected")
+                .description("Accounts flagged as hot after exceeding the conflict threshold")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the number of slots of an account.
+     *
+     * @param accountId the ID of the account
+     * @return the slot count, or 0 if the account is not hot or slot writes are disabled
+     */
+    public int slotCount(String accountId) {
+        return properties.isEnabled() ? slotCounts.getOrDefault(accountId, 0) : 0;
+    }
+
+    /**
+     * Checks whether writes to an account use slot rows.
+     *
+     * @param accountId the ID of the account
+     * @return true if the account is flagged and slot writes are enabled
+     */
+    public boolean isHot(String accountId) {
+        return slotCount(accountId) > 0;
+    }
+
+    /**
+     * Picks the slot a deposit goes to.
+     *
+     * @param accountId the ID of a hot account
+     * @return a random slot number below the account's slot count
+     */
+    public int pickSlot(String accountId) {
+        return ThreadLocalRandom.current().nextInt(Math.max(slotCount(accountId), 1));
+    }
+
+    /**
+     * Returns the flagged accounts and their slot counts as last loaded by this instance.
+     *
+     * @return the slot count per account ID
+     */
+    public Map<String, Integer> getSlotCounts() {
+        return slotCounts;
+    }
+
+    /**
+     * Flags an account as hot, or changes its slot count. Lowering the count leaves amounts in the dropped slots,
+     * where they are still counted and are folded into the balance row by the next consolidation.
+     *
+     * @param accountId the ID of the account
+     * @param slots the number of slots, between 2 and the configured maximum
+     * @param source how the account is flagged
+     * @throws IllegalArgumentException if the slot count is out of range
+     * @throws AccountNotFoundException if the account does not exist
+     */
+    public void setSlots(String accountId, int slots, HotAccount.Source source) {
+        if (slots < 2 || slots > properties.getMaxSlots()) {
+            throw new IllegalArgumentException(
+                    "Slot count must be between 2 and " + properties.getMaxSlots());
+        }
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        repository.save(new HotAccount(accountId, slots, source, Instant.now()));
+        update(accountId, slots);
+        log.info("Account {} now spreads deposits over {} slots ({})", accountId, slots, source);
+    }
+
+    /**
+     * Unflags an account. Its slots are folded back into the balance rows by the next consolidation sweep;
+     * until then reads on this instance do not include them.
+     *
+     * @param accountId the ID of the account
+     */
+    public void remove(String accountId) {
+        repository.findById(accountId).ifPresent(repository::delete);
+        update(accountId, 0);
+        log.info("Account {} is no longer hot", accountId);
+    }
+
+    /**
+     * Counts an optimistic-lock conflict on an account and flags it once it exceeds the threshold.
+     *
+     * @param accountId the ID of the account the conflicting write went to
+     */
+    public void recordConflict(String accountId) {
+        if (!properties.isEnabled() || !properties.isAutoDetect() || slotCounts.containsKey(accountId)) {
+            return;
+        }
+        int count = conflicts.get(accountId, id -> new AtomicInteger()).incrementAndGet();
+        if (count == properties.getConflictThreshold()) {
+            conflicts.invalidate(accountId);
+            log.warn("Account {} had {} optimistic-lock conflicts within {}; flagging it as hot",
+                    accountId, count, properties.getConflictWindow());
+            setSlots(accountId, Math.min(properties.getDefaultSlots(), properties.getMaxSlots()),
+                    HotAccount.Source.DETECTED);
+            detectedCounter.increment();
+        }
+    }
+
+    /**
+     * Reloads the flagged accounts from the database.
+     */
+    @Scheduled(fixedDelayString = "${app.ledger.hot-accounts.refresh-interval:10s}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Map<String, Integer> loaded = new HashMap<>();
+        for (HotAccount account : repository.findAll()) {
+            loaded.put(account.getAccountId(), account.getSlots());
+        }
+        slotCounts = Map.copyOf(loaded);
+    }
+
+    private synchronized void update(String accountId, int slots) {
+        Map<String, Integer> updated = new HashMap<>(slotCounts);
+        if (slots > 0) {
+            updated.put(accountId, slots);
+        } else {
+            updated.remove(accountId);
+        }
+        slotCounts = Map.copyOf(updated);
+    }
+}
@@ -0,0 +1,124 @@
+package com.cgi.bank.account.service.concurrency;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.exception.OptimisticLockingConflictException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-runs a transactional unit of work when it fails with an optimistic-lock conflict.
+ * Every attempt must open its own transaction, so retries are skipped when the caller already runs inside one:
+ * the surrounding transaction is rollback-only after a conflict and cannot be reused.
+ * Backoff grows exponentially with equal jitter and is bounded by both a maximum number of attempts
+ * and a per-operation time budget.
+ */
+@Component
+@Slf4j
+public class OptimisticLockRetryExecutor {
+
+    private final LedgerProperties.Retry retryProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates the executor from the ledger retry settings.
+     *
+     * @param ledgerProperties the ledger configuration containing the retry policy
+     * @param meterRegistry the registry used to count attempts per operation
+     */
+    public OptimisticLockRetryExecutor(LedgerProperties ledgerProperties, MeterRegistry meterRegistry) {
+        this.retryProperties = ledgerProperties.getRetry();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Executes the action, retrying it on optimistic-lock conflicts according to the configured policy.
+     *
+     * @param operation the operation name used for logging and metrics (e.g. "withdraw")
+     * @param action the transactional unit of work
+     * @param <T> the result type
+     * @return the result of the first successful attempt
+     * @throws OptimisticLockingConflictException if the conflict persists after all permitted attempts
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (!retryProperties.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        long deadline = System.nanoTime() + retryProperties.getBudget().toNanos();
+        int attempt = 1;
+        while (true) {
+            attemptCounter(operation).increment();
+            try {
+                return action.get();
+            } catch (ObjectOptimisticLockingFailureException | OptimisticLockingConflictException e) {
+                long backoffNanos = backoffNanos(attempt);
+                if (attempt >= retryProperties.getMaxAttempts() || System.nanoTime() + backoffNanos > deadline) {
+                    exhaustedCounter(operation).increment();
+                    log.warn("Giving up on {} after {} attempt(s) due to optimistic-lock conflicts",
+                            operation, attempt);
+                    throw toConflict(operation, e);
+                }
+                log.debug("Optimistic-lock conflict on {} attempt {}, retrying in {} us",
+                        operation, attempt, TimeUnit.NANOSECONDS.toMicros(backoffNanos));
+                pause(operation, backoffNanos, e);
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Computes the jittered backoff before the retry that follows the given attempt.
+     *
+     * @param attempt the number of the attempt that just failed (1-based)
+     * @return the backoff in nanoseconds, between half and the full exponential delay
+     */
+    long backoffNanos(int attempt) {
+        double exponential = retryProperties.getInitialBackoff().toNanos()
+                * Math.pow(retryProperties.getMultiplier(), attempt - 1);
+        long capped = (long) Math.min(exponential, retryProperties.getMaxBackoff().toNanos());
+        long half = capped / 2;
+        return half + ThreadLocalRandom.current().nextLong(capped - half + 1);
+    }
+
+    private void pause(String operation, long backoffNanos, RuntimeException conflict) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(backoffNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw toConflict(operation, conflict);
+        }
+    }
+
+    private OptimisticLockingConflictException toConflict(String operation, RuntimeException e) {
+        if (e instanceof OptimisticLockingConflictException conflict) {
+            return conflict;
+        }
+        return new OptimisticLockingConflictException(
+                "Another operation modified the balance while your " + operation + " was processing. " +
+                "Please try again.", (ObjectOptimisticLockingFailureException) e);
+    }
+
+    private Counter attemptCounter(String operation) {
+        return Counter.builder("ledger.optimistic.retry.attempts")
+                .description("Executions of ledger operations, including retries after optimistic-lock conflicts")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private Counter exhaustedCounter(String operation) {
+        return Counter.builder("ledger.optimistic.retry.exhausted")
+                .description("Ledger operations that still conflicted after the retry policy was exhausted")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.cgi.bank.account.service.export;
+
+import java.util.Locale;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Formats of the transaction export.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row, as described by RFC 4180.
+     */
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    /**
+     * Resolves a format from its case-insensitive name.
+     *
+     * @param name the format name, e.g. "csv"
+     * @return the format
+     * @throws IllegalArgumentException if no format has this name
+     */
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equals(name.toUpperCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + name + ", expected ndjson or csv");
+    }
+}
@@ -0,0 +1,20 @@
+package com.cgi.bank.account.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A prepared export of the transaction history of one account, written when the response body is streamed.
+ */
+@FunctionalInterface
+public interface TransactionExport {
+
+    /**
+     * Writes the exported transactions to the given stream, which is flushed but not closed.
+     *
+     * @param output the stream the export is written to
+     * @return the number of transactions written
+     * @throws IOException if writing to the stream fails, e.g. because the client went away
+     */
+    long writeTo(OutputStream output) throws IOException;
+}
@@ -0,0 +1,239 @@
+package com.cgi.bank.account.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cgi.bank.account.config.TransactionExportProperties;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.repository.AccountRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports the whole transaction history of an account, oldest first, as NDJSON or CSV.
+ * Rows are read with plain JDBC in a read-only transaction, so PostgreSQL serves them from a server-side cursor
+ * {@code fetch-size} rows at a time, and each row is written to the output as soon as it is read. Neither the
+ * rows nor the output are collected, so memory use does not grow with the history, and no entities are loaded
+ * into the persistence context.
+ */
+@Service
+@Slf4j
+public class TransactionExportService {
+
+    /**
+     * Fields of an exported transaction, in output order; also the CSV header.
+     */
+    static final String[] FIELDS = {"id", "accountId", "type", "currency", "amount", "timestamp", "transferId"};
+
+    private static final String SELECT_TRANSACTIONS = "SELECT id, type, currency, amount, timestamp, transfer_id "
+            + "FROM transactions WHERE account_id = ? ORDER BY timestamp, id";
+    // Same representation as the timestamps of the transaction history
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ").withZone(ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountRepository accountRepository;
+    private final JsonFactory jsonFactory;
+    private final TransactionExportProperties properties;
+
+    /**
+     * Creates the service.
+     *
+     * @param jdbcTemplate the template used to read the transactions
+     * @param transactionManager the transaction manager used for the read-only export transaction
+     * @param accountRepository the repository used to check that accounts exist
+     * @param objectMapper the mapper whose factory creates the NDJSON generators
+     * @param properties the export configuration
+     */
+    public TransactionExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            AccountRepository accountRepository, ObjectMapper objectMapper, TransactionExportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // PostgreSQL only uses a cursor for a fetch size when auto-commit is off
+        this.transactionTemplate.setReadOnly(true);
+        this.accountRepository = accountRepository;
+        this.jsonFactory = objectMapper.getFactory();
+        this.properties = properties;
+    }
+
+    /**
+     * Prepares the export of an account's transactions. The account is checked right away, so a missing account
+     * can still be answered with an error before the export starts writing.
+     *
+     * @param accountId the ID of the account
+     * @param format the output format
+     * @return the export, which reads and writes the transactions when it is written
+     * @throws AccountNotFoundException if the account does not exist
+     */
+    public TransactionExport prepare(String accountId, ExportFormat format) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        return output -> export(accountId, format, output);
+    }
+
+    private long export(String accountId, ExportFormat format, OutputStream output) throws IOException {
+        long started = System.nanoTime();
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(output) : new NdjsonRowWriter(output);
+        RowCallbackHandler rowHandler = row -> {
+            try {
+                writer.write(accountId, row);
+            } catch (IOException e) {
+                // Rolls back the read-only transaction, which closes the cursor
+                throw new UncheckedIOException(e);
+            }
+        };
+        writer.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT_TRANSACTIONS, statement -> {
+                statement.setFetchSize(properties.getFetchSize());
+                statement.setString(1, accountId);
+            }, rowHandler));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        log.info("Exported {} transaction(s) of account {} as {} in {} ms", writer.rows, accountId, format,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return writer.rows;
+    }
+
+    /**
+     * Writes the rows of one export in one format.
+     */
+    private abstract static class RowWriter {
+
+        long rows;
+
+        abstract void start() throws IOException;
+
+        final void write(String accountId, ResultSet row) throws IOException, SQLException {
+            OffsetDateTime timestamp = row.getObject("timestamp", OffsetDateTime.class);
+            writeRow(row.getLong("id"), accountId, row.getString("type"), row.getString("currency"),
+                    row.getBigDecimal("amount").toPlainString(), TIMESTAMP_FORMAT.format(timestamp),
+                    row.getString("transfer_id"));
+            rows++;
+        }
+
+        abstract void writeRow(long id, String accountId, String type, String currency, String amount,
+                String timestamp, String transferId) throws IOException;
+
+        abstract void finish() throws IOException;
+    }
+
+    /**
+     * Writes one JSON object per line.
+     */
+    private final class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream output) throws IOException {
+            this.generator = jsonFactory.createGenerator(output, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly instead of separated by a space
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void start() {
+            // NDJSON has no header
+        }
+
+        @Override
+        void writeRow(long id, String accountId, String type, String currency, String amount, String timestamp,
+                String transferId) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(FIELDS[0], id);
+            generator.writeStringField(FIELDS[1], accountId);
+            generator.writeStringField(FIELDS[2], type);
+            generator.writeStringField(FIELDS[3], currency);
+            generator.writeFieldName(FIELDS[4]);
+            generator.writeNumber(amount);
+            generator.writeStringField(FIELDS[5], timestamp);
+            generator.writeStringField(FIELDS[6], transferId);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * Writes a header row and one record per transaction, separated by CRLF as RFC 4180 specifies.
+     */
+    private static final class CsvRowWriter extends RowWriter {
+
+        private static final String LINE_END = "\r\n";
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream output) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void start() throws IOException {
+            writer.write(String.join(",", FIELDS));
+            writer.write(LINE_END);
+        }
+
+        @Override
+        void writeRow(long id, String accountId, String type, String currency, String amount, String timestamp,
+                String transferId) throws IOException {
+            writer.write(Long.toString(id));
+            writeField(accountId);
+            writeField(type);
+            writeField(currency);
+            writeField(amount);
+            writeField(timestamp);
+            writeField(transferId);
+            writer.write(LINE_END);
+        }
+
+        private void writeField(String value) throws IOException {
+            writer.write(',');
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\r') < 0
+                    && value.indexOf('\n') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.cgi.bank.account.service.hold;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timer wheel tracking when the active holds placed by this instance expire.
+ * Time is divided into ticks and each hold is put in the bucket of its expiry tick, modulo the wheel size, so
+ * scheduling and cancelling are O(1) and advancing the wheel only visits the buckets of the elapsed ticks.
+ * Holds expiring more than one revolution ahead share a bucket with nearer ones and are skipped until their
+ * tick comes round. Expiry itself is left to the caller, which receives the IDs of the holds that are due.
+ */
+class HoldExpiryWheel {
+
+    private final long tickMillis;
+    private final List<Map<String, Long>> buckets;
+    private final Map<String, Long> deadlines = new HashMap<>();
+
+    private long currentTick;
+
+    /**
+     * Creates an empty wheel whose current tick is the one containing {@code start}.
+     *
+     * @param tick the duration of one tick
+     * @param wheelSize the number of buckets
+     * @param start the current time
+     */
+    HoldExpiryWheel(Duration tick, int wheelSize, Instant start) {
+        if (tick.toMillis() <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        this.tickMillis = tick.toMillis();
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new LinkedHashMap<>());
+        }
+        this.currentTick = tickOf(start);
+    }
+
+    /**
+     * Schedules a hold, replacing its earlier schedule. A hold that has already expired becomes due on the next
+     * advance.
+     *
+     * @param holdId the ID of the hold
+     * @param expiresAt when the hold expires
+     */
+    synchronized void schedule(String holdId, Instant expiresAt) {
+        cancel(holdId);
+        // Rounded up, so a hold is never reported before it has expired
+        long tick = Math.max(Math.floorDiv(expiresAt.toEpochMilli() + tickMillis - 1, tickMillis), currentTick + 1);
+        bucket(tick).put(holdId, tick);
+        deadlines.put(holdId, tick);
+    }
+
+    /**
+     * Removes a hold that was captured or released before it expired.
+     *
+     * @param holdId the ID of the hold
+     * @return true if the hold was scheduled
+     */
+    synchronized boolean cancel(String holdId) {
+        Long tick = deadlines.remove(holdId);
+        if (tick == null) {
+            return false;
+        }
+        bucket(tick).remove(holdId);
+        return true;
+    }
+
+    /**
+     * Moves the wheel to {@code now} and removes the holds that expired on the way.
+     *
+     * @param now the current time
+     * @return the IDs of the holds due for expiry, in no particular order
+     */
+    synchronized List<String> advance(Instant now) {
+        long targetTick = tickOf(now);
+        if (targetTick <= currentTick) {
+            return List.of();
+        }
+
+        List<String> due = new ArrayList<>();
+        // After a long pause every bucket is visited once rather than once per elapsed tick
+        long first = Math.max(currentTick + 1, targetTick - buckets.size() + 1);
+        for (long tick = first; tick <= targetTick; tick++) {
+            Iterator<Map.Entry<String, Long>> entries = bucket(tick).entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, Long> entry = entries.next();
+                if (entry.getValue() <= targetTick) {
+                    entries.remove();
+                    deadlines.remove(entry.getKey());
+                    due.add(entry.getKey());
+                }
+            }
+        }
+        currentTick = targetTick;
+        return due;
+    }
+
+    /**
+     * Gets the number of scheduled holds.
+     *
+     * @return the number of holds on the wheel
+     */
+    synchronized int size() {
+        return deadlines.size();
+    }
+
+    private Map<String, Long> bucket(long tick) {
+        return buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+    }
+
+    private long tickOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+}
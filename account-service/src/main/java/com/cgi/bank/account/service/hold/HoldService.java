@@ -0,0 +1,374 @@
+package com.cgi.bank.account.service.hold;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cgi.bank.account.config.HoldProperties;
+import com.cgi.bank.account.controller.dto.HoldDTO;
+import com.cgi.bank.account.domain.Balance;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.Hold;
+import com.cgi.bank.account.domain.Transaction;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.exception.BalanceNotFoundException;
+import com.cgi.bank.account.exception.HoldNotActiveException;
+import com.cgi.bank.account.exception.HoldNotFoundException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.repository.AccountRepository;
+import com.cgi.bank.account.repository.BalanceRepository;
+import com.cgi.bank.account.repository.HoldRepository;
+import com.cgi.bank.account.repository.TransactionRepository;
+import com.cgi.bank.account.service.cache.BalanceCache;
+import com.cgi.bank.account.service.concurrency.HotAccountRegistry;
+import com.cgi.bank.account.service.impl.BalanceSlotConsolidator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Places, captures and releases holds, which reserve part of a balance for a later debit.
+ * The held total is kept on the balance row next to the amount, so availability is checked by every withdrawal
+ * path from the row it already reads or updates, without summing holds. Each transition locks the hold row and
+ * then the balance row, so a capture, a release and an expiry of the same hold cannot both apply.
+ * Holds placed by this instance are put on a {@link HoldExpiryWheel} that releases them when their time to live
+ * runs out; a periodic recovery expires overdue holds the wheel of a stopped instance no longer tracks.
+ * Holds are only available with the JPA ledger engine.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.ledger", name = "engine", havingValue = "jpa", matchIfMissing = true)
+@Slf4j
+public class HoldService implements SmartLifecycle {
+
+    private final HoldRepository holdRepository;
+    private final BalanceRepository balanceRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final HotAccountRegistry hotAccounts;
+    private final BalanceSlotConsolidator slotConsolidator;
+    private final BalanceCache balanceCache;
+    private final HoldProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final HoldExpiryWheel wheel;
+    private final Counter placedCounter;
+    private final Counter capturedCounter;
+    private final Counter releasedCounter;
+    private final Counter expiredCounter;
+
+    private volatile boolean running;
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Creates the service; the expiry wheel starts ticking with the application context.
+     *
+     * @param holdRepository the repository storing holds
+     * @param balanceRepository the repository used to lock and update the held balances
+     * @param accountRepository the repository used to check that accounts exist
+     * @param transactionRepository the repository recording captures
+     * @param hotAccounts the registry of accounts whose balances are split into slots
+     * @param slotConsolidator the consolidator folding slot rows into the balance row before a hold is placed
+     * @param balanceCache the cache updated with the held balances after commit
+     * @param properties the hold configuration
+     * @param transactionManager the transaction manager used for hold transitions
+     * @param meterRegistry the registry used to publish hold outcomes and the number of scheduled expiries
+     */
+    public HoldService(HoldRepository holdRepository, BalanceRepository balanceRepository,
+            AccountRepository accountRepository, TransactionRepository transactionRepository,
+            HotAccountRegistry hotAccounts, BalanceSlotConsolidator slotConsolidator, BalanceCache balanceCache,
+            HoldProperties properties, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.holdRepository = holdRepository;
+        this.balanceRepository = balanceRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.hotAccounts = hotAccounts;
+        this.slotConsolidator = slotConsolidator;
+        this.balanceCache = balanceCache;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.wheel = new HoldExpiryWheel(properties.getTick(), properties.getWheelSize(), Instant.now());
+        Gauge.builder("ledger.holds.scheduled", wheel, HoldExpiryWheel::size)
+                .description("Active holds waiting on this instance's expiry wheel")
+                .register(meterRegistry);
+        this.placedCounter = outcomeCounter(meterRegistry, "placed");
+        this.capturedCounter = outcomeCounter(meterRegistry, "captured");
+        this.releasedCounter = outcomeCounter(meterRegistry, "released");
+        this.expiredCounter = outcomeCounter(meterRegistry, "expired");
+    }
+
+    /**
+     * Reserves an amount of a balance until it is captured, released or expires.
+     *
+     * @param accountId the account to hold money on
+     * @param currency the currency of the balance
+     * @param amount the amount to reserve (must be positive)
+     * @param ttl how long the hold stays active, or null for the configured default
+     * @return the active hold
+     * @throws IllegalArgumentException if the amount is not positive or the time to live is out of range
+     * @throws AccountNotFoundException if the account does not exist
+     * @throws BalanceNotFoundException if the account has no balance in the currency
+     * @throws InsufficientFundsException if the available amount is less than the amount to hold
+     */
+    public HoldDTO placeHold(String accountId, Currency currency, BigDecimal amount, Duration ttl) {
+        log.debug("Holding {} {} on account: {}", amount, currency, accountId);
+        
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Hold amount must be positive");
+        }
+        Duration timeToLive = ttl != null ? ttl : properties.getDefaultTtl();
+        if (timeToLive.isNegative() || timeToLive.isZero() || timeToLive.compareTo(properties.getMaxTtl()) > 0) {
+            throw new IllegalArgumentException(
+                    "Hold time to live must be positive and at most " + properties.getMaxTtl().toSeconds() + "s");
+        }
+
+        Hold hold = transactionTemplate.execute(status -> {
+            if (!accountRepository.existsById(accountId)) {
+                throw new AccountNotFoundException(accountId);
+            }
+            if (hotAccounts.isHot(accountId)) {
+                // Slot withdrawals do not see holds, so the hold takes the whole balance into the main row
+                slotConsolidator.consolidate(accountId, currency);
+            }
+            Balance balance = balanceRepository.findAndLock(accountId, currency)
+                    .orElseThrow(() -> new BalanceNotFoundException(accountId, currency));
+            balance.hold(amount);
+            cache(balance);
+            
+            Instant now = Instant.now();
+            return holdRepository.save(new Hold(accountId, currency, amount, now, now.plus(timeToLive)));
+        });
+
+        wheel.schedule(hold.getHoldId(), hold.getExpiresAt());
+        placedCounter.increment();
+        return toDTO(hold);
+    }
+
+    /**
+     * Gets a hold of an account.
+     *
+     * @param accountId the account the hold was placed on
+     * @param holdId the ID of the hold
+     * @return the hold in its current state
+     * @throws HoldNotFoundException if the account has no such hold
+     */
+    public HoldDTO getHold(String accountId, String holdId) {
+        return holdRepository.findById(holdId)
+                .filter(hold -> hold.getAccountId().equals(accountId))
+                .map(HoldService::toDTO)
+                .orElseThrow(() -> new HoldNotFoundException(accountId, holdId));
+    }
+
+    /**
+     * Debits part or all of an active hold and makes the rest of it available again.
+     *
+     * @param accountId the account the hold was placed on
+     * @param holdId the ID of the hold
+     * @param amount the amount to debit, or null for the whole held amount
+     * @return the captured hold
+     * @throws HoldNotFoundException if the account has no such hold
+     * @throws HoldNotActiveException if the hold was already captured, released or has expired
+     * @throws IllegalArgumentException if the amount is not positive or exceeds the held amount
+     */
+    public HoldDTO capture(String accountId, String holdId, BigDecimal amount) {
+        log.debug("Capturing hold {} on account: {}", holdId, accountId);
+        
+        Hold hold = transactionTemplate.execute(status -> {
+            Hold active = lockActive(accountId, holdId);
+            BigDecimal captured = amount != null ? amount : active.getAmount();
+            Balance balance = lockBalance(active);
+            balance.capture(active.getAmount(), captured);
+            cache(balance);
+            active.capture(captured, Instant.now());
+            transactionRepository.save(
+                    Transaction.createCapture(balance.getAccount(), active.getCurrency(), captured));
+            return active;
+        });
+
+        wheel.cancel(holdId);
+        capturedCounter.increment();
+        return toDTO(hold);
+    }
+
+    /**
+     * Ends an active hold without debiting it.
+     *
+     * @param accountId the account the hold was placed on
+     * @param holdId the ID of the hold
+     * @return the released hold
+     * @throws HoldNotFoundException if the account has no such hold
+     * @throws HoldNotActiveException if the hold was already captured, released or has expired
+     */
+    public HoldDTO release(String accountId, String holdId) {
+        log.debug("Releasing hold {} on account: {}", holdId, accountId);
+        
+        Hold hold = transactionTemplate.execute(status -> {
+            Hold active = lockActive(accountId, holdId);
+            release(active);
+            active.release(Hold.Status.RELEASED, Instant.now());
+            return active;
+        });
+
+        wheel.cancel(holdId);
+        releasedCounter.increment();
+        return toDTO(hold);
+    }
+
+    /**
+     * Expires the holds whose time on the wheel has run out.
+     */
+    void expireDue() {
+        for (String holdId : wheel.advance(Instant.now())) {
+            try {
+                expire(holdId);
+            } catch (RuntimeException e) {
+                // Left active in the database; the recovery retries it once it is overdue
+                log.warn("Could not expire hold {}", holdId, e);
+            }
+        }
+    }
+
+    /**
+     * Expires active holds that are overdue by more than the grace period, such as holds placed by an instance
+     * that stopped before its wheel released them. Reads only the partial index of active holds.
+     */
+    @Scheduled(fixedDelayString = "${app.holds.recovery-interval:1m}")
+    public void recoverOverdue() {
+        if (!running) {
+            return;
+        }
+        List<Hold> overdue = holdRepository.findActiveExpiringBefore(
+                Instant.now().minus(properties.getRecoveryGrace()),
+                PageRequest.of(0, properties.getRecoveryBatchSize()));
+        if (!overdue.isEmpty()) {
+            log.info("Expiring {} overdue hold(s)", overdue.size());
+            overdue.forEach(hold -> expire(hold.getHoldId()));
+        }
+    }
+
+    /**
+     * Releases a hold as expired if it is still active and past its expiry.
+     *
+     * @param holdId the ID of the hold
+     * @return true if the hold was expired, false if it had been captured, released or rescheduled meanwhile
+     */
+    boolean expire(String holdId) {
+        Boolean expired = transactionTemplate.execute(status -> {
+            Hold hold = holdRepository.findAndLock(holdId).orElse(null);
+            if (hold == null || !hold.isActive()) {
+                return false;
+            }
+            Instant now = Instant.now();
+            if (hold.getExpiresAt().isAfter(now)) {
+                wheel.schedule(holdId, hold.getExpiresAt());
+                return false;
+            }
+            release(hold);
+            hold.release(Hold.Status.EXPIRED, now);
+            return true;
+        });
+        
+        if (Boolean.TRUE.equals(expired)) {
+            log.debug("Hold {} expired", holdId);
+            wheel.cancel(holdId);
+            expiredCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        long tickMillis = properties.getTick().toMillis();
+        ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("hold-expiry-"));
+        ticker.scheduleWithFixedDelay(this::expireDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the wheel. Holds still on it stay active in the database and are expired by the recovery of a
+     * running instance.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private Hold lockActive(String accountId, String holdId) {
+        Hold hold = holdRepository.findAndLock(holdId)
+                .filter(found -> found.getAccountId().equals(accountId))
+                .orElseThrow(() -> new HoldNotFoundException(accountId, holdId));
+        if (!hold.isActive()) {
+            throw new HoldNotActiveException(holdId, hold.getStatus());
+        }
+        return hold;
+    }
+
+    private void release(Hold hold) {
+        Balance balance = lockBalance(hold);
+        balance.release(hold.getAmount());
+        cache(balance);
+    }
+
+    /**
+     * Hands the changed balance to the cache; hot accounts are not cached, since their balances include slots.
+     */
+    private void cache(Balance balance) {
+        String accountId = balance.getAccount().getAccountId();
+        if (hotAccounts.isHot(accountId)) {
+            balanceCache.evictAfterCommit(accountId);
+        } else {
+            balanceCache.mergeAfterCommit(accountId, balance);
+        }
+    }
+
+    private Balance lockBalance(Hold hold) {
+        return balanceRepository.findAndLock(hold.getAccountId(), hold.getCurrency())
+                .orElseThrow(() -> new IllegalStateException(
+                        "Held balance " + hold.getCurrency() + " of account " + hold.getAccountId() + " is missing"));
+    }
+
+    private static HoldDTO toDTO(Hold hold) {
+        return new HoldDTO(
+                hold.getHoldId(),
+                hold.getAccountId(),
+                hold.getCurrency().name(),
+                hold.getAmount(),
+                hold.getCapturedAmount(),
+                hold.getStatus().name(),
+                hold.getCreatedAt(),
+                hold.getExpiresAt(),
+                hold.getCompletedAt());
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ledger.holds")
+                .description("Hold transitions, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,333 @@
+package com.cgi.bank.account.service.idempotency;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cgi.bank.account.config.IdempotencyProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.domain.IdempotencyRecord;
+import com.cgi.bank.account.exception.IdempotencyKeyInProgressException;
+import com.cgi.bank.account.exception.IdempotencyKeyReuseException;
+import com.cgi.bank.account.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes write requests at most once per {@code Idempotency-Key}.
+ * Completed responses are stored in the {@code idempotency_keys} table and kept in a bounded, TTL-evicting
+ * cache, so a replayed key is answered from memory without touching the balances. A duplicate that arrives
+ * while the first request is still executing on this instance waits for its outcome instead of running again;
+ * on other instances the key is claimed in the database first, and a concurrent duplicate gets 409 Conflict.
+ * Failed requests release their key, so the client can retry them. A claim left in progress by an instance that
+ * stopped is held for {@code claim-timeout}, after which a retry of the same request takes it over.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CompletedRequest> completed;
+    private final ConcurrentMap<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter cacheHitCounter;
+    private final Counter databaseHitCounter;
+    private final Counter joinedCounter;
+
+    /**
+     * Creates the service and registers the cache and request metrics.
+     *
+     * @param repository the repository storing completed requests
+     * @param properties the idempotency configuration
+     * @param objectMapper the mapper used to store responses as JSON
+     * @param meterRegistry the registry used to publish hit rates
+     */
+    public IdempotencyService(IdempotencyRecordRepository repository, IdempotencyProperties properties,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+        this.executedCounter = requestCounter(meterRegistry, "executed");
+        this.cacheHitCounter = requestCounter(meterRegistry, "cache");
+        this.databaseHitCounter = requestCounter(meterRegistry, "database");
+        this.joinedCounter = requestCounter(meterRegistry, "in-flight");
+    }
+
+    /**
+     * Computes the fingerprint a key is bound to, so reusing the key for a different request can be detected.
+     * Amounts are compared by value, so {@code 50} and {@code 50.00} produce the same fingerprint.
+     *
+     * @param operation the name of the operation
+     * @param parts the account ID and request values
+     * @return the SHA-256 of the operation and its values, hex encoded
+     */
+    public static String fingerprint(String operation, Object... parts) {
+        StringBuilder request = new StringBuilder(operation);
+        for (Object part : parts) {
+            request.append('\u001F');
+            request.append(part instanceof BigDecimal amount ? amount.stripTrailingZeros().toPlainString() : part);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(request.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Executes a write that returns the account balances once for the key, or returns the response of the
+     * earlier execution.
+     *
+     * @param idempotencyKey the key sent by the client, or null to execute without deduplication
+     * @param fingerprint the fingerprint of the request, see {@link #fingerprint(String, Object...)}
+     * @param operation the write to execute
+     * @return the response of the first execution with the key
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws IdempotencyKeyReuseException if the key was used for a different request
+     * @throws IdempotencyKeyInProgressException if the first request with the key is still executing
+     */
+    public AccountBalanceResponseDTO execute(String idempotencyKey, String fingerprint,
+            Supplier<AccountBalanceResponseDTO> operation) {
+        return execute(idempotencyKey, fingerprint, AccountBalanceResponseDTO.class, operation);
+    }
+
+    /**
+     * Executes the operation once for the key, or returns the response of the earlier execution.
+     * The fingerprint names the operation, so a key is only ever replayed with the response type it was
+     * stored with.
+     *
+     * @param <T> the type of the response
+     * @param idempotencyKey the key sent by the client, or null to execute without deduplication
+     * @param fingerprint the fingerprint of the request, see {@link #fingerprint(String, Object...)}
+     * @param responseType the class the stored response is read back as
+     * @param operation the write to execute
+     * @return the response of the first execution with the key
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws IdempotencyKeyReuseException if the key was used for a different request
+     * @throws IdempotencyKeyInProgressException if the first request with the key is still executing
+     */
+    public <T> T execute(String idempotencyKey, String fingerprint, Class<T> responseType,
+            Supplier<T> operation) {
+        if (idempotencyKey == null) {
+            return operation.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        CompletedRequest cached = completed.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            return replay(idempotencyKey, cached, fingerprint, responseType, cacheHitCounter);
+        }
+
+        InFlightRequest request = new InFlightRequest(fingerprint, new CompletableFuture<>());
+        InFlightRequest running = inFlight.putIfAbsent(idempotencyKey, request);
+        if (running != null) {
+            return await(idempotencyKey, running, fingerprint, responseType);
+        }
+        try {
+            T response = executeOnce(idempotencyKey, fingerprint, responseType, operation);
+            request.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            request.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, request);
+        }
+    }
+
+    /**
+     * Deletes expired keys from the database.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency key(s)", purged);
+        }
+    }
+
+    /**
+     * Runs the operation while this thread owns the key on this instance. The cache is checked again because
+     * the previous owner may have completed between the first lookup and taking ownership.
+     */
+    private <T> T executeOnce(String idempotencyKey, String fingerprint, Class<T> responseType,
+            Supplier<T> operation) {
+        CompletedRequest cached = completed.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            return replay(idempotencyKey, cached, fingerprint, responseType, cacheHitCounter);
+        }
+
+        // Truncated to the database's precision, since the claim is identified by its time when it is completed
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Optional<IdempotencyRecord> stored = repository.findById(idempotencyKey)
+                .filter(existing -> !existing.isExpired(now));
+        if (stored.isPresent() && !isAbandonedClaim(stored.get(), fingerprint, now)) {
+            return replayStored(idempotencyKey, stored.get(), fingerprint, responseType);
+        }
+
+        claim(idempotencyKey, fingerprint, now);
+        T response;
+        try {
+            response = operation.get();
+        } catch (RuntimeException e) {
+            release(idempotencyKey, now);
+            throw e;
+        }
+        executedCounter.increment();
+
+        completed.put(idempotencyKey, new CompletedRequest(fingerprint, response));
+        try {
+            if (repository.complete(idempotencyKey, now, objectMapper.writeValueAsString(response)) == 0) {
+                log.warn("Idempotency key {} was taken over before its response was stored", idempotencyKey);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The write has happened; only other instances lose the ability to replay it
+            log.warn("Could not store the response for idempotency key {}", idempotencyKey, e);
+        }
+        return response;
+    }
+
+    private boolean isAbandonedClaim(IdempotencyRecord stored, String fingerprint, Instant now) {
+        return stored.getRequestHash().equals(fingerprint)
+                && stored.isClaimAbandoned(now, properties.getClaimTimeout());
+    }
+
+    /**
+     * Claims the key with an insert that fails rather than overwrites when the key exists, then, failing that,
+     * takes over an expired key or an abandoned claim of the same request.
+     */
+    private void claim(String idempotencyKey, String fingerprint, Instant now) {
+        Instant expiresAt = now.plus(properties.getTtl());
+        if (repository.insertClaim(idempotencyKey, fingerprint, now, expiresAt) == 1) {
+            return;
+        }
+        if (repository.takeOverClaim(idempotencyKey, fingerprint, now, expiresAt,
+                now.minus(properties.getClaimTimeout())) == 1) {
+            log.debug("Took over expired or abandoned idempotency key {}", idempotencyKey);
+            return;
+        }
+        // Another instance claimed the key between the lookup and the insert
+        throw new IdempotencyKeyInProgressException(idempotencyKey);
+    }
+
+    private void release(String idempotencyKey, Instant claimedAt) {
+        try {
+            repository.releaseClaim(idempotencyKey, claimedAt);
+        } catch (RuntimeException e) {
+            log.warn("Could not release idempotency key {}; it stays claimed until its claim times out",
+                    idempotencyKey, e);
+        }
+    }
+
+    private <T> T replayStored(String idempotencyKey, IdempotencyRecord stored, String fingerprint,
+            Class<T> responseType) {
+        if (!stored.getRequestHash().equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException(idempotencyKey);
+        }
+        if (stored.getStatus() != IdempotencyRecord.Status.COMPLETED) {
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        }
+
+        T response;
+        try {
+            response = objectMapper.readValue(stored.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Stored response for idempotency key " + idempotencyKey + " cannot be read", e);
+        }
+        CompletedRequest request = new CompletedRequest(fingerprint, response);
+        completed.put(idempotencyKey, request);
+        return replay(idempotencyKey, request, fingerprint, responseType, databaseHitCounter);
+    }
+
+    private <T> T replay(String idempotencyKey, CompletedRequest request, String fingerprint,
+            Class<T> responseType, Counter source) {
+        if (!request.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException(idempotencyKey);
+        }
+        source.increment();
+        log.debug("Replaying response for idempotency key {}", idempotencyKey);
+        return responseType.cast(request.response());
+    }
+
+    private <T> T await(String idempotencyKey, InFlightRequest running, String fingerprint,
+            Class<T> responseType) {
+        if (!running.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException(idempotencyKey);
+        }
+        try {
+            T response = responseType.cast(running.result()
+                    .get(properties.getInFlightTimeout().toNanos(), TimeUnit.NANOSECONDS));
+            joinedCounter.increment();
+            return response;
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        } catch (ExecutionException e) {
+            // The duplicate gets the same outcome as the request it waited for
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests")
+                .description("Requests sent with an Idempotency-Key, by how they were answered")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A finished request held in the cache.
+     */
+    private record CompletedRequest(String fingerprint, Object response) {
+    }
+
+    /**
+     * A request executing on this instance, completed with its response or failure.
+     */
+    private record InFlightRequest(String fingerprint, CompletableFuture<Object> result) {
+    }
+}
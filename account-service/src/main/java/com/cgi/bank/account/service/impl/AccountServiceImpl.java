@@ -1,28 +1,44 @@
 package com.cgi.bank.account.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.cgi.bank.account.config.LedgerProperties;
 import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
 import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.controller.dto.TransferResponseDTO;
 import com.cgi.bank.account.domain.Account;
 import com.cgi.bank.account.domain.Balance;
 import com.cgi.bank.account.domain.Currency;
 import com.cgi.bank.account.domain.Transaction;
 import com.cgi.bank.account.exception.AccountNotFoundException;
 import com.cgi.bank.account.exception.BalanceNotFoundException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
 import com.cgi.bank.account.exception.OptimisticLockingConflictException;
 import com.cgi.bank.account.integration.NotificationClient;
 import com.cgi.bank.account.repository.AccountRepository;
+import com.cgi.bank.account.repository.BalanceRepository;
+import com.cgi.bank.account.repository.BalanceSlotRepository;
 import com.cgi.bank.account.repository.TransactionRepository;
 import com.cgi.bank.account.service.AccountService;
+import com.cgi.bank.account.service.BalanceVersionTag;
 import com.cgi.bank.account.service.CurrencyExchangeService;
+import com.cgi.bank.account.service.cache.BalanceCache;
+import com.cgi.bank.account.service.concurrency.HotAccountRegistry;
 import com.cgi.bank.account.service.mapper.BalanceMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -30,6 +46,7 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of the AccountService interface.
+ * Write paths hand the balances they leave behind to the {@link BalanceCache}, which applies them after commit.
  */
 @Service
 @RequiredArgsConstructor
@@ -41,6 +58,12 @@ public class AccountServiceImpl implements AccountService {
     private final CurrencyExchangeService currencyExchangeService;
     private final NotificationClient notificationClient;
     private final BalanceMapper balanceMapper;
+    private final BalanceRepository balanceRepository;
+    private final LedgerProperties ledgerProperties;
+    private final HotAccountRegistry hotAccounts;
+    private final BalanceSlotRepository balanceSlotRepository;
+    private final BalanceSlotConsolidator slotConsolidator;
+    private final BalanceCache balanceCache;
 
     /**
      * {@inheritDoc}
@@ -52,6 +75,7 @@ public class AccountServiceImpl implements AccountService {
         
         Account account = new Account();
         account = accountRepository.save(account);
+        balanceCache.putAfterCommit(account.getAccountId(), Collections.emptyList());
         
         return new AccountBalanceResponseDTO(account.getAccountId(), Collections.emptyList());
     }
@@ -64,14 +88,33 @@ public class AccountServiceImpl implements AccountService {
     public AccountBalanceResponseDTO getAccountBalances(String accountId) {
         log.debug("Retrieving balances for account: {}", accountId);
         
+        if (hotAccounts.isHot(accountId)) {
+            return toSlottedResponse(accountId, loadBalanceRows(accountId));
+        }
+        
+        long readStamp = balanceCache.startRead();
         Account account = accountRepository.findByIdWithBalances(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
+        balanceCache.fill(accountId, account.getBalances().values(), readStamp);
         
-        List<BalanceDTO> balanceDTOs = account.getBalances().values().stream()
-                .map(balanceMapper::toBalanceDTO)
-                .collect(Collectors.toList());
+        return toResponse(accountId, account.getBalances().values());
+    }
+    
+    /**
+     * {@inheritDoc}
+     * Slot writes of hot accounts do not change the balance row versions, so hot accounts are not tagged.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getBalancesVersionTag(String accountId) {
+        if (hotAccounts.isHot(accountId)) {
+            return Optional.empty();
+        }
         
-        return new AccountBalanceResponseDTO(accountId, balanceDTOs);
+        Map<Currency, Long> versions = new EnumMap<>(Currency.class);
+        balanceRepository.findVersionsByAccountId(accountId)
+                .forEach(row -> versions.put(row.getCurrency(), row.getVersion()));
+        return BalanceVersionTag.of(versions);
     }
     
     /**
@@ -86,6 +129,18 @@ public class AccountServiceImpl implements AccountService {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
         
+        if (hotAccounts.isHot(accountId)) {
+            return depositToSlot(accountId, amount, currency);
+        }
+        
+        if (ledgerProperties.getDepositMode() == LedgerProperties.DepositMode.UPSERT) {
+            return depositWithUpsert(accountId, amount, currency);
+        }
+        
+        if (isBalanceRowVersioning()) {
+            return depositToBalanceRow(accountId, amount, currency);
+        }
+        
         Account account = accountRepository.findByIdWithBalances(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
         
@@ -102,11 +157,7 @@ public class AccountServiceImpl implements AccountService {
                 amount.toString(), 
                 currency.name());
         
-        List<BalanceDTO> balanceDTOs = account.getBalances().values().stream()
-                .map(balanceMapper::toBalanceDTO)
-                .collect(Collectors.toList());
-        
-        return new AccountBalanceResponseDTO(accountId, balanceDTOs);
+        return written(accountId, account.getBalances().values());
     }
     
     /**
@@ -121,6 +172,18 @@ public class AccountServiceImpl implements AccountService {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
         
+        if (hotAccounts.isHot(accountId)) {
+            return withdrawFromSlots(accountId, amount, currency);
+        }
+        
+        if (ledgerProperties.getWithdrawMode() == LedgerProperties.WithdrawMode.CONDITIONAL_UPDATE) {
+            return withdrawWithConditionalUpdate(accountId, amount, currency);
+        }
+        
+        if (isBalanceRowVersioning()) {
+            return withdrawFromBalanceRow(accountId, amount, currency);
+        }
+        
         Account account = accountRepository.findByIdWithBalances(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
         
@@ -136,11 +199,7 @@ public class AccountServiceImpl implements AccountService {
             
             account = accountRepository.save(account);
             
-            List<BalanceDTO> balanceDTOs = account.getBalances().values().stream()
-                    .map(balanceMapper::toBalanceDTO)
-                    .collect(Collectors.toList());
-            
-            return new AccountBalanceResponseDTO(accountId, balanceDTOs);
+            return written(accountId, account.getBalances().values());
         } catch (ObjectOptimisticLockingFailureException e) {
             log.error("Optimistic locking conflict during withdrawal for account: {}", accountId, e);
             throw new OptimisticLockingConflictException(
@@ -166,6 +225,18 @@ public class AccountServiceImpl implements AccountService {
             throw new IllegalArgumentException("Source and target currencies must be different");
         }
         
+        if (hotAccounts.isHot(accountId)) {
+            // The funds check only sees the balance row, so the source currency's slots are folded into it first
+            slotConsolidator.consolidate(accountId, fromCurrency);
+            exchangeBetweenBalanceRows(accountId, fromCurrency, toCurrency, amount);
+            balanceCache.evictAfterCommit(accountId);
+            return toSlottedResponse(accountId, balanceRepository.findByAccountId(accountId));
+        }
+        
+        if (isBalanceRowVersioning()) {
+            return exchangeBetweenBalanceRows(accountId, fromCurrency, toCurrency, amount);
+        }
+        
         Account account = accountRepository.findByIdWithBalances(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
         
@@ -190,11 +261,7 @@ public class AccountServiceImpl implements AccountService {
             
             account = accountRepository.save(account);
             
-            List<BalanceDTO> balanceDTOs = account.getBalances().values().stream()
-                    .map(balanceMapper::toBalanceDTO)
-                    .collect(Collectors.toList());
-            
-            return new AccountBalanceResponseDTO(accountId, balanceDTOs);
+            return written(accountId, account.getBalances().values());
         } catch (ObjectOptimisticLockingFailureException e) {
             log.error("Optimistic locking conflict during exchange for account: {}", accountId, e);
             throw new OptimisticLockingConflictException(
@@ -202,4 +269,393 @@ public class AccountServiceImpl implements AccountService {
                     "Please try again.", e);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     * Both balance rows are locked before either is changed, in a fixed order that does not depend on which
+     * account is the source, so transfers in opposite directions between the same accounts cannot deadlock.
+     */
+    @Override
+    @Transactional
+    public TransferResponseDTO transfer(String fromAccountId, String toAccountId, BigDecimal amount,
+            Currency fromCurrency, Currency toCurrency) {
+        log.debug("Transferring {} {} from account {} to account {} in {}",
+                amount, fromCurrency, fromAccountId, toAccountId, toCurrency);
+        
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Source and destination accounts must be different");
+        }
+        
+        boolean hotSource = hotAccounts.isHot(fromAccountId);
+        if (hotSource) {
+            slotConsolidator.consolidate(fromAccountId, fromCurrency);
+        }
+        
+        List<Balance> locked = balanceRepository.findAndLockForTransfer(
+                fromAccountId, fromCurrency, toAccountId, toCurrency);
+        Balance fromBalance = findBalance(locked, fromAccountId, fromCurrency)
+                .orElseThrow(() -> resolveMissingBalance(fromAccountId, fromCurrency));
+        Optional<Balance> toBalance = findBalance(locked, toAccountId, toCurrency);
+        if (toBalance.isEmpty() && !accountRepository.existsById(toAccountId)) {
+            throw new AccountNotFoundException(toAccountId);
+        }
+        
+        BigDecimal creditedAmount = fromCurrency == toCurrency
+                ? amount
+                : currencyExchangeService.calculateExchange(fromCurrency, toCurrency, amount);
+        
+        // Subtract from source balance (will throw InsufficientFundsException if insufficient)
+        fromBalance.subtractAmount(amount);
+        
+        Account toAccount = accountRepository.getReferenceById(toAccountId);
+        Balance creditedBalance;
+        if (toBalance.isPresent()) {
+            creditedBalance = toBalance.get();
+            creditedBalance.addAmount(creditedAmount);
+        } else {
+            creditedBalance = balanceRepository.save(new Balance(toAccount, toCurrency, creditedAmount));
+        }
+        
+        String transferId = UUID.randomUUID().toString();
+        transactionRepository.save(Transaction.createTransferOut(
+                accountRepository.getReferenceById(fromAccountId), fromCurrency, amount, transferId));
+        transactionRepository.save(Transaction.createTransferIn(toAccount, toCurrency, creditedAmount, transferId));
+        
+        if (hotAccounts.isHot(toAccountId)) {
+            balanceCache.evictAfterCommit(toAccountId);
+        } else {
+            balanceCache.mergeAfterCommit(toAccountId, creditedBalance);
+        }
+        
+        List<Balance> fromBalances = balanceRepository.findByAccountId(fromAccountId);
+        AccountBalanceResponseDTO fromResponse;
+        if (hotSource) {
+            balanceCache.evictAfterCommit(fromAccountId);
+            fromResponse = toSlottedResponse(fromAccountId, fromBalances);
+        } else {
+            fromResponse = written(fromAccountId, fromBalances);
+        }
+        return new TransferResponseDTO(transferId, fromAccountId, toAccountId, amount, fromCurrency.name(),
+                creditedAmount, toCurrency.name(), fromResponse.getBalances());
+    }
+
+    /**
+     * Deposits with a single upsert statement that also records the transaction and returns all balances,
+     * so the account aggregate is neither loaded nor versioned.
+     *
+     * @param accountId the ID of the account
+     * @param amount the amount to deposit
+     * @param currency the currency of the deposit
+     * @return a DTO containing the account ID and updated balances
+     */
+    private AccountBalanceResponseDTO depositWithUpsert(String accountId, BigDecimal amount, Currency currency) {
+        List<BalanceRepository.CurrencyAmount> balances;
+        try {
+            balances = balanceRepository.depositWithUpsert(accountId, currency.name(), amount);
+        } catch (DataIntegrityViolationException e) {
+            // The only constraint the upsert can violate is the foreign key to the account
+            throw new AccountNotFoundException(accountId);
+        }
+        
+        // The statement returns no versions to order cache updates by
+        balanceCache.evictAfterCommit(accountId);
+        
+        notificationClient.sendDepositNotification(
+                accountId, 
+                amount.toString(), 
+                currency.name());
+        
+        List<BalanceDTO> balanceDTOs = balances.stream()
+                .map(balance -> BalanceDTO.of(balance.getCurrency(), balance.getAmount(), balance.getHeldAmount()))
+                .collect(Collectors.toList());
+        
+        return new AccountBalanceResponseDTO(accountId, balanceDTOs);
+    }
+    
+    /**
+     * Withdraws with a single conditional UPDATE on the balance row instead of loading the account aggregate.
+     * Insufficient funds are detected from the affected row count; the failure cause is only looked up
+     * when no row was updated.
+     *
+     * @param accountId the ID of the account
+     * @param amount the amount to withdraw
+     * @param currency the currency of the withdrawal
+     * @return a DTO containing the account ID and updated balances
+     */
+    private AccountBalanceResponseDTO withdrawWithConditionalUpdate(String accountId, BigDecimal amount, 
+            Currency currency) {
+        int updatedRows = balanceRepository.withdrawIfSufficient(accountId, currency, amount);
+        if (updatedRows == 0) {
+            throw resolveFailedWithdrawal(accountId, amount, currency);
+        }
+        
+        Account account = accountRepository.getReferenceById(accountId);
+        transactionRepository.save(Transaction.createWithdrawal(account, currency, amount));
+        
+        return written(accountId, balanceRepository.findByAccountId(accountId));
+    }
+    
+    /**
+     * Determines why a conditional withdrawal did not update any row.
+     *
+     * @param accountId the ID of the account
+     * @param amount the requested amount
+     * @param currency the currency of the withdrawal
+     * @return the exception describing the failure
+     */
+    private RuntimeException resolveFailedWithdrawal(String accountId, BigDecimal amount, Currency currency) {
+        return balanceRepository.findByAccountIdAndCurrency(accountId, currency)
+                .<RuntimeException>map(balance -> new InsufficientFundsException(
+                        accountId, currency, amount, balance.getAvailableAmount()))
+                .orElseGet(() -> accountRepository.existsById(accountId)
+                        ? new BalanceNotFoundException(accountId, currency)
+                        : new AccountNotFoundException(accountId));
+    }
+    
+    /**
+     * Determines why the balance a write needs was not found.
+     *
+     * @param accountId the ID of the account
+     * @param currency the currency of the balance
+     * @return the exception describing the failure
+     */
+    private RuntimeException resolveMissingBalance(String accountId, Currency currency) {
+        return accountRepository.existsById(accountId)
+                ? new BalanceNotFoundException(accountId, currency)
+                : new AccountNotFoundException(accountId);
+    }
+    
+    /**
+     * Deposits into a random slot of a hot account. Concurrent deposits mostly hit different slot rows, and the
+     * balance row is not touched, so they neither wait for each other nor carry a version check.
+     *
+     * @param accountId the ID of the account
+     * @param amount the amount to deposit
+     * @param currency the currency of the deposit
+     * @return a DTO containing the account ID and updated balances, slots included
+     */
+    private AccountBalanceResponseDTO depositToSlot(String accountId, BigDecimal amount, Currency currency) {
+        try {
+            balanceSlotRepository.depositToSlot(accountId, currency.name(), hotAccounts.pickSlot(accountId), amount);
+        } catch (DataIntegrityViolationException e) {
+            // The only constraint the upsert can violate is the foreign key to the account
+            throw new AccountNotFoundException(accountId);
+        }
+        
+        transactionRepository.save(Transaction.createDeposit(
+                accountRepository.getReferenceById(accountId), currency, amount));
+        
+        balanceCache.evictAfterCommit(accountId);
+        
+        notificationClient.sendDepositNotification(
+                accountId, 
+                amount.toString(), 
+                currency.name());
+        
+        return toSlottedResponse(accountId, balanceRepository.findByAccountId(accountId));
+    }
+    
+    /**
+     * Withdraws from a hot account. A random slot is tried first, then the balance row; only when neither holds
+     * the amount are all slots of the currency locked and folded into the balance row, which is then tried again.
+     *
+     * @param accountId the ID of the account
+     * @param amount the amount to withdraw
+     * @param currency the currency of the withdrawal
+     * @return a DTO containing the account ID and updated balances, slots included
+     */
+    private AccountBalanceResponseDTO withdrawFromSlots(String accountId, BigDecimal amount, Currency currency) {
+        int slot = hotAccounts.pickSlot(accountId);
+        if (balanceSlotRepository.withdrawIfSufficient(accountId, currency, slot, amount) == 0
+                && balanceRepository.withdrawIfSufficient(accountId, currency, amount) == 0) {
+            slotConsolidator.consolidate(accountId, currency);
+            if (balanceRepository.withdrawIfSufficient(accountId, currency, amount) == 0) {
+                throw resolveFailedWithdrawal(accountId, amount, currency);
+            }
+        }
+        
+        transactionRepository.save(Transaction.createWithdrawal(
+                accountRepository.getReferenceById(accountId), currency, amount));
+        balanceCache.evictAfterCommit(accountId);
+        
+        return toSlottedResponse(accountId, balanceRepository.findByAccountId(accountId));
+    }
+    
+    private boolean isBalanceRowVersioning() {
+        return ledgerProperties.getVersioning() == LedgerProperties.Versioning.BALANCE_ROW;
+    }
+    
+    /**
+     * Deposits by versioning only the affected balance row. A missing balance is inserted directly instead of
+     * being added to the account's collection, so the account version is left untouched.
+     *
+     * @param accountId the ID of the account
+     * @param amount the amount to deposit
+     * @param currency the currency of the deposit
+     * @return a DTO containing the account ID and updated balances
+     */
+    private AccountBalanceResponseDTO depositToBalanceRow(String accountId, BigDecimal amount, Currency currency) {
+        List<Balance> balances = loadBalanceRows(accountId);
+        Account account = accountRepository.getReferenceById(accountId);
+        
+        Optional<Balance> existing = findBalance(balances, currency);
+        if (existing.isPresent()) {
+            existing.get().addAmount(amount);
+        } else {
+            balances.add(balanceRepository.save(new Balance(account, currency, amount)));
+        }
+        
+        transactionRepository.save(Transaction.createDeposit(account, currency, amount));
+        
+        notificationClient.sendDepositNotification(
+                accountId, 
+                amount.toString(), 
+                currency.name());
+        
+        return written(accountId, balances);
+    }
+    
+    /**
+     * Withdraws by versioning only the affected balance row.
+     *
+     * @param accountId the ID of the account
+     * @param amount the amount to withdraw
+     * @param currency the currency of the withdrawal
+     * @return a DTO containing the account ID and updated balances
+     */
+    private AccountBalanceResponseDTO withdrawFromBalanceRow(String accountId, BigDecimal amount, 
+            Currency currency) {
+        List<Balance> balances = loadBalanceRows(accountId);
+        Balance balance = findBalance(balances, currency)
+                .orElseThrow(() -> new BalanceNotFoundException(accountId, currency));
+        
+        // This will throw InsufficientFundsException if balance is insufficient
+        balance.subtractAmount(amount);
+        
+        transactionRepository.save(Transaction.createWithdrawal(
+                accountRepository.getReferenceById(accountId), currency, amount));
+        
+        return written(accountId, balances);
+    }
+    
+    /**
+     * Exchanges by versioning only the two affected balance rows. Balances are loaded in currency order,
+     * and Hibernate flushes dirty entities in load order, so concurrent exchanges in opposite directions
+     * update the rows in the same order and cannot deadlock.
+     *
+     * @param accountId the ID of the account
+     * @param fromCurrency the source currency
+     * @param toCurrency the target currency
+     * @param amount the amount to exchange in the source currency
+     * @return a DTO containing the account ID and updated balances
+     */
+    private AccountBalanceResponseDTO exchangeBetweenBalanceRows(String accountId, Currency fromCurrency, 
+            Currency toCurrency, BigDecimal amount) {
+        List<Balance> balances = loadBalanceRows(accountId);
+        Balance fromBalance = findBalance(balances, fromCurrency)
+                .orElseThrow(() -> new BalanceNotFoundException(accountId, fromCurrency));
+        
+        BigDecimal exchangedAmount = currencyExchangeService.calculateExchange(fromCurrency, toCurrency, amount);
+        log.debug("Exchanged amount: {} {} = {} {}", amount, fromCurrency, exchangedAmount, toCurrency);
+        
+        // Subtract from source balance (will throw InsufficientFundsException if insufficient)
+        fromBalance.subtractAmount(amount);
+        
+        Account account = accountRepository.getReferenceById(accountId);
+        Optional<Balance> toBalance = findBalance(balances, toCurrency);
+        if (toBalance.isPresent()) {
+            toBalance.get().addAmount(exchangedAmount);
+        } else {
+            balances.add(balanceRepository.save(new Balance(account, toCurrency, exchangedAmount)));
+        }
+        
+        transactionRepository.save(Transaction.createExchangeFrom(account, fromCurrency, amount));
+        transactionRepository.save(Transaction.createExchangeTo(account, toCurrency, exchangedAmount));
+        
+        return written(accountId, balances);
+    }
+    
+    /**
+     * Loads the balance rows of an account without loading the account itself.
+     *
+     * @param accountId the ID of the account
+     * @return a mutable list of the account's balances, ordered by currency
+     * @throws AccountNotFoundException if the account has no balances and does not exist
+     */
+    private List<Balance> loadBalanceRows(String accountId) {
+        List<Balance> balances = new ArrayList<>(balanceRepository.findByAccountId(accountId));
+        if (balances.isEmpty() && !accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        return balances;
+    }
+    
+    private static Optional<Balance> findBalance(List<Balance> balances, Currency currency) {
+        return balances.stream()
+                .filter(balance -> balance.getCurrency() == currency)
+                .findFirst();
+    }
+    
+    private static Optional<Balance> findBalance(List<Balance> balances, String accountId, Currency currency) {
+        return balances.stream()
+                .filter(balance -> balance.getCurrency() == currency
+                        && balance.getAccount().getAccountId().equals(accountId))
+                .findFirst();
+    }
+    
+    /**
+     * Maps the balances of a hot account to the account balance response, adding the slots of every currency.
+     *
+     * @param accountId the ID of the account
+     * @param balances the balance rows of the account
+     * @return a DTO containing the account ID and the summed balances, ordered by currency
+     */
+    private AccountBalanceResponseDTO toSlottedResponse(String accountId, Collection<Balance> balances) {
+        Map<Currency, BigDecimal> totals = new TreeMap<>();
+        Map<Currency, BigDecimal> held = new TreeMap<>();
+        balances.forEach(balance -> {
+            totals.merge(balance.getCurrency(), balance.getAmount(), BigDecimal::add);
+            held.put(balance.getCurrency(), balance.getHeldAmount());
+        });
+        balanceSlotRepository.sumByAccountId(accountId)
+                .forEach(slots -> totals.merge(slots.getCurrency(), slots.getAmount(), BigDecimal::add));
+        
+        List<BalanceDTO> balanceDTOs = totals.entrySet().stream()
+                .map(total -> BalanceDTO.of(total.getKey().name(), total.getValue(),
+                        held.getOrDefault(total.getKey(), BigDecimal.ZERO)))
+                .collect(Collectors.toList());
+        
+        return new AccountBalanceResponseDTO(accountId, balanceDTOs);
+    }
+    
+    /**
+     * Maps the balances a write leaves behind to the response, and caches them once the write has committed.
+     *
+     * @param accountId the ID of the account
+     * @param balances all balances of the account, including the changed ones
+     * @return a DTO containing the account ID and the mapped balances
+     */
+    private AccountBalanceResponseDTO written(String accountId, Collection<Balance> balances) {
+        balanceCache.putAfterCommit(accountId, balances);
+        return toResponse(accountId, balances);
+    }
+    
+    /**
+     * Maps balances to the account balance response.
+     *
+     * @param accountId the ID of the account
+     * @param balances the balances of the account
+     * @return a DTO containing the account ID and the mapped balances
+     */
+    private AccountBalanceResponseDTO toResponse(String accountId, Collection<Balance> balances) {
+        List<BalanceDTO> balanceDTOs = balances.stream()
+                .map(balanceMapper::toBalanceDTO)
+                .collect(Collectors.toList());
+        
+        return new AccountBalanceResponseDTO(accountId, balanceDTOs);
+    }
+}
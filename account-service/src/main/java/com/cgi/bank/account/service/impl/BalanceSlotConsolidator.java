@@ -0,0 +1,122 @@
+package com.cgi.bank.account.service.impl;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.domain.Balance;
+import com.cgi.bank.account.domain.BalanceSlot;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.repository.AccountRepository;
+import com.cgi.bank.account.repository.BalanceRepository;
+import com.cgi.bank.account.repository.BalanceSlotRepository;
+import com.cgi.bank.account.service.cache.BalanceCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Folds the slot rows of hot account balances back into their {@link Balance} rows.
+ * Withdrawals and exchanges consolidate a currency when its balance row alone cannot cover them, and a periodic
+ * sweep folds and deletes the slots of accounts that are no longer flagged, which reads would otherwise miss.
+ * Slots are locked in slot order before the balance row is updated, the same order deposits take them in.
+ */
+@Component
+@Slf4j
+public class BalanceSlotConsolidator {
+
+    private final BalanceSlotRepository balanceSlotRepository;
+    private final BalanceRepository balanceRepository;
+    private final AccountRepository accountRepository;
+    private final BalanceCache balanceCache;
+    private final LedgerProperties.HotAccounts properties;
+    private final Counter consolidationCounter;
+
+    /**
+     * Creates the consolidator.
+     *
+     * @param balanceSlotRepository the repository of slot rows
+     * @param balanceRepository the repository of balance rows
+     * @param accountRepository the repository used to reference accounts of new balance rows
+     * @param balanceCache the cache from which accounts are evicted once their slots were folded
+     * @param ledgerProperties the ledger configuration containing the hot account settings
+     * @param meterRegistry the registry used to count consolidations
+     */
+    public BalanceSlotConsolidator(BalanceSlotRepository balanceSlotRepository, BalanceRepository balanceRepository,
+            AccountRepository accountRepository, BalanceCache balanceCache, LedgerProperties ledgerProperties,
+            MeterRegistry meterRegistry) {
+        this.balanceSlotRepository = balanceSlotRepository;
+        this.balanceRepository = balanceRepository;
+        this.accountRepository = accountRepository;
+        this.balanceCache = balanceCache;
+        this.properties = ledgerProperties.getHotAccounts();
+        this.consolidationCounter = Counter.builder("ledger.hot.consolidations")
+                .description("Balances whose slots were folded back into the balance row")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Moves the amounts of all slots of a balance into its balance row within the caller's transaction.
+     * The slots are kept, empty, for later deposits.
+     *
+     * @param accountId the ID of the account
+     * @param currency the currency of the balance
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void consolidate(String accountId, Currency currency) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BalanceSlot slot : balanceSlotRepository.findAndLock(accountId, currency)) {
+            total = total.add(slot.getAmount());
+            slot.setAmount(BigDecimal.ZERO);
+        }
+        credit(accountId, currency, total);
+    }
+
+    /**
+     * Folds and deletes the slots of accounts that are no longer flagged, or of every account when slot writes
+     * are disabled.
+     */
+    @Scheduled(fixedDelayString = "${app.ledger.hot-accounts.refresh-interval:10s}")
+    @Transactional
+    public void consolidateUnflagged() {
+        PageRequest batch = PageRequest.of(0, properties.getConsolidationBatchSize());
+        List<BalanceSlot> slots = properties.isEnabled()
+                ? balanceSlotRepository.findAndLockUnflagged(batch)
+                : balanceSlotRepository.findAndLockAll(batch);
+        if (slots.isEmpty()) {
+            return;
+        }
+
+        Map<String, Map<Currency, BigDecimal>> totals = new LinkedHashMap<>();
+        for (BalanceSlot slot : slots) {
+            totals.computeIfAbsent(slot.getAccountId(), id -> new LinkedHashMap<>())
+                    .merge(slot.getCurrency(), slot.getAmount(), BigDecimal::add);
+        }
+        totals.forEach((accountId, currencies) -> {
+            currencies.forEach((currency, total) -> credit(accountId, currency, total));
+            balanceCache.evictAfterCommit(accountId);
+        });
+        balanceSlotRepository.deleteAllInBatch(slots);
+        log.debug("Folded {} slot(s) of {} unflagged account(s) into their balances", slots.size(), totals.size());
+    }
+
+    private void credit(String accountId, Currency currency, BigDecimal total) {
+        if (total.signum() <= 0) {
+            return;
+        }
+        balanceRepository.findByAccountIdAndCurrency(accountId, currency).ifPresentOrElse(
+                balance -> balance.addAmount(total),
+                () -> balanceRepository.save(
+                        new Balance(accountRepository.getReferenceById(accountId), currency, total)));
+        consolidationCounter.increment();
+    }
+}
@@ -0,0 +1,375 @@
+package com.cgi.bank.account.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.BatchItemResultDTO;
+import com.cgi.bank.account.controller.dto.BatchMode;
+import com.cgi.bank.account.controller.dto.BatchOperationDTO;
+import com.cgi.bank.account.controller.dto.BatchResponseDTO;
+import com.cgi.bank.account.exception.MalformedBatchException;
+import com.cgi.bank.account.exception.UnsupportedLedgerOperationException;
+import com.cgi.bank.account.service.AccountService;
+import com.cgi.bank.account.service.BatchOperationService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of the BatchOperationService interface.
+ * Operations are applied through the transactional {@link AccountServiceImpl} inside shared transactions whose
+ * flush mode is {@code COMMIT}, so balance and account updates of many operations reach the database together
+ * as JDBC batches instead of one flush per operation.
+ * An atomic batch runs in one transaction that is flushed and cleared every {@code chunk-size} operations.
+ * A best-effort batch commits every {@code chunk-size} operations; an operation that fails is dropped and the
+ * rest of its chunk is re-applied, and a chunk that keeps failing or cannot be committed falls back to the
+ * regular per-operation path with account locks and conflict retries.
+ */
+@Service
+@Slf4j
+public class BatchOperationServiceImpl implements BatchOperationService {
+
+    /**
+     * Attempts at committing a best-effort chunk, each without the operations that failed before, after which
+     * the remaining operations are applied one transaction at a time.
+     */
+    private static final int MAX_CHUNK_ATTEMPTS = 4;
+
+    private final AccountService accountService;
+    private final AccountServiceImpl transactionalService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final LedgerProperties ledgerProperties;
+
+    /**
+     * Creates the service.
+     *
+     * @param accountService the primary account service used for operations applied one at a time
+     * @param transactionalService the transactional service that joins the batch transactions
+     * @param transactionManager the transaction manager used for batch transactions
+     * @param entityManager the shared entity manager, flushed once per chunk
+     * @param ledgerProperties the ledger configuration containing the batch settings
+     */
+    public BatchOperationServiceImpl(AccountService accountService, AccountServiceImpl transactionalService,
+            PlatformTransactionManager transactionManager, EntityManager entityManager,
+            LedgerProperties ledgerProperties) {
+        this.accountService = accountService;
+        this.transactionalService = transactionalService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.ledgerProperties = ledgerProperties;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResponseDTO execute(BatchMode mode, Iterator<BatchOperationDTO> operations) {
+        boolean inMemory = ledgerProperties.getEngine() == LedgerProperties.Engine.IN_MEMORY;
+        if (mode == BatchMode.ATOMIC && inMemory) {
+            throw new UnsupportedLedgerOperationException(
+                    "Atomic batches are not supported by the in-memory ledger engine");
+        }
+
+        BatchResults results = new BatchResults();
+        if (mode == BatchMode.ATOMIC) {
+            executeAtomic(operations, results);
+        } else if (inMemory) {
+            // The in-memory engine applies operations without database round trips, so there is nothing to batch
+            executeIndividually(operations, results);
+        } else {
+            executeBestEffort(operations, results);
+        }
+
+        BatchResponseDTO response = results.toResponse(mode);
+        log.info("Batch of {} operation(s) in {} mode: {} succeeded, {} failed, committed={}",
+                response.getTotal(), mode, response.getSucceeded(), response.getFailed(), response.isCommitted());
+        return response;
+    }
+
+    private void executeAtomic(Iterator<BatchOperationDTO> operations, BatchResults results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.setFlushMode(FlushModeType.COMMIT);
+                applyAtomically(operations, results);
+                if (results.hasFailures()) {
+                    status.setRollbackOnly();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Conflicts and constraint violations surface when the last chunk is flushed at commit
+            log.debug("Atomic batch could not be committed: {}", e.getMessage());
+            results.abort("Batch could not be committed: " + e.getMessage());
+        }
+        if (results.hasFailures()) {
+            results.rollBack();
+        } else {
+            results.commit();
+        }
+    }
+
+    /**
+     * Applies operations until the first failure; the rest of the body is still read so every operation gets
+     * a result.
+     */
+    private void applyAtomically(Iterator<BatchOperationDTO> operations, BatchResults results) {
+        int chunkSize = ledgerProperties.getBatch().getChunkSize();
+        int index = 0;
+        try {
+            while (operations.hasNext()) {
+                Item item = read(operations, index++, results);
+                if (item == null) {
+                    continue;
+                }
+                if (results.hasFailures()) {
+                    results.skipped(item);
+                    continue;
+                }
+                try {
+                    results.succeeded(item, apply(transactionalService, item.operation()));
+                } catch (RuntimeException e) {
+                    results.failed(item, e);
+                }
+                if (index % chunkSize == 0 && !results.hasFailures()) {
+                    // Keeps the persistence context bounded; the rows stay uncommitted until the end
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        } catch (MalformedBatchException e) {
+            results.abort(e.getMessage());
+        }
+    }
+
+    private void executeBestEffort(Iterator<BatchOperationDTO> operations, BatchResults results) {
+        int chunkSize = ledgerProperties.getBatch().getChunkSize();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        try {
+            while (operations.hasNext()) {
+                Item item = read(operations, index++, results);
+                if (item != null) {
+                    chunk.add(item);
+                }
+                if (chunk.size() == chunkSize) {
+                    applyChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+        } catch (MalformedBatchException e) {
+            results.abort(e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, results);
+        }
+        results.commit();
+    }
+
+    private void applyChunk(List<Item> chunk, BatchResults results) {
+        List<Item> remaining = new ArrayList<>(chunk);
+        for (int attempt = 1; attempt <= MAX_CHUNK_ATTEMPTS && !remaining.isEmpty(); attempt++) {
+            try {
+                List<AccountBalanceResponseDTO> responses = transactionTemplate.execute(status -> applyAll(remaining));
+                for (int i = 0; i < remaining.size(); i++) {
+                    results.succeeded(remaining.get(i), responses.get(i));
+                }
+                return;
+            } catch (ChunkItemFailedException e) {
+                // The failed operation left nothing behind; the chunk is re-applied without it
+                results.failed(remaining.remove(e.getPosition()), e.getCause());
+            } catch (RuntimeException e) {
+                log.debug("Batch chunk of {} operation(s) could not be committed: {}", remaining.size(),
+                        e.getMessage());
+                break;
+            }
+        }
+        if (!remaining.isEmpty()) {
+            log.debug("Applying {} batch operation(s) one transaction at a time", remaining.size());
+            remaining.forEach(item -> applyIndividually(item, results));
+        }
+    }
+
+    private List<AccountBalanceResponseDTO> applyAll(List<Item> items) {
+        entityManager.setFlushMode(FlushModeType.COMMIT);
+        List<AccountBalanceResponseDTO> responses = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                responses.add(apply(transactionalService, items.get(i).operation()));
+            } catch (RuntimeException e) {
+                throw new ChunkItemFailedException(i, e);
+            }
+        }
+        return responses;
+    }
+
+    private void executeIndividually(Iterator<BatchOperationDTO> operations, BatchResults results) {
+        int index = 0;
+        try {
+            while (operations.hasNext()) {
+                Item item = read(operations, index++, results);
+                if (item != null) {
+                    applyIndividually(item, results);
+                }
+            }
+        } catch (MalformedBatchException e) {
+            results.abort(e.getMessage());
+        }
+        results.commit();
+    }
+
+    private void applyIndividually(Item item, BatchResults results) {
+        try {
+            results.succeeded(item, apply(accountService, item.operation()));
+        } catch (RuntimeException e) {
+            results.failed(item, e);
+        }
+    }
+
+    /**
+     * Reads the next operation; an element that is not a valid operation is recorded as failed.
+     *
+     * @return the operation, or null if it could not be bound
+     * @throws MalformedBatchException if the body cannot be read further or the batch is too large
+     */
+    private Item read(Iterator<BatchOperationDTO> operations, int index, BatchResults results) {
+        int maxOperations = ledgerProperties.getBatch().getMaxOperations();
+        if (index >= maxOperations) {
+            throw new MalformedBatchException("Batch exceeds the maximum of " + maxOperations + " operations");
+        }
+        try {
+            return new Item(index, operations.next());
+        } catch (IllegalArgumentException e) {
+            results.failed(new Item(index, null), e);
+            return null;
+        }
+    }
+
+    private static AccountBalanceResponseDTO apply(AccountService service, BatchOperationDTO operation) {
+        validate(operation);
+        return switch (operation.getType()) {
+            case DEPOSIT -> service.deposit(
+                    operation.getAccountId(), operation.getAmount(), operation.getCurrency());
+            case WITHDRAW -> service.withdraw(
+                    operation.getAccountId(), operation.getAmount(), operation.getCurrency());
+            case EXCHANGE -> service.exchange(operation.getAccountId(), operation.getFromCurrency(),
+                    operation.getToCurrency(), operation.getAmount());
+        };
+    }
+
+    private static void validate(BatchOperationDTO operation) {
+        if (operation.getType() == null) {
+            throw new IllegalArgumentException("Operation type is required");
+        }
+        if (operation.getAccountId() == null || operation.getAccountId().isBlank()) {
+            throw new IllegalArgumentException("Account ID is required");
+        }
+        if (operation.getAmount() == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        if (operation.getType() == BatchOperationDTO.Type.EXCHANGE) {
+            if (operation.getFromCurrency() == null || operation.getToCurrency() == null) {
+                throw new IllegalArgumentException("From and to currencies are required for an exchange");
+            }
+        } else if (operation.getCurrency() == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+    }
+
+    /**
+     * An operation together with its position in the request.
+     */
+    private record Item(int index, BatchOperationDTO operation) {
+
+        String accountId() {
+            return operation != null ? operation.getAccountId() : null;
+        }
+    }
+
+    /**
+     * Signals which operation of a chunk failed, so the chunk can be rolled back and re-applied without it.
+     */
+    private static final class ChunkItemFailedException extends RuntimeException {
+
+        private final int position;
+
+        ChunkItemFailedException(int position, RuntimeException cause) {
+            super(cause.getMessage(), cause, false, false);
+            this.position = position;
+        }
+
+        int getPosition() {
+            return position;
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+
+    /**
+     * Collects per-operation outcomes while a batch is applied.
+     */
+    private static final class BatchResults {
+
+        private final List<BatchItemResultDTO> results = new ArrayList<>();
+        private int failures;
+        private String error;
+        private boolean committed;
+
+        void succeeded(Item item, AccountBalanceResponseDTO response) {
+            results.add(new BatchItemResultDTO(item.index(), item.accountId(), BatchItemResultDTO.Status.SUCCEEDED,
+                    null, response.getBalances()));
+        }
+
+        void failed(Item item, RuntimeException e) {
+            failures++;
+            results.add(new BatchItemResultDTO(item.index(), item.accountId(), BatchItemResultDTO.Status.FAILED,
+                    e.getMessage(), null));
+        }
+
+        void skipped(Item item) {
+            results.add(new BatchItemResultDTO(item.index(), item.accountId(), BatchItemResultDTO.Status.SKIPPED,
+                    null, null));
+        }
+
+        void abort(String reason) {
+            error = reason;
+        }
+
+        boolean hasFailures() {
+            return failures > 0 || error != null;
+        }
+
+        void commit() {
+            committed = results.stream().anyMatch(result -> result.getStatus() == BatchItemResultDTO.Status.SUCCEEDED);
+        }
+
+        void rollBack() {
+            committed = false;
+            results.stream()
+                    .filter(result -> result.getStatus() == BatchItemResultDTO.Status.SUCCEEDED)
+                    .forEach(result -> {
+                        result.setStatus(BatchItemResultDTO.Status.ROLLED_BACK);
+                        result.setBalances(null);
+                    });
+        }
+
+        BatchResponseDTO toResponse(BatchMode mode) {
+            results.sort(Comparator.comparingInt(BatchItemResultDTO::getIndex));
+            int succeeded = (int) results.stream()
+                    .filter(result -> result.getStatus() == BatchItemResultDTO.Status.SUCCEEDED)
+                    .count();
+            return new BatchResponseDTO(mode, committed, results.size(), succeeded, failures, error, results);
+        }
+    }
+}
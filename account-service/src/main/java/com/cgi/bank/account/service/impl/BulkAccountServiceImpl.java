@@ -0,0 +1,166 @@
+package com.cgi.bank.account.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.controller.dto.BulkCreateAccountsRequestDTO;
+import com.cgi.bank.account.controller.dto.BulkCreateAccountsResponseDTO;
+import com.cgi.bank.account.controller.dto.CreatedAccountDTO;
+import com.cgi.bank.account.controller.dto.OpeningBalanceDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+import com.cgi.bank.account.ledger.InMemoryLedgerService;
+import com.cgi.bank.account.service.BulkAccountService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of the BulkAccountService interface.
+ * Identifiers are allocated up front in one block, and the {@code accounts} rows, opening balances and their
+ * deposit transactions are written with JDBC batch statements of {@code chunk-size} rows in a single
+ * transaction, bypassing the persistence context. With the in-memory engine only the account rows are written
+ * here; the accounts are then opened in their shards, which record and persist the opening deposits.
+ */
+@Service
+@Slf4j
+public class BulkAccountServiceImpl implements BulkAccountService {
+
+    private static final String INSERT_ACCOUNT = "INSERT INTO accounts (account_id, version) VALUES (?, 0)";
+    private static final String INSERT_BALANCE =
+            "INSERT INTO balances (account_id, currency, amount, version) VALUES (?, ?, ?, 0)";
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transactions (account_id, type, currency, amount, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountIdAllocator accountIdAllocator;
+    private final ObjectProvider<InMemoryLedgerService> inMemoryLedger;
+    private final LedgerProperties ledgerProperties;
+
+    /**
+     * Creates the service.
+     *
+     * @param jdbcTemplate the template used for batched inserts
+     * @param transactionManager the transaction manager used for the creation transaction
+     * @param accountIdAllocator the allocator of account identifiers
+     * @param inMemoryLedger the in-memory ledger engine, available when it is enabled
+     * @param ledgerProperties the ledger configuration containing the batch settings
+     */
+    public BulkAccountServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            AccountIdAllocator accountIdAllocator, ObjectProvider<InMemoryLedgerService> inMemoryLedger,
+            LedgerProperties ledgerProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accountIdAllocator = accountIdAllocator;
+        this.inMemoryLedger = inMemoryLedger;
+        this.ledgerProperties = ledgerProperties;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkCreateAccountsResponseDTO createAccounts(BulkCreateAccountsRequestDTO request) {
+        int count = accountCount(request);
+        Map<Currency, BigDecimal> openingBalances = openingBalances(request.getOpeningBalances());
+        List<String> accountIds = accountIdAllocator.allocate(count);
+
+        InMemoryLedgerService ledger = inMemoryLedger.getIfAvailable();
+        transactionTemplate.executeWithoutResult(status -> {
+            insertAccounts(accountIds);
+            if (ledger == null) {
+                insertOpeningBalances(accountIds, openingBalances);
+            }
+        });
+        if (ledger != null) {
+            ledger.openAccounts(accountIds, openingBalances);
+        }
+        log.info("Created {} accounts with {} opening balance(s) each", count, openingBalances.size());
+
+        List<String> references = request.getReferences();
+        List<CreatedAccountDTO> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(new CreatedAccountDTO(references != null ? references.get(i) : null, accountIds.get(i)));
+        }
+        List<BalanceDTO> balances = openingBalances.entrySet().stream()
+                .map(balance -> new BalanceDTO(balance.getKey().name(), balance.getValue()))
+                .toList();
+        return new BulkCreateAccountsResponseDTO(count, balances, accounts);
+    }
+
+    private void insertAccounts(List<String> accountIds) {
+        jdbcTemplate.batchUpdate(INSERT_ACCOUNT, accountIds, chunkSize(),
+                (ps, accountId) -> ps.setString(1, accountId));
+    }
+
+    /**
+     * Inserts one balance and one deposit transaction per account and currency. Rows are grouped by table and
+     * currency, so every batch repeats the same statement.
+     */
+    private void insertOpeningBalances(List<String> accountIds, Map<Currency, BigDecimal> openingBalances) {
+        Timestamp now = Timestamp.from(Instant.now());
+        openingBalances.forEach((currency, amount) -> {
+            jdbcTemplate.batchUpdate(INSERT_BALANCE, accountIds, chunkSize(), (ps, accountId) -> {
+                ps.setString(1, accountId);
+                ps.setString(2, currency.name());
+                ps.setBigDecimal(3, amount);
+            });
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, accountIds, chunkSize(), (ps, accountId) -> {
+                ps.setString(1, accountId);
+                ps.setString(2, TransactionType.DEPOSIT.name());
+                ps.setString(3, currency.name());
+                ps.setBigDecimal(4, amount);
+                ps.setTimestamp(5, now);
+            });
+        });
+    }
+
+    private int accountCount(BulkCreateAccountsRequestDTO request) {
+        List<String> references = request.getReferences();
+        boolean hasReferences = references != null && !references.isEmpty();
+        if (hasReferences == (request.getCount() != null)) {
+            throw new IllegalArgumentException("Exactly one of count and references is required");
+        }
+        if (hasReferences && new HashSet<>(references).size() != references.size()) {
+            throw new IllegalArgumentException("References must be unique");
+        }
+
+        int count = hasReferences ? references.size() : request.getCount();
+        int maxAccounts = ledgerProperties.getBatch().getMaxAccounts();
+        if (count > maxAccounts) {
+            throw new IllegalArgumentException("At most " + maxAccounts + " accounts can be created per request");
+        }
+        return count;
+    }
+
+    private static Map<Currency, BigDecimal> openingBalances(List<OpeningBalanceDTO> requested) {
+        Map<Currency, BigDecimal> openingBalances = new LinkedHashMap<>();
+        if (requested == null) {
+            return openingBalances;
+        }
+        for (OpeningBalanceDTO balance : requested) {
+            if (openingBalances.put(balance.getCurrency(), balance.getAmount()) != null) {
+                throw new IllegalArgumentException("Only one opening balance per currency is allowed");
+            }
+        }
+        return openingBalances;
+    }
+
+    private int chunkSize() {
+        return ledgerProperties.getBatch().getChunkSize();
+    }
+}
@@ -0,0 +1,155 @@
+package com.cgi.bank.account.service.impl;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.TransferResponseDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.exception.OptimisticLockingConflictException;
+import com.cgi.bank.account.service.AccountService;
+import com.cgi.bank.account.service.cache.BalanceCache;
+import com.cgi.bank.account.service.concurrency.AccountLockManager;
+import com.cgi.bank.account.service.concurrency.GroupCommitWriter;
+import com.cgi.bank.account.service.concurrency.HotAccountRegistry;
+import com.cgi.bank.account.service.concurrency.OptimisticLockRetryExecutor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Primary {@link AccountService} that coordinates write operations before they reach the
+ * transactional {@link AccountServiceImpl}.
+ * Deposits, withdrawals and exchanges acquire the account's lock stripe first, so the JPA transaction
+ * is only opened once concurrent writers on the same node have finished. Conflicts with writers on other
+ * nodes are retried in a fresh transaction while the stripe is still held. Transfers hold the stripes of both
+ * accounts, taken in stripe order.
+ * Upsert deposits bypass both, since they cannot conflict. Hot accounts, whose balances are split into slots,
+ * skip the stripe as well so their deposits and withdrawals run in parallel; their conflicts feed the
+ * {@link HotAccountRegistry}'s detection.
+ * When group commit is enabled, the transactional call itself is handed to the {@link GroupCommitWriter}.
+ * Balance reads are answered from the {@link BalanceCache} when possible.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "app.ledger", name = "engine", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CoordinatedAccountService implements AccountService {
+
+    private final AccountServiceImpl delegate;
+    private final AccountLockManager lockManager;
+    private final OptimisticLockRetryExecutor retryExecutor;
+    private final GroupCommitWriter groupCommitWriter;
+    private final HotAccountRegistry hotAccounts;
+    private final LedgerProperties ledgerProperties;
+    private final BalanceCache balanceCache;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceResponseDTO createAccount() {
+        return delegate.createAccount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceResponseDTO getAccountBalances(String accountId) {
+        if (hotAccounts.isHot(accountId)) {
+            return delegate.getAccountBalances(accountId);
+        }
+        // Checked before the delegate's transaction is opened, so a hit takes no connection from the pool
+        return balanceCache.get(accountId).orElseGet(() -> delegate.getAccountBalances(accountId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<String> getBalancesVersionTag(String accountId) {
+        if (hotAccounts.isHot(accountId)) {
+            return Optional.empty();
+        }
+        return balanceCache.getVersionTag(accountId).or(() -> delegate.getBalancesVersionTag(accountId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceResponseDTO deposit(String accountId, BigDecimal amount, Currency currency) {
+        if (ledgerProperties.getDepositMode() == LedgerProperties.DepositMode.UPSERT) {
+            // The upsert is atomic on the balance row and carries no version check, so there is nothing to
+            // serialize or retry
+            return write("deposit", () -> delegate.deposit(accountId, amount, currency));
+        }
+        if (hotAccounts.isHot(accountId)) {
+            // Slot deposits are single upserts without a version check, like upsert deposits
+            return write("deposit", () -> delegate.deposit(accountId, amount, currency));
+        }
+        return lockManager.executeLocked(accountId, () -> retryExecutor.execute("deposit",
+                () -> detectConflicts(accountId,
+                        () -> write("deposit", () -> delegate.deposit(accountId, amount, currency)))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceResponseDTO withdraw(String accountId, BigDecimal amount, Currency currency) {
+        if (hotAccounts.isHot(accountId)) {
+            // Only a consolidation writes the versioned balance row, so conflicts are rare enough to just retry
+            return retryExecutor.execute("withdraw",
+                    () -> write("withdraw", () -> delegate.withdraw(accountId, amount, currency)));
+        }
+        return lockManager.executeLocked(accountId, () -> retryExecutor.execute("withdraw",
+                () -> detectConflicts(accountId,
+                        () -> write("withdraw", () -> delegate.withdraw(accountId, amount, currency)))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceResponseDTO exchange(String accountId, Currency fromCurrency, Currency toCurrency,
+            BigDecimal amount) {
+        return lockManager.executeLocked(accountId, () -> retryExecutor.execute("exchange",
+                () -> detectConflicts(accountId, () -> write("exchange",
+                        () -> delegate.exchange(accountId, fromCurrency, toCurrency, amount)))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TransferResponseDTO transfer(String fromAccountId, String toAccountId, BigDecimal amount,
+            Currency fromCurrency, Currency toCurrency) {
+        return lockManager.executeLocked(fromAccountId, toAccountId, () -> retryExecutor.execute("transfer",
+                () -> write("transfer",
+                        () -> delegate.transfer(fromAccountId, toAccountId, amount, fromCurrency, toCurrency))));
+    }
+
+    /**
+     * Reports an optimistic-lock conflict of the attempt to the hot account detection before it is retried.
+     */
+    private <T> T detectConflicts(String accountId, Supplier<T> attempt) {
+        try {
+            return attempt.get();
+        } catch (ObjectOptimisticLockingFailureException | OptimisticLockingConflictException e) {
+            hotAccounts.recordConflict(accountId);
+            throw e;
+        }
+    }
+
+    private <T> T write(String operation, Supplier<T> action) {
+        return groupCommitWriter.isEnabled() ? groupCommitWriter.submit(operation, action) : action.get();
+    }
+}
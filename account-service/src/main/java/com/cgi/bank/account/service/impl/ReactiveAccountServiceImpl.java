@@ -0,0 +1,240 @@
+package com.cgi.bank.account.service.impl;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.exception.BalanceNotFoundException;
+import com.cgi.bank.account.exception.OptimisticLockingConflictException;
+import com.cgi.bank.account.integration.NotificationClient;
+import com.cgi.bank.account.repository.reactive.AccountRow;
+import com.cgi.bank.account.repository.reactive.BalanceRow;
+import com.cgi.bank.account.repository.reactive.ReactiveAccountRepository;
+import com.cgi.bank.account.repository.reactive.ReactiveBalanceRepository;
+import com.cgi.bank.account.repository.reactive.ReactiveTransactionRepository;
+import com.cgi.bank.account.repository.reactive.TransactionRow;
+import com.cgi.bank.account.service.CurrencyExchangeService;
+import com.cgi.bank.account.service.ReactiveAccountService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * R2DBC implementation of the {@link ReactiveAccountService}, active with the 'reactive' profile.
+ * Writes follow the aggregate versioning of the JPA service: every changed balance row is saved with a version
+ * check, and opening a new currency also bumps the account version, so two requests opening the same currency
+ * conflict instead of violating the unique constraint. Each attempt runs in its own R2DBC transaction, and
+ * conflicts are retried with the backoff of {@code app.ledger.retry} before surfacing as
+ * {@link OptimisticLockingConflictException}.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAccountServiceImpl implements ReactiveAccountService {
+
+    /**
+     * Order of the currency codes, as used by {@code ORDER BY currency} when the JPA service loads balances.
+     */
+    private static final Comparator<BalanceRow> CURRENCY_ORDER = Comparator.comparing(
+            balance -> balance.getCurrency().name());
+
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveBalanceRepository balanceRepository;
+    private final ReactiveTransactionRepository transactionRepository;
+    private final CurrencyExchangeService currencyExchangeService;
+    private final NotificationClient notificationClient;
+    private final TransactionalOperator transactionalOperator;
+    private final LedgerProperties ledgerProperties;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<AccountBalanceResponseDTO> createAccount() {
+        log.debug("Creating a new account");
+        return accountRepository.save(new AccountRow(UUID.randomUUID().toString(), null))
+                .map(account -> new AccountBalanceResponseDTO(account.getAccountId(), List.of()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<AccountBalanceResponseDTO> getAccountBalances(String accountId) {
+        log.debug("Retrieving balances for account: {}", accountId);
+        return findAccount(accountId)
+                .flatMap(account -> balanceRepository.findByAccountIdOrderByCurrency(accountId).collectList())
+                .map(balances -> toResponse(accountId, balances));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<AccountBalanceResponseDTO> deposit(String accountId, BigDecimal amount, Currency currency) {
+        log.debug("Depositing {} {} into account: {}", amount, currency, accountId);
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return Mono.error(new IllegalArgumentException("Deposit amount must be positive"));
+        }
+
+        return write("deposit", accountId, (account, balances) -> {
+            BalanceRow balance = getOrOpen(balances, accountId, currency);
+            balance.addAmount(amount);
+            return save(account, balances, List.of(balance),
+                    TransactionRow.of(accountId, TransactionType.DEPOSIT, currency, amount));
+        }).doOnSuccess(response -> notificationClient.sendDepositNotification(
+                accountId, amount.toString(), currency.name()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<AccountBalanceResponseDTO> withdraw(String accountId, BigDecimal amount, Currency currency) {
+        log.debug("Withdrawing {} {} from account: {}", amount, currency, accountId);
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return Mono.error(new IllegalArgumentException("Withdrawal amount must be positive"));
+        }
+
+        return write("withdrawal", accountId, (account, balances) -> {
+            BalanceRow balance = findBalance(balances, currency)
+                    .orElseThrow(() -> new BalanceNotFoundException(accountId, currency));
+            // Throws InsufficientFundsException if the balance does not cover the amount
+            balance.subtractAmount(amount);
+            return save(account, balances, List.of(balance),
+                    TransactionRow.of(accountId, TransactionType.WITHDRAWAL, currency, amount));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<AccountBalanceResponseDTO> exchange(String accountId, Currency fromCurrency, Currency toCurrency,
+            BigDecimal amount) {
+        log.debug("Exchanging {} {} to {} for account: {}", amount, fromCurrency, toCurrency, accountId);
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return Mono.error(new IllegalArgumentException("Exchange amount must be positive"));
+        }
+        if (fromCurrency == toCurrency) {
+            return Mono.error(new IllegalArgumentException("Source and target currencies must be different"));
+        }
+
+        return write("exchange", accountId, (account, balances) -> {
+            BalanceRow fromBalance = findBalance(balances, fromCurrency)
+                    .orElseThrow(() -> new BalanceNotFoundException(accountId, fromCurrency));
+            BigDecimal exchangedAmount = currencyExchangeService.calculateExchange(fromCurrency, toCurrency, amount);
+            fromBalance.subtractAmount(amount);
+
+            BalanceRow toBalance = getOrOpen(balances, accountId, toCurrency);
+            toBalance.addAmount(exchangedAmount);
+            return save(account, balances, List.of(fromBalance, toBalance),
+                    TransactionRow.of(accountId, TransactionType.EXCHANGE_FROM, fromCurrency, amount),
+                    TransactionRow.of(accountId, TransactionType.EXCHANGE_TO, toCurrency, exchangedAmount));
+        });
+    }
+
+    /**
+     * Loads the account and its balances, applies the change and retries the whole attempt in a new transaction
+     * when a version check fails.
+     */
+    private Mono<AccountBalanceResponseDTO> write(String operation, String accountId, BalanceChange change) {
+        Mono<AccountBalanceResponseDTO> attempt = findAccount(accountId)
+                .flatMap(account -> balanceRepository.findByAccountIdOrderByCurrency(accountId).collectList()
+                        .flatMap(balances -> Mono.defer(() -> change.apply(account, balances))));
+        return attempt
+                .as(transactionalOperator::transactional)
+                .retryWhen(retryOnConflict())
+                .onErrorMap(OptimisticLockingFailureException.class, e -> conflict(operation, accountId, e));
+    }
+
+    /**
+     * Saves the changed balances in currency order, bumps the account version first when one of them is new,
+     * and records the transactions.
+     */
+    private Mono<AccountBalanceResponseDTO> save(AccountRow account, List<BalanceRow> balances,
+            List<BalanceRow> changed, TransactionRow... transactions) {
+        boolean opened = changed.stream().anyMatch(balance -> balance.getVersion() == null);
+        Mono<AccountRow> accountUpdate = opened ? accountRepository.save(account) : Mono.just(account);
+        return accountUpdate
+                .thenMany(Flux.fromIterable(changed)
+                        .sort(CURRENCY_ORDER)
+                        .concatMap(balanceRepository::save))
+                .thenMany(Flux.fromArray(transactions).concatMap(transactionRepository::save))
+                .then(Mono.fromSupplier(() -> toResponse(account.getAccountId(), balances)));
+    }
+
+    private Mono<AccountRow> findAccount(String accountId) {
+        return accountRepository.findById(accountId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(accountId)));
+    }
+
+    private Retry retryOnConflict() {
+        LedgerProperties.Retry policy = ledgerProperties.getRetry();
+        long retries = policy.isEnabled() ? policy.getMaxAttempts() - 1L : 0L;
+        return Retry.backoff(retries, policy.getInitialBackoff())
+                .maxBackoff(policy.getMaxBackoff())
+                .filter(OptimisticLockingFailureException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private static OptimisticLockingConflictException conflict(String operation, String accountId,
+            OptimisticLockingFailureException e) {
+        log.warn("Optimistic locking conflict during {} for account: {}", operation, accountId);
+        return new OptimisticLockingConflictException(
+                "Another operation modified the balance while your " + operation + " was processing. " +
+                "Please try again.", e);
+    }
+
+    /**
+     * Returns the balance for the currency, adding a new, not yet inserted one to the balance list when the
+     * account has none.
+     */
+    private static BalanceRow getOrOpen(List<BalanceRow> balances, String accountId, Currency currency) {
+        return findBalance(balances, currency).orElseGet(() -> {
+            BalanceRow opened = BalanceRow.open(accountId, currency);
+            balances.add(opened);
+            return opened;
+        });
+    }
+
+    private static Optional<BalanceRow> findBalance(List<BalanceRow> balances, Currency currency) {
+        return balances.stream()
+                .filter(balance -> balance.getCurrency() == currency)
+                .findFirst();
+    }
+
+    private static AccountBalanceResponseDTO toResponse(String accountId, List<BalanceRow> balances) {
+        List<BalanceDTO> balanceDTOs = balances.stream()
+                .sorted(CURRENCY_ORDER)
+                .map(balance -> BalanceDTO.of(balance.getCurrency().name(), balance.getAmount(),
+                        balance.getHeldAmount()))
+                .toList();
+        return new AccountBalanceResponseDTO(accountId, balanceDTOs);
+    }
+
+    /**
+     * A change applied to the loaded account and its balances within one attempt.
+     */
+    @FunctionalInterface
+    private interface BalanceChange {
+        Mono<AccountBalanceResponseDTO> apply(AccountRow account, List<BalanceRow> balances);
+    }
+}
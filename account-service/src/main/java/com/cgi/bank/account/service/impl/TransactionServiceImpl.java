@@ -1,17 +1,26 @@
 package com.cgi.bank.account.service.impl;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.cgi.bank.account.controller.dto.TransactionCursorPageDTO;
 import com.cgi.bank.account.controller.dto.TransactionResponseDTO;
+import com.cgi.bank.account.controller.dto.TransactionSliceDTO;
 import com.cgi.bank.account.domain.Account;
 import com.cgi.bank.account.domain.Transaction;
 import com.cgi.bank.account.exception.AccountNotFoundException;
 import com.cgi.bank.account.repository.AccountRepository;
+import com.cgi.bank.account.repository.TransactionFilter;
 import com.cgi.bank.account.repository.TransactionRepository;
+import com.cgi.bank.account.service.TransactionCursor;
 import com.cgi.bank.account.service.TransactionService;
 import com.cgi.bank.account.service.mapper.TransactionMapper;
 
@@ -26,6 +35,11 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class TransactionServiceImpl implements TransactionService {
 
+    /**
+     * Largest page served with a cursor; one more row than the page size is read to detect a next page.
+     */
+    static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
     private final TransactionMapper transactionMapper;
@@ -35,8 +49,14 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     @Transactional(readOnly = true)
-    public Page<TransactionResponseDTO> getTransactionHistory(String accountId, int page, int size) {
-        log.debug("Finding transaction history for account ID: {}, page: {}, size: {}", accountId, page, size);
+    public Page<TransactionResponseDTO> getTransactionHistory(String accountId, TransactionFilter filter, int page,
+            int size) {
+        log.debug("Finding transaction history for account ID: {}, filter: {}, page: {}, size: {}",
+                accountId, filter, page, size);
+        
+        if (!filter.isEmpty()) {
+            return findFilteredPage(accountId, filter, page, size).map(transactionMapper::toTransactionResponseDTO);
+        }
         
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
@@ -47,4 +67,101 @@ public class TransactionServiceImpl implements TransactionService {
         
         return transactions.map(transactionMapper::toTransactionResponseDTO);
     }
-} 
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionSliceDTO getTransactionHistorySlice(String accountId, TransactionFilter filter, int page,
+            int size) {
+        log.debug("Finding transaction slice for account ID: {}, filter: {}, page: {}, size: {}",
+                accountId, filter, page, size);
+        
+        // The ID breaks timestamp ties, so rows cannot move between pages
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+        Slice<Transaction> transactions = filter.isEmpty()
+                ? transactionRepository.findSliceByAccountId(accountId, pageRequest)
+                : findFilteredSlice(accountId, filter, pageRequest);
+        
+        // Only an empty page needs the account lookup to tell an unknown account from the end of its history
+        if (!transactions.hasContent() && !accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        
+        return new TransactionSliceDTO(
+                transactions.map(transactionMapper::toTransactionResponseDTO).getContent(),
+                page,
+                size,
+                transactions.hasNext());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionCursorPageDTO getTransactionHistoryAfter(String accountId, TransactionFilter filter,
+            String after, int size) {
+        log.debug("Finding transaction history for account ID: {}, filter: {}, after: {}, size: {}",
+                accountId, filter, after, size);
+        
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        
+        PageRequest limit = PageRequest.ofSize(size + 1);
+        List<Transaction> transactions;
+        if (after == null || after.isEmpty()) {
+            transactions = filter.isEmpty()
+                    ? transactionRepository.findLatest(accountId, limit)
+                    : transactionRepository.findFiltered(accountId, filter, 0, size + 1);
+        } else {
+            TransactionCursor cursor = TransactionCursor.decode(after);
+            transactions = filter.isEmpty()
+                    ? transactionRepository.findAfter(accountId, cursor.timestamp(), cursor.id(), limit)
+                    : transactionRepository.findFilteredAfter(accountId, filter, cursor.timestamp(), cursor.id(),
+                            size + 1);
+        }
+        
+        // Only an empty page needs the account lookup to tell an unknown account from the end of its history
+        if (transactions.isEmpty() && !accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        
+        boolean hasNext = transactions.size() > size;
+        List<Transaction> page = hasNext ? transactions.subList(0, size) : transactions;
+        String nextCursor = hasNext ? TransactionCursor.after(page.get(size - 1)).encode() : null;
+        
+        return new TransactionCursorPageDTO(
+                page.stream().map(transactionMapper::toTransactionResponseDTO).toList(),
+                nextCursor);
+    }
+
+    /**
+     * Reads a page of matching transactions. The account is only looked up when the page is empty, and the
+     * matches are only counted when the page size and content do not already tell the total.
+     */
+    private Page<Transaction> findFilteredPage(String accountId, TransactionFilter filter, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+        List<Transaction> transactions = transactionRepository.findFiltered(accountId, filter,
+                pageRequest.getOffset(), size);
+        if (transactions.isEmpty() && !accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        return PageableExecutionUtils.getPage(transactions, pageRequest,
+                () -> transactionRepository.countFiltered(accountId, filter));
+    }
+
+    /**
+     * Reads a slice of matching transactions, with one row more than the page size to tell whether a next page
+     * exists.
+     */
+    private Slice<Transaction> findFilteredSlice(String accountId, TransactionFilter filter, PageRequest pageRequest) {
+        int size = pageRequest.getPageSize();
+        List<Transaction> transactions = transactionRepository.findFiltered(accountId, filter,
+                pageRequest.getOffset(), size + 1);
+        boolean hasNext = transactions.size() > size;
+        return new SliceImpl<>(hasNext ? transactions.subList(0, size) : transactions, pageRequest, hasNext);
+    }
+}
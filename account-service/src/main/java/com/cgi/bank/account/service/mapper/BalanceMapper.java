@@ -15,12 +15,15 @@ import com.cgi.bank.account.domain.Currency;
 public interface BalanceMapper {
 
     /**
-     * Converts a Balance entity to a BalanceDTO.
+     * Converts a Balance entity to a BalanceDTO. The available amount is only set while part of the balance
+     * is held.
      *
      * @param balance the balance entity to convert
      * @return the corresponding BalanceDTO
      */
     @Mapping(source = "currency", target = "currency", qualifiedByName = "currencyToString")
+    @Mapping(target = "availableAmount",
+            expression = "java(balance.getHeldAmount().signum() > 0 ? balance.getAvailableAmount() : null)")
     BalanceDTO toBalanceDTO(Balance balance);
 
     /**
@@ -57,6 +57,12 @@ public interface TransactionMapper {
                 return "Exchange from " + transaction.getAmount() + " " + transaction.getCurrency();
             case EXCHANGE_TO:
                 return "Exchange to " + transaction.getAmount() + " " + transaction.getCurrency();
+            case TRANSFER_OUT:
+                return "Transfer of " + transaction.getAmount() + " " + transaction.getCurrency() + " sent";
+            case TRANSFER_IN:
+                return "Transfer of " + transaction.getAmount() + " " + transaction.getCurrency() + " received";
+            case CAPTURE:
+                return "Captured hold of " + transaction.getAmount() + " " + transaction.getCurrency();
             default:
                 return "Transaction of " + transaction.getAmount() + " " + transaction.getCurrency();
         }
@@ -0,0 +1,6 @@
+-- V10: Documents the UNKNOWN status of asynchronous operations; the status column is unconstrained text.
+
+-- A worker that stops between committing the write and recording the outcome leaves the operation RUNNING; the
+-- sweep then marks it UNKNOWN instead of FAILED, since the write may have been applied.
+COMMENT ON COLUMN async_operations.status IS 'PENDING until a worker claims it, RUNNING while it executes, then SUCCEEDED or FAILED; UNKNOWN if its worker stopped before recording the outcome.';
+COMMENT ON COLUMN async_operations.error_message IS 'Error message of a failed operation, or why the outcome of an UNKNOWN operation was not recorded.';
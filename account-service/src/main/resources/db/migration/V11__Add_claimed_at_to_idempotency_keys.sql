@@ -0,0 +1,7 @@
+-- V11: Records when an idempotency key was claimed, so a claim left in progress by a stopped instance expires.
+
+ALTER TABLE idempotency_keys ADD COLUMN claimed_at TIMESTAMP WITH TIME ZONE;
+UPDATE idempotency_keys SET claimed_at = created_at;
+ALTER TABLE idempotency_keys ALTER COLUMN claimed_at SET NOT NULL;
+
+COMMENT ON COLUMN idempotency_keys.claimed_at IS 'Timestamp when the request in progress claimed the key; after app.idempotency.claim-timeout a retry may take it over.';
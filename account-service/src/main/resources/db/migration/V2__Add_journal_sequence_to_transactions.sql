@@ -0,0 +1,8 @@
+-- V2: Links transactions written by the in-memory ledger engine to their journal records.
+
+ALTER TABLE transactions ADD COLUMN journal_sequence BIGINT;
+
+-- Unique, so a journal record can never be persisted twice; rows written directly keep NULL
+CREATE UNIQUE INDEX uq_transactions_journal_sequence ON transactions (journal_sequence);
+
+COMMENT ON COLUMN transactions.journal_sequence IS 'Sequence of the ledger journal record, NULL for direct writes.';
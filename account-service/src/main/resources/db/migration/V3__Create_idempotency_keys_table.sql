@@ -0,0 +1,20 @@
+-- V3: Stores the outcome of write requests sent with an Idempotency-Key header.
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL, -- IN_PROGRESS, COMPLETED
+    response_body TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at); -- Index for purging expired keys
+
+COMMENT ON TABLE idempotency_keys IS 'Results of idempotent write requests, replayed when a key is reused.';
+COMMENT ON COLUMN idempotency_keys.idempotency_key IS 'Primary key, the Idempotency-Key header sent by the client.';
+COMMENT ON COLUMN idempotency_keys.request_hash IS 'SHA-256 of the operation, account and request body the key was first used with.';
+COMMENT ON COLUMN idempotency_keys.status IS 'IN_PROGRESS while the request executes, COMPLETED once its response is stored.';
+COMMENT ON COLUMN idempotency_keys.response_body IS 'JSON response returned to the first request, NULL while in progress.';
+COMMENT ON COLUMN idempotency_keys.created_at IS 'Timestamp when the key was first used.';
+COMMENT ON COLUMN idempotency_keys.expires_at IS 'Timestamp after which the key may be reused and the row purged.';
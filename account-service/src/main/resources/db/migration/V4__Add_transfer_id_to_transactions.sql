@@ -0,0 +1,8 @@
+-- V4: Links the debit and credit rows of an inter-account transfer.
+
+ALTER TABLE transactions ADD COLUMN transfer_id VARCHAR(36);
+
+-- Partial, since only transfer rows carry the identifier
+CREATE INDEX idx_transactions_transfer_id ON transactions (transfer_id) WHERE transfer_id IS NOT NULL;
+
+COMMENT ON COLUMN transactions.transfer_id IS 'Identifier shared by the TRANSFER_OUT and TRANSFER_IN rows of a transfer.';
@@ -0,0 +1,7 @@
+-- V5: Lets Hibernate allocate transaction IDs in blocks, so inserted transactions can be batched.
+
+-- Hibernate's pooled optimizer reserves the block (value - increment, value] per nextval call. Inserts that use
+-- the column default get single values, which never fall inside a reserved block.
+ALTER SEQUENCE transactions_id_seq INCREMENT BY ${transaction_id_allocation_size};
+
+COMMENT ON SEQUENCE transactions_id_seq IS 'Transaction IDs, allocated by Hibernate in blocks of the increment.';
@@ -0,0 +1,40 @@
+-- V6: Stores write operations accepted for asynchronous execution and their outcome.
+
+CREATE TABLE async_operations (
+    operation_id VARCHAR(36) PRIMARY KEY,
+    type VARCHAR(20) NOT NULL, -- DEPOSIT, WITHDRAWAL, EXCHANGE
+    account_id VARCHAR(36) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    target_currency VARCHAR(3),
+    amount NUMERIC(19, 4) NOT NULL,
+    status VARCHAR(20) NOT NULL, -- PENDING, RUNNING, SUCCEEDED, FAILED
+    idempotency_key VARCHAR(100),
+    request_hash VARCHAR(64),
+    result_body TEXT,
+    error_status INTEGER,
+    error_message VARCHAR(500),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uq_async_operations_idempotency_key UNIQUE (idempotency_key)
+);
+
+CREATE INDEX idx_async_operations_pending ON async_operations (created_at) WHERE status = 'PENDING'; -- Index for the recovery sweep
+CREATE INDEX idx_async_operations_running ON async_operations (started_at) WHERE status = 'RUNNING'; -- Index for detecting abandoned operations
+CREATE INDEX idx_async_operations_completed_at ON async_operations (completed_at); -- Index for purging finished operations
+
+COMMENT ON TABLE async_operations IS 'Write operations accepted with 202 and executed by the asynchronous worker pool.';
+COMMENT ON COLUMN async_operations.operation_id IS 'Primary key, UUID returned to the client for polling.';
+COMMENT ON COLUMN async_operations.type IS 'Kind of write (DEPOSIT, WITHDRAWAL, EXCHANGE).';
+COMMENT ON COLUMN async_operations.account_id IS 'Account the operation applies to; not a foreign key, a missing account fails the operation.';
+COMMENT ON COLUMN async_operations.currency IS 'Currency of the deposit or withdrawal, or the source currency of an exchange.';
+COMMENT ON COLUMN async_operations.target_currency IS 'Target currency of an exchange, NULL otherwise.';
+COMMENT ON COLUMN async_operations.status IS 'PENDING until a worker claims it, RUNNING while it executes, then SUCCEEDED or FAILED.';
+COMMENT ON COLUMN async_operations.idempotency_key IS 'Optional Idempotency-Key header; a retried submission returns the same operation.';
+COMMENT ON COLUMN async_operations.request_hash IS 'SHA-256 of the request the idempotency key was first used with.';
+COMMENT ON COLUMN async_operations.result_body IS 'JSON balance response of a successful operation.';
+COMMENT ON COLUMN async_operations.error_status IS 'HTTP status the synchronous endpoint would have returned for a failed operation.';
+COMMENT ON COLUMN async_operations.error_message IS 'Error message of a failed operation.';
+COMMENT ON COLUMN async_operations.created_at IS 'Timestamp when the operation was accepted.';
+COMMENT ON COLUMN async_operations.started_at IS 'Timestamp when a worker claimed the operation.';
+COMMENT ON COLUMN async_operations.completed_at IS 'Timestamp when the operation succeeded or failed.';
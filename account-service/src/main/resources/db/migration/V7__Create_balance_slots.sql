@@ -0,0 +1,39 @@
+-- V7: Splits the balances of hot accounts into slot rows, so concurrent deposits update different rows.
+
+-- Accounts whose balances are split into slots
+CREATE TABLE hot_accounts (
+    account_id VARCHAR(36) PRIMARY KEY,
+    slots INTEGER NOT NULL,
+    source VARCHAR(20) NOT NULL, -- MANUAL, DETECTED
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_hot_accounts_account FOREIGN KEY (account_id)
+        REFERENCES accounts (account_id) ON DELETE CASCADE,
+    CONSTRAINT ck_hot_accounts_slots CHECK (slots > 1)
+);
+
+COMMENT ON TABLE hot_accounts IS 'Accounts whose deposits are spread over balance_slots rows.';
+COMMENT ON COLUMN hot_accounts.account_id IS 'Primary key, the flagged account.';
+COMMENT ON COLUMN hot_accounts.slots IS 'Number of slots deposits are spread over; can be changed at runtime.';
+COMMENT ON COLUMN hot_accounts.source IS 'How the account was flagged (MANUAL, DETECTED).';
+COMMENT ON COLUMN hot_accounts.updated_at IS 'Timestamp when the account was flagged or its slot count changed.';
+
+
+-- Slot rows holding part of a balance; the balance of a currency is balances.amount plus its slots
+CREATE TABLE balance_slots (
+    id BIGSERIAL PRIMARY KEY,
+    account_id VARCHAR(36) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    slot INTEGER NOT NULL,
+    amount NUMERIC(19, 4) NOT NULL DEFAULT 0.0000,
+    CONSTRAINT fk_balance_slots_account FOREIGN KEY (account_id)
+        REFERENCES accounts (account_id) ON DELETE CASCADE,
+    CONSTRAINT uq_balance_slots_account_currency_slot UNIQUE (account_id, currency, slot),
+    CONSTRAINT ck_balance_slots_amount CHECK (amount >= 0)
+);
+
+COMMENT ON TABLE balance_slots IS 'Parts of the balances of hot accounts; deposits go to a random slot.';
+COMMENT ON COLUMN balance_slots.id IS 'Primary key for the slot row.';
+COMMENT ON COLUMN balance_slots.account_id IS 'Foreign key referencing the account.';
+COMMENT ON COLUMN balance_slots.currency IS '3-letter currency code (ISO 4217).';
+COMMENT ON COLUMN balance_slots.slot IS 'Slot number, from 0 to the slot count of the account minus one.';
+COMMENT ON COLUMN balance_slots.amount IS 'Part of the balance held in this slot (precision 19, scale 4).';
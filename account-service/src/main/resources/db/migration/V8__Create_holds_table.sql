@@ -0,0 +1,37 @@
+-- V8: Adds funds reservations (holds) that are later captured or released.
+
+-- Held total per balance, kept in the balance row so availability checks never sum the holds
+ALTER TABLE balances ADD COLUMN held_amount NUMERIC(19, 4) NOT NULL DEFAULT 0.0000;
+ALTER TABLE balances ADD CONSTRAINT ck_balances_held_amount CHECK (held_amount >= 0 AND held_amount <= amount);
+
+COMMENT ON COLUMN balances.held_amount IS 'Sum of the active holds on the balance; available amount is amount - held_amount.';
+
+
+-- Holds Table
+CREATE TABLE holds (
+    hold_id VARCHAR(36) PRIMARY KEY,
+    account_id VARCHAR(36) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    amount NUMERIC(19, 4) NOT NULL,
+    captured_amount NUMERIC(19, 4),
+    status VARCHAR(20) NOT NULL, -- ACTIVE, CAPTURED, RELEASED, EXPIRED
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT fk_holds_account FOREIGN KEY (account_id)
+        REFERENCES accounts (account_id) ON DELETE RESTRICT
+);
+
+CREATE INDEX idx_holds_account_id ON holds (account_id); -- Index for finding holds by account
+CREATE INDEX idx_holds_active_expires_at ON holds (expires_at) WHERE status = 'ACTIVE'; -- Index for loading and recovering active holds
+
+COMMENT ON TABLE holds IS 'Funds reserved on a balance until they are captured, released or expire.';
+COMMENT ON COLUMN holds.hold_id IS 'Primary key, UUID returned to the client.';
+COMMENT ON COLUMN holds.account_id IS 'Foreign key referencing the account the funds are held on.';
+COMMENT ON COLUMN holds.currency IS 'Currency of the held balance.';
+COMMENT ON COLUMN holds.amount IS 'Amount reserved by the hold.';
+COMMENT ON COLUMN holds.captured_amount IS 'Amount debited when the hold was captured, at most the held amount.';
+COMMENT ON COLUMN holds.status IS 'ACTIVE until the hold is captured, released or expires.';
+COMMENT ON COLUMN holds.created_at IS 'Timestamp when the hold was placed.';
+COMMENT ON COLUMN holds.expires_at IS 'Timestamp after which an active hold is released automatically.';
+COMMENT ON COLUMN holds.completed_at IS 'Timestamp when the hold was captured, released or expired.';
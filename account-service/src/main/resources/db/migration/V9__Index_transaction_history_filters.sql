@@ -0,0 +1,7 @@
+-- V9: Indexes for the transaction history filtered by type or currency.
+
+-- An equality on type or currency followed by the history order, so a filtered page is read newest first
+-- from the index and stops after the page instead of filtering the account's whole history; a time range
+-- filter narrows the same scan. Filters on time alone keep using idx_transactions_account_timestamp.
+CREATE INDEX idx_transactions_account_type_timestamp ON transactions (account_id, type, timestamp, id);
+CREATE INDEX idx_transactions_account_currency_timestamp ON transactions (account_id, currency, timestamp, id);
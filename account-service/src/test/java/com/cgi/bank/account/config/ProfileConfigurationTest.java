@@ -0,0 +1,47 @@
+package com.cgi.bank.account.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Parses the application configuration files the way Spring Boot does when their profile is activated, so a
+ * broken file fails here rather than at startup in the environment that uses it.
+ */
+@DisplayName("Profile Configuration Tests")
+class ProfileConfigurationTest {
+
+    private final YamlPropertySourceLoader loader = new YamlPropertySourceLoader();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application.yml", "application-dev.yml", "application-prod.yml",
+            "application-reactive.yml", "application-virtual-threads.yml"})
+    @DisplayName("Configuration file is valid YAML")
+    void configurationFileParses(String file) throws IOException {
+        assertThat(load(file)).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Prod profile enables cache invalidation under app, next to the notification URL")
+    void prodProfileEnablesCacheInvalidation() throws IOException {
+        PropertySource<?> prod = load("application-prod.yml").get(0);
+
+        assertThat(String.valueOf(prod.getProperty("app.notification.url")))
+                .isEqualTo("${NOTIFICATION_URL:https://notification-service.example.com/notify}");
+        assertThat(String.valueOf(prod.getProperty("app.cache-invalidation.enabled")))
+                .isEqualTo("${CACHE_INVALIDATION_ENABLED:true}");
+        assertThat(prod.getProperty("app.notification.cache-invalidation.enabled")).isNull();
+    }
+
+    private List<PropertySource<?>> load(String file) throws IOException {
+        return loader.load(file, new ClassPathResource(file));
+    }
+}
@@ -0,0 +1,67 @@
+package com.cgi.bank.account.config;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.cgi.bank.account.exception.ServiceOverloadedException;
+
+/**
+ * Unit tests for the {@link RequestConcurrencyInterceptor}.
+ */
+@DisplayName("Request Concurrency Interceptor Tests")
+class RequestConcurrencyInterceptorTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private RequestConcurrencyInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        VirtualThreadProperties properties = new VirtualThreadProperties();
+        properties.setAcquireTimeout(Duration.ofMillis(50));
+        interceptor = new RequestConcurrencyInterceptor(2, properties);
+    }
+
+    @Test
+    @DisplayName("Rejects requests beyond the limit until a permit is released")
+    void rejectsRequestsBeyondLimit() {
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        MockHttpServletRequest second = new MockHttpServletRequest();
+
+        assertThat(interceptor.preHandle(first, response, null)).isTrue();
+        assertThat(interceptor.preHandle(second, response, null)).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), response, null))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .hasMessageContaining("limit 2");
+
+        interceptor.afterCompletion(first, response, null, null);
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), response, null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Releases the permit once per request")
+    void releasesPermitOnce() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThat(interceptor.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Does not release a permit for a request that was never admitted")
+    void ignoresRequestWithoutPermit() {
+        interceptor.afterCompletion(new MockHttpServletRequest(), response, null, null);
+
+        assertThat(interceptor.availablePermits()).isEqualTo(2);
+    }
+}
@@ -1,22 +1,36 @@
 package com.cgi.bank.account.controller;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,25 +42,47 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.AsyncOperationDTO;
 import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.controller.dto.BatchItemResultDTO;
+import com.cgi.bank.account.controller.dto.BatchMode;
+import com.cgi.bank.account.controller.dto.BatchResponseDTO;
+import com.cgi.bank.account.controller.dto.BulkCreateAccountsResponseDTO;
+import com.cgi.bank.account.controller.dto.CreatedAccountDTO;
 import com.cgi.bank.account.controller.dto.DepositRequestDTO;
 import com.cgi.bank.account.controller.dto.ExchangeRequestDTO;
+import com.cgi.bank.account.controller.dto.TransactionCursorPageDTO;
 import com.cgi.bank.account.controller.dto.TransactionResponseDTO;
+import com.cgi.bank.account.controller.dto.TransactionSliceDTO;
+import com.cgi.bank.account.controller.dto.TransferRequestDTO;
+import com.cgi.bank.account.controller.dto.TransferResponseDTO;
 import com.cgi.bank.account.controller.dto.WithdrawRequestDTO;
+import com.cgi.bank.account.domain.AsyncOperation;
 import com.cgi.bank.account.domain.Currency;
 import com.cgi.bank.account.domain.TransactionType;
 import com.cgi.bank.account.exception.AccountNotFoundException;
 import com.cgi.bank.account.exception.BalanceNotFoundException;
+import com.cgi.bank.account.exception.IdempotencyKeyReuseException;
 import com.cgi.bank.account.exception.InsufficientFundsException;
 import com.cgi.bank.account.exception.InvalidCurrencyException;
 import com.cgi.bank.account.exception.OptimisticLockingConflictException;
+import com.cgi.bank.account.exception.UnsupportedLedgerOperationException;
+import com.cgi.bank.account.repository.TransactionFilter;
 import com.cgi.bank.account.service.AccountService;
+import com.cgi.bank.account.service.BatchOperationService;
+import com.cgi.bank.account.service.BulkAccountService;
 import com.cgi.bank.account.service.TransactionService;
+import com.cgi.bank.account.service.async.AsyncOperationService;
+import com.cgi.bank.account.service.export.ExportFormat;
+import com.cgi.bank.account.service.export.TransactionExportService;
+import com.cgi.bank.account.service.idempotency.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
@@ -75,6 +111,31 @@ class AccountControllerTest {
         public TransactionService transactionService() {
             return mock(TransactionService.class);
         }
+
+        @Bean
+        public IdempotencyService idempotencyService() {
+            return mock(IdempotencyService.class);
+        }
+
+        @Bean
+        public BatchOperationService batchOperationService() {
+            return mock(BatchOperationService.class);
+        }
+
+        @Bean
+        public BulkAccountService bulkAccountService() {
+            return mock(BulkAccountService.class);
+        }
+
+        @Bean
+        public AsyncOperationService asyncOperationService() {
+            return mock(AsyncOperationService.class);
+        }
+
+        @Bean
+        public TransactionExportService transactionExportService() {
+            return mock(TransactionExportService.class);
+        }
     }
     
     @Autowired
@@ -83,12 +144,41 @@ class AccountControllerTest {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private BatchOperationService batchOperationService;
+
+    @Autowired
+    private BulkAccountService bulkAccountService;
+
+    @Autowired
+    private AsyncOperationService asyncOperationService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    private static final String CSV_EXPORT = "id,accountId,type,currency,amount,timestamp,transferId\r\n"
+            + "1,account123,DEPOSIT,EUR,100.0000,2024-05-01T10:30:15.250+0000,\r\n";
+    private static final String NDJSON_EXPORT = "{\"id\":1,\"accountId\":\"account123\",\"type\":\"DEPOSIT\"}\n";
+
     private final String testAccountId = "account123";
     
     @BeforeEach
     void setUp() {
         reset(accountService);
         reset(transactionService);
+        reset(idempotencyService);
+        reset(batchOperationService);
+        reset(bulkAccountService);
+        reset(asyncOperationService);
+        reset(transactionExportService);
+        // Without a stored response the idempotency service simply runs the operation
+        when(idempotencyService.execute(any(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        when(idempotencyService.execute(any(), anyString(), any(Class.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
     }
 
     @Test
@@ -111,6 +201,48 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.balances[1].amount", is(150.00)));
     }
 
+    @Test
+    void getAccountBalances_tagged_returnsETagAndCacheControl() throws Exception {
+        when(accountService.getBalancesVersionTag(testAccountId)).thenReturn(Optional.of("EUR-3.USD-0"));
+        when(accountService.getAccountBalances(testAccountId)).thenReturn(new AccountBalanceResponseDTO(
+                testAccountId, List.of(new BalanceDTO("EUR", new BigDecimal("100.00")))));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/balances", testAccountId)
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"EUR-3.USD-0\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.balances", hasSize(1)));
+    }
+
+    @Test
+    void getAccountBalances_ifNoneMatchCurrent_returns304WithoutReadingBalances() throws Exception {
+        when(accountService.getBalancesVersionTag(testAccountId)).thenReturn(Optional.of("EUR-3.USD-0"));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/balances", testAccountId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"EUR-2.USD-0\", \"EUR-3.USD-0\"")
+                .with(csrf()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"EUR-3.USD-0\""))
+                .andExpect(content().string(""));
+
+        verify(accountService, never()).getAccountBalances(anyString());
+    }
+
+    @Test
+    void getAccountBalances_ifNoneMatchStale_returnsBalances() throws Exception {
+        when(accountService.getBalancesVersionTag(testAccountId)).thenReturn(Optional.of("EUR-4.USD-0"));
+        when(accountService.getAccountBalances(testAccountId)).thenReturn(new AccountBalanceResponseDTO(
+                testAccountId, List.of(new BalanceDTO("EUR", new BigDecimal("90.00")))));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/balances", testAccountId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"EUR-3.USD-0\"")
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"EUR-4.USD-0\""))
+                .andExpect(jsonPath("$.balances[0].amount", is(90.00)));
+    }
+
     @Test
     void getAccountBalances_accountNotFound_returns404() throws Exception {
         doThrow(new AccountNotFoundException(testAccountId))
@@ -144,6 +276,45 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.balances[0].amount", is(150.00)));
     }
 
+    @Test
+    void deposit_withIdempotencyKey_passesKeyAndFingerprint() throws Exception {
+        DepositRequestDTO request = new DepositRequestDTO(new BigDecimal("50.00"), Currency.EUR);
+        AccountBalanceResponseDTO response = new AccountBalanceResponseDTO(testAccountId,
+                List.of(new BalanceDTO("EUR", new BigDecimal("50.00"))));
+
+        when(accountService.deposit(eq(testAccountId), any(BigDecimal.class), eq(Currency.EUR)))
+            .thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/deposits", testAccountId)
+                .with(csrf())
+                .header(AccountController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balances[0].amount", is(50.00)));
+
+        verify(idempotencyService).execute(eq("key-1"),
+                eq(IdempotencyService.fingerprint("deposit", testAccountId, new BigDecimal("50"), Currency.EUR)),
+                any());
+    }
+
+    @Test
+    void deposit_idempotencyKeyReused_returns422() throws Exception {
+        DepositRequestDTO request = new DepositRequestDTO(new BigDecimal("50.00"), Currency.EUR);
+
+        when(idempotencyService.execute(eq("key-1"), anyString(), any()))
+                .thenThrow(new IdempotencyKeyReuseException("key-1"));
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/deposits", testAccountId)
+                .with(csrf())
+                .header(AccountController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status", is(422)))
+                .andExpect(jsonPath("$.error", is("Idempotency key reused")));
+    }
+
     @Test
     void deposit_invalidCurrency_returns400() throws Exception {
         String invalidJson = "{\"amount\":50.00,\"currency\":\"INVALID\"}";
@@ -331,7 +502,7 @@ class AccountControllerTest {
                 pageRequest, 
                 2);
         
-        when(transactionService.getTransactionHistory(eq(testAccountId), eq(0), eq(10)))
+        when(transactionService.getTransactionHistory(eq(testAccountId), eq(TransactionFilter.none()), eq(0), eq(10)))
             .thenReturn(txPage);
 
         mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
@@ -350,7 +521,8 @@ class AccountControllerTest {
 
     @Test
     void getTransactionHistory_accountNotFound_returns404() throws Exception {
-        when(transactionService.getTransactionHistory(eq(testAccountId), anyInt(), anyInt()))
+        when(transactionService.getTransactionHistory(eq(testAccountId), any(TransactionFilter.class), anyInt(),
+                anyInt()))
             .thenThrow(new AccountNotFoundException(testAccountId));
 
         mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
@@ -359,4 +531,498 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.status", is(404)))
                 .andExpect(jsonPath("$.error", is("Account not found")));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getTransactionHistory_countFalse_returnsCompactSlice() throws Exception {
+        TransactionResponseDTO tx = TransactionResponseDTO.builder()
+                .id(3L)
+                .accountId(testAccountId)
+                .type(TransactionType.DEPOSIT)
+                .currency("EUR")
+                .amount(new BigDecimal("10.00"))
+                .timestamp(Instant.now())
+                .build();
+        when(transactionService.getTransactionHistorySlice(testAccountId, TransactionFilter.none(), 1, 10))
+            .thenReturn(new TransactionSliceDTO(List.of(tx), 1, 10, true));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("count", "false")
+                .param("page", "1")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.page", is(1)))
+                .andExpect(jsonPath("$.size", is(10)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+
+        verify(transactionService, never()).getTransactionHistory(anyString(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getTransactionHistoryAfter_withCursor_returnsPageAndNextCursor() throws Exception {
+        TransactionResponseDTO tx = TransactionResponseDTO.builder()
+                .id(7L)
+                .accountId(testAccountId)
+                .type(TransactionType.DEPOSIT)
+                .currency("EUR")
+                .amount(new BigDecimal("10.00"))
+                .timestamp(Instant.now())
+                .build();
+        when(transactionService.getTransactionHistoryAfter(testAccountId, TransactionFilter.none(), "cursor-1", 1))
+            .thenReturn(new TransactionCursorPageDTO(List.of(tx), "cursor-2"));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("after", "cursor-1")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(7)))
+                .andExpect(jsonPath("$.nextCursor", is("cursor-2")))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(transactionService, never()).getTransactionHistory(anyString(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getTransactionHistoryAfter_emptyCursor_startsAtNewest() throws Exception {
+        when(transactionService.getTransactionHistoryAfter(testAccountId, TransactionFilter.none(), "", 20))
+            .thenReturn(new TransactionCursorPageDTO(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getTransactionHistoryAfter_invalidCursor_returns400() throws Exception {
+        when(transactionService.getTransactionHistoryAfter(eq(testAccountId), any(TransactionFilter.class), eq("bogus"),
+                anyInt()))
+            .thenThrow(new IllegalArgumentException("Invalid transaction cursor: bogus"));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("after", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+    }
+
+    @Test
+    void getTransactionHistory_withFilters_passesFilter() throws Exception {
+        TransactionFilter filter = new TransactionFilter(Instant.parse("2024-05-01T00:00:00Z"),
+                Instant.parse("2024-06-01T00:00:00Z"), Set.of(TransactionType.DEPOSIT, TransactionType.TRANSFER_IN),
+                Set.of(Currency.EUR));
+        when(transactionService.getTransactionHistory(testAccountId, filter, 0, 20))
+            .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("from", "2024-05-01T02:00:00+02:00")
+                .param("to", "2024-06-01T00:00:00Z")
+                .param("type", "DEPOSIT", "TRANSFER_IN")
+                .param("currency", "eur"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void getTransactionHistoryAfter_withFilters_passesFilter() throws Exception {
+        TransactionFilter filter = new TransactionFilter(null, null, Set.of(TransactionType.WITHDRAWAL), null);
+        when(transactionService.getTransactionHistoryAfter(testAccountId, filter, "", 20))
+            .thenReturn(new TransactionCursorPageDTO(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("after", "")
+                .param("type", "WITHDRAWAL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void getTransactionHistory_unknownType_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("type", "REFUND"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Invalid argument")));
+
+        verify(transactionService, never()).getTransactionHistory(anyString(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getTransactionHistory_pageBeyondAddressableOffset_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("page", "200000000")
+                .param("size", "20"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("count", "false")
+                .param("page", "200000000")
+                .param("size", "20"))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionService, never()).getTransactionHistory(anyString(), any(), anyInt(), anyInt());
+        verify(transactionService, never()).getTransactionHistorySlice(anyString(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getTransactionHistory_unsupportedCurrency_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("currency", "GBP"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Invalid currency")));
+    }
+
+    @Test
+    void getTransactionHistory_fromNotBeforeTo_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions", testAccountId)
+                .with(csrf())
+                .param("from", "2024-06-01T00:00:00Z")
+                .param("to", "2024-05-01T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+    }
+
+    @Test
+    void exportTransactions_csv_streamsAttachment() throws Exception {
+        when(transactionExportService.prepare(testAccountId, ExportFormat.CSV)).thenReturn(output -> {
+            output.write(CSV_EXPORT.getBytes(StandardCharsets.UTF_8));
+            return 1;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions/export", testAccountId)
+                .with(csrf())
+                .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions-account123.csv\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string(CSV_EXPORT));
+    }
+
+    @Test
+    void exportTransactions_acceptsGzip_compressesBody() throws Exception {
+        when(transactionExportService.prepare(testAccountId, ExportFormat.NDJSON)).thenReturn(output -> {
+            output.write(NDJSON_EXPORT.getBytes(StandardCharsets.UTF_8));
+            return 1;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions/export", testAccountId)
+                .with(csrf())
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream decompressed = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(decompressed.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(NDJSON_EXPORT);
+        }
+    }
+
+    @Test
+    void exportTransactions_gzipWithZeroQuality_isNotCompressed() throws Exception {
+        when(transactionExportService.prepare(testAccountId, ExportFormat.NDJSON)).thenReturn(output -> {
+            output.write(NDJSON_EXPORT.getBytes(StandardCharsets.UTF_8));
+            return 1;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions/export", testAccountId)
+                .with(csrf())
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(content().string(NDJSON_EXPORT));
+    }
+
+    @Test
+    void exportTransactions_unknownAccount_returns404() throws Exception {
+        when(transactionExportService.prepare(testAccountId, ExportFormat.NDJSON))
+            .thenThrow(new AccountNotFoundException(testAccountId));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions/export", testAccountId)
+                .with(csrf()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is(404)));
+    }
+
+    @Test
+    void exportTransactions_unsupportedFormat_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{accountId}/transactions/export", testAccountId)
+                .with(csrf())
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+
+        verify(transactionExportService, never()).prepare(any(), any());
+    }
+
+    @Test
+    void createAccounts_returnsCreatedAccounts() throws Exception {
+        BulkCreateAccountsResponseDTO response = new BulkCreateAccountsResponseDTO(1,
+                List.of(new BalanceDTO("EUR", new BigDecimal("100.00"))),
+                List.of(new CreatedAccountDTO("customer-1", testAccountId)));
+        when(bulkAccountService.createAccounts(any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/accounts/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"references\":[\"customer-1\"],"
+                        + "\"openingBalances\":[{\"currency\":\"EUR\",\"amount\":100.00}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.accounts[0].reference", is("customer-1")))
+                .andExpect(jsonPath("$.accounts[0].accountId", is(testAccountId)));
+    }
+
+    @Test
+    void createAccounts_negativeOpeningBalance_returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/accounts/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"count\":5,\"openingBalances\":[{\"currency\":\"EUR\",\"amount\":-1}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void transfer_success_returnsTransferAndSourceBalances() throws Exception {
+        TransferRequestDTO request = new TransferRequestDTO("account456", new BigDecimal("40.00"), Currency.EUR,
+                null);
+        TransferResponseDTO response = new TransferResponseDTO("transfer-1", testAccountId, "account456",
+                new BigDecimal("40.00"), "EUR", new BigDecimal("40.00"), "EUR",
+                List.of(new BalanceDTO("EUR", new BigDecimal("60.00"))));
+
+        when(accountService.transfer(eq(testAccountId), eq("account456"), any(BigDecimal.class), eq(Currency.EUR),
+                eq(Currency.EUR))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/transfers", testAccountId)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transferId", is("transfer-1")))
+                .andExpect(jsonPath("$.toAccountId", is("account456")))
+                .andExpect(jsonPath("$.balances[0].amount", is(60.00)));
+    }
+
+    @Test
+    void transfer_withIdempotencyKey_passesKeyAndFingerprint() throws Exception {
+        TransferRequestDTO request = new TransferRequestDTO("account456", new BigDecimal("40.00"), Currency.EUR,
+                Currency.USD);
+        TransferResponseDTO response = new TransferResponseDTO("transfer-1", testAccountId, "account456",
+                new BigDecimal("40.00"), "EUR", new BigDecimal("43.20"), "USD",
+                List.of(new BalanceDTO("EUR", new BigDecimal("60.00"))));
+
+        when(accountService.transfer(eq(testAccountId), eq("account456"), any(BigDecimal.class), eq(Currency.EUR),
+                eq(Currency.USD))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/transfers", testAccountId)
+                .with(csrf())
+                .header(AccountController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transferId", is("transfer-1")));
+
+        verify(idempotencyService).execute(eq("key-1"),
+                eq(IdempotencyService.fingerprint("transfer", testAccountId, "account456", new BigDecimal("40"),
+                        Currency.EUR, Currency.USD)),
+                eq(TransferResponseDTO.class), any());
+    }
+
+    @Test
+    void transfer_replayedIdempotencyKey_returnsStoredTransferWithoutTransferringAgain() throws Exception {
+        TransferRequestDTO request = new TransferRequestDTO("account456", new BigDecimal("40.00"), Currency.EUR,
+                null);
+        TransferResponseDTO stored = new TransferResponseDTO("transfer-1", testAccountId, "account456",
+                new BigDecimal("40.00"), "EUR", new BigDecimal("40.00"), "EUR",
+                List.of(new BalanceDTO("EUR", new BigDecimal("60.00"))));
+
+        when(idempotencyService.execute(eq("key-1"), anyString(), eq(TransferResponseDTO.class), any()))
+                .thenReturn(stored);
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/transfers", testAccountId)
+                .with(csrf())
+                .header(AccountController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transferId", is("transfer-1")));
+
+        verify(accountService, never()).transfer(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void transfer_idempotencyKeyReused_returns422() throws Exception {
+        TransferRequestDTO request = new TransferRequestDTO("account456", new BigDecimal("40.00"), Currency.EUR,
+                null);
+
+        when(idempotencyService.execute(eq("key-1"), anyString(), eq(TransferResponseDTO.class), any()))
+                .thenThrow(new IdempotencyKeyReuseException("key-1"));
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/transfers", testAccountId)
+                .with(csrf())
+                .header(AccountController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error", is("Idempotency key reused")));
+    }
+
+    @Test
+    void transfer_unsupportedByEngine_returns501() throws Exception {
+        TransferRequestDTO request = new TransferRequestDTO("account456", new BigDecimal("40.00"), Currency.EUR,
+                null);
+
+        when(accountService.transfer(any(), any(), any(), any(), any()))
+                .thenThrow(new UnsupportedLedgerOperationException(
+                        "Transfers are not supported by the in-memory ledger engine"));
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/transfers", testAccountId)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotImplemented())
+                .andExpect(jsonPath("$.status", is(501)))
+                .andExpect(jsonPath("$.error", is("Not implemented")));
+    }
+
+    @Test
+    void transfer_missingDestination_returns400() throws Exception {
+        TransferRequestDTO request = new TransferRequestDTO(null, new BigDecimal("40.00"), Currency.EUR, null);
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/transfers", testAccountId)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void executeBatch_returnsPerItemResults() throws Exception {
+        BatchResponseDTO response = new BatchResponseDTO(BatchMode.BEST_EFFORT, true, 1, 1, 0, null,
+                List.of(new BatchItemResultDTO(0, testAccountId, BatchItemResultDTO.Status.SUCCEEDED, null,
+                        List.of(new BalanceDTO("EUR", new BigDecimal("150.00"))))));
+        when(batchOperationService.execute(eq(BatchMode.BEST_EFFORT), any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/accounts/batch")
+                .with(csrf())
+                .param("mode", "BEST_EFFORT")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"type\":\"DEPOSIT\",\"accountId\":\"" + testAccountId + "\","
+                        + "\"amount\":50,\"currency\":\"EUR\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed", is(true)))
+                .andExpect(jsonPath("$.results[0].status", is("SUCCEEDED")))
+                .andExpect(jsonPath("$.results[0].balances[0].amount", is(150.00)));
+    }
+
+    @Test
+    void executeBatch_bodyNotAnArray_returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/accounts/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"DEPOSIT\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Malformed request body")));
+    }
+
+    @Test
+    void deposit_preferRespondAsync_returns202WithOperation() throws Exception {
+        DepositRequestDTO request = new DepositRequestDTO(new BigDecimal("50.00"), Currency.EUR);
+        AsyncOperationDTO operation = new AsyncOperationDTO("op-1", "DEPOSIT", testAccountId, "PENDING",
+                Instant.now(), null, null, null, null);
+        when(asyncOperationService.submit(eq(AsyncOperation.Type.DEPOSIT), eq(testAccountId), eq(Currency.EUR),
+                eq(null), any(BigDecimal.class), eq("key-1"))).thenReturn(operation);
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/deposits", testAccountId)
+                .with(csrf())
+                .header("Prefer", "respond-async")
+                .header(AccountController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/operations/op-1"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.operationId", is("op-1")))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+
+        verify(accountService, never()).deposit(any(), any(), any());
+    }
+
+    @Test
+    void withdraw_preferRespondAsyncAmongOtherPreferences_returns202() throws Exception {
+        WithdrawRequestDTO request = new WithdrawRequestDTO(new BigDecimal("20.00"), Currency.EUR);
+        AsyncOperationDTO operation = new AsyncOperationDTO("op-2", "WITHDRAWAL", testAccountId, "PENDING",
+                Instant.now(), null, null, null, null);
+        when(asyncOperationService.submit(eq(AsyncOperation.Type.WITHDRAWAL), eq(testAccountId), eq(Currency.EUR),
+                eq(null), any(BigDecimal.class), eq(null))).thenReturn(operation);
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/withdrawals", testAccountId)
+                .with(csrf())
+                .header(AccountController.PREFER_HEADER, "handling=lenient, Respond-Async; x=1, wait=10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.operationId", is("op-2")));
+
+        verify(accountService, never()).withdraw(any(), any(), any());
+    }
+
+    @Test
+    void deposit_preferWithoutRespondAsync_executesSynchronously() throws Exception {
+        DepositRequestDTO request = new DepositRequestDTO(new BigDecimal("50.00"), Currency.EUR);
+        AccountBalanceResponseDTO response = new AccountBalanceResponseDTO(testAccountId,
+                List.of(new BalanceDTO("EUR", new BigDecimal("150.00"))));
+        when(accountService.deposit(eq(testAccountId), any(BigDecimal.class), eq(Currency.EUR)))
+            .thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/deposits", testAccountId)
+                .with(csrf())
+                .header(AccountController.PREFER_HEADER, "return=minimal, wait=10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Preference-Applied"))
+                .andExpect(jsonPath("$.balances[0].amount", is(150.00)));
+
+        verify(asyncOperationService, never()).submit(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void exchange_preferRespondAsync_sameCurrency_returns400() throws Exception {
+        ExchangeRequestDTO request = new ExchangeRequestDTO(Currency.EUR, Currency.EUR, new BigDecimal("10.00"));
+
+        mockMvc.perform(post("/api/v1/accounts/{accountId}/exchanges", testAccountId)
+                .with(csrf())
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(asyncOperationService, never()).submit(any(), any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,77 @@
+package com.cgi.bank.account.controller;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.cgi.bank.account.controller.dto.BatchOperationDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.exception.MalformedBatchException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for the {@link BatchOperationReader}.
+ */
+@DisplayName("Batch Operation Reader Tests")
+class BatchOperationReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Reads operations one at a time until the closing bracket")
+    void readsOperations() throws IOException {
+        BatchOperationReader reader = reader("["
+                + "{\"type\":\"DEPOSIT\",\"accountId\":\"acc1\",\"amount\":10.50,\"currency\":\"EUR\"},"
+                + "{\"type\":\"EXCHANGE\",\"accountId\":\"acc2\",\"amount\":5,"
+                + "\"fromCurrency\":\"EUR\",\"toCurrency\":\"USD\"}"
+                + "]");
+
+        assertThat(reader.hasNext()).isTrue();
+        BatchOperationDTO deposit = reader.next();
+        assertThat(deposit.getType()).isEqualTo(BatchOperationDTO.Type.DEPOSIT);
+        assertThat(deposit.getAmount()).isEqualByComparingTo(new BigDecimal("10.50"));
+        assertThat(deposit.getCurrency()).isEqualTo(Currency.EUR);
+        BatchOperationDTO exchange = reader.next();
+        assertThat(exchange.getToCurrency()).isEqualTo(Currency.USD);
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Rejects an element that is not a valid operation and continues with the next one")
+    void skipsInvalidElement() throws IOException {
+        BatchOperationReader reader = reader("["
+                + "{\"type\":\"DEPOSIT\",\"accountId\":\"acc1\",\"amount\":10,\"currency\":\"XYZ\"},"
+                + "{\"type\":\"DEPOSIT\",\"accountId\":\"acc2\",\"amount\":10,\"currency\":\"EUR\"}"
+                + "]");
+
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class);
+        assertThat(reader.next().getAccountId()).isEqualTo("acc2");
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Fails the rest of the batch on a syntax error")
+    void failsOnSyntaxError() throws IOException {
+        BatchOperationReader reader = reader("[{\"type\":\"DEPOSIT\",\"accountId\":\"acc1\",\"amount\":10,"
+                + "\"currency\":\"EUR\"}, {\"type\": ");
+
+        assertThat(reader.next().getAccountId()).isEqualTo("acc1");
+        assertThatThrownBy(reader::hasNext).isInstanceOf(MalformedBatchException.class)
+                .hasMessageContaining("after 1 operation(s)");
+    }
+
+    @Test
+    @DisplayName("Rejects a body that is not a JSON array")
+    void rejectsNonArrayBody() {
+        assertThatThrownBy(() -> reader("{\"type\":\"DEPOSIT\"}"))
+                .isInstanceOf(MalformedBatchException.class);
+    }
+
+    private BatchOperationReader reader(String json) throws IOException {
+        return new BatchOperationReader(objectMapper.createParser(json), objectMapper);
+    }
+}
@@ -0,0 +1,138 @@
+package com.cgi.bank.account.controller;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.controller.dto.DepositRequestDTO;
+import com.cgi.bank.account.controller.dto.WithdrawRequestDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.exception.OptimisticLockingConflictException;
+import com.cgi.bank.account.service.ReactiveAccountService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for the {@link ReactiveAccountController} and {@link ReactiveExceptionHandler}.
+ * Checks that the WebFlux endpoints answer with the same statuses and bodies as the servlet controller.
+ */
+@DisplayName("Reactive Account Controller Tests")
+class ReactiveAccountControllerTest {
+
+    private static final String ACCOUNT_ID = "account123";
+
+    private ReactiveAccountService accountService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        accountService = mock(ReactiveAccountService.class);
+        client = WebTestClient.bindToController(new ReactiveAccountController(accountService))
+                .controllerAdvice(new ReactiveExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Creating an account returns 201 with the account location")
+    void createAccount_returns201() {
+        when(accountService.createAccount())
+                .thenReturn(Mono.just(new AccountBalanceResponseDTO(ACCOUNT_ID, List.of())));
+
+        client.post().uri("/api/v1/accounts")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueMatches("Location", ".*/api/v1/accounts/" + ACCOUNT_ID)
+                .expectBody()
+                .jsonPath("$.accountId").isEqualTo(ACCOUNT_ID);
+    }
+
+    @Test
+    @DisplayName("Reading the balances of an unknown account returns 404")
+    void getAccountBalances_accountNotFound_returns404() {
+        when(accountService.getAccountBalances(ACCOUNT_ID))
+                .thenReturn(Mono.error(new AccountNotFoundException(ACCOUNT_ID)));
+
+        client.get().uri("/api/v1/accounts/{accountId}/balances", ACCOUNT_ID)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Account not found")
+                .jsonPath("$.path").isEqualTo("/api/v1/accounts/" + ACCOUNT_ID + "/balances");
+    }
+
+    @Test
+    @DisplayName("A deposit returns the updated balances")
+    void deposit_success_returnsUpdatedBalances() {
+        when(accountService.deposit(eq(ACCOUNT_ID), any(BigDecimal.class), eq(Currency.EUR)))
+                .thenReturn(Mono.just(new AccountBalanceResponseDTO(ACCOUNT_ID,
+                        List.of(new BalanceDTO("EUR", new BigDecimal("150.00"))))));
+
+        client.post().uri("/api/v1/accounts/{accountId}/deposits", ACCOUNT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DepositRequestDTO(new BigDecimal("50.00"), Currency.EUR))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.balances[0].currency").isEqualTo("EUR")
+                .jsonPath("$.balances[0].amount").isEqualTo(150.00);
+    }
+
+    @Test
+    @DisplayName("A deposit with a negative amount is rejected before reaching the service")
+    void deposit_negativeAmount_returns400() {
+        client.post().uri("/api/v1/accounts/{accountId}/deposits", ACCOUNT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DepositRequestDTO(new BigDecimal("-1.00"), Currency.EUR))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation error");
+
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    @DisplayName("A withdrawal exceeding the balance returns 422")
+    void withdraw_insufficientFunds_returns422() {
+        when(accountService.withdraw(eq(ACCOUNT_ID), any(BigDecimal.class), eq(Currency.EUR)))
+                .thenReturn(Mono.error(new InsufficientFundsException(
+                        ACCOUNT_ID, Currency.EUR, new BigDecimal("200.00"), new BigDecimal("100.00"))));
+
+        client.post().uri("/api/v1/accounts/{accountId}/withdrawals", ACCOUNT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new WithdrawRequestDTO(new BigDecimal("200.00"), Currency.EUR))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Insufficient funds");
+    }
+
+    @Test
+    @DisplayName("A conflict that outlasted the retries returns 409")
+    void withdraw_conflict_returns409() {
+        when(accountService.withdraw(eq(ACCOUNT_ID), any(BigDecimal.class), eq(Currency.EUR)))
+                .thenReturn(Mono.error(new OptimisticLockingConflictException("Please try again.")));
+
+        client.post().uri("/api/v1/accounts/{accountId}/withdrawals", ACCOUNT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new WithdrawRequestDTO(new BigDecimal("10.00"), Currency.EUR))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Concurrent modification conflict");
+    }
+}
@@ -110,4 +110,61 @@ class BalanceTest {
                 .hasMessageContaining("Insufficient funds")
                 .hasMessageContaining(balanceForInsufficientFunds.getCurrency().name());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void hold_shouldReduceAvailableAmountButNotAmount() {
+        balance.hold(BigDecimal.valueOf(30.0));
+
+        assertThat(balance.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(100.0));
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo(BigDecimal.valueOf(30.0));
+        assertThat(balance.getAvailableAmount()).isEqualByComparingTo(BigDecimal.valueOf(70.0));
+    }
+
+    @Test
+    void subtractAmount_shouldThrowException_whenAmountIsHeld() {
+        balanceForInsufficientFunds.hold(BigDecimal.valueOf(80.0));
+
+        assertThatThrownBy(() -> balanceForInsufficientFunds.subtractAmount(BigDecimal.valueOf(30.0)))
+                .isInstanceOf(InsufficientFundsException.class);
+        assertThat(balanceForInsufficientFunds.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(100.0));
+    }
+
+    @Test
+    void hold_shouldThrowException_whenAmountExceedsAvailable() {
+        balanceForInsufficientFunds.hold(BigDecimal.valueOf(60.0));
+
+        assertThatThrownBy(() -> balanceForInsufficientFunds.hold(BigDecimal.valueOf(50.0)))
+                .isInstanceOf(InsufficientFundsException.class);
+        assertThat(balanceForInsufficientFunds.getHeldAmount()).isEqualByComparingTo(BigDecimal.valueOf(60.0));
+    }
+
+    @Test
+    void capture_shouldDebitCapturedAmountAndReleaseRest() {
+        balance.hold(BigDecimal.valueOf(30.0));
+
+        balance.capture(BigDecimal.valueOf(30.0), BigDecimal.valueOf(20.0));
+
+        assertThat(balance.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(80.0));
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(balance.getAvailableAmount()).isEqualByComparingTo(BigDecimal.valueOf(80.0));
+    }
+
+    @Test
+    void capture_shouldThrowException_whenCapturedAmountExceedsHeld() {
+        balance.hold(BigDecimal.valueOf(30.0));
+
+        assertThatThrownBy(() -> balance.capture(BigDecimal.valueOf(30.0), BigDecimal.valueOf(31.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo(BigDecimal.valueOf(30.0));
+    }
+
+    @Test
+    void release_shouldMakeHeldAmountAvailable() {
+        balance.hold(BigDecimal.valueOf(30.0));
+
+        balance.release(BigDecimal.valueOf(30.0));
+
+        assertThat(balance.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(100.0));
+        assertThat(balance.getAvailableAmount()).isEqualByComparingTo(BigDecimal.valueOf(100.0));
+    }
+}
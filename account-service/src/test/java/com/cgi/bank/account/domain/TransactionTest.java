@@ -55,6 +55,19 @@ class TransactionTest {
         assertThat(exchangeTo.getType()).isEqualTo(TransactionType.EXCHANGE_TO);
     }
     
+    @Test
+    void transferFactoryMethods_shouldLinkBothSides() {
+        BigDecimal amount = BigDecimal.valueOf(50.0);
+        
+        Transaction transferOut = Transaction.createTransferOut(account, Currency.EUR, amount, "transfer-1");
+        Transaction transferIn = Transaction.createTransferIn(account, Currency.USD, amount, "transfer-1");
+        
+        assertThat(transferOut.getType()).isEqualTo(TransactionType.TRANSFER_OUT);
+        assertThat(transferIn.getType()).isEqualTo(TransactionType.TRANSFER_IN);
+        assertThat(transferOut.getTransferId()).isEqualTo("transfer-1").isEqualTo(transferIn.getTransferId());
+        assertThat(Transaction.createDeposit(account, Currency.EUR, amount).getTransferId()).isNull();
+    }
+    
     @Test
     void setters_shouldModifyFieldsCorrectly() {
         Transaction transaction = new Transaction();
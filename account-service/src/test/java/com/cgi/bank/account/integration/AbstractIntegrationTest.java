@@ -1,5 +1,7 @@
 package com.cgi.bank.account.integration;
 
+import java.time.Instant;
+
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -8,6 +10,8 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import jakarta.persistence.EntityManager;
+
 /**
  * Base class for integration tests that require a PostgreSQL database.
  * Uses static Testcontainers setup for improved performance across test executions.
@@ -16,6 +20,11 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 @ActiveProfiles("test")
 @Testcontainers(parallel = true)
 public abstract class AbstractIntegrationTest {
+
+    /**
+     * Timestamp just after the newest transaction inserted by {@link #insertTransactionHistory}.
+     */
+    protected static final Instant HISTORY_END = Instant.parse("2024-01-01T00:00:00Z");
     
     /**
      * Static PostgreSQL container shared across all test classes that extend this class.
@@ -61,4 +70,28 @@ public abstract class AbstractIntegrationTest {
         registry.add("spring.datasource.hikari.minimum-idle", () -> 1);
         registry.add("spring.datasource.hikari.transaction-isolation", () -> "TRANSACTION_READ_COMMITTED");
     }
-} 
\ No newline at end of file
+
+    /**
+     * Inserts a large transaction history for an account in one statement and refreshes the planner
+     * statistics, for tests that depend on how PostgreSQL executes queries on many rows.
+     * Transaction {@code g} (1 to {@code size}) is {@code g} seconds older than {@link #HISTORY_END} and has
+     * amount {@code g}. Every hundredth transaction is a CAPTURE and every hundredth, offset by fifty, is in
+     * RUB; the others alternate between WITHDRAWAL and DEPOSIT in EUR. Must run inside a transaction.
+     *
+     * @param entityManager the entity manager of the test transaction
+     * @param accountId the account the transactions belong to
+     * @param size the number of transactions
+     */
+    protected static void insertTransactionHistory(EntityManager entityManager, String accountId, int size) {
+        entityManager.createNativeQuery(
+                "INSERT INTO transactions (account_id, type, currency, amount, timestamp) "
+                        + "SELECT ?1, CASE WHEN g % 100 = 0 THEN 'CAPTURE' WHEN g % 2 = 0 THEN 'DEPOSIT' "
+                        + "ELSE 'WITHDRAWAL' END, CASE WHEN g % 100 = 50 THEN 'RUB' ELSE 'EUR' END, g, "
+                        + "TIMESTAMPTZ '" + HISTORY_END + "' - make_interval(secs => g) "
+                        + "FROM generate_series(1, ?2) g")
+                .setParameter(1, accountId)
+                .setParameter(2, size)
+                .executeUpdate();
+        entityManager.createNativeQuery("ANALYZE transactions").executeUpdate();
+    }
+}
@@ -0,0 +1,126 @@
+package com.cgi.bank.account.ledger;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+
+/**
+ * Unit tests for the {@link LedgerJournal}.
+ */
+@DisplayName("Ledger Journal Tests")
+class LedgerJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private LedgerProperties.Journal properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LedgerProperties.Journal();
+        properties.setDirectory(directory);
+        properties.setSegmentSize(DataSize.ofKilobytes(4));
+        properties.setFsync(LedgerProperties.FsyncPolicy.ALWAYS);
+    }
+
+    @Test
+    @DisplayName("Assigns consecutive sequences and replays records after a restart")
+    void replaysRecordsAfterRestart() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(properties)) {
+            List<LedgerEntry> sequenced = journal.append(List.of(entry("10.00"), entry("20.5000")));
+            assertThat(sequenced).extracting(LedgerEntry::sequence).containsExactly(1L, 2L);
+            journal.append(List.of(entry("30.00")));
+        }
+
+        try (LedgerJournal reopened = new LedgerJournal(properties)) {
+            List<LedgerEntry> replayed = new ArrayList<>();
+            int count = reopened.replay(1, replayed::add);
+
+            assertThat(count).isEqualTo(2);
+            assertThat(replayed).extracting(LedgerEntry::sequence).containsExactly(2L, 3L);
+            assertThat(replayed.get(0).amount()).isEqualTo(new BigDecimal("20.5000"));
+            assertThat(replayed.get(0).accountId()).isEqualTo("account123");
+            assertThat(reopened.lastSequence()).isEqualTo(3);
+            assertThat(reopened.append(List.of(entry("1.00"))).get(0).sequence()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    @DisplayName("Treats a record with a bad checksum as the end of the journal")
+    void stopsAtDamagedRecord() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(properties)) {
+            journal.append(List.of(entry("10.00"), entry("20.00")));
+        }
+        Path segment = segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // Flip the last payload byte of the second record
+            long secondRecordEnd = 2 * recordLength();
+            file.seek(secondRecordEnd - 1);
+            int original = file.read();
+            file.seek(secondRecordEnd - 1);
+            file.write(original ^ 0xFF);
+        }
+
+        try (LedgerJournal reopened = new LedgerJournal(properties)) {
+            List<LedgerEntry> replayed = new ArrayList<>();
+            reopened.replay(0, replayed::add);
+
+            assertThat(replayed).extracting(LedgerEntry::sequence).containsExactly(1L);
+            assertThat(reopened.lastSequence()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Rolls segments and releases the ones that are fully persisted")
+    void rollsAndReleasesSegments() throws IOException {
+        properties.setSegmentSize(DataSize.ofBytes(256));
+        try (LedgerJournal journal = new LedgerJournal(properties)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(List.of(entry("1.00")));
+            }
+            int rolled = segments().size();
+            assertThat(rolled).isGreaterThan(1);
+
+            journal.release(journal.lastSequence());
+
+            assertThat(segments()).hasSize(1);
+            List<LedgerEntry> replayed = new ArrayList<>();
+            journal.replay(0, replayed::add);
+            assertThat(replayed).isNotEmpty().allSatisfy(entry -> assertThat(entry.sequence()).isGreaterThan(1));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static long recordLength() {
+        // header (length + crc) + sequence + seconds + nanos + type + currency + id length + id
+        // + two decimals of scale, length and two unscaled bytes
+        return 8 + 8 + 8 + 4 + 1 + 1 + 1 + "account123".length() + 2 * (4 + 1 + 2);
+    }
+
+    private static LedgerEntry entry(String amount) {
+        return new LedgerEntry("account123", TransactionType.DEPOSIT, Currency.EUR, new BigDecimal(amount),
+                new BigDecimal(amount), Instant.parse("2024-01-01T00:00:00Z"), 0L);
+    }
+}
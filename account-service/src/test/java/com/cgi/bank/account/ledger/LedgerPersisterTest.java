@@ -0,0 +1,154 @@
+package com.cgi.bank.account.ledger;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the {@link LedgerPersister}.
+ */
+@DisplayName("Ledger Persister Tests")
+class LedgerPersisterTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    private JdbcTemplate jdbcTemplate;
+    private Set<String> poisonedAccounts;
+    private AtomicInteger writes;
+    private AtomicLong persistedSequence;
+    private Counter quarantined;
+    private LedgerPersister persister;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        poisonedAccounts = new CopyOnWriteArraySet<>();
+        writes = new AtomicInteger();
+        doAnswer(invocation -> {
+            Collection<LedgerEntry> entries = invocation.getArgument(1);
+            if (entries.stream().anyMatch(entry -> poisonedAccounts.contains(entry.accountId()))) {
+                throw new DataIntegrityViolationException("account does not exist");
+            }
+            writes.incrementAndGet();
+            int[] rows = new int[entries.size()];
+            Arrays.fill(rows, 1);
+            return new int[][] {rows};
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        LedgerProperties.InMemory properties = new LedgerProperties.InMemory();
+        properties.setFlushBatchSize(10);
+        properties.setFlushInterval(Duration.ofMillis(10));
+        properties.setFlushAttempts(2);
+        properties.setFlushRetryDelay(Duration.ofMillis(1));
+        persistedSequence = new AtomicLong();
+        quarantined = new SimpleMeterRegistry().counter("ledger.engine.persist.quarantined");
+        persister = new LedgerPersister(jdbcTemplate, new TransactionTemplate(transactionManager), properties,
+                persistedSequence::set, quarantined);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        persister.stop();
+    }
+
+    @Test
+    @DisplayName("Quarantines an entry that cannot be written and persists the rest of its batch")
+    void quarantinesPoisonEntry() {
+        poisonedAccounts.add("deleted");
+        persister.append(List.of(entry("account1", 1), entry("deleted", 2), entry("account2", 3)));
+
+        persister.start();
+
+        awaitUntil(() -> persistedSequence.get() == 3);
+        assertThat(quarantined.count()).isEqualTo(1.0);
+        // Two single-entry transactions of two statements each, the batch attempts having failed
+        assertThat(writes).hasValue(4);
+        assertThat(persister.backlog()).isZero();
+    }
+
+    @Test
+    @DisplayName("Keeps retrying without quarantining while the database is unreachable")
+    void retriesWhileDatabaseUnreachable() {
+        AtomicInteger failures = new AtomicInteger(5);
+        doAnswer(invocation -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            int[] rows = {1};
+            return new int[][] {rows};
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        when(jdbcTemplate.queryForObject(eq("SELECT 1"), eq(Integer.class)))
+                .thenAnswer(invocation -> {
+                    if (failures.get() > 0) {
+                        throw new DataAccessResourceFailureException("connection refused");
+                    }
+                    return 1;
+                });
+        persister.append(List.of(entry("account1", 1)));
+
+        persister.start();
+
+        awaitUntil(() -> persistedSequence.get() == 1);
+        assertThat(quarantined.count()).isZero();
+    }
+
+    private static LedgerEntry entry(String accountId, long sequence) {
+        return new LedgerEntry(accountId, TransactionType.DEPOSIT, Currency.EUR, BigDecimal.TEN, BigDecimal.TEN,
+                Instant.now(), sequence);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
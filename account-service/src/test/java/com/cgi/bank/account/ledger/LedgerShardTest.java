@@ -0,0 +1,108 @@
+package com.cgi.bank.account.ledger;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.exception.BalanceNotFoundException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+
+/**
+ * Unit tests for the {@link LedgerShard}.
+ */
+@DisplayName("Ledger Shard Tests")
+class LedgerShardTest {
+
+    private static final String ACCOUNT_ID = "account123";
+
+    private List<LedgerEntry> entries;
+    private LedgerShard shard;
+
+    @BeforeEach
+    void setUp() {
+        entries = new ArrayList<>();
+        shard = new LedgerShard(0, 16, Duration.ofSeconds(1), entries::addAll);
+        shard.restoreBalance(ACCOUNT_ID, Currency.EUR, new BigDecimal("100.00"));
+    }
+
+    @Test
+    @DisplayName("Deposit credits the balance and emits one entry")
+    void depositCreditsBalance() {
+        Map<Currency, BigDecimal> balances = shard.apply(
+                LedgerCommand.deposit(ACCOUNT_ID, Currency.USD, new BigDecimal("25.00")));
+
+        assertThat(balances.get(Currency.EUR)).isEqualByComparingTo("100.00");
+        assertThat(balances.get(Currency.USD)).isEqualByComparingTo("25.00");
+        assertThat(entries).singleElement()
+                .satisfies(entry -> {
+                    assertThat(entry.type()).isEqualTo(TransactionType.DEPOSIT);
+                    assertThat(entry.balanceAfter()).isEqualByComparingTo("25.00");
+                });
+    }
+
+    @Test
+    @DisplayName("Withdrawal with insufficient funds leaves the state untouched")
+    void insufficientWithdrawalLeavesStateUntouched() {
+        assertThatThrownBy(() -> shard.apply(
+                LedgerCommand.withdraw(ACCOUNT_ID, Currency.EUR, new BigDecimal("150.00"))))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        assertThat(entries).isEmpty();
+        assertThat(shard.apply(LedgerCommand.read(ACCOUNT_ID)).get(Currency.EUR)).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("Exchange debits the source, credits the target and emits two entries")
+    void exchangeMovesBetweenBalances() {
+        Map<Currency, BigDecimal> balances = shard.apply(LedgerCommand.exchange(
+                ACCOUNT_ID, Currency.EUR, new BigDecimal("40.00"), Currency.SEK, new BigDecimal("440.00")));
+
+        assertThat(balances.get(Currency.EUR)).isEqualByComparingTo("60.00");
+        assertThat(balances.get(Currency.SEK)).isEqualByComparingTo("440.00");
+        assertThat(entries).extracting(LedgerEntry::type)
+                .containsExactly(TransactionType.EXCHANGE_FROM, TransactionType.EXCHANGE_TO);
+    }
+
+    @Test
+    @DisplayName("Exchange from a missing balance throws BalanceNotFoundException")
+    void exchangeFromMissingBalanceThrows() {
+        assertThatThrownBy(() -> shard.apply(LedgerCommand.exchange(
+                ACCOUNT_ID, Currency.USD, new BigDecimal("10.00"), Currency.EUR, new BigDecimal("9.00"))))
+                .isInstanceOf(BalanceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Commands for unknown accounts throw AccountNotFoundException")
+    void unknownAccountThrows() {
+        assertThatThrownBy(() -> shard.apply(LedgerCommand.read("unknown")))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Submitted commands are applied by the shard thread")
+    void submittedCommandsAreApplied() throws Exception {
+        shard.start();
+        try {
+            shard.submit(LedgerCommand.open("account456")).get(5, TimeUnit.SECONDS);
+            Map<Currency, BigDecimal> balances = shard.submit(
+                    LedgerCommand.deposit("account456", Currency.EUR, new BigDecimal("5.00")))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertThat(balances.get(Currency.EUR)).isEqualByComparingTo("5.00");
+        } finally {
+            shard.stop();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.cgi.bank.account.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cgi.bank.account.domain.Account;
+import com.cgi.bank.account.domain.Balance;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.integration.AbstractIntegrationTest;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for the single-statement write paths of the BalanceRepository.
+ * The native upsert is PostgreSQL-specific, so these tests run against Testcontainers.
+ */
+@Tag("integration")
+@Transactional
+class BalanceRepositoryIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private BalanceRepository balanceRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void depositWithUpsertCreatesMissingBalanceAndRecordsTransaction() {
+        Account account = saveAccountWithEurBalance(new BigDecimal("100.00"));
+
+        Map<String, BigDecimal> balances = toMap(
+                balanceRepository.depositWithUpsert(account.getAccountId(), "USD", new BigDecimal("25.00")));
+
+        assertThat(balances).hasSize(2);
+        assertThat(balances.get("USD")).isEqualByComparingTo("25.00");
+        assertThat(balances.get("EUR")).isEqualByComparingTo("100.00");
+        assertThat(transactionRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void depositWithUpsertIncrementsExistingBalanceAndVersion() {
+        Account account = saveAccountWithEurBalance(new BigDecimal("100.00"));
+
+        Map<String, BigDecimal> balances = toMap(
+                balanceRepository.depositWithUpsert(account.getAccountId(), "EUR", new BigDecimal("25.00")));
+
+        assertThat(balances).hasSize(1);
+        assertThat(balances.get("EUR")).isEqualByComparingTo("125.00");
+
+        Balance eur = balanceRepository.findByAccountIdAndCurrency(account.getAccountId(), Currency.EUR)
+                .orElseThrow();
+        assertThat(eur.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void depositWithUpsertReturnsHeldAmounts() {
+        Account account = new Account();
+        Balance eur = new Balance(account, Currency.EUR, new BigDecimal("100.00"));
+        eur.hold(new BigDecimal("40.00"));
+        account.getBalances().put(Currency.EUR, eur);
+        account.getBalances().put(Currency.USD, new Balance(account, Currency.USD, new BigDecimal("10.00")));
+        account = accountRepository.save(account);
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<String, BigDecimal> held = balanceRepository
+                .depositWithUpsert(account.getAccountId(), "EUR", new BigDecimal("25.00")).stream()
+                .collect(Collectors.toMap(BalanceRepository.CurrencyAmount::getCurrency,
+                        BalanceRepository.CurrencyAmount::getHeldAmount));
+
+        assertThat(held.get("EUR")).isEqualByComparingTo("40.00");
+        assertThat(held.get("USD")).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void depositWithUpsertFailsForUnknownAccount() {
+        assertThatThrownBy(() -> balanceRepository.depositWithUpsert(
+                "00000000-0000-0000-0000-000000000000", "EUR", new BigDecimal("25.00")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void withdrawIfSufficientOnlyUpdatesWhenFundsCover() {
+        Account account = saveAccountWithEurBalance(new BigDecimal("100.00"));
+
+        assertThat(balanceRepository.withdrawIfSufficient(
+                account.getAccountId(), Currency.EUR, new BigDecimal("150.00"))).isZero();
+        assertThat(balanceRepository.withdrawIfSufficient(
+                account.getAccountId(), Currency.EUR, new BigDecimal("60.00"))).isEqualTo(1);
+
+        Balance eur = balanceRepository.findByAccountIdAndCurrency(account.getAccountId(), Currency.EUR)
+                .orElseThrow();
+        assertThat(eur.getAmount()).isEqualByComparingTo("40.00");
+    }
+
+    private Account saveAccountWithEurBalance(BigDecimal amount) {
+        Account account = new Account();
+        account.getBalances().put(Currency.EUR, new Balance(account, Currency.EUR, amount));
+        account = accountRepository.save(account);
+        entityManager.flush();
+        entityManager.clear();
+        return account;
+    }
+
+    private static Map<String, BigDecimal> toMap(List<BalanceRepository.CurrencyAmount> balances) {
+        return balances.stream()
+                .collect(Collectors.toMap(BalanceRepository.CurrencyAmount::getCurrency,
+                        BalanceRepository.CurrencyAmount::getAmount));
+    }
+}
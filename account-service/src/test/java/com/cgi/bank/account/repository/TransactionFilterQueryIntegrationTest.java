@@ -0,0 +1,126 @@
+package com.cgi.bank.account.repository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cgi.bank.account.domain.Account;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.Transaction;
+import com.cgi.bank.account.domain.TransactionType;
+import com.cgi.bank.account.integration.AbstractIntegrationTest;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks the filtered transaction history queries on a large generated history: their results, and that
+ * PostgreSQL serves each kind of filter from the index meant for it instead of scanning the account's history.
+ * One transaction in a hundred is a capture and one in a hundred is in RUB, so both filters are selective.
+ */
+@Tag("integration")
+@Transactional
+class TransactionFilterQueryIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int HISTORY_SIZE = 200_000;
+    private static final String HISTORY_ORDER = " ORDER BY timestamp DESC, id DESC LIMIT 21";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String accountId;
+
+    @BeforeEach
+    void setUp() {
+        Account account = accountRepository.save(new Account());
+        entityManager.flush();
+        accountId = account.getAccountId();
+        insertTransactionHistory(entityManager, accountId, HISTORY_SIZE);
+    }
+
+    @Test
+    void filtersByTypeNewestFirst() {
+        TransactionFilter filter = new TransactionFilter(null, null, Set.of(TransactionType.CAPTURE), null);
+
+        List<Transaction> page = transactionRepository.findFiltered(accountId, filter, 0, 20);
+
+        assertThat(page).hasSize(20).allMatch(transaction -> transaction.getType() == TransactionType.CAPTURE);
+        assertThat(page.get(0).getTimestamp()).isEqualTo(HISTORY_END.minusSeconds(100));
+        assertThat(page).extracting(Transaction::getTimestamp).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(transactionRepository.countFiltered(accountId, filter)).isEqualTo(HISTORY_SIZE / 100);
+    }
+
+    @Test
+    void combinesTimeRangeTypeAndCurrency() {
+        TransactionFilter lastHour = new TransactionFilter(HISTORY_END.minusSeconds(3600), HISTORY_END, null, null);
+        TransactionFilter capturesInEur = new TransactionFilter(null, null, Set.of(TransactionType.CAPTURE),
+                Set.of(Currency.EUR));
+        TransactionFilter capturesInRub = new TransactionFilter(null, null, Set.of(TransactionType.CAPTURE),
+                Set.of(Currency.RUB));
+
+        assertThat(transactionRepository.countFiltered(accountId, lastHour)).isEqualTo(3600);
+        assertThat(transactionRepository.countFiltered(accountId, capturesInEur)).isEqualTo(HISTORY_SIZE / 100);
+        assertThat(transactionRepository.findFiltered(accountId, capturesInRub, 0, 20)).isEmpty();
+    }
+
+    @Test
+    void continuesAfterPositionWithinFilter() {
+        TransactionFilter filter = new TransactionFilter(null, null, null, Set.of(Currency.RUB));
+        List<Transaction> first = transactionRepository.findFiltered(accountId, filter, 0, 2);
+
+        List<Transaction> next = transactionRepository.findFilteredAfter(accountId, filter,
+                first.get(1).getTimestamp(), first.get(1).getId(), 2);
+
+        assertThat(first).extracting(Transaction::getTimestamp)
+                .containsExactly(HISTORY_END.minusSeconds(50), HISTORY_END.minusSeconds(150));
+        assertThat(next).extracting(Transaction::getTimestamp)
+                .containsExactly(HISTORY_END.minusSeconds(250), HISTORY_END.minusSeconds(350));
+    }
+
+    @Test
+    void typeFilterUsesTypeIndex() {
+        String plan = explain("SELECT * FROM transactions WHERE account_id = ?1 AND type IN ('CAPTURE')"
+                + HISTORY_ORDER);
+
+        assertThat(plan).contains("idx_transactions_account_type_timestamp").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void currencyFilterUsesCurrencyIndex() {
+        String plan = explain("SELECT * FROM transactions WHERE account_id = ?1 AND currency IN ('RUB')"
+                + HISTORY_ORDER);
+
+        assertThat(plan).contains("idx_transactions_account_currency_timestamp").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void timeRangeFilterUsesTimestampIndex() {
+        String plan = explain("SELECT * FROM transactions WHERE account_id = ?1 "
+                + "AND timestamp >= TIMESTAMPTZ '2023-12-31 23:00:00+00' "
+                + "AND timestamp < TIMESTAMPTZ '2024-01-01 00:00:00+00'" + HISTORY_ORDER);
+
+        assertThat(plan).containsPattern("idx_transactions_(account_)?timestamp").doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Returns the plan PostgreSQL chooses for the query on the test account.
+     */
+    private String explain(String sql) {
+        @SuppressWarnings("unchecked")
+        List<String> lines = entityManager.createNativeQuery("EXPLAIN (COSTS OFF) " + sql)
+                .setParameter(1, accountId)
+                .getResultList();
+        return String.join("\n", lines);
+    }
+}
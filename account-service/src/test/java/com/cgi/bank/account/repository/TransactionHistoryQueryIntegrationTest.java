@@ -0,0 +1,77 @@
+package com.cgi.bank.account.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cgi.bank.account.domain.Account;
+import com.cgi.bank.account.domain.Transaction;
+import com.cgi.bank.account.integration.AbstractIntegrationTest;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Compares the statements the transaction history queries run on a large history.
+ * A {@link Page} costs a second statement that counts the whole history of the account; a {@link Slice} reads
+ * one extra row instead.
+ */
+@Tag("integration")
+@Transactional
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class TransactionHistoryQueryIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int HISTORY_SIZE = 200_000;
+    private static final PageRequest FIRST_PAGE =
+            PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        account = accountRepository.save(new Account());
+        entityManager.flush();
+        insertTransactionHistory(entityManager, account.getAccountId(), HISTORY_SIZE);
+    }
+
+    @Test
+    void sliceSkipsCountQueryOnLargeHistory() {
+        statistics.clear();
+        Page<Transaction> page = transactionRepository.findByAccount(account, FIRST_PAGE);
+        long pageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Slice<Transaction> slice = transactionRepository.findSliceByAccountId(account.getAccountId(), FIRST_PAGE);
+        long sliceStatements = statistics.getPrepareStatementCount();
+
+        assertThat(page.getTotalElements()).isEqualTo(HISTORY_SIZE);
+        assertThat(slice.getContent()).extracting(Transaction::getId)
+                .containsExactlyElementsOf(page.getContent().stream().map(Transaction::getId).toList());
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(pageStatements).isEqualTo(2);
+        assertThat(sliceStatements).isEqualTo(1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.cgi.bank.account.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cgi.bank.account.domain.Account;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.Transaction;
+import com.cgi.bank.account.integration.AbstractIntegrationTest;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for the pooled transaction ID sequence.
+ * Counts the JDBC statements Hibernate prepares while flushing new transactions: with IDENTITY keys every row
+ * was inserted on its own, with the pooled sequence one sequence call covers a block of rows and the inserts
+ * are sent as JDBC batches.
+ */
+@Tag("integration")
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionIdAllocationIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        account = accountRepository.save(new Account());
+    }
+
+    @Test
+    void sequenceIncrementMatchesAllocationSize() {
+        Number increment = (Number) entityManager.createNativeQuery(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = 'transactions_id_seq'")
+                .getSingleResult();
+
+        assertThat(increment.intValue()).isEqualTo(BATCH_SIZE);
+    }
+
+    @Test
+    void bothRowsOfAnExchangeAreInsertedInOneStatement() {
+        statistics.clear();
+
+        transactionRepository.save(Transaction.createExchangeFrom(account, Currency.EUR, new BigDecimal("50.00")));
+        transactionRepository.save(Transaction.createExchangeTo(account, Currency.USD, new BigDecimal("54.00")));
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        // One batched insert, plus a sequence call only when the reserved block runs out
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void manyTransactionsNeedOneSequenceCallAndOneInsertPerBlock() {
+        int rows = 3 * BATCH_SIZE;
+        statistics.clear();
+
+        for (int i = 0; i < rows; i++) {
+            transactionRepository.save(Transaction.createDeposit(account, Currency.EUR, BigDecimal.ONE));
+        }
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(rows);
+        // At most 4 sequence calls and 3 batched inserts, instead of 150 single-row inserts
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(7);
+    }
+
+    @Test
+    void plainSqlInsertsDoNotCollideWithAllocatedIds() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            entityManager.createNativeQuery(
+                    "INSERT INTO transactions (account_id, type, currency, amount) VALUES (?1, 'DEPOSIT', 'EUR', 1)")
+                    .setParameter(1, account.getAccountId())
+                    .executeUpdate();
+            Transaction transaction = transactionRepository.save(
+                    Transaction.createDeposit(account, Currency.EUR, BigDecimal.ONE));
+            entityManager.flush();
+            ids.add(transaction.getId());
+        }
+
+        Number rows = (Number) entityManager.createNativeQuery(
+                "SELECT COUNT(DISTINCT id) FROM transactions WHERE account_id = ?1")
+                .setParameter(1, account.getAccountId())
+                .getSingleResult();
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(rows.intValue()).isEqualTo(6);
+    }
+}
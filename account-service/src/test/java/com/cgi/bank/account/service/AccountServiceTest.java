@@ -10,9 +10,12 @@ import java.util.concurrent.CompletableFuture;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -20,11 +23,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import com.cgi.bank.account.config.LedgerProperties;
 import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
 import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.controller.dto.TransferResponseDTO;
 import com.cgi.bank.account.domain.Account;
 import com.cgi.bank.account.domain.Balance;
 import com.cgi.bank.account.domain.Currency;
@@ -34,8 +41,13 @@ import com.cgi.bank.account.exception.BalanceNotFoundException;
 import com.cgi.bank.account.exception.InsufficientFundsException;
 import com.cgi.bank.account.integration.NotificationClient;
 import com.cgi.bank.account.repository.AccountRepository;
+import com.cgi.bank.account.repository.BalanceRepository;
+import com.cgi.bank.account.repository.BalanceSlotRepository;
 import com.cgi.bank.account.repository.TransactionRepository;
+import com.cgi.bank.account.service.cache.BalanceCache;
+import com.cgi.bank.account.service.concurrency.HotAccountRegistry;
 import com.cgi.bank.account.service.impl.AccountServiceImpl;
+import com.cgi.bank.account.service.impl.BalanceSlotConsolidator;
 import com.cgi.bank.account.service.mapper.BalanceMapper;
 
 /**
@@ -60,6 +72,23 @@ class AccountServiceTest {
     @Mock
     private BalanceMapper balanceMapper;
 
+    @Mock
+    private BalanceRepository balanceRepository;
+
+    @Mock
+    private HotAccountRegistry hotAccounts;
+
+    @Mock
+    private BalanceSlotRepository balanceSlotRepository;
+
+    @Mock
+    private BalanceSlotConsolidator slotConsolidator;
+
+    @Mock
+    private BalanceCache balanceCache;
+
+    private LedgerProperties ledgerProperties;
+
     private AccountServiceImpl accountService;
 
     private static final String TEST_ACCOUNT_ID = "account123";
@@ -69,12 +98,19 @@ class AccountServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         
+        ledgerProperties = new LedgerProperties();
         accountService = new AccountServiceImpl(
             accountRepository,
             transactionRepository,
             currencyExchangeService,
             notificationClient,
-            balanceMapper
+            balanceMapper,
+            balanceRepository,
+            ledgerProperties,
+            hotAccounts,
+            balanceSlotRepository,
+            slotConsolidator,
+            balanceCache
         );
         
         testAccount = new Account();
@@ -119,6 +155,7 @@ class AccountServiceTest {
                     .isEqualTo(new BigDecimal("100.00"));
             
             verify(accountRepository).findByIdWithBalances(TEST_ACCOUNT_ID);
+            verify(balanceCache).fill(eq(TEST_ACCOUNT_ID), any(), anyLong());
         }
 
         @Test
@@ -132,6 +169,34 @@ class AccountServiceTest {
             
             verify(accountRepository).findByIdWithBalances(TEST_ACCOUNT_ID);
         }
+
+        @Test
+        @DisplayName("Tags balances by currency and version without loading them")
+        void tagsBalancesFromVersions() {
+            when(balanceRepository.findVersionsByAccountId(TEST_ACCOUNT_ID))
+                    .thenReturn(List.of(version(Currency.USD, 0L), version(Currency.EUR, 3L)));
+
+            assertThat(accountService.getBalancesVersionTag(TEST_ACCOUNT_ID)).contains("EUR-3.USD-0");
+            verifyNoInteractions(accountRepository);
+        }
+
+        @Test
+        @DisplayName("Does not tag hot accounts or accounts without balances")
+        void doesNotTagHotOrEmptyAccounts() {
+            when(balanceRepository.findVersionsByAccountId(TEST_ACCOUNT_ID)).thenReturn(List.of());
+            assertThat(accountService.getBalancesVersionTag(TEST_ACCOUNT_ID)).isEmpty();
+
+            when(hotAccounts.isHot(TEST_ACCOUNT_ID)).thenReturn(true);
+            assertThat(accountService.getBalancesVersionTag(TEST_ACCOUNT_ID)).isEmpty();
+            verify(balanceRepository, times(1)).findVersionsByAccountId(TEST_ACCOUNT_ID);
+        }
+
+        private BalanceRepository.CurrencyVersion version(Currency currency, Long version) {
+            BalanceRepository.CurrencyVersion row = mock(BalanceRepository.CurrencyVersion.class);
+            when(row.getCurrency()).thenReturn(currency);
+            when(row.getVersion()).thenReturn(version);
+            return row;
+        }
     }
 
     @Nested
@@ -161,6 +226,7 @@ class AccountServiceTest {
                     eq(TEST_ACCOUNT_ID), 
                     eq(depositAmount.toString()), 
                     eq(depositCurrency.name()));
+            verify(balanceCache).putAfterCommit(eq(TEST_ACCOUNT_ID), any());
         }
 
         @Test
@@ -274,6 +340,340 @@ class AccountServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Upsert deposit operations")
+    class UpsertDepositOperations {
+
+        @BeforeEach
+        void useUpsert() {
+            ledgerProperties.setDepositMode(LedgerProperties.DepositMode.UPSERT);
+        }
+
+        @Test
+        @DisplayName("Deposit returns balances from the upsert without loading the account")
+        void depositUsesUpsert() {
+            BigDecimal depositAmount = new BigDecimal("25.00");
+            BalanceRepository.CurrencyAmount eur = currencyAmount("EUR", new BigDecimal("125.00"), BigDecimal.ZERO);
+            BalanceRepository.CurrencyAmount usd = currencyAmount("USD", new BigDecimal("150.00"), BigDecimal.ZERO);
+            
+            when(balanceRepository.depositWithUpsert(TEST_ACCOUNT_ID, "EUR", depositAmount))
+                    .thenReturn(List.of(eur, usd));
+            when(notificationClient.sendDepositNotification(anyString(), anyString(), anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(null));
+            
+            AccountBalanceResponseDTO result = accountService.deposit(TEST_ACCOUNT_ID, depositAmount, Currency.EUR);
+
+            assertThat(result.getBalances())
+                    .containsExactly(new BalanceDTO("EUR", new BigDecimal("125.00")),
+                            new BalanceDTO("USD", new BigDecimal("150.00")));
+            
+            verify(notificationClient).sendDepositNotification(TEST_ACCOUNT_ID, "25.00", "EUR");
+            verifyNoInteractions(accountRepository, transactionRepository);
+            // The upsert returns no versions, so the cached balances are dropped rather than replaced
+            verify(balanceCache).evictAfterCommit(TEST_ACCOUNT_ID);
+        }
+
+        @Test
+        @DisplayName("Deposit on a balance with holds returns its available amount")
+        void depositReturnsAvailableAmountOfHeldBalance() {
+            BigDecimal depositAmount = new BigDecimal("25.00");
+            BalanceRepository.CurrencyAmount eur =
+                    currencyAmount("EUR", new BigDecimal("125.00"), new BigDecimal("40.00"));
+
+            when(balanceRepository.depositWithUpsert(TEST_ACCOUNT_ID, "EUR", depositAmount))
+                    .thenReturn(List.of(eur));
+            when(notificationClient.sendDepositNotification(anyString(), anyString(), anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(null));
+
+            AccountBalanceResponseDTO result = accountService.deposit(TEST_ACCOUNT_ID, depositAmount, Currency.EUR);
+
+            assertThat(result.getBalances())
+                    .containsExactly(new BalanceDTO("EUR", new BigDecimal("125.00"), new BigDecimal("85.00")));
+        }
+
+        @Test
+        @DisplayName("Foreign key violation throws AccountNotFoundException")
+        void missingAccountThrowsAccountNotFoundException() {
+            BigDecimal depositAmount = new BigDecimal("25.00");
+            
+            when(balanceRepository.depositWithUpsert(TEST_ACCOUNT_ID, "EUR", depositAmount))
+                    .thenThrow(new DataIntegrityViolationException("fk_balances_account"));
+            
+            assertThatThrownBy(() -> accountService.deposit(TEST_ACCOUNT_ID, depositAmount, Currency.EUR))
+                    .isInstanceOf(AccountNotFoundException.class)
+                    .hasMessageContaining(TEST_ACCOUNT_ID);
+            
+            verifyNoInteractions(notificationClient);
+        }
+
+        private BalanceRepository.CurrencyAmount currencyAmount(String currency, BigDecimal amount,
+                BigDecimal heldAmount) {
+            return new BalanceRepository.CurrencyAmount() {
+                @Override
+                public String getCurrency() {
+                    return currency;
+                }
+
+                @Override
+                public BigDecimal getAmount() {
+                    return amount;
+                }
+
+                @Override
+                public BigDecimal getHeldAmount() {
+                    return heldAmount;
+                }
+            };
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional-update withdrawal operations")
+    class ConditionalUpdateWithdrawalOperations {
+
+        @BeforeEach
+        void useConditionalUpdate() {
+            ledgerProperties.setWithdrawMode(LedgerProperties.WithdrawMode.CONDITIONAL_UPDATE);
+        }
+
+        @Test
+        @DisplayName("Successful withdrawal issues a single update without loading the account")
+        void successfulWithdrawalUsesConditionalUpdate() {
+            BigDecimal withdrawAmount = new BigDecimal("50.00");
+            Balance eurBalance = new Balance(testAccount, Currency.EUR, new BigDecimal("50.00"));
+            
+            when(balanceRepository.withdrawIfSufficient(TEST_ACCOUNT_ID, Currency.EUR, withdrawAmount))
+                    .thenReturn(1);
+            when(accountRepository.getReferenceById(TEST_ACCOUNT_ID)).thenReturn(testAccount);
+            when(balanceRepository.findByAccountId(TEST_ACCOUNT_ID)).thenReturn(List.of(eurBalance));
+            
+            AccountBalanceResponseDTO result = accountService.withdraw(TEST_ACCOUNT_ID, withdrawAmount, Currency.EUR);
+
+            assertThat(result.getAccountId()).isEqualTo(TEST_ACCOUNT_ID);
+            assertThat(result.getBalances()).hasSize(1);
+            
+            verify(transactionRepository).save(any(Transaction.class));
+            verify(accountRepository, never()).findByIdWithBalances(anyString());
+            verify(accountRepository, never()).save(any(Account.class));
+        }
+
+        @Test
+        @DisplayName("Insufficient funds throws InsufficientFundsException")
+        void insufficientFundsThrowsInsufficientFundsException() {
+            BigDecimal withdrawAmount = new BigDecimal("150.00");
+            Balance eurBalance = testAccount.getBalances().get(Currency.EUR);
+            
+            when(balanceRepository.withdrawIfSufficient(TEST_ACCOUNT_ID, Currency.EUR, withdrawAmount))
+                    .thenReturn(0);
+            when(balanceRepository.findByAccountIdAndCurrency(TEST_ACCOUNT_ID, Currency.EUR))
+                    .thenReturn(Optional.of(eurBalance));
+            
+            assertThatThrownBy(() -> accountService.withdraw(TEST_ACCOUNT_ID, withdrawAmount, Currency.EUR))
+                    .isInstanceOf(InsufficientFundsException.class);
+            
+            verify(transactionRepository, never()).save(any(Transaction.class));
+        }
+
+        @Test
+        @DisplayName("Missing balance throws BalanceNotFoundException")
+        void missingBalanceThrowsBalanceNotFoundException() {
+            BigDecimal withdrawAmount = new BigDecimal("50.00");
+            
+            when(balanceRepository.withdrawIfSufficient(TEST_ACCOUNT_ID, Currency.SEK, withdrawAmount))
+                    .thenReturn(0);
+            when(balanceRepository.findByAccountIdAndCurrency(TEST_ACCOUNT_ID, Currency.SEK))
+                    .thenReturn(Optional.empty());
+            when(accountRepository.existsById(TEST_ACCOUNT_ID)).thenReturn(true);
+            
+            assertThatThrownBy(() -> accountService.withdraw(TEST_ACCOUNT_ID, withdrawAmount, Currency.SEK))
+                    .isInstanceOf(BalanceNotFoundException.class)
+                    .hasMessageContaining(Currency.SEK.name());
+        }
+
+        @Test
+        @DisplayName("Missing account throws AccountNotFoundException")
+        void missingAccountThrowsAccountNotFoundException() {
+            BigDecimal withdrawAmount = new BigDecimal("50.00");
+            
+            when(balanceRepository.withdrawIfSufficient(TEST_ACCOUNT_ID, Currency.EUR, withdrawAmount))
+                    .thenReturn(0);
+            when(balanceRepository.findByAccountIdAndCurrency(TEST_ACCOUNT_ID, Currency.EUR))
+                    .thenReturn(Optional.empty());
+            when(accountRepository.existsById(TEST_ACCOUNT_ID)).thenReturn(false);
+            
+            assertThatThrownBy(() -> accountService.withdraw(TEST_ACCOUNT_ID, withdrawAmount, Currency.EUR))
+                    .isInstanceOf(AccountNotFoundException.class)
+                    .hasMessageContaining(TEST_ACCOUNT_ID);
+        }
+    }
+
+    @Nested
+    @DisplayName("Balance-row versioning")
+    class BalanceRowVersioningOperations {
+
+        private List<Balance> balanceRows;
+
+        @BeforeEach
+        void useBalanceRowVersioning() {
+            ledgerProperties.setVersioning(LedgerProperties.Versioning.BALANCE_ROW);
+            balanceRows = List.of(
+                    testAccount.getBalances().get(Currency.EUR),
+                    testAccount.getBalances().get(Currency.USD));
+            when(balanceRepository.findByAccountId(TEST_ACCOUNT_ID)).thenReturn(balanceRows);
+            when(accountRepository.getReferenceById(TEST_ACCOUNT_ID)).thenReturn(testAccount);
+        }
+
+        @Test
+        @DisplayName("Deposit updates the balance row without saving the account")
+        void depositUpdatesBalanceRowOnly() {
+            when(notificationClient.sendDepositNotification(anyString(), anyString(), anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(null));
+            
+            accountService.deposit(TEST_ACCOUNT_ID, new BigDecimal("25.00"), Currency.EUR);
+
+            assertThat(balanceRows.get(0).getAmount()).isEqualByComparingTo("125.00");
+            verify(transactionRepository).save(any(Transaction.class));
+            verify(accountRepository, never()).findByIdWithBalances(anyString());
+            verify(accountRepository, never()).save(any(Account.class));
+        }
+
+        @Test
+        @DisplayName("Deposit in a new currency inserts the balance row directly")
+        void depositInNewCurrencyInsertsBalanceRow() {
+            when(balanceRepository.save(any(Balance.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(notificationClient.sendDepositNotification(anyString(), anyString(), anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(null));
+            
+            AccountBalanceResponseDTO result = accountService.deposit(
+                    TEST_ACCOUNT_ID, new BigDecimal("10.00"), Currency.SEK);
+
+            assertThat(result.getBalances()).hasSize(3);
+            verify(balanceRepository).save(any(Balance.class));
+            verify(accountRepository, never()).save(any(Account.class));
+        }
+
+        @Test
+        @DisplayName("Deposit into an unknown account throws AccountNotFoundException")
+        void depositIntoUnknownAccountThrowsAccountNotFoundException() {
+            when(balanceRepository.findByAccountId(TEST_ACCOUNT_ID)).thenReturn(List.of());
+            when(accountRepository.existsById(TEST_ACCOUNT_ID)).thenReturn(false);
+            
+            assertThatThrownBy(() -> accountService.deposit(TEST_ACCOUNT_ID, new BigDecimal("10.00"), Currency.EUR))
+                    .isInstanceOf(AccountNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Withdrawal with insufficient funds throws InsufficientFundsException")
+        void insufficientFundsThrowsInsufficientFundsException() {
+            assertThatThrownBy(() -> accountService.withdraw(TEST_ACCOUNT_ID, new BigDecimal("150.00"), Currency.EUR))
+                    .isInstanceOf(InsufficientFundsException.class);
+            
+            verify(transactionRepository, never()).save(any(Transaction.class));
+        }
+
+        @Test
+        @DisplayName("Exchange updates both balance rows without saving the account")
+        void exchangeUpdatesBothBalanceRows() {
+            when(currencyExchangeService.calculateExchange(Currency.EUR, Currency.USD, new BigDecimal("50.00")))
+                    .thenReturn(new BigDecimal("55.00"));
+            
+            accountService.exchange(TEST_ACCOUNT_ID, Currency.EUR, Currency.USD, new BigDecimal("50.00"));
+
+            assertThat(balanceRows.get(0).getAmount()).isEqualByComparingTo("50.00");
+            assertThat(balanceRows.get(1).getAmount()).isEqualByComparingTo("205.00");
+            verify(transactionRepository, times(2)).save(any(Transaction.class));
+            verify(accountRepository, never()).save(any(Account.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Hot account slot operations")
+    class HotAccountSlotOperations {
+
+        @BeforeEach
+        void flagAccountAsHot() {
+            when(hotAccounts.isHot(TEST_ACCOUNT_ID)).thenReturn(true);
+            when(hotAccounts.pickSlot(TEST_ACCOUNT_ID)).thenReturn(3);
+            when(accountRepository.getReferenceById(TEST_ACCOUNT_ID)).thenReturn(testAccount);
+        }
+
+        @Test
+        @DisplayName("Deposit goes to a slot and the response adds the slots to the balance row")
+        void depositGoesToSlot() {
+            BigDecimal depositAmount = new BigDecimal("25.00");
+            Balance eurBalance = new Balance(testAccount, Currency.EUR, new BigDecimal("100.00"));
+            when(balanceRepository.findByAccountId(TEST_ACCOUNT_ID)).thenReturn(List.of(eurBalance));
+            when(balanceSlotRepository.sumByAccountId(TEST_ACCOUNT_ID))
+                    .thenReturn(List.of(slotTotal(Currency.EUR, "40.00")));
+
+            AccountBalanceResponseDTO result = accountService.deposit(TEST_ACCOUNT_ID, depositAmount, Currency.EUR);
+
+            verify(balanceSlotRepository).depositToSlot(TEST_ACCOUNT_ID, "EUR", 3, depositAmount);
+            verify(transactionRepository).save(any(Transaction.class));
+            verify(accountRepository, never()).findByIdWithBalances(anyString());
+            assertThat(result.getBalances()).hasSize(1);
+            assertThat(result.getBalances().get(0).getAmount()).isEqualByComparingTo("140.00");
+        }
+
+        @Test
+        @DisplayName("Withdrawal is served by a slot holding the amount")
+        void withdrawalServedBySlot() {
+            BigDecimal withdrawAmount = new BigDecimal("30.00");
+            when(balanceSlotRepository.withdrawIfSufficient(TEST_ACCOUNT_ID, Currency.EUR, 3, withdrawAmount))
+                    .thenReturn(1);
+
+            accountService.withdraw(TEST_ACCOUNT_ID, withdrawAmount, Currency.EUR);
+
+            verify(balanceRepository, never()).withdrawIfSufficient(anyString(), any(), any());
+            verifyNoInteractions(slotConsolidator);
+            verify(transactionRepository).save(any(Transaction.class));
+        }
+
+        @Test
+        @DisplayName("Withdrawal consolidates the slots when neither a slot nor the balance row holds the amount")
+        void withdrawalFallsBackToConsolidation() {
+            BigDecimal withdrawAmount = new BigDecimal("130.00");
+            when(balanceSlotRepository.withdrawIfSufficient(TEST_ACCOUNT_ID, Currency.EUR, 3, withdrawAmount))
+                    .thenReturn(0);
+            when(balanceRepository.withdrawIfSufficient(TEST_ACCOUNT_ID, Currency.EUR, withdrawAmount))
+                    .thenReturn(0, 1);
+
+            accountService.withdraw(TEST_ACCOUNT_ID, withdrawAmount, Currency.EUR);
+
+            verify(slotConsolidator).consolidate(TEST_ACCOUNT_ID, Currency.EUR);
+            verify(balanceRepository, times(2)).withdrawIfSufficient(TEST_ACCOUNT_ID, Currency.EUR, withdrawAmount);
+            verify(transactionRepository).save(any(Transaction.class));
+        }
+
+        @Test
+        @DisplayName("Withdrawal exceeding the consolidated balance throws InsufficientFundsException")
+        void withdrawalExceedingConsolidatedBalanceFails() {
+            BigDecimal withdrawAmount = new BigDecimal("500.00");
+            when(balanceRepository.findByAccountIdAndCurrency(TEST_ACCOUNT_ID, Currency.EUR))
+                    .thenReturn(Optional.of(testAccount.getBalances().get(Currency.EUR)));
+
+            assertThatThrownBy(() -> accountService.withdraw(TEST_ACCOUNT_ID, withdrawAmount, Currency.EUR))
+                    .isInstanceOf(InsufficientFundsException.class);
+
+            verify(slotConsolidator).consolidate(TEST_ACCOUNT_ID, Currency.EUR);
+            verify(transactionRepository, never()).save(any(Transaction.class));
+        }
+
+        private BalanceSlotRepository.SlotTotal slotTotal(Currency currency, String amount) {
+            return new BalanceSlotRepository.SlotTotal() {
+                @Override
+                public Currency getCurrency() {
+                    return currency;
+                }
+
+                @Override
+                public BigDecimal getAmount() {
+                    return new BigDecimal(amount);
+                }
+            };
+        }
+    }
+
     @Nested
     @DisplayName("Exchange operations")
     class ExchangeOperations {
@@ -388,4 +788,114 @@ class AccountServiceTest {
             verifyNoInteractions(accountRepository, currencyExchangeService);
         }
     }
-} 
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Transfer operations")
+    class TransferOperations {
+        private static final String TARGET_ACCOUNT_ID = "account456";
+        
+        private Account targetAccount;
+        
+        @BeforeEach
+        void setUpTarget() {
+            targetAccount = new Account();
+            targetAccount.setAccountId(TARGET_ACCOUNT_ID);
+            when(accountRepository.getReferenceById(TEST_ACCOUNT_ID)).thenReturn(testAccount);
+            when(accountRepository.getReferenceById(TARGET_ACCOUNT_ID)).thenReturn(targetAccount);
+        }
+        
+        @Test
+        @DisplayName("Moves funds between accounts and links both transactions")
+        void movesFundsAndLinksTransactions() {
+            Balance source = testAccount.getBalances().get(Currency.EUR);
+            Balance target = new Balance(targetAccount, Currency.EUR, new BigDecimal("10.00"));
+            when(balanceRepository.findAndLockForTransfer(TEST_ACCOUNT_ID, Currency.EUR, TARGET_ACCOUNT_ID,
+                    Currency.EUR)).thenReturn(List.of(source, target));
+            
+            TransferResponseDTO result = accountService.transfer(TEST_ACCOUNT_ID, TARGET_ACCOUNT_ID,
+                    new BigDecimal("40.00"), Currency.EUR, Currency.EUR);
+            
+            assertThat(source.getAmount()).isEqualByComparingTo("60.00");
+            assertThat(target.getAmount()).isEqualByComparingTo("50.00");
+            assertThat(result.getCreditedAmount()).isEqualByComparingTo("40.00");
+            ArgumentCaptor<Transaction> transactions = ArgumentCaptor.forClass(Transaction.class);
+            verify(transactionRepository, times(2)).save(transactions.capture());
+            assertThat(transactions.getAllValues())
+                    .extracting(Transaction::getTransferId)
+                    .containsOnly(result.getTransferId());
+            verifyNoInteractions(currencyExchangeService);
+        }
+        
+        @Test
+        @DisplayName("Converts the amount and opens the destination balance when missing")
+        void convertsAndOpensDestinationBalance() {
+            Balance source = testAccount.getBalances().get(Currency.EUR);
+            when(balanceRepository.findAndLockForTransfer(TEST_ACCOUNT_ID, Currency.EUR, TARGET_ACCOUNT_ID,
+                    Currency.SEK)).thenReturn(List.of(source));
+            when(accountRepository.existsById(TARGET_ACCOUNT_ID)).thenReturn(true);
+            when(currencyExchangeService.calculateExchange(Currency.EUR, Currency.SEK, new BigDecimal("40.00")))
+                    .thenReturn(new BigDecimal("440.00"));
+            
+            TransferResponseDTO result = accountService.transfer(TEST_ACCOUNT_ID, TARGET_ACCOUNT_ID,
+                    new BigDecimal("40.00"), Currency.EUR, Currency.SEK);
+            
+            assertThat(result.getCreditedAmount()).isEqualByComparingTo("440.00");
+            assertThat(result.getCreditedCurrency()).isEqualTo("SEK");
+            ArgumentCaptor<Balance> created = ArgumentCaptor.forClass(Balance.class);
+            verify(balanceRepository).save(created.capture());
+            assertThat(created.getValue().getAccount()).isSameAs(targetAccount);
+            assertThat(created.getValue().getAmount()).isEqualByComparingTo("440.00");
+        }
+        
+        @Test
+        @DisplayName("Insufficient funds throws InsufficientFundsException and records nothing")
+        void insufficientFundsThrowsInsufficientFundsException() {
+            Balance source = testAccount.getBalances().get(Currency.EUR);
+            Balance target = new Balance(targetAccount, Currency.EUR, new BigDecimal("10.00"));
+            when(balanceRepository.findAndLockForTransfer(any(), any(), any(), any()))
+                    .thenReturn(List.of(source, target));
+            
+            assertThatThrownBy(() -> accountService.transfer(TEST_ACCOUNT_ID, TARGET_ACCOUNT_ID,
+                    new BigDecimal("150.00"), Currency.EUR, Currency.EUR))
+                    .isInstanceOf(InsufficientFundsException.class);
+            
+            assertThat(target.getAmount()).isEqualByComparingTo("10.00");
+            verify(transactionRepository, never()).save(any(Transaction.class));
+        }
+        
+        @Test
+        @DisplayName("Unknown destination account throws AccountNotFoundException")
+        void unknownDestinationThrowsAccountNotFoundException() {
+            when(balanceRepository.findAndLockForTransfer(any(), any(), any(), any()))
+                    .thenReturn(List.of(testAccount.getBalances().get(Currency.EUR)));
+            when(accountRepository.existsById(TARGET_ACCOUNT_ID)).thenReturn(false);
+            
+            assertThatThrownBy(() -> accountService.transfer(TEST_ACCOUNT_ID, TARGET_ACCOUNT_ID,
+                    new BigDecimal("40.00"), Currency.EUR, Currency.EUR))
+                    .isInstanceOf(AccountNotFoundException.class)
+                    .hasMessageContaining(TARGET_ACCOUNT_ID);
+        }
+        
+        @Test
+        @DisplayName("Missing source balance throws BalanceNotFoundException")
+        void missingSourceBalanceThrowsBalanceNotFoundException() {
+            when(balanceRepository.findAndLockForTransfer(any(), any(), any(), any())).thenReturn(List.of());
+            when(accountRepository.existsById(TEST_ACCOUNT_ID)).thenReturn(true);
+            
+            assertThatThrownBy(() -> accountService.transfer(TEST_ACCOUNT_ID, TARGET_ACCOUNT_ID,
+                    new BigDecimal("40.00"), Currency.SEK, Currency.SEK))
+                    .isInstanceOf(BalanceNotFoundException.class);
+        }
+        
+        @Test
+        @DisplayName("Transfer to the same account throws IllegalArgumentException")
+        void sameAccountThrowsIllegalArgumentException() {
+            assertThatThrownBy(() -> accountService.transfer(TEST_ACCOUNT_ID, TEST_ACCOUNT_ID,
+                    new BigDecimal("40.00"), Currency.EUR, Currency.EUR))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("different");
+            
+            verifyNoInteractions(balanceRepository);
+        }
+    }
+}
@@ -6,11 +6,15 @@ import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,15 +28,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 
+import com.cgi.bank.account.controller.dto.TransactionCursorPageDTO;
 import com.cgi.bank.account.controller.dto.TransactionResponseDTO;
+import com.cgi.bank.account.controller.dto.TransactionSliceDTO;
 import com.cgi.bank.account.domain.Account;
 import com.cgi.bank.account.domain.Currency;
 import com.cgi.bank.account.domain.Transaction;
 import com.cgi.bank.account.domain.TransactionType;
 import com.cgi.bank.account.exception.AccountNotFoundException;
 import com.cgi.bank.account.repository.AccountRepository;
+import com.cgi.bank.account.repository.TransactionFilter;
 import com.cgi.bank.account.repository.TransactionRepository;
 import com.cgi.bank.account.service.impl.TransactionServiceImpl;
 import com.cgi.bank.account.service.mapper.TransactionMapper;
@@ -314,4 +322,192 @@ class TransactionServiceImplTest {
             assertThat(result).isNotNull();
         }
     }
-} 
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Transaction history retrieval with a cursor")
+    class GetTransactionHistoryAfter {
+
+        @BeforeEach
+        void setUpMapper() {
+            when(transactionMapper.toTransactionResponseDTO(any(Transaction.class)))
+                .thenAnswer(invocation -> TransactionResponseDTO.builder()
+                        .id(invocation.<Transaction>getArgument(0).getId())
+                        .build());
+        }
+
+        @Test
+        @DisplayName("Reads one extra row to return the cursor of the next page")
+        void returnsNextCursorWhenMoreTransactionsExist() {
+            when(transactionRepository.findLatest(TEST_ACCOUNT_ID, PageRequest.ofSize(3)))
+                    .thenReturn(testTransactions);
+
+            TransactionCursorPageDTO result = transactionService.getTransactionHistoryAfter(TEST_ACCOUNT_ID, null, 2);
+
+            assertThat(result.getContent()).extracting(TransactionResponseDTO::getId).containsExactly(1L, 2L);
+            assertThat(TransactionCursor.decode(result.getNextCursor()))
+                    .isEqualTo(new TransactionCursor(testTransactions.get(1).getTimestamp(), 2L));
+            verify(accountRepository, never()).existsById(anyString());
+        }
+
+        @Test
+        @DisplayName("Seeks after the cursor and returns no cursor on the last page")
+        void seeksAfterCursor() {
+            TransactionCursor cursor = TransactionCursor.after(testTransactions.get(1));
+            when(transactionRepository.findAfter(TEST_ACCOUNT_ID, cursor.timestamp(), 2L, PageRequest.ofSize(3)))
+                    .thenReturn(List.of(testTransactions.get(2)));
+
+            TransactionCursorPageDTO result =
+                    transactionService.getTransactionHistoryAfter(TEST_ACCOUNT_ID, cursor.encode(), 2);
+
+            assertThat(result.getContent()).extracting(TransactionResponseDTO::getId).containsExactly(3L);
+            assertThat(result.getNextCursor()).isNull();
+            verify(transactionRepository, never()).findByAccount(any(), any());
+        }
+
+        @Test
+        @DisplayName("Throws AccountNotFoundException when the page is empty and the account doesn't exist")
+        void throwsWhenAccountDoesNotExist() {
+            when(transactionRepository.findLatest(eq(TEST_ACCOUNT_ID), any(Pageable.class))).thenReturn(List.of());
+            when(accountRepository.existsById(TEST_ACCOUNT_ID)).thenReturn(false);
+
+            assertThatThrownBy(() -> transactionService.getTransactionHistoryAfter(TEST_ACCOUNT_ID, "", 10))
+                    .isInstanceOf(AccountNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Rejects invalid cursors and page sizes")
+        void rejectsInvalidInput() {
+            assertThatThrownBy(() -> transactionService.getTransactionHistoryAfter(TEST_ACCOUNT_ID, "bogus", 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> transactionService.getTransactionHistoryAfter(TEST_ACCOUNT_ID, null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(transactionRepository, never()).findAfter(anyString(), any(), anyLong(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Transaction history retrieval without totals")
+    class GetTransactionHistorySlice {
+
+        @Test
+        @DisplayName("Returns the page and whether a next one exists, ordered by timestamp and ID")
+        void returnsSliceWithoutCounting() {
+            Pageable expectedPageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+            when(transactionRepository.findSliceByAccountId(TEST_ACCOUNT_ID, expectedPageable))
+                    .thenReturn(new SliceImpl<>(testTransactions.subList(0, 2), expectedPageable, true));
+            when(transactionMapper.toTransactionResponseDTO(any(Transaction.class)))
+                    .thenReturn(TransactionResponseDTO.builder().build());
+
+            TransactionSliceDTO result = transactionService.getTransactionHistorySlice(TEST_ACCOUNT_ID, 1, 2);
+
+            assertThat(result.getContent()).hasSize(2);
+            assertThat(result.getPage()).isEqualTo(1);
+            assertThat(result.getSize()).isEqualTo(2);
+            assertThat(result.isHasNext()).isTrue();
+            verify(transactionRepository, never()).findByAccount(any(), any());
+            verify(accountRepository, never()).existsById(anyString());
+        }
+
+        @Test
+        @DisplayName("Throws AccountNotFoundException when the page is empty and the account doesn't exist")
+        void throwsWhenAccountDoesNotExist() {
+            when(transactionRepository.findSliceByAccountId(eq(TEST_ACCOUNT_ID), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of()));
+            when(accountRepository.existsById(TEST_ACCOUNT_ID)).thenReturn(false);
+
+            assertThatThrownBy(() -> transactionService.getTransactionHistorySlice(TEST_ACCOUNT_ID, 0, 10))
+                    .isInstanceOf(AccountNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Filtered transaction history retrieval")
+    class GetFilteredTransactionHistory {
+
+        private final TransactionFilter filter = new TransactionFilter(null, null,
+                Set.of(TransactionType.DEPOSIT, TransactionType.WITHDRAWAL), Set.of(Currency.EUR));
+
+        @BeforeEach
+        void setUpMapper() {
+            when(transactionMapper.toTransactionResponseDTO(any(Transaction.class)))
+                .thenAnswer(invocation -> TransactionResponseDTO.builder()
+                        .id(invocation.<Transaction>getArgument(0).getId())
+                        .build());
+        }
+
+        @Test
+        @DisplayName("Skips the count when the first page is not full")
+        void returnsPageWithoutCountingWhenNotFull() {
+            when(transactionRepository.findFiltered(TEST_ACCOUNT_ID, filter, 0, 10))
+                    .thenReturn(testTransactions.subList(0, 2));
+
+            Page<TransactionResponseDTO> result = transactionService.getTransactionHistory(TEST_ACCOUNT_ID, filter, 0,
+                    10);
+
+            assertThat(result.getContent()).extracting(TransactionResponseDTO::getId).containsExactly(1L, 2L);
+            assertThat(result.getTotalElements()).isEqualTo(2);
+            verify(transactionRepository, never()).countFiltered(anyString(), any());
+            verify(transactionRepository, never()).findByAccount(any(), any());
+            verify(accountRepository, never()).findById(anyString());
+        }
+
+        @Test
+        @DisplayName("Counts the matching transactions when the page is full")
+        void countsWhenPageIsFull() {
+            when(transactionRepository.findFiltered(TEST_ACCOUNT_ID, filter, 2, 2))
+                    .thenReturn(testTransactions.subList(0, 2));
+            when(transactionRepository.countFiltered(TEST_ACCOUNT_ID, filter)).thenReturn(7L);
+
+            Page<TransactionResponseDTO> result = transactionService.getTransactionHistory(TEST_ACCOUNT_ID, filter, 1,
+                    2);
+
+            assertThat(result.getTotalElements()).isEqualTo(7);
+            assertThat(result.getTotalPages()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Reads one extra row for a slice")
+        void returnsSliceWithOneExtraRow() {
+            when(transactionRepository.findFiltered(TEST_ACCOUNT_ID, filter, 2, 3)).thenReturn(testTransactions);
+
+            TransactionSliceDTO result = transactionService.getTransactionHistorySlice(TEST_ACCOUNT_ID, filter, 1, 2);
+
+            assertThat(result.getContent()).extracting(TransactionResponseDTO::getId).containsExactly(1L, 2L);
+            assertThat(result.isHasNext()).isTrue();
+            verify(transactionRepository, never()).findSliceByAccountId(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Seeks after the cursor within the matching transactions")
+        void seeksAfterCursor() {
+            TransactionCursor cursor = TransactionCursor.after(testTransactions.get(0));
+            when(transactionRepository.findFilteredAfter(TEST_ACCOUNT_ID, filter, cursor.timestamp(), 1L, 3))
+                    .thenReturn(testTransactions.subList(1, 3));
+
+            TransactionCursorPageDTO result =
+                    transactionService.getTransactionHistoryAfter(TEST_ACCOUNT_ID, filter, cursor.encode(), 2);
+
+            assertThat(result.getContent()).extracting(TransactionResponseDTO::getId).containsExactly(2L, 3L);
+            assertThat(result.getNextCursor()).isNull();
+            verify(transactionRepository, never()).findAfter(anyString(), any(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Throws AccountNotFoundException when nothing matches and the account doesn't exist")
+        void throwsWhenAccountDoesNotExist() {
+            when(transactionRepository.findFiltered(TEST_ACCOUNT_ID, filter, 0, 10)).thenReturn(List.of());
+            when(accountRepository.existsById(TEST_ACCOUNT_ID)).thenReturn(false);
+
+            assertThatThrownBy(() -> transactionService.getTransactionHistory(TEST_ACCOUNT_ID, filter, 0, 10))
+                    .isInstanceOf(AccountNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Rejects a time range that does not end after it starts")
+        void rejectsEmptyTimeRange() {
+            assertThatThrownBy(() -> new TransactionFilter(now, now, null, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(new TransactionFilter(null, null, null, null).isEmpty()).isTrue();
+        }
+    }
+}
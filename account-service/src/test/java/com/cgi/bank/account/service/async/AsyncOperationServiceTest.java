@@ -0,0 +1,271 @@
+package com.cgi.bank.account.service.async;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.cgi.bank.account.config.AsyncOperationProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.AsyncOperationDTO;
+import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.domain.AsyncOperation;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.exception.IdempotencyKeyReuseException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.repository.AsyncOperationRepository;
+import com.cgi.bank.account.service.AccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the {@link AsyncOperationService}.
+ * Most tests leave the service stopped, so submitted operations are only stored, and run the worker step directly.
+ */
+@DisplayName("Async Operation Service Tests")
+class AsyncOperationServiceTest {
+
+    private static final String ACCOUNT_ID = "account123";
+    private static final BigDecimal AMOUNT = new BigDecimal("50.00");
+
+    private AsyncOperationRepository repository;
+    private AccountService accountService;
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncOperationService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AsyncOperationRepository.class);
+        when(repository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.findByIdempotencyKey(anyString())).thenReturn(Optional.empty());
+        when(repository.finish(anyString(), any(), any(), any(), any(), any())).thenReturn(1);
+        accountService = mock(AccountService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        service = new AsyncOperationService(repository, accountService, new AsyncOperationProperties(),
+                new ObjectMapper(), transactionManager, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("Stores a submitted operation as pending before acknowledging it")
+    void submitStoresPendingOperation() {
+        AsyncOperationDTO operation = service.submit(
+                AsyncOperation.Type.DEPOSIT, ACCOUNT_ID, Currency.EUR, null, AMOUNT, null);
+
+        assertThat(operation.getStatus()).isEqualTo("PENDING");
+        assertThat(operation.getOperationId()).isNotBlank();
+        ArgumentCaptor<AsyncOperation> stored = ArgumentCaptor.forClass(AsyncOperation.class);
+        verify(repository).saveAndFlush(stored.capture());
+        assertThat(stored.getValue().getOperationId()).isEqualTo(operation.getOperationId());
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    @DisplayName("Returns the first operation when a submission is retried with the same key")
+    void submitWithSameKeyReturnsExistingOperation() {
+        AsyncOperationDTO first = service.submit(
+                AsyncOperation.Type.DEPOSIT, ACCOUNT_ID, Currency.EUR, null, AMOUNT, "key-1");
+        ArgumentCaptor<AsyncOperation> stored = ArgumentCaptor.forClass(AsyncOperation.class);
+        verify(repository).saveAndFlush(stored.capture());
+        when(repository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(stored.getValue()));
+
+        AsyncOperationDTO retried = service.submit(
+                AsyncOperation.Type.DEPOSIT, ACCOUNT_ID, Currency.EUR, null, new BigDecimal("50"), "key-1");
+
+        assertThat(retried.getOperationId()).isEqualTo(first.getOperationId());
+        verify(repository).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Rejects a key reused for a different operation")
+    void submitWithReusedKeyFails() {
+        service.submit(AsyncOperation.Type.DEPOSIT, ACCOUNT_ID, Currency.EUR, null, AMOUNT, "key-1");
+        ArgumentCaptor<AsyncOperation> stored = ArgumentCaptor.forClass(AsyncOperation.class);
+        verify(repository).saveAndFlush(stored.capture());
+        when(repository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(stored.getValue()));
+
+        assertThatThrownBy(() -> service.submit(
+                AsyncOperation.Type.WITHDRAWAL, ACCOUNT_ID, Currency.EUR, null, AMOUNT, "key-1"))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+    }
+
+    @Test
+    @DisplayName("Stores the balance response of a successful operation and signals waiters")
+    void executeStoresResult() {
+        AsyncOperation operation = storedOperation(AsyncOperation.Type.DEPOSIT);
+        when(repository.claim(eq(operation.getOperationId()), any())).thenReturn(1);
+        when(accountService.deposit(ACCOUNT_ID, AMOUNT, Currency.EUR)).thenReturn(
+                new AccountBalanceResponseDTO(ACCOUNT_ID, List.of(new BalanceDTO("EUR", new BigDecimal("150.00")))));
+        CompletableFuture<AsyncOperationDTO> completion = service.awaitCompletion(operation.getOperationId());
+
+        service.execute(operation.getOperationId());
+
+        assertThat(operation.getStatus()).isEqualTo(AsyncOperation.Status.SUCCEEDED);
+        verify(repository).finish(eq(operation.getOperationId()), eq(AsyncOperation.Status.SUCCEEDED),
+                eq(operation.getResultBody()), any(), any(), eq(operation.getCompletedAt()));
+        assertThat(completion).isCompleted();
+        AsyncOperationDTO finished = completion.join();
+        assertThat(finished.getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(finished.getResult().getBalances().get(0).getAmount()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    @DisplayName("Stores the status and message the synchronous endpoint would have returned for a failure")
+    void executeStoresError() {
+        AsyncOperation operation = storedOperation(AsyncOperation.Type.WITHDRAWAL);
+        when(repository.claim(eq(operation.getOperationId()), any())).thenReturn(1);
+        when(accountService.withdraw(ACCOUNT_ID, AMOUNT, Currency.EUR)).thenThrow(
+                new InsufficientFundsException(ACCOUNT_ID, Currency.EUR, AMOUNT, BigDecimal.TEN));
+
+        service.execute(operation.getOperationId());
+
+        assertThat(operation.getStatus()).isEqualTo(AsyncOperation.Status.FAILED);
+        assertThat(operation.getErrorStatus()).isEqualTo(422);
+        assertThat(operation.getErrorMessage()).isNotBlank();
+        assertThat(operation.getCompletedAt()).isNotNull();
+        verify(repository).finish(operation.getOperationId(), AsyncOperation.Status.FAILED, null, 422,
+                operation.getErrorMessage(), operation.getCompletedAt());
+    }
+
+    @Test
+    @DisplayName("Does not run an operation another worker has claimed")
+    void executeSkipsClaimedOperation() {
+        AsyncOperation operation = storedOperation(AsyncOperation.Type.DEPOSIT);
+        when(repository.claim(eq(operation.getOperationId()), any())).thenReturn(0);
+
+        service.execute(operation.getOperationId());
+
+        verifyNoInteractions(accountService);
+        verify(repository, never()).finish(anyString(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("The sweep marks abandoned operations unknown and dispatches pending ones to the workers")
+    void sweepRecoversOperations() {
+        AsyncOperation abandoned = storedOperation(AsyncOperation.Type.EXCHANGE);
+        abandoned.setStatus(AsyncOperation.Status.RUNNING);
+        abandoned.setStartedAt(Instant.now().minusSeconds(3600));
+        AsyncOperation pending = storedOperation(AsyncOperation.Type.DEPOSIT);
+        when(repository.findRunningStartedBefore(any())).thenReturn(List.of(abandoned));
+        when(repository.findPendingIds(any(), any())).thenReturn(List.of(pending.getOperationId()));
+        when(repository.claim(eq(pending.getOperationId()), any())).thenReturn(1);
+        when(accountService.deposit(ACCOUNT_ID, AMOUNT, Currency.EUR))
+                .thenReturn(new AccountBalanceResponseDTO(ACCOUNT_ID, List.of()));
+        service.start();
+
+        service.sweep();
+
+        assertThat(abandoned.getStatus()).isEqualTo(AsyncOperation.Status.UNKNOWN);
+        assertThat(abandoned.getErrorStatus()).isNull();
+        assertThat(abandoned.getErrorMessage()).contains("may have been applied");
+        assertThat(abandoned.getCompletedAt()).isNotNull();
+        verify(accountService, timeout(1000)).deposit(ACCOUNT_ID, AMOUNT, Currency.EUR);
+        verify(repository).finish(eq(abandoned.getOperationId()), eq(AsyncOperation.Status.UNKNOWN), any(), any(),
+                any(), any());
+        verify(repository, timeout(1000)).finish(eq(pending.getOperationId()), eq(AsyncOperation.Status.SUCCEEDED),
+                any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("An applied operation whose outcome cannot be stored is reported unknown, not failed")
+    void outcomeLostAfterWriteIsReportedUnknown() {
+        AsyncOperation operation = storedOperation(AsyncOperation.Type.DEPOSIT);
+        when(repository.claim(eq(operation.getOperationId()), any())).thenReturn(1);
+        when(accountService.deposit(ACCOUNT_ID, AMOUNT, Currency.EUR))
+                .thenReturn(new AccountBalanceResponseDTO(ACCOUNT_ID, List.of()));
+        when(repository.finish(eq(operation.getOperationId()), any(), any(), any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+        CompletableFuture<AsyncOperationDTO> completion = service.awaitCompletion(operation.getOperationId());
+
+        // The deposit commits in its own transaction, then recording SUCCEEDED fails
+        service.execute(operation.getOperationId());
+
+        assertThat(completion).isNotDone();
+        // As stored, the operation is still running; the sweep finds it once running-timeout has passed
+        AsyncOperation stored = storedOperation(AsyncOperation.Type.DEPOSIT);
+        stored.setStatus(AsyncOperation.Status.RUNNING);
+        stored.setStartedAt(Instant.now().minusSeconds(3600));
+        when(repository.findRunningStartedBefore(any())).thenReturn(List.of(stored));
+        when(repository.findPendingIds(any(), any())).thenReturn(List.of());
+        service.start();
+
+        service.sweep();
+
+        assertThat(stored.getStatus()).isEqualTo(AsyncOperation.Status.UNKNOWN);
+        assertThat(stored.getStatus().isFinished()).isTrue();
+        assertThat(stored.getErrorStatus()).isNull();
+        verify(repository).finish(eq(stored.getOperationId()), eq(AsyncOperation.Status.UNKNOWN), any(), any(),
+                any(), any());
+        verify(accountService).deposit(ACCOUNT_ID, AMOUNT, Currency.EUR);
+    }
+
+    @Test
+    @DisplayName("A worker finishing after the sweep marked its operation unknown does not overwrite the outcome")
+    void lateWorkerDoesNotOverwriteUnknownOutcome() {
+        AsyncOperation operation = storedOperation(AsyncOperation.Type.DEPOSIT);
+        when(repository.claim(eq(operation.getOperationId()), any())).thenReturn(1);
+        when(accountService.deposit(ACCOUNT_ID, AMOUNT, Currency.EUR))
+                .thenReturn(new AccountBalanceResponseDTO(ACCOUNT_ID, List.of()));
+        // The sweep of another instance recorded UNKNOWN first, so the operation is no longer running
+        when(repository.finish(eq(operation.getOperationId()), any(), any(), any(), any(), any())).thenReturn(0);
+        CompletableFuture<AsyncOperationDTO> completion = service.awaitCompletion(operation.getOperationId());
+
+        service.execute(operation.getOperationId());
+
+        verify(repository).finish(eq(operation.getOperationId()), eq(AsyncOperation.Status.SUCCEEDED), any(),
+                any(), any(), any());
+        verify(repository, never()).save(any());
+        assertThat(completion).isNotDone();
+    }
+
+    @Test
+    @DisplayName("The sweep does not count an operation another instance or its worker finished first")
+    void sweepSkipsOperationFinishedMeanwhile() {
+        AsyncOperation abandoned = storedOperation(AsyncOperation.Type.DEPOSIT);
+        abandoned.setStatus(AsyncOperation.Status.RUNNING);
+        abandoned.setStartedAt(Instant.now().minusSeconds(3600));
+        when(repository.findRunningStartedBefore(any())).thenReturn(List.of(abandoned));
+        when(repository.findPendingIds(any(), any())).thenReturn(List.of());
+        when(repository.finish(eq(abandoned.getOperationId()), any(), any(), any(), any(), any())).thenReturn(0);
+        service.start();
+
+        service.sweep();
+
+        assertThat(meterRegistry.counter("operations.async", "outcome", "abandoned").count()).isZero();
+    }
+
+    private AsyncOperation storedOperation(AsyncOperation.Type type) {
+        Currency target = type == AsyncOperation.Type.EXCHANGE ? Currency.USD : null;
+        AsyncOperation operation = new AsyncOperation(type, ACCOUNT_ID, Currency.EUR, target, AMOUNT, Instant.now());
+        when(repository.findById(operation.getOperationId())).thenReturn(Optional.of(operation));
+        return operation;
+    }
+}
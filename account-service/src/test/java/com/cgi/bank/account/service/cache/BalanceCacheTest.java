@@ -0,0 +1,182 @@
+package com.cgi.bank.account.service.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.cgi.bank.account.config.BalanceCacheProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.domain.Account;
+import com.cgi.bank.account.domain.Balance;
+import com.cgi.bank.account.domain.Currency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the {@link BalanceCache}.
+ * Without an active transaction synchronization, after-commit updates are applied immediately.
+ */
+@DisplayName("Balance Cache Tests")
+class BalanceCacheTest {
+
+    private static final String ACCOUNT_ID = "account123";
+
+    private Account account;
+    private BalanceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        account = new Account();
+        account.setAccountId(ACCOUNT_ID);
+        cache = new BalanceCache(new BalanceCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Returns written balances ordered by currency")
+    void getReturnsWrittenBalances() {
+        cache.putAfterCommit(ACCOUNT_ID, List.of(balance(Currency.USD, "150.00", 0),
+                balance(Currency.EUR, "100.00", 3)));
+
+        assertThat(cache.get(ACCOUNT_ID)).get()
+                .extracting(AccountBalanceResponseDTO::getBalances)
+                .isEqualTo(List.of(new BalanceDTO("EUR", new BigDecimal("100.00")),
+                        new BalanceDTO("USD", new BigDecimal("150.00"))));
+    }
+
+    @Test
+    @DisplayName("Keeps the balance with the higher version when writes report out of order")
+    void olderWriteDoesNotReplaceNewerBalance() {
+        cache.putAfterCommit(ACCOUNT_ID, List.of(balance(Currency.EUR, "120.00", 5)));
+        cache.putAfterCommit(ACCOUNT_ID, List.of(balance(Currency.EUR, "110.00", 4),
+                balance(Currency.USD, "10.00", 0)));
+
+        assertThat(amounts()).containsExactly(new BalanceDTO("EUR", new BigDecimal("120.00")),
+                new BalanceDTO("USD", new BigDecimal("10.00")));
+    }
+
+    @Test
+    @DisplayName("A single-balance merge only updates accounts that are already cached")
+    void mergeOnlyUpdatesCachedAccounts() {
+        cache.mergeAfterCommit(ACCOUNT_ID, balance(Currency.EUR, "100.00", 1));
+        assertThat(cache.get(ACCOUNT_ID)).isEmpty();
+
+        cache.putAfterCommit(ACCOUNT_ID, List.of(balance(Currency.EUR, "100.00", 1),
+                balance(Currency.USD, "50.00", 0)));
+        cache.mergeAfterCommit(ACCOUNT_ID, balance(Currency.EUR, "70.00", 2));
+
+        assertThat(amounts()).containsExactly(new BalanceDTO("EUR", new BigDecimal("70.00")),
+                new BalanceDTO("USD", new BigDecimal("50.00")));
+    }
+
+    @Test
+    @DisplayName("After an eviction, only a read started after it repopulates the account")
+    void evictionBlocksWritesAndEarlierReads() {
+        long earlierRead = cache.startRead();
+        cache.putAfterCommit(ACCOUNT_ID, List.of(balance(Currency.EUR, "100.00", 1)));
+        cache.evict(ACCOUNT_ID);
+
+        cache.putAfterCommit(ACCOUNT_ID, List.of(balance(Currency.EUR, "90.00", 1)));
+        cache.fill(ACCOUNT_ID, List.of(balance(Currency.EUR, "100.00", 1)), earlierRead);
+        assertThat(cache.get(ACCOUNT_ID)).isEmpty();
+
+        cache.fill(ACCOUNT_ID, List.of(balance(Currency.EUR, "125.00", 2)), cache.startRead());
+        assertThat(amounts()).containsExactly(new BalanceDTO("EUR", new BigDecimal("125.00")));
+    }
+
+    @Test
+    @DisplayName("Reports the available amount of balances with holds")
+    void getReportsAvailableAmount() {
+        Balance held = balance(Currency.EUR, "100.00", 1);
+        held.hold(new BigDecimal("30.00"));
+        cache.putAfterCommit(ACCOUNT_ID, List.of(held));
+
+        assertThat(amounts()).containsExactly(
+                new BalanceDTO("EUR", new BigDecimal("100.00"), new BigDecimal("70.00")));
+    }
+
+    @Test
+    @DisplayName("Applies updates only after commit, and drops those discarded before it")
+    void updatesWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAfterCommit(ACCOUNT_ID, List.of(balance(Currency.EUR, "100.00", 1)));
+        int kept = cache.pendingCount();
+        cache.putAfterCommit("other-account", List.of(balance(Currency.EUR, "5.00", 1)));
+        cache.discardPendingSince(kept);
+
+        assertThat(cache.get(ACCOUNT_ID)).isEmpty();
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+        assertThat(cache.get(ACCOUNT_ID)).isPresent();
+        assertThat(cache.get("other-account")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("After a full flush, only reads started after it repopulate the cache")
+    void evictAllBlocksEarlierReads() {
+        long earlierRead = cache.startRead();
+        cache.putAfterCommit(ACCOUNT_ID, List.of(balance(Currency.EUR, "100.00", 1)));
+
+        cache.evictAll();
+        cache.fill(ACCOUNT_ID, List.of(balance(Currency.EUR, "100.00", 1)), earlierRead);
+        assertThat(cache.get(ACCOUNT_ID)).isEmpty();
+
+        cache.fill(ACCOUNT_ID, List.of(balance(Currency.EUR, "125.00", 2)), cache.startRead());
+        assertThat(amounts()).containsExactly(new BalanceDTO("EUR", new BigDecimal("125.00")));
+    }
+
+    @Test
+    @DisplayName("Tells change listeners about committed changes, even when the cache is disabled")
+    void changeListenersSeeCommittedChanges() {
+        BalanceCacheProperties properties = new BalanceCacheProperties();
+        properties.setEnabled(false);
+        cache = new BalanceCache(properties, new SimpleMeterRegistry());
+        List<String> changed = new ArrayList<>();
+        cache.addChangeListener(changed::add);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAfterCommit(ACCOUNT_ID, List.of(balance(Currency.EUR, "100.00", 1)));
+        cache.evictAfterCommit("other-account");
+        assertThat(changed).isEmpty();
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        assertThat(changed).containsExactly(ACCOUNT_ID, "other-account");
+    }
+
+    @Test
+    @DisplayName("A disabled cache never returns balances")
+    void disabledCacheIsAlwaysEmpty() {
+        BalanceCacheProperties properties = new BalanceCacheProperties();
+        properties.setEnabled(false);
+        cache = new BalanceCache(properties, new SimpleMeterRegistry());
+
+        cache.putAfterCommit(ACCOUNT_ID, List.of(balance(Currency.EUR, "100.00", 1)));
+
+        assertThat(cache.get(ACCOUNT_ID)).isEmpty();
+    }
+
+    private List<BalanceDTO> amounts() {
+        return cache.get(ACCOUNT_ID).orElseThrow().getBalances();
+    }
+
+    private Balance balance(Currency currency, String amount, long version) {
+        Balance balance = new Balance(account, currency, new BigDecimal(amount));
+        balance.setVersion(version);
+        return balance;
+    }
+}
@@ -0,0 +1,126 @@
+package com.cgi.bank.account.service.cache;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.cgi.bank.account.config.BalanceCacheProperties;
+import com.cgi.bank.account.config.CacheInvalidationProperties;
+import com.cgi.bank.account.domain.Account;
+import com.cgi.bank.account.domain.Balance;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.integration.AbstractIntegrationTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Integration tests for the {@link CacheInvalidationBus} over PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+ * The application context is one instance; a second cache and bus on the same database play another one.
+ */
+@Tag("integration")
+@TestPropertySource(properties = "app.cache-invalidation.enabled=true")
+class CacheInvalidationBusIntegrationTest extends AbstractIntegrationTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    @Autowired
+    private CacheInvalidationProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private BalanceCache otherCache;
+    private CacheInvalidationBus otherBus;
+
+    @BeforeEach
+    void setUp() {
+        otherCache = new BalanceCache(new BalanceCacheProperties(), new SimpleMeterRegistry());
+        otherBus = new CacheInvalidationBus(properties, otherCache, jdbcTemplate, dataSourceProperties,
+                new SimpleMeterRegistry());
+        otherBus.start();
+        awaitUntil(() -> bus.isListening() && otherBus.isListening());
+    }
+
+    @AfterEach
+    void tearDown() {
+        otherBus.stop();
+    }
+
+    @Test
+    void committedChangeEvictsAccountOnOtherInstance() {
+        String accountId = UUID.randomUUID().toString();
+        otherCache.fill(accountId, List.of(balance(accountId, "100.00")), otherCache.startRead());
+
+        balanceCache.putAfterCommit(accountId, List.of(balance(accountId, "75.00")));
+
+        awaitUntil(() -> otherCache.get(accountId).isEmpty());
+        assertThat(balanceCache.get(accountId)).isPresent();
+    }
+
+    @Test
+    void changesSpanningSeveralNotificationsAreAllDelivered() {
+        List<String> accountIds = IntStream.range(0, 500)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+        accountIds.forEach(accountId ->
+                otherCache.fill(accountId, List.of(balance(accountId, "100.00")), otherCache.startRead()));
+
+        accountIds.forEach(balanceCache::evictAfterCommit);
+
+        awaitUntil(() -> accountIds.stream().allMatch(accountId -> otherCache.get(accountId).isEmpty()));
+    }
+
+    @Test
+    void reconnectingListenerFlushesCache() {
+        String accountId = UUID.randomUUID().toString();
+        otherBus.stop();
+        otherCache.fill(accountId, List.of(balance(accountId, "100.00")), otherCache.startRead());
+
+        otherBus.start();
+
+        awaitUntil(otherBus::isListening);
+        assertThat(otherCache.get(accountId)).isEmpty();
+    }
+
+    private Balance balance(String accountId, String amount) {
+        Account account = new Account();
+        account.setAccountId(accountId);
+        Balance balance = new Balance(account, Currency.EUR, new BigDecimal(amount));
+        balance.setVersion(1L);
+        return balance;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.cgi.bank.account.service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.cgi.bank.account.config.CacheInvalidationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the payload handling of the {@link CacheInvalidationBus}.
+ * Delivery over PostgreSQL is covered by {@link CacheInvalidationBusIntegrationTest}.
+ */
+@DisplayName("Cache Invalidation Bus Tests")
+class CacheInvalidationBusTest {
+
+    private BalanceCache balanceCache;
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        balanceCache = mock(BalanceCache.class);
+        bus = new CacheInvalidationBus(new CacheInvalidationProperties(), balanceCache, mock(JdbcTemplate.class),
+                new DataSourceProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Subscribes to the accounts changed through the balance cache")
+    void subscribesToBalanceCacheChanges() {
+        verify(balanceCache).addChangeListener(any());
+    }
+
+    @Test
+    @DisplayName("Splits account IDs over payloads PostgreSQL accepts")
+    void payloadsStayBelowNotificationLimit() {
+        List<String> accountIds = IntStream.range(0, 500)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+
+        List<String> payloads = bus.payloads(accountIds);
+
+        assertThat(payloads).hasSizeGreaterThan(1)
+                .allSatisfy(payload -> assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThan(8000));
+        assertThat(payloads.stream()
+                .flatMap(payload -> Arrays.stream(payload.substring(payload.indexOf('|') + 1).split(","))))
+                .containsExactlyElementsOf(accountIds);
+    }
+
+    @Test
+    @DisplayName("Evicts the accounts reported by another instance")
+    void receiveEvictsReportedAccounts() {
+        bus.receive("other-instance|account1,account2");
+
+        verify(balanceCache).evict("account1");
+        verify(balanceCache).evict("account2");
+        verify(balanceCache, never()).evictAll();
+    }
+
+    @Test
+    @DisplayName("Ignores notifications sent by this instance")
+    void receiveIgnoresOwnNotifications() {
+        bus.receive(bus.payloads(List.of("account1")).get(0));
+
+        verify(balanceCache, never()).evict(anyString());
+        verify(balanceCache, never()).evictAll();
+    }
+
+    @Test
+    @DisplayName("Flushes the cache when asked to or when the payload cannot be read")
+    void receiveFlushesOnFlushAllOrUnknownPayload() {
+        bus.receive("other-instance|" + CacheInvalidationBus.FLUSH_ALL);
+        bus.receive("not-a-payload");
+
+        verify(balanceCache, times(2)).evictAll();
+        verify(balanceCache, never()).evict(anyString());
+    }
+}
@@ -0,0 +1,187 @@
+package com.cgi.bank.account.service.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.exception.AccountLockTimeoutException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the {@link AccountLockManager}.
+ */
+@DisplayName("Account Lock Manager Tests")
+class AccountLockManagerTest {
+
+    private static final String ACCOUNT_ID = "account123";
+
+    private LedgerProperties ledgerProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        ledgerProperties = new LedgerProperties();
+        ledgerProperties.getLock().setStripes(4);
+        ledgerProperties.getLock().setTimeout(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Serializes concurrent actions on the same account")
+    void serializesConcurrentActionsOnSameAccount() throws Exception {
+        ledgerProperties.getLock().setTimeout(Duration.ofSeconds(5));
+        AccountLockManager lockManager = new AccountLockManager(ledgerProperties, meterRegistry);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        Runnable task = () -> lockManager.executeLocked(ACCOUNT_ID, () -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sleep(20);
+            return active.decrementAndGet();
+        });
+
+        Future<?> first = executor.submit(task);
+        Future<?> second = executor.submit(task);
+        Future<?> third = executor.submit(task);
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        third.get(5, TimeUnit.SECONDS);
+
+        assertThat(maxActive.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Throws AccountLockTimeoutException when the stripe is held too long")
+    void throwsWhenStripeIsHeldTooLong() throws Exception {
+        AccountLockManager lockManager = new AccountLockManager(ledgerProperties, meterRegistry);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> holder = executor.submit(() -> lockManager.executeLocked(ACCOUNT_ID, () -> {
+            locked.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> lockManager.executeLocked(ACCOUNT_ID, () -> "never"))
+                .isInstanceOf(AccountLockTimeoutException.class)
+                .hasMessageContaining(ACCOUNT_ID);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("ledger.account.lock.timeouts").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Runs the action directly when locking is disabled")
+    void runsDirectlyWhenDisabled() {
+        ledgerProperties.getLock().setEnabled(false);
+        AccountLockManager lockManager = new AccountLockManager(ledgerProperties, meterRegistry);
+
+        String result = lockManager.executeLocked(ACCOUNT_ID, () -> "done");
+
+        assertThat(result).isEqualTo("done");
+        assertThat(meterRegistry.get("ledger.account.lock.wait").timers())
+                .allSatisfy(timer -> assertThat(timer.count()).isZero());
+    }
+
+    @Test
+    @DisplayName("Registers wait time and queue depth metrics per stripe")
+    void registersMetricsPerStripe() {
+        AccountLockManager lockManager = new AccountLockManager(ledgerProperties, meterRegistry);
+        String stripe = String.valueOf(lockManager.stripeFor(ACCOUNT_ID));
+
+        lockManager.executeLocked(ACCOUNT_ID, () -> null);
+
+        assertThat(meterRegistry.get("ledger.account.lock.queue").gauges()).hasSize(4);
+        assertThat(meterRegistry.get("ledger.account.lock.wait").tag("stripe", stripe).timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Locks two accounts in stripe order, so opposite-order callers do not deadlock")
+    void locksTwoAccountsWithoutDeadlock() throws Exception {
+        ledgerProperties.getLock().setTimeout(Duration.ofSeconds(5));
+        AccountLockManager lockManager = new AccountLockManager(ledgerProperties, meterRegistry);
+        String other = "account456";
+        for (int i = 0; lockManager.stripeFor(other) == lockManager.stripeFor(ACCOUNT_ID); i++) {
+            other = "account" + i;
+        }
+        String otherAccountId = other;
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Future<?> forward = executor.submit(() -> lockManager.executeLocked(ACCOUNT_ID, otherAccountId, () -> {
+            bothStarted.countDown();
+            sleep(50);
+            return null;
+        }));
+        Future<?> backward = executor.submit(() -> lockManager.executeLocked(otherAccountId, ACCOUNT_ID, () -> {
+            bothStarted.countDown();
+            sleep(50);
+            return null;
+        }));
+        forward.get(5, TimeUnit.SECONDS);
+        backward.get(5, TimeUnit.SECONDS);
+
+        assertThat(bothStarted.getCount()).isZero();
+        assertThat(meterRegistry.get("ledger.account.lock.timeouts").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Holds both stripes while the action runs")
+    void holdsBothStripes() throws Exception {
+        AccountLockManager lockManager = new AccountLockManager(ledgerProperties, meterRegistry);
+        String otherAccountId = "account456";
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> holder = executor.submit(() -> lockManager.executeLocked(ACCOUNT_ID, otherAccountId, () -> {
+            locked.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> lockManager.executeLocked(otherAccountId, () -> null))
+                .isInstanceOf(AccountLockTimeoutException.class);
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
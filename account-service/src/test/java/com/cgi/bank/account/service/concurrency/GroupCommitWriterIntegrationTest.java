@@ -0,0 +1,100 @@
+package com.cgi.bank.account.service.concurrency;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.integration.AbstractIntegrationTest;
+import com.cgi.bank.account.integration.NotificationClient;
+import com.cgi.bank.account.service.impl.AccountServiceImpl;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for the {@link GroupCommitWriter} against PostgreSQL, where its per-operation savepoints are
+ * real JDBC savepoints inside the shared batch transaction.
+ */
+@Tag("integration")
+@TestPropertySource(properties = {
+        "app.ledger.group-commit.enabled=true",
+        "app.ledger.group-commit.max-batch-size=3",
+        "app.ledger.group-commit.max-wait=2s"
+})
+class GroupCommitWriterIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private GroupCommitWriter writer;
+
+    @Autowired
+    private AccountServiceImpl accountService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private NotificationClient notificationClient;
+
+    @Test
+    void failedOperationRollsBackToItsSavepointWhileOthersCommit() throws Exception {
+        String first = accountService.createAccount().getAccountId();
+        String failing = accountService.createAccount().getAccountId();
+        String last = accountService.createAccount().getAccountId();
+
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            CompletableFuture<AccountBalanceResponseDTO> firstDeposit = CompletableFuture.supplyAsync(
+                    () -> writer.submit("deposit",
+                            () -> accountService.deposit(first, new BigDecimal("10.00"), Currency.EUR)), callers);
+            CompletableFuture<AccountBalanceResponseDTO> failedWithdrawal = CompletableFuture.supplyAsync(
+                    () -> writer.submit("withdraw", () -> {
+                        // Written to the database before the failure, so only the savepoint can undo it
+                        accountService.deposit(failing, new BigDecimal("50.00"), Currency.EUR);
+                        entityManager.flush();
+                        return accountService.withdraw(failing, new BigDecimal("80.00"), Currency.EUR);
+                    }), callers);
+            CompletableFuture<AccountBalanceResponseDTO> lastDeposit = CompletableFuture.supplyAsync(
+                    () -> writer.submit("deposit",
+                            () -> accountService.deposit(last, new BigDecimal("20.00"), Currency.EUR)), callers);
+
+            assertThat(firstDeposit.get(10, TimeUnit.SECONDS).getAccountId()).isEqualTo(first);
+            assertThat(lastDeposit.get(10, TimeUnit.SECONDS).getAccountId()).isEqualTo(last);
+            assertThatThrownBy(() -> failedWithdrawal.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(InsufficientFundsException.class);
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(balance(first)).isEqualByComparingTo("10.00");
+        assertThat(balance(last)).isEqualByComparingTo("20.00");
+        assertThat(count("SELECT COUNT(*) FROM balances WHERE account_id = ?", failing)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM transactions WHERE account_id = ?", failing)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM transactions WHERE account_id IN (?, ?)", first, last))
+                .isEqualTo(2);
+    }
+
+    private BigDecimal balance(String accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT amount FROM balances WHERE account_id = ? AND currency = 'EUR'", BigDecimal.class, accountId);
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
@@ -0,0 +1,161 @@
+package com.cgi.bank.account.service.concurrency;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.service.cache.BalanceCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Unit tests for the {@link GroupCommitWriter}.
+ */
+@DisplayName("Group Commit Writer Tests")
+class GroupCommitWriterTest {
+
+    private LedgerProperties ledgerProperties;
+    private PlatformTransactionManager transactionManager;
+    private EntityManager entityManager;
+    private List<SimpleTransactionStatus> transactions;
+    private SimpleMeterRegistry meterRegistry;
+    private GroupCommitWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        ledgerProperties = new LedgerProperties();
+        ledgerProperties.getGroupCommit().setEnabled(true);
+        ledgerProperties.getGroupCommit().setMaxBatchSize(3);
+        ledgerProperties.getGroupCommit().setMaxWait(Duration.ofMillis(500));
+        transactionManager = mock(PlatformTransactionManager.class);
+        transactions = new CopyOnWriteArrayList<>();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            SimpleTransactionStatus status = new SimpleTransactionStatus();
+            transactions.add(status);
+            return status;
+        });
+        entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new GroupCommitWriter(ledgerProperties, transactionManager, entityManager,
+                mock(BalanceCache.class), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    @DisplayName("Runs the action on the caller thread when group commit is disabled")
+    void runsInlineWhenDisabled() {
+        ledgerProperties.getGroupCommit().setEnabled(false);
+        writer.start();
+
+        String result = writer.submit("deposit", () -> Thread.currentThread().getName());
+
+        assertThat(writer.isEnabled()).isFalse();
+        assertThat(result).isEqualTo(Thread.currentThread().getName());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Commits a full batch in one transaction and completes every caller")
+    void commitsBatchInOneTransaction() throws Exception {
+        writer.start();
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            List<CompletableFuture<String>> results = List.of(
+                    CompletableFuture.supplyAsync(() -> writer.submit("deposit", () -> "a"), callers),
+                    CompletableFuture.supplyAsync(() -> writer.submit("deposit", () -> "b"), callers),
+                    CompletableFuture.supplyAsync(() -> writer.submit("deposit", () -> "c"), callers));
+
+            assertThat(results).extracting(future -> future.get(5, TimeUnit.SECONDS))
+                    .containsExactlyInAnyOrder("a", "b", "c");
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(meterRegistry.get("ledger.groupcommit.batch.size").summary().max()).isEqualTo(3.0);
+        verify(entityManager, times(3)).flush();
+    }
+
+    @Test
+    @DisplayName("Fails only the operation that threw a business exception")
+    void failsOnlyOffendingOperation() throws Exception {
+        writer.start();
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                    () -> writer.submit("deposit", () -> "ok"), callers);
+            CompletableFuture<String> failing = CompletableFuture.supplyAsync(
+                    () -> writer.submit("withdraw", () -> {
+                        throw new InsufficientFundsException("account123", Currency.EUR, null, null);
+                    }), callers);
+            CompletableFuture<String> last = CompletableFuture.supplyAsync(
+                    () -> writer.submit("deposit", () -> "also ok"), callers);
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+            assertThat(last.get(5, TimeUnit.SECONDS)).isEqualTo("also ok");
+            assertThatThrownBy(() -> failing.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(InsufficientFundsException.class);
+        } finally {
+            callers.shutdownNow();
+        }
+
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Re-applies the batch without an operation that left the transaction rollback-only")
+    void reappliesBatchAfterRollbackOnlyFailure() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        writer.start();
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                    () -> writer.submit("deposit", () -> "ok " + attempts.incrementAndGet()), callers);
+            CompletableFuture<String> failing = CompletableFuture.supplyAsync(
+                    () -> writer.submit("withdraw", () -> {
+                        transactions.get(transactions.size() - 1).setRollbackOnly();
+                        throw new IllegalStateException("flush failed");
+                    }), callers);
+            CompletableFuture<String> last = CompletableFuture.supplyAsync(
+                    () -> writer.submit("deposit", () -> "also ok"), callers);
+
+            assertThatThrownBy(() -> failing.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(first.get(5, TimeUnit.SECONDS)).isIn("ok 1", "ok 2");
+            assertThat(last.get(5, TimeUnit.SECONDS)).isEqualTo("also ok");
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(transactions).hasSizeGreaterThanOrEqualTo(2);
+    }
+}
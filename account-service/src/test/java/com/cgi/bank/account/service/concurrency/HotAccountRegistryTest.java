@@ -0,0 +1,135 @@
+package com.cgi.bank.account.service.concurrency;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.domain.HotAccount;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.repository.AccountRepository;
+import com.cgi.bank.account.repository.HotAccountRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the {@link HotAccountRegistry}.
+ */
+@DisplayName("Hot Account Registry Tests")
+class HotAccountRegistryTest {
+
+    private static final String ACCOUNT_ID = "account123";
+
+    private HotAccountRepository repository;
+    private AccountRepository accountRepository;
+    private LedgerProperties ledgerProperties;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(HotAccountRepository.class);
+        accountRepository = mock(AccountRepository.class);
+        when(accountRepository.existsById(ACCOUNT_ID)).thenReturn(true);
+        ledgerProperties = new LedgerProperties();
+        ledgerProperties.getHotAccounts().setEnabled(true);
+        ledgerProperties.getHotAccounts().setConflictThreshold(3);
+        ledgerProperties.getHotAccounts().setDefaultSlots(4);
+    }
+
+    @Test
+    @DisplayName("Flags an account after the conflict threshold is reached")
+    void flagsAccountAfterConflictThreshold() {
+        HotAccountRegistry registry = newRegistry();
+
+        registry.recordConflict(ACCOUNT_ID);
+        registry.recordConflict(ACCOUNT_ID);
+        assertThat(registry.isHot(ACCOUNT_ID)).isFalse();
+        registry.recordConflict(ACCOUNT_ID);
+
+        assertThat(registry.slotCount(ACCOUNT_ID)).isEqualTo(4);
+        ArgumentCaptor<HotAccount> stored = ArgumentCaptor.forClass(HotAccount.class);
+        verify(repository).save(stored.capture());
+        assertThat(stored.getValue().getSource()).isEqualTo(HotAccount.Source.DETECTED);
+    }
+
+    @Test
+    @DisplayName("Does not count conflicts when detection is disabled")
+    void ignoresConflictsWhenDetectionDisabled() {
+        ledgerProperties.getHotAccounts().setAutoDetect(false);
+        HotAccountRegistry registry = newRegistry();
+
+        for (int i = 0; i < 10; i++) {
+            registry.recordConflict(ACCOUNT_ID);
+        }
+
+        assertThat(registry.isHot(ACCOUNT_ID)).isFalse();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Slot count can be changed and removed at runtime")
+    void changesSlotCountAtRuntime() {
+        HotAccountRegistry registry = newRegistry();
+        registry.setSlots(ACCOUNT_ID, 16, HotAccount.Source.MANUAL);
+        assertThat(registry.slotCount(ACCOUNT_ID)).isEqualTo(16);
+
+        registry.setSlots(ACCOUNT_ID, 2, HotAccount.Source.MANUAL);
+        assertThat(registry.slotCount(ACCOUNT_ID)).isEqualTo(2);
+        assertThat(registry.pickSlot(ACCOUNT_ID)).isBetween(0, 1);
+
+        when(repository.findById(ACCOUNT_ID)).thenReturn(Optional.empty());
+        registry.remove(ACCOUNT_ID);
+        assertThat(registry.isHot(ACCOUNT_ID)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Rejects slot counts out of range and unknown accounts")
+    void rejectsInvalidSlotCounts() {
+        HotAccountRegistry registry = newRegistry();
+
+        assertThatThrownBy(() -> registry.setSlots(ACCOUNT_ID, 1, HotAccount.Source.MANUAL))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.setSlots(ACCOUNT_ID, 65, HotAccount.Source.MANUAL))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.setSlots("missing", 4, HotAccount.Source.MANUAL))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Refresh picks up slot counts stored by other instances")
+    void refreshLoadsStoredAccounts() {
+        HotAccountRegistry registry = newRegistry();
+        when(repository.findAll()).thenReturn(List.of(
+                new HotAccount(ACCOUNT_ID, 8, HotAccount.Source.MANUAL, Instant.now())));
+
+        registry.refresh();
+
+        assertThat(registry.slotCount(ACCOUNT_ID)).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Reports no slots while slot writes are disabled")
+    void reportsNoSlotsWhenDisabled() {
+        HotAccountRegistry registry = newRegistry();
+        registry.setSlots(ACCOUNT_ID, 8, HotAccount.Source.MANUAL);
+
+        ledgerProperties.getHotAccounts().setEnabled(false);
+
+        assertThat(registry.isHot(ACCOUNT_ID)).isFalse();
+    }
+
+    private HotAccountRegistry newRegistry() {
+        return new HotAccountRegistry(repository, accountRepository, ledgerProperties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,136 @@
+package com.cgi.bank.account.service.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.domain.Balance;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.exception.OptimisticLockingConflictException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the {@link OptimisticLockRetryExecutor}.
+ */
+@DisplayName("Optimistic Lock Retry Executor Tests")
+class OptimisticLockRetryExecutorTest {
+
+    private LedgerProperties ledgerProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ledgerProperties = new LedgerProperties();
+        ledgerProperties.getRetry().setMaxAttempts(3);
+        ledgerProperties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        ledgerProperties.getRetry().setMaxBackoff(Duration.ofMillis(2));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Retries a conflicting operation until it succeeds")
+    void retriesUntilSuccess() {
+        OptimisticLockRetryExecutor executor = new OptimisticLockRetryExecutor(ledgerProperties, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute("withdraw", failingTimes(2, calls));
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("ledger.optimistic.retry.attempts").tag("operation", "withdraw")
+                .counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Throws OptimisticLockingConflictException when attempts are exhausted")
+    void throwsWhenAttemptsExhausted() {
+        OptimisticLockRetryExecutor executor = new OptimisticLockRetryExecutor(ledgerProperties, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("exchange", failingTimes(5, calls)))
+                .isInstanceOf(OptimisticLockingConflictException.class)
+                .hasMessageContaining("exchange");
+
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("ledger.optimistic.retry.exhausted").tag("operation", "exchange")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Stops retrying once the time budget is spent")
+    void stopsWhenBudgetIsSpent() {
+        ledgerProperties.getRetry().setBudget(Duration.ZERO);
+        OptimisticLockRetryExecutor executor = new OptimisticLockRetryExecutor(ledgerProperties, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("withdraw", failingTimes(2, calls)))
+                .isInstanceOf(OptimisticLockingConflictException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Does not retry inside an existing transaction")
+    void doesNotRetryInsideExistingTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        OptimisticLockRetryExecutor executor = new OptimisticLockRetryExecutor(ledgerProperties, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("deposit", failingTimes(1, calls)))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Propagates business exceptions without retrying")
+    void propagatesBusinessExceptionsWithoutRetrying() {
+        OptimisticLockRetryExecutor executor = new OptimisticLockRetryExecutor(ledgerProperties, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("withdraw", () -> {
+            calls.incrementAndGet();
+            throw new InsufficientFundsException("account123", null, null, null);
+        })).isInstanceOf(InsufficientFundsException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Backoff stays between half and the full capped delay")
+    void backoffStaysWithinBounds() {
+        ledgerProperties.getRetry().setInitialBackoff(Duration.ofMillis(10));
+        ledgerProperties.getRetry().setMaxBackoff(Duration.ofMillis(30));
+        OptimisticLockRetryExecutor executor = new OptimisticLockRetryExecutor(ledgerProperties, meterRegistry);
+
+        assertThat(executor.backoffNanos(1))
+                .isBetween(Duration.ofMillis(5).toNanos(), Duration.ofMillis(10).toNanos());
+        assertThat(executor.backoffNanos(5))
+                .isBetween(Duration.ofMillis(15).toNanos(), Duration.ofMillis(30).toNanos());
+    }
+
+    private static Supplier<String> failingTimes(int failures, AtomicInteger calls) {
+        return () -> {
+            if (calls.incrementAndGet() <= failures) {
+                throw new ObjectOptimisticLockingFailureException(Balance.class, 1L);
+            }
+            return "ok";
+        };
+    }
+}
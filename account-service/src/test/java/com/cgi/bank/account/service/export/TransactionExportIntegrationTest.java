@@ -0,0 +1,97 @@
+package com.cgi.bank.account.service.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cgi.bank.account.domain.Account;
+import com.cgi.bank.account.integration.AbstractIntegrationTest;
+import com.cgi.bank.account.repository.AccountRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration test streaming a large transaction history from PostgreSQL.
+ * The export is written to a stream that only counts lines and keeps the first record, so the test itself
+ * holds no more than the service does.
+ */
+@Tag("integration")
+@Transactional
+class TransactionExportIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int HISTORY_SIZE = 100_000;
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(new Account());
+        entityManager.flush();
+        insertTransactionHistory(entityManager, account.getAccountId(), HISTORY_SIZE);
+    }
+
+    @Test
+    void streamsWholeHistoryOldestFirst() throws Exception {
+        LineCountingStream output = new LineCountingStream();
+
+        long rows = exportService.prepare(account.getAccountId(), ExportFormat.NDJSON).writeTo(output);
+
+        assertThat(rows).isEqualTo(HISTORY_SIZE);
+        assertThat(output.lines).isEqualTo(HISTORY_SIZE);
+        JsonNode first = objectMapper.readTree(output.firstLine.toString(StandardCharsets.UTF_8));
+        assertThat(first.get("accountId").asText()).isEqualTo(account.getAccountId());
+        // The oldest transaction is the one furthest in the past, i.e. the largest amount
+        assertThat(first.get("amount").decimalValue()).isEqualByComparingTo(String.valueOf(HISTORY_SIZE));
+        assertThat(first.get("timestamp").asText()).isEqualTo("2023-12-30T20:13:20.000+0000");
+    }
+
+    @Test
+    void writesCsvHeaderAndOneRecordPerTransaction() throws Exception {
+        LineCountingStream output = new LineCountingStream();
+
+        exportService.prepare(account.getAccountId(), ExportFormat.CSV).writeTo(output);
+
+        assertThat(output.lines).isEqualTo(HISTORY_SIZE + 1);
+        assertThat(output.firstLine.toString(StandardCharsets.UTF_8))
+                .isEqualTo("id,accountId,type,currency,amount,timestamp,transferId\r");
+    }
+
+    /**
+     * Counts the lines written to it and keeps the first one.
+     */
+    private static final class LineCountingStream extends OutputStream {
+
+        private final ByteArrayOutputStream firstLine = new ByteArrayOutputStream();
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            } else if (lines == 0) {
+                firstLine.write(b);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.cgi.bank.account.service.export;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.cgi.bank.account.config.TransactionExportProperties;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.repository.AccountRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for the {@link TransactionExportService}.
+ */
+@DisplayName("Transaction Export Service Tests")
+class TransactionExportServiceTest {
+
+    private static final String ACCOUNT_ID = "ACC123456";
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.of(2024, 5, 1, 12, 30, 15, 250_000_000,
+            ZoneOffset.ofHours(2));
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private AccountRepository accountRepository;
+    private PreparedStatement statement;
+    private TransactionExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        accountRepository = mock(AccountRepository.class);
+        when(accountRepository.existsById(anyString())).thenReturn(true);
+        statement = mock(PreparedStatement.class);
+        TransactionExportProperties properties = new TransactionExportProperties();
+        properties.setFetchSize(250);
+        exportService = new TransactionExportService(jdbcTemplate, transactionManager, accountRepository,
+                new ObjectMapper(), properties);
+    }
+
+    @Test
+    @DisplayName("Writes one JSON object per line")
+    void writesNdjson() throws Exception {
+        returnRows(row(1L, "DEPOSIT", "EUR", "100.0000", null),
+                row(2L, "TRANSFER_OUT", "EUR", "25.5000", "TRF-1"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = exportService.prepare(ACCOUNT_ID, ExportFormat.NDJSON).writeTo(output);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"accountId\":\"ACC123456\",\"type\":\"DEPOSIT\",\"currency\":\"EUR\","
+                        + "\"amount\":100.0000,\"timestamp\":\"2024-05-01T10:30:15.250+0000\",\"transferId\":null}\n"
+                        + "{\"id\":2,\"accountId\":\"ACC123456\",\"type\":\"TRANSFER_OUT\",\"currency\":\"EUR\","
+                        + "\"amount\":25.5000,\"timestamp\":\"2024-05-01T10:30:15.250+0000\","
+                        + "\"transferId\":\"TRF-1\"}\n");
+    }
+
+    @Test
+    @DisplayName("Writes a header row and one CRLF-terminated record per transaction")
+    void writesCsv() throws Exception {
+        returnRows(row(1L, "DEPOSIT", "EUR", "100.0000", null),
+                row(2L, "TRANSFER_OUT", "EUR", "25.5000", "TRF-1"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = exportService.prepare(ACCOUNT_ID, ExportFormat.CSV).writeTo(output);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,accountId,type,currency,amount,timestamp,transferId\r\n"
+                        + "1,ACC123456,DEPOSIT,EUR,100.0000,2024-05-01T10:30:15.250+0000,\r\n"
+                        + "2,ACC123456,TRANSFER_OUT,EUR,25.5000,2024-05-01T10:30:15.250+0000,TRF-1\r\n");
+    }
+
+    @Test
+    @DisplayName("Quotes CSV fields containing separators or quotes")
+    void quotesCsvFields() throws Exception {
+        returnRows(row(1L, "DEPOSIT", "EUR", "1.0000", "a,\"b\""));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.prepare(ACCOUNT_ID, ExportFormat.CSV).writeTo(output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).endsWith(",\"a,\"\"b\"\"\"\r\n");
+    }
+
+    @Test
+    @DisplayName("Writes only the CSV header for an account without transactions")
+    void writesHeaderForEmptyHistory() throws Exception {
+        returnRows();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = exportService.prepare(ACCOUNT_ID, ExportFormat.CSV).writeTo(output);
+
+        assertThat(rows).isZero();
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .isEqualTo("id,accountId,type,currency,amount,timestamp,transferId\r\n");
+    }
+
+    @Test
+    @DisplayName("Reads with the configured fetch size in a read-only transaction")
+    void readsWithCursorInReadOnlyTransaction() throws Exception {
+        returnRows(row(1L, "DEPOSIT", "EUR", "1.0000", null));
+
+        exportService.prepare(ACCOUNT_ID, ExportFormat.NDJSON).writeTo(new ByteArrayOutputStream());
+
+        verify(statement).setFetchSize(250);
+        verify(statement).setString(1, ACCOUNT_ID);
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Rejects an unknown account before anything is read")
+    void rejectsUnknownAccount() {
+        when(accountRepository.existsById("UNKNOWN")).thenReturn(false);
+
+        assertThatThrownBy(() -> exportService.prepare("UNKNOWN", ExportFormat.CSV))
+                .isInstanceOf(AccountNotFoundException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Resolves formats by case-insensitive name")
+    void resolvesFormats() {
+        assertThat(ExportFormat.of("csv")).isEqualTo(ExportFormat.CSV);
+        assertThat(ExportFormat.of("NDJSON")).isEqualTo(ExportFormat.NDJSON);
+        assertThatThrownBy(() -> ExportFormat.of("xml")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Makes the export query apply its statement settings and hand the given rows to the row handler.
+     */
+    private void returnRows(ResultSet... rows) {
+        doAnswer(invocation -> {
+            invocation.getArgument(1, PreparedStatementSetter.class).setValues(statement);
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (ResultSet row : List.of(rows)) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet row(long id, String type, String currency, String amount, String transferId)
+            throws SQLException {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("id")).thenReturn(id);
+        when(row.getString("type")).thenReturn(type);
+        when(row.getString("currency")).thenReturn(currency);
+        when(row.getBigDecimal("amount")).thenReturn(new BigDecimal(amount));
+        when(row.getObject("timestamp", OffsetDateTime.class)).thenReturn(TIMESTAMP);
+        when(row.getString("transfer_id")).thenReturn(transferId);
+        return row;
+    }
+}
@@ -0,0 +1,80 @@
+package com.cgi.bank.account.service.hold;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link HoldExpiryWheel}.
+ */
+@DisplayName("Hold Expiry Wheel Tests")
+class HoldExpiryWheelTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private HoldExpiryWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HoldExpiryWheel(Duration.ofSeconds(1), 16, START);
+    }
+
+    @Test
+    @DisplayName("Reports a hold once its expiry has passed, and only once")
+    void advanceReportsExpiredHold() {
+        wheel.schedule("hold-1", START.plusMillis(2500));
+
+        assertThat(wheel.advance(START.plusSeconds(2))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(3))).containsExactly("hold-1");
+        assertThat(wheel.advance(START.plusSeconds(4))).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Keeps holds more than one revolution ahead until their own tick")
+    void advanceSkipsHoldsOfLaterRevolutions() {
+        wheel.schedule("near", START.plusSeconds(5));
+        wheel.schedule("far", START.plusSeconds(5 + 16));
+
+        assertThat(wheel.advance(START.plusSeconds(5))).containsExactly("near");
+        assertThat(wheel.advance(START.plusSeconds(20))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(21))).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("Reports every overdue hold after a pause longer than one revolution")
+    void advanceAfterLongPauseReportsAllOverdueHolds() {
+        wheel.schedule("hold-1", START.plusSeconds(3));
+        wheel.schedule("hold-2", START.plusSeconds(40));
+        wheel.schedule("hold-3", START.plusSeconds(200));
+
+        assertThat(wheel.advance(START.plusSeconds(100))).containsExactlyInAnyOrder("hold-1", "hold-2");
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Does not report cancelled or rescheduled holds at their old expiry")
+    void cancelAndRescheduleRemoveOldSchedule() {
+        wheel.schedule("cancelled", START.plusSeconds(2));
+        wheel.schedule("moved", START.plusSeconds(2));
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        wheel.schedule("moved", START.plusSeconds(8));
+
+        assertThat(wheel.advance(START.plusSeconds(5))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(8))).containsExactly("moved");
+        assertThat(wheel.cancel("moved")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Reports a hold that has already expired on the next tick")
+    void scheduleInThePastIsDueOnNextTick() {
+        wheel.advance(START.plusSeconds(10));
+        wheel.schedule("late", START.plusSeconds(1));
+
+        assertThat(wheel.advance(START.plusSeconds(11))).containsExactly("late");
+    }
+}
@@ -0,0 +1,217 @@
+package com.cgi.bank.account.service.hold;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.cgi.bank.account.config.HoldProperties;
+import com.cgi.bank.account.controller.dto.HoldDTO;
+import com.cgi.bank.account.domain.Account;
+import com.cgi.bank.account.domain.Balance;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.Hold;
+import com.cgi.bank.account.domain.Transaction;
+import com.cgi.bank.account.domain.TransactionType;
+import com.cgi.bank.account.exception.HoldNotActiveException;
+import com.cgi.bank.account.exception.HoldNotFoundException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.repository.AccountRepository;
+import com.cgi.bank.account.repository.BalanceRepository;
+import com.cgi.bank.account.repository.HoldRepository;
+import com.cgi.bank.account.repository.TransactionRepository;
+import com.cgi.bank.account.service.cache.BalanceCache;
+import com.cgi.bank.account.service.concurrency.HotAccountRegistry;
+import com.cgi.bank.account.service.impl.BalanceSlotConsolidator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the {@link HoldService}.
+ * The service is left stopped, so the expiry wheel only moves when a test calls it.
+ */
+@DisplayName("Hold Service Tests")
+class HoldServiceTest {
+
+    private static final String ACCOUNT_ID = "account123";
+
+    private HoldRepository holdRepository;
+    private BalanceRepository balanceRepository;
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+    private HotAccountRegistry hotAccounts;
+    private BalanceSlotConsolidator slotConsolidator;
+    private BalanceCache balanceCache;
+    private Balance balance;
+    private HoldService service;
+
+    @BeforeEach
+    void setUp() {
+        holdRepository = mock(HoldRepository.class);
+        when(holdRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        balanceRepository = mock(BalanceRepository.class);
+        accountRepository = mock(AccountRepository.class);
+        when(accountRepository.existsById(ACCOUNT_ID)).thenReturn(true);
+        transactionRepository = mock(TransactionRepository.class);
+        hotAccounts = mock(HotAccountRegistry.class);
+        slotConsolidator = mock(BalanceSlotConsolidator.class);
+        balanceCache = mock(BalanceCache.class);
+
+        Account account = new Account();
+        account.setAccountId(ACCOUNT_ID);
+        balance = new Balance(account, Currency.EUR, new BigDecimal("100.00"));
+        when(balanceRepository.findAndLock(ACCOUNT_ID, Currency.EUR)).thenReturn(Optional.of(balance));
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        service = new HoldService(holdRepository, balanceRepository, accountRepository, transactionRepository,
+                hotAccounts, slotConsolidator, balanceCache, new HoldProperties(), transactionManager,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Placing a hold reserves the amount on the balance row")
+    void placeHoldReservesAmount() {
+        HoldDTO hold = service.placeHold(ACCOUNT_ID, Currency.EUR, new BigDecimal("30.00"), Duration.ofHours(1));
+
+        assertThat(hold.getStatus()).isEqualTo("ACTIVE");
+        assertThat(hold.getExpiresAt()).isAfter(hold.getCreatedAt());
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo("30.00");
+        assertThat(balance.getAvailableAmount()).isEqualByComparingTo("70.00");
+        verify(holdRepository).save(any(Hold.class));
+        verify(slotConsolidator, never()).consolidate(any(), any());
+        verify(balanceCache).mergeAfterCommit(ACCOUNT_ID, balance);
+    }
+
+    @Test
+    @DisplayName("Placing a hold on a hot account folds its slots into the balance row first")
+    void placeHoldConsolidatesHotAccount() {
+        when(hotAccounts.isHot(ACCOUNT_ID)).thenReturn(true);
+
+        service.placeHold(ACCOUNT_ID, Currency.EUR, new BigDecimal("30.00"), null);
+
+        verify(slotConsolidator).consolidate(ACCOUNT_ID, Currency.EUR);
+    }
+
+    @Test
+    @DisplayName("Placing a hold above the available amount fails without storing it")
+    void placeHoldFailsWhenAmountNotAvailable() {
+        balance.hold(new BigDecimal("80.00"));
+
+        assertThatThrownBy(() -> service.placeHold(ACCOUNT_ID, Currency.EUR, new BigDecimal("30.00"), null))
+                .isInstanceOf(InsufficientFundsException.class);
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Placing a hold with a time to live above the maximum fails")
+    void placeHoldRejectsTooLongTtl() {
+        assertThatThrownBy(() -> service.placeHold(ACCOUNT_ID, Currency.EUR, BigDecimal.TEN, Duration.ofDays(31)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(balanceRepository, never()).findAndLock(any(), any());
+    }
+
+    @Test
+    @DisplayName("Capturing part of a hold debits that part, records it and releases the rest")
+    void captureDebitsCapturedAmount() {
+        Hold hold = activeHold(new BigDecimal("30.00"), Instant.now().plusSeconds(60));
+
+        HoldDTO captured = service.capture(ACCOUNT_ID, hold.getHoldId(), new BigDecimal("20.00"));
+
+        assertThat(captured.getStatus()).isEqualTo("CAPTURED");
+        assertThat(captured.getCapturedAmount()).isEqualByComparingTo("20.00");
+        assertThat(balance.getAmount()).isEqualByComparingTo("80.00");
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo("0.00");
+        ArgumentCaptor<Transaction> transaction = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository).save(transaction.capture());
+        assertThat(transaction.getValue().getType()).isEqualTo(TransactionType.CAPTURE);
+        assertThat(transaction.getValue().getAmount()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    @DisplayName("Capturing a released hold fails without touching the balance")
+    void captureFailsWhenHoldNotActive() {
+        Hold hold = activeHold(new BigDecimal("30.00"), Instant.now().plusSeconds(60));
+        service.release(ACCOUNT_ID, hold.getHoldId());
+
+        assertThatThrownBy(() -> service.capture(ACCOUNT_ID, hold.getHoldId(), null))
+                .isInstanceOf(HoldNotActiveException.class);
+        assertThat(balance.getAmount()).isEqualByComparingTo("100.00");
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    @DisplayName("A hold is not found through another account")
+    void holdOfOtherAccountIsNotFound() {
+        Hold hold = activeHold(new BigDecimal("30.00"), Instant.now().plusSeconds(60));
+
+        assertThatThrownBy(() -> service.release("other-account", hold.getHoldId()))
+                .isInstanceOf(HoldNotFoundException.class);
+        assertThat(hold.isActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Expiry releases an overdue hold and leaves a hold that is not yet due")
+    void expireReleasesOnlyOverdueHolds() {
+        Hold overdue = activeHold(new BigDecimal("30.00"), Instant.now().minusSeconds(1));
+        Hold future = activeHold(new BigDecimal("20.00"), Instant.now().plusSeconds(60));
+
+        assertThat(service.expire(overdue.getHoldId())).isTrue();
+        assertThat(service.expire(future.getHoldId())).isFalse();
+
+        assertThat(overdue.getStatus()).isEqualTo(Hold.Status.EXPIRED);
+        assertThat(future.getStatus()).isEqualTo(Hold.Status.ACTIVE);
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo("20.00");
+        assertThat(balance.getAmount()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("Recovery does nothing while the service is stopped")
+    void recoveryIsIdleWhenStopped() {
+        service.recoverOverdue();
+
+        verify(holdRepository, never()).findActiveExpiringBefore(any(), any());
+    }
+
+    @Test
+    @DisplayName("Recovery expires the overdue holds it finds")
+    void recoveryExpiresOverdueHolds() {
+        Hold overdue = activeHold(new BigDecimal("30.00"), Instant.now().minusSeconds(600));
+        when(holdRepository.findActiveExpiringBefore(any(), any())).thenReturn(List.of(overdue));
+        service.start();
+        try {
+            service.recoverOverdue();
+        } finally {
+            service.stop();
+        }
+
+        assertThat(overdue.getStatus()).isEqualTo(Hold.Status.EXPIRED);
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo("0.00");
+    }
+
+    /**
+     * Holds the amount on the balance and makes the hold findable, as if it had been placed earlier.
+     */
+    private Hold activeHold(BigDecimal amount, Instant expiresAt) {
+        balance.hold(amount);
+        Hold hold = new Hold(ACCOUNT_ID, Currency.EUR, amount, Instant.now().minusSeconds(3600), expiresAt);
+        when(holdRepository.findAndLock(hold.getHoldId())).thenReturn(Optional.of(hold));
+        when(holdRepository.findById(hold.getHoldId())).thenReturn(Optional.of(hold));
+        return hold;
+    }
+}
@@ -0,0 +1,145 @@
+package com.cgi.bank.account.service.idempotency;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.cgi.bank.account.config.IdempotencyProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.IdempotencyRecord;
+import com.cgi.bank.account.exception.IdempotencyKeyInProgressException;
+import com.cgi.bank.account.integration.AbstractIntegrationTest;
+import com.cgi.bank.account.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Integration tests for claiming idempotency keys in PostgreSQL. Each {@link IdempotencyService} created here
+ * plays a separate instance: it shares the database but not the in-memory cache or in-flight requests.
+ */
+@Tag("integration")
+class IdempotencyServiceIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String FINGERPRINT =
+            IdempotencyService.fingerprint("deposit", "account123", new BigDecimal("50.00"), Currency.EUR);
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private IdempotencyProperties properties;
+    private AtomicInteger executions;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setClaimTimeout(Duration.ofMinutes(1));
+        executions = new AtomicInteger();
+        key = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void concurrentClaimsOnTwoInstancesExecuteOnce() throws Exception {
+        // Both instances look the key up before either inserts its claim
+        CyclicBarrier lookedUp = new CyclicBarrier(2);
+        IdempotencyRecordRepository racingRepository = mock(IdempotencyRecordRepository.class,
+                delegatesTo(repository));
+        doAnswer(invocation -> {
+            lookedUp.await(5, TimeUnit.SECONDS);
+            return repository.findById(invocation.getArgument(0));
+        }).when(racingRepository).findById(anyString());
+        IdempotencyService first = instance(racingRepository);
+        IdempotencyService second = instance(racingRepository);
+
+        List<CompletableFuture<AccountBalanceResponseDTO>> requests = List.of(
+                CompletableFuture.supplyAsync(() -> first.execute(key, FINGERPRINT, this::deposit)),
+                CompletableFuture.supplyAsync(() -> second.execute(key, FINGERPRINT, this::deposit)));
+
+        int succeeded = 0;
+        int conflicts = 0;
+        for (CompletableFuture<AccountBalanceResponseDTO> request : requests) {
+            try {
+                request.get(10, TimeUnit.SECONDS);
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertThat(e).hasCauseInstanceOf(IdempotencyKeyInProgressException.class);
+                conflicts++;
+            }
+        }
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(1);
+        assertThat(executions).hasValue(1);
+        assertThat(repository.findById(key).orElseThrow().getStatus())
+                .isEqualTo(IdempotencyRecord.Status.COMPLETED);
+    }
+
+    @Test
+    void completedKeyIsNotClaimedAgain() {
+        instance(repository).execute(key, FINGERPRINT, this::deposit);
+        Instant now = Instant.now();
+
+        assertThat(repository.insertClaim(key, FINGERPRINT, now, now.plus(Duration.ofHours(1)))).isZero();
+        assertThat(repository.takeOverClaim(key, FINGERPRINT, now, now.plus(Duration.ofHours(1)), now)).isZero();
+        assertThat(instance(repository).execute(key, FINGERPRINT, this::deposit).getAccountId())
+                .isEqualTo("account123");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void abandonedClaimIsTakenOverAfterClaimTimeout() {
+        Instant abandonedAt = Instant.now().minus(Duration.ofMinutes(5)).truncatedTo(ChronoUnit.MICROS);
+        repository.insertClaim(key, FINGERPRINT, abandonedAt, abandonedAt.plus(Duration.ofHours(24)));
+
+        AccountBalanceResponseDTO response = instance(repository).execute(key, FINGERPRINT, this::deposit);
+
+        assertThat(response.getAccountId()).isEqualTo("account123");
+        assertThat(executions).hasValue(1);
+        IdempotencyRecord stored = repository.findById(key).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(IdempotencyRecord.Status.COMPLETED);
+        assertThat(stored.getClaimedAt()).isAfter(abandonedAt);
+    }
+
+    @Test
+    void recentClaimIsNotTakenOver() {
+        Instant claimedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        repository.insertClaim(key, FINGERPRINT, claimedAt, claimedAt.plus(Duration.ofHours(24)));
+
+        assertThatThrownBy(() -> instance(repository).execute(key, FINGERPRINT, this::deposit))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    private IdempotencyService instance(IdempotencyRecordRepository instanceRepository) {
+        return new IdempotencyService(instanceRepository, properties, objectMapper, new SimpleMeterRegistry());
+    }
+
+    private AccountBalanceResponseDTO deposit() {
+        executions.incrementAndGet();
+        return new AccountBalanceResponseDTO("account123", List.of(new BalanceDTO("EUR", new BigDecimal("50.00"))));
+    }
+}
@@ -0,0 +1,272 @@
+package com.cgi.bank.account.service.idempotency;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.cgi.bank.account.config.IdempotencyProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.controller.dto.TransferResponseDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.IdempotencyRecord;
+import com.cgi.bank.account.exception.IdempotencyKeyInProgressException;
+import com.cgi.bank.account.exception.IdempotencyKeyReuseException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for the {@link IdempotencyService}.
+ */
+@DisplayName("Idempotency Service Tests")
+class IdempotencyServiceTest {
+
+    private static final String KEY = "key-1";
+    private static final String FINGERPRINT =
+            IdempotencyService.fingerprint("deposit", "account123", new BigDecimal("50.00"), Currency.EUR);
+
+    private IdempotencyRecordRepository repository;
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyService service;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        when(repository.insertClaim(anyString(), anyString(), any(), any())).thenReturn(1);
+        when(repository.complete(anyString(), any(), anyString())).thenReturn(1);
+        objectMapper = new ObjectMapper();
+        meterRegistry = new SimpleMeterRegistry();
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setInFlightTimeout(Duration.ofSeconds(5));
+        properties.setClaimTimeout(Duration.ofMinutes(1));
+        service = new IdempotencyService(repository, properties, objectMapper, meterRegistry);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Runs the operation without deduplication when no key is sent")
+    void runsWithoutKey() {
+        AccountBalanceResponseDTO response = service.execute(null, FINGERPRINT, this::deposit);
+
+        assertThat(response.getAccountId()).isEqualTo("account123");
+        assertThat(executions).hasValue(1);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Stores the response and replays it from the cache without executing again")
+    void replaysFromCache() {
+        AccountBalanceResponseDTO first = service.execute(KEY, FINGERPRINT, this::deposit);
+        AccountBalanceResponseDTO second = service.execute(KEY, FINGERPRINT, this::deposit);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(executions).hasValue(1);
+        verify(repository, times(1)).findById(KEY);
+        verify(repository).complete(eq(KEY), any(), anyString());
+        assertThat(requests("executed")).isEqualTo(1);
+        assertThat(requests("cache")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Replays a response stored by another instance")
+    void replaysFromDatabase() throws Exception {
+        IdempotencyRecord stored = new IdempotencyRecord(KEY, FINGERPRINT, Instant.now(),
+                Instant.now().plus(Duration.ofHours(1)));
+        stored.complete(objectMapper.writeValueAsString(response("75.00")));
+        when(repository.findById(KEY)).thenReturn(Optional.of(stored));
+
+        AccountBalanceResponseDTO response = service.execute(KEY, FINGERPRINT, this::deposit);
+
+        assertThat(response.getBalances().get(0).getAmount()).isEqualByComparingTo("75.00");
+        assertThat(executions).hasValue(0);
+        assertThat(requests("database")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Replays a stored transfer as the response type of the operation")
+    void replaysOtherResponseTypeFromDatabase() throws Exception {
+        String fingerprint = IdempotencyService.fingerprint("transfer", "account123", "account456",
+                new BigDecimal("40.00"), Currency.EUR, Currency.EUR);
+        TransferResponseDTO transfer = new TransferResponseDTO("transfer-1", "account123", "account456",
+                new BigDecimal("40.00"), "EUR", new BigDecimal("40.00"), "EUR",
+                List.of(new BalanceDTO("EUR", new BigDecimal("60.00"))));
+        IdempotencyRecord stored = new IdempotencyRecord(KEY, fingerprint, Instant.now(),
+                Instant.now().plus(Duration.ofHours(1)));
+        stored.complete(objectMapper.writeValueAsString(transfer));
+        when(repository.findById(KEY)).thenReturn(Optional.of(stored));
+
+        TransferResponseDTO first = service.execute(KEY, fingerprint, TransferResponseDTO.class, () -> {
+            executions.incrementAndGet();
+            return transfer;
+        });
+        TransferResponseDTO second = service.execute(KEY, fingerprint, TransferResponseDTO.class, () -> transfer);
+
+        assertThat(first).isEqualTo(transfer);
+        assertThat(second).isEqualTo(transfer);
+        assertThat(executions).hasValue(0);
+        assertThat(requests("cache")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Ignores an expired stored response and executes again")
+    void executesWhenStoredResponseExpired() throws Exception {
+        IdempotencyRecord stored = new IdempotencyRecord(KEY, FINGERPRINT, Instant.now().minus(Duration.ofDays(2)),
+                Instant.now().minus(Duration.ofDays(1)));
+        stored.complete(objectMapper.writeValueAsString(response("75.00")));
+        when(repository.findById(KEY)).thenReturn(Optional.of(stored));
+
+        service.execute(KEY, FINGERPRINT, this::deposit);
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Rejects a key reused for a different request")
+    void rejectsReusedKey() {
+        service.execute(KEY, FINGERPRINT, this::deposit);
+        String otherRequest =
+                IdempotencyService.fingerprint("deposit", "account123", new BigDecimal("60.00"), Currency.EUR);
+
+        assertThatThrownBy(() -> service.execute(KEY, otherRequest, this::deposit))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Returns 409 while another instance holds the key")
+    void rejectsKeyClaimedElsewhere() {
+        when(repository.findById(KEY)).thenReturn(Optional.of(new IdempotencyRecord(KEY, FINGERPRINT,
+                Instant.now(), Instant.now().plus(Duration.ofHours(1)))));
+
+        assertThatThrownBy(() -> service.execute(KEY, FINGERPRINT, this::deposit))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Returns 409 when another instance claims the key between the lookup and the insert")
+    void rejectsKeyClaimedConcurrently() {
+        when(repository.insertClaim(anyString(), anyString(), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.execute(KEY, FINGERPRINT, this::deposit))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Takes over a claim abandoned by another instance for the same request")
+    void takesOverAbandonedClaim() {
+        Instant claimedAt = Instant.now().minus(Duration.ofMinutes(5));
+        when(repository.findById(KEY)).thenReturn(Optional.of(new IdempotencyRecord(KEY, FINGERPRINT,
+                claimedAt, claimedAt.plus(Duration.ofHours(1)))));
+        when(repository.insertClaim(anyString(), anyString(), any(), any())).thenReturn(0);
+        when(repository.takeOverClaim(eq(KEY), eq(FINGERPRINT), any(), any(), any())).thenReturn(1);
+
+        service.execute(KEY, FINGERPRINT, this::deposit);
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Does not take over an abandoned claim for a different request")
+    void rejectsAbandonedClaimOfOtherRequest() {
+        Instant claimedAt = Instant.now().minus(Duration.ofMinutes(5));
+        String otherRequest =
+                IdempotencyService.fingerprint("deposit", "account123", new BigDecimal("60.00"), Currency.EUR);
+        when(repository.findById(KEY)).thenReturn(Optional.of(new IdempotencyRecord(KEY, otherRequest,
+                claimedAt, claimedAt.plus(Duration.ofHours(1)))));
+
+        assertThatThrownBy(() -> service.execute(KEY, FINGERPRINT, this::deposit))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Releases the key when the operation fails so the client can retry")
+    void releasesKeyOnFailure() {
+        assertThatThrownBy(() -> service.execute(KEY, FINGERPRINT, () -> {
+            throw new InsufficientFundsException("account123", Currency.EUR, BigDecimal.TEN, BigDecimal.ONE);
+        })).isInstanceOf(InsufficientFundsException.class);
+
+        verify(repository).releaseClaim(eq(KEY), any());
+        service.execute(KEY, FINGERPRINT, this::deposit);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Makes a concurrent duplicate wait for the in-flight request instead of executing twice")
+    void duplicateWaitsForInFlightRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<AccountBalanceResponseDTO> first = CompletableFuture.supplyAsync(
+                () -> service.execute(KEY, FINGERPRINT, () -> {
+                    started.countDown();
+                    await(release);
+                    return deposit();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<AccountBalanceResponseDTO> duplicate = CompletableFuture.supplyAsync(
+                () -> service.execute(KEY, FINGERPRINT, this::deposit));
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Treats amounts with different scales as the same request")
+    void fingerprintNormalizesAmounts() {
+        assertThat(IdempotencyService.fingerprint("deposit", "account123", new BigDecimal("50"), Currency.EUR))
+                .isEqualTo(FINGERPRINT)
+                .hasSize(64);
+        assertThat(IdempotencyService.fingerprint("withdraw", "account123", new BigDecimal("50"), Currency.EUR))
+                .isNotEqualTo(FINGERPRINT);
+    }
+
+    private AccountBalanceResponseDTO deposit() {
+        executions.incrementAndGet();
+        return response("50.00");
+    }
+
+    private static AccountBalanceResponseDTO response(String amount) {
+        return new AccountBalanceResponseDTO("account123", List.of(new BalanceDTO("EUR", new BigDecimal(amount))));
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.get("idempotency.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.cgi.bank.account.service.impl;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link AccountIdAllocator}.
+ */
+@DisplayName("Account ID Allocator Tests")
+class AccountIdAllocatorTest {
+
+    private final AccountIdAllocator allocator = new AccountIdAllocator();
+
+    @Test
+    @DisplayName("Allocates unique, ascending version 7 UUIDs within a block")
+    void allocatesAscendingBlock() {
+        List<String> accountIds = allocator.allocate(10_000);
+
+        assertThat(accountIds).hasSize(10_000).isSorted();
+        assertThat(new HashSet<>(accountIds)).hasSize(10_000);
+        UUID first = UUID.fromString(accountIds.get(0));
+        assertThat(first.version()).isEqualTo(7);
+        assertThat(first.variant()).isEqualTo(2);
+        assertThat(accountIds.get(0)).hasSize(36);
+    }
+
+    @Test
+    @DisplayName("Encodes the allocation time in the leading bits")
+    void encodesAllocationTime() {
+        long before = System.currentTimeMillis();
+        UUID accountId = UUID.fromString(allocator.allocate(1).get(0));
+        long after = System.currentTimeMillis();
+
+        assertThat(accountId.getMostSignificantBits() >>> 16).isBetween(before, after);
+    }
+
+    @Test
+    @DisplayName("Allocates different identifiers for different blocks")
+    void allocatesDistinctBlocks() {
+        List<String> first = allocator.allocate(1_000);
+        List<String> second = allocator.allocate(1_000);
+
+        assertThat(second).doesNotContainAnyElementsOf(first);
+    }
+}
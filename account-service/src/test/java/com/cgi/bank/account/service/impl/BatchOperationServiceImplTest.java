@@ -0,0 +1,257 @@
+package com.cgi.bank.account.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.controller.dto.AccountBalanceResponseDTO;
+import com.cgi.bank.account.controller.dto.BalanceDTO;
+import com.cgi.bank.account.controller.dto.BatchItemResultDTO;
+import com.cgi.bank.account.controller.dto.BatchMode;
+import com.cgi.bank.account.controller.dto.BatchOperationDTO;
+import com.cgi.bank.account.controller.dto.BatchResponseDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.Transaction;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.exception.MalformedBatchException;
+import com.cgi.bank.account.exception.UnsupportedLedgerOperationException;
+import com.cgi.bank.account.service.AccountService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Unit tests for the {@link BatchOperationServiceImpl}.
+ */
+@DisplayName("Batch Operation Service Tests")
+class BatchOperationServiceImplTest {
+
+    private AccountService accountService;
+    private AccountServiceImpl transactionalService;
+    private PlatformTransactionManager transactionManager;
+    private EntityManager entityManager;
+    private LedgerProperties ledgerProperties;
+    private BatchOperationServiceImpl batchService;
+
+    @BeforeEach
+    void setUp() {
+        accountService = mock(AccountService.class);
+        transactionalService = mock(AccountServiceImpl.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        entityManager = mock(EntityManager.class);
+        ledgerProperties = new LedgerProperties();
+        ledgerProperties.getBatch().setChunkSize(2);
+        batchService = new BatchOperationServiceImpl(accountService, transactionalService, transactionManager,
+                entityManager, ledgerProperties);
+
+        when(transactionalService.deposit(any(), any(), any())).thenAnswer(invocation -> response("100.00"));
+        when(transactionalService.withdraw(any(), any(), any())).thenAnswer(invocation -> response("50.00"));
+    }
+
+    @Test
+    @DisplayName("Applies an atomic batch in one transaction, flushing once per chunk")
+    void appliesAtomicBatch() {
+        BatchResponseDTO response = batchService.execute(BatchMode.ATOMIC,
+                List.of(deposit("acc1"), deposit("acc2"), withdraw("acc1")).iterator());
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BatchItemResultDTO::getStatus)
+                .containsOnly(BatchItemResultDTO.Status.SUCCEEDED);
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    @DisplayName("Rolls back an atomic batch at the first failure and skips the rest")
+    void rollsBackAtomicBatchOnFailure() {
+        when(transactionalService.withdraw(eq("acc2"), any(), any()))
+                .thenThrow(new InsufficientFundsException("acc2", Currency.EUR, BigDecimal.TEN, BigDecimal.ONE));
+
+        BatchResponseDTO response = batchService.execute(BatchMode.ATOMIC,
+                List.of(deposit("acc1"), withdraw("acc2"), deposit("acc3")).iterator());
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getSucceeded()).isZero();
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BatchItemResultDTO::getStatus).containsExactly(
+                BatchItemResultDTO.Status.ROLLED_BACK,
+                BatchItemResultDTO.Status.FAILED,
+                BatchItemResultDTO.Status.SKIPPED);
+        assertThat(response.getResults().get(1).getError()).contains("Insufficient funds");
+        verify(transactionalService, never()).deposit(eq("acc3"), any(), any());
+    }
+
+    @Test
+    @DisplayName("Reports a commit failure of an atomic batch")
+    void reportsAtomicCommitFailure() {
+        doThrow(new ObjectOptimisticLockingFailureException(Transaction.class, 1L))
+                .when(transactionManager).commit(any());
+
+        BatchResponseDTO response = batchService.execute(BatchMode.ATOMIC, List.of(deposit("acc1")).iterator());
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getError()).startsWith("Batch could not be committed");
+        assertThat(response.getResults()).extracting(BatchItemResultDTO::getStatus)
+                .containsExactly(BatchItemResultDTO.Status.ROLLED_BACK);
+    }
+
+    @Test
+    @DisplayName("Drops a failed operation from a best-effort chunk and commits the rest")
+    void dropsFailedOperationFromChunk() {
+        when(transactionalService.withdraw(eq("acc2"), any(), any()))
+                .thenThrow(new InsufficientFundsException("acc2", Currency.EUR, BigDecimal.TEN, BigDecimal.ONE));
+
+        BatchResponseDTO response = batchService.execute(BatchMode.BEST_EFFORT,
+                List.of(deposit("acc1"), withdraw("acc2"), deposit("acc3")).iterator());
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BatchItemResultDTO::getStatus).containsExactly(
+                BatchItemResultDTO.Status.SUCCEEDED,
+                BatchItemResultDTO.Status.FAILED,
+                BatchItemResultDTO.Status.SUCCEEDED);
+        // The first chunk is re-applied without the failed withdrawal
+        verify(transactionalService, times(2)).deposit(eq("acc1"), any(), any());
+        verify(accountService, never()).deposit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Falls back to one transaction per operation when a chunk cannot be committed")
+    void fallsBackWhenChunkCannotCommit() {
+        doThrow(new ObjectOptimisticLockingFailureException(Transaction.class, 1L))
+                .when(transactionManager).commit(any());
+        when(accountService.deposit(any(), any(), any())).thenAnswer(invocation -> response("100.00"));
+
+        BatchResponseDTO response = batchService.execute(BatchMode.BEST_EFFORT,
+                List.of(deposit("acc1"), deposit("acc2")).iterator());
+
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        verify(accountService).deposit(eq("acc1"), any(), any());
+        verify(accountService).deposit(eq("acc2"), any(), any());
+    }
+
+    @Test
+    @DisplayName("Fails an unreadable or incomplete operation without stopping the batch")
+    void failsInvalidOperation() {
+        List<BatchOperationDTO> operations = new ArrayList<>();
+        operations.add(null);
+        operations.add(new BatchOperationDTO(BatchOperationDTO.Type.DEPOSIT, "acc1", BigDecimal.ONE, null, null,
+                null));
+        operations.add(deposit("acc2"));
+        Iterator<BatchOperationDTO> iterator = failingOnNull(operations.iterator());
+
+        BatchResponseDTO response = batchService.execute(BatchMode.BEST_EFFORT, iterator);
+
+        assertThat(response.getResults()).extracting(BatchItemResultDTO::getStatus).containsExactly(
+                BatchItemResultDTO.Status.FAILED,
+                BatchItemResultDTO.Status.FAILED,
+                BatchItemResultDTO.Status.SUCCEEDED);
+        assertThat(response.getResults().get(0).getError()).isEqualTo("Invalid operation");
+        assertThat(response.getResults().get(1).getError()).isEqualTo("Currency is required");
+    }
+
+    @Test
+    @DisplayName("Rolls back an atomic batch whose body cannot be read to the end")
+    void rollsBackOnMalformedBody() {
+        Iterator<BatchOperationDTO> operations = List.of(deposit("acc1")).iterator();
+        Iterator<BatchOperationDTO> truncated = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if (!operations.hasNext()) {
+                    throw new MalformedBatchException("Batch request body ended before the closing bracket");
+                }
+                return true;
+            }
+
+            @Override
+            public BatchOperationDTO next() {
+                return operations.next();
+            }
+        };
+
+        BatchResponseDTO response = batchService.execute(BatchMode.ATOMIC, truncated);
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getError()).contains("closing bracket");
+        assertThat(response.getResults()).extracting(BatchItemResultDTO::getStatus)
+                .containsExactly(BatchItemResultDTO.Status.ROLLED_BACK);
+    }
+
+    @Test
+    @DisplayName("Rejects batches larger than the configured maximum")
+    void rejectsOversizedBatch() {
+        ledgerProperties.getBatch().setMaxOperations(2);
+
+        BatchResponseDTO response = batchService.execute(BatchMode.BEST_EFFORT,
+                List.of(deposit("acc1"), deposit("acc2"), deposit("acc3")).iterator());
+
+        assertThat(response.getError()).isEqualTo("Batch exceeds the maximum of 2 operations");
+        assertThat(response.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Rejects atomic batches on the in-memory engine")
+    void rejectsAtomicBatchOnInMemoryEngine() {
+        ledgerProperties.setEngine(LedgerProperties.Engine.IN_MEMORY);
+
+        assertThatThrownBy(() -> batchService.execute(BatchMode.ATOMIC, List.of(deposit("acc1")).iterator()))
+                .isInstanceOf(UnsupportedLedgerOperationException.class);
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    private static BatchOperationDTO deposit(String accountId) {
+        return new BatchOperationDTO(BatchOperationDTO.Type.DEPOSIT, accountId, new BigDecimal("100.00"),
+                Currency.EUR, null, null);
+    }
+
+    private static BatchOperationDTO withdraw(String accountId) {
+        return new BatchOperationDTO(BatchOperationDTO.Type.WITHDRAW, accountId, new BigDecimal("50.00"),
+                Currency.EUR, null, null);
+    }
+
+    private static AccountBalanceResponseDTO response(String amount) {
+        return new AccountBalanceResponseDTO("acc", List.of(new BalanceDTO("EUR", new BigDecimal(amount))));
+    }
+
+    /**
+     * Mimics the request reader, which throws for elements that cannot be bound to an operation.
+     */
+    private static Iterator<BatchOperationDTO> failingOnNull(Iterator<BatchOperationDTO> delegate) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public BatchOperationDTO next() {
+                BatchOperationDTO operation = delegate.next();
+                if (operation == null) {
+                    throw new IllegalArgumentException("Invalid operation");
+                }
+                return operation;
+            }
+        };
+    }
+}
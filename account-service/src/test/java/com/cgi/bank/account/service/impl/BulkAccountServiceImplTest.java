@@ -0,0 +1,152 @@
+package com.cgi.bank.account.service.impl;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.controller.dto.BulkCreateAccountsRequestDTO;
+import com.cgi.bank.account.controller.dto.BulkCreateAccountsResponseDTO;
+import com.cgi.bank.account.controller.dto.CreatedAccountDTO;
+import com.cgi.bank.account.controller.dto.OpeningBalanceDTO;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.ledger.InMemoryLedgerService;
+
+/**
+ * Unit tests for the {@link BulkAccountServiceImpl}.
+ */
+@DisplayName("Bulk Account Service Tests")
+class BulkAccountServiceImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private ObjectProvider<InMemoryLedgerService> inMemoryLedger;
+    private LedgerProperties ledgerProperties;
+    private BulkAccountServiceImpl bulkAccountService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        inMemoryLedger = mock(ObjectProvider.class);
+        ledgerProperties = new LedgerProperties();
+        ledgerProperties.getBatch().setChunkSize(100);
+        bulkAccountService = new BulkAccountServiceImpl(jdbcTemplate, transactionManager, new AccountIdAllocator(),
+                inMemoryLedger, ledgerProperties);
+    }
+
+    @Test
+    @DisplayName("Creates the requested number of accounts with batched inserts in one transaction")
+    void createsAccountsByCount() {
+        BulkCreateAccountsResponseDTO response = bulkAccountService.createAccounts(
+                new BulkCreateAccountsRequestDTO(250, null, null));
+
+        assertThat(response.getCreated()).isEqualTo(250);
+        assertThat(response.getAccounts()).hasSize(250)
+                .allSatisfy(account -> assertThat(account.getReference()).isNull());
+        assertThat(response.getOpeningBalances()).isEmpty();
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO accounts (account_id, version) VALUES (?, 0)"),
+                anyList(), eq(100), any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Returns one account per reference, in reference order")
+    void createsAccountsByReference() {
+        BulkCreateAccountsResponseDTO response = bulkAccountService.createAccounts(
+                new BulkCreateAccountsRequestDTO(null, List.of("customer-1", "customer-2"), null));
+
+        assertThat(response.getAccounts()).extracting(CreatedAccountDTO::getReference)
+                .containsExactly("customer-1", "customer-2");
+        assertThat(response.getAccounts()).extracting(CreatedAccountDTO::getAccountId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Inserts a balance and a deposit transaction per account for each opening balance")
+    void seedsOpeningBalances() {
+        BulkCreateAccountsResponseDTO response = bulkAccountService.createAccounts(
+                new BulkCreateAccountsRequestDTO(10, null, List.of(
+                        new OpeningBalanceDTO(Currency.EUR, new BigDecimal("100.00")),
+                        new OpeningBalanceDTO(Currency.USD, new BigDecimal("50.00")))));
+
+        assertThat(response.getOpeningBalances()).hasSize(2);
+        verify(jdbcTemplate, times(2)).batchUpdate(
+                eq("INSERT INTO balances (account_id, currency, amount, version) VALUES (?, ?, ?, 0)"),
+                anyList(), eq(100), any());
+        verify(jdbcTemplate, times(2)).batchUpdate(
+                eq("INSERT INTO transactions (account_id, type, currency, amount, timestamp) VALUES (?, ?, ?, ?, ?)"),
+                anyList(), eq(100), any());
+    }
+
+    @Test
+    @DisplayName("Leaves opening balances to the in-memory engine when it is enabled")
+    void opensAccountsInMemoryLedger() {
+        InMemoryLedgerService ledger = mock(InMemoryLedgerService.class);
+        when(inMemoryLedger.getIfAvailable()).thenReturn(ledger);
+
+        BulkCreateAccountsResponseDTO response = bulkAccountService.createAccounts(
+                new BulkCreateAccountsRequestDTO(3, null, List.of(
+                        new OpeningBalanceDTO(Currency.EUR, new BigDecimal("100.00")))));
+
+        verify(ledger).openAccounts(
+                response.getAccounts().stream().map(CreatedAccountDTO::getAccountId).toList(),
+                Map.of(Currency.EUR, new BigDecimal("100.00")));
+        verify(jdbcTemplate, never()).batchUpdate(
+                eq("INSERT INTO balances (account_id, currency, amount, version) VALUES (?, ?, ?, 0)"),
+                anyList(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Rejects requests with both or neither of count and references")
+    void rejectsAmbiguousRequest() {
+        assertThatThrownBy(() -> bulkAccountService.createAccounts(
+                new BulkCreateAccountsRequestDTO(2, List.of("customer-1"), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bulkAccountService.createAccounts(new BulkCreateAccountsRequestDTO()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Rejects duplicate references and opening balances")
+    void rejectsDuplicates() {
+        assertThatThrownBy(() -> bulkAccountService.createAccounts(
+                new BulkCreateAccountsRequestDTO(null, List.of("customer-1", "customer-1"), null)))
+                .hasMessage("References must be unique");
+        assertThatThrownBy(() -> bulkAccountService.createAccounts(
+                new BulkCreateAccountsRequestDTO(1, null, List.of(
+                        new OpeningBalanceDTO(Currency.EUR, BigDecimal.ONE),
+                        new OpeningBalanceDTO(Currency.EUR, BigDecimal.TEN)))))
+                .hasMessage("Only one opening balance per currency is allowed");
+    }
+
+    @Test
+    @DisplayName("Rejects requests above the configured maximum")
+    void rejectsTooManyAccounts() {
+        ledgerProperties.getBatch().setMaxAccounts(5);
+
+        assertThatThrownBy(() -> bulkAccountService.createAccounts(new BulkCreateAccountsRequestDTO(6, null, null)))
+                .hasMessage("At most 5 accounts can be created per request");
+    }
+}
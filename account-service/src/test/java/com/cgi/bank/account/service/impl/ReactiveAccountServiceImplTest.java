@@ -0,0 +1,219 @@
+package com.cgi.bank.account.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.cgi.bank.account.config.LedgerProperties;
+import com.cgi.bank.account.domain.Currency;
+import com.cgi.bank.account.domain.TransactionType;
+import com.cgi.bank.account.exception.AccountNotFoundException;
+import com.cgi.bank.account.exception.BalanceNotFoundException;
+import com.cgi.bank.account.exception.InsufficientFundsException;
+import com.cgi.bank.account.exception.OptimisticLockingConflictException;
+import com.cgi.bank.account.integration.NotificationClient;
+import com.cgi.bank.account.repository.reactive.AccountRow;
+import com.cgi.bank.account.repository.reactive.BalanceRow;
+import com.cgi.bank.account.repository.reactive.ReactiveAccountRepository;
+import com.cgi.bank.account.repository.reactive.ReactiveBalanceRepository;
+import com.cgi.bank.account.repository.reactive.ReactiveTransactionRepository;
+import com.cgi.bank.account.repository.reactive.TransactionRow;
+import com.cgi.bank.account.service.CurrencyExchangeService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for the {@link ReactiveAccountServiceImpl}.
+ * Every call to the balance repository returns freshly loaded rows, as R2DBC does, so retried attempts start
+ * from the stored state.
+ */
+@DisplayName("Reactive Account Service Tests")
+class ReactiveAccountServiceImplTest {
+
+    private static final String ACCOUNT_ID = "account123";
+
+    private ReactiveAccountRepository accountRepository;
+    private ReactiveBalanceRepository balanceRepository;
+    private ReactiveTransactionRepository transactionRepository;
+    private CurrencyExchangeService currencyExchangeService;
+    private NotificationClient notificationClient;
+    private LedgerProperties ledgerProperties;
+    private ReactiveAccountServiceImpl accountService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        accountRepository = mock(ReactiveAccountRepository.class);
+        balanceRepository = mock(ReactiveBalanceRepository.class);
+        transactionRepository = mock(ReactiveTransactionRepository.class);
+        currencyExchangeService = mock(CurrencyExchangeService.class);
+        notificationClient = mock(NotificationClient.class);
+        TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ledgerProperties = new LedgerProperties();
+        ledgerProperties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        ledgerProperties.getRetry().setMaxBackoff(Duration.ofMillis(5));
+
+        when(accountRepository.findById(ACCOUNT_ID))
+                .thenAnswer(invocation -> Mono.just(new AccountRow(ACCOUNT_ID, 3L)));
+        when(accountRepository.save(any(AccountRow.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(balanceRepository.save(any(BalanceRow.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(transactionRepository.save(any(TransactionRow.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        accountService = new ReactiveAccountServiceImpl(accountRepository, balanceRepository, transactionRepository,
+                currencyExchangeService, notificationClient, transactionalOperator, ledgerProperties);
+    }
+
+    @Test
+    @DisplayName("Reading the balances of an unknown account fails with AccountNotFoundException")
+    void getAccountBalances_unknownAccount() {
+        when(accountRepository.findById("missing")).thenReturn(Mono.empty());
+
+        StepVerifier.create(accountService.getAccountBalances("missing"))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("A deposit to an existing balance updates only that row and records the transaction")
+    void deposit_existingBalance() {
+        storedBalances(new BalanceRow(1L, ACCOUNT_ID, Currency.EUR, new BigDecimal("100.00"), BigDecimal.ZERO, 0L));
+
+        StepVerifier.create(accountService.deposit(ACCOUNT_ID, new BigDecimal("50.00"), Currency.EUR))
+                .assertNext(response -> {
+                    assertThat(response.getBalances()).hasSize(1);
+                    assertThat(response.getBalances().get(0).getAmount()).isEqualByComparingTo("150.00");
+                })
+                .verifyComplete();
+
+        verify(accountRepository, never()).save(any());
+        ArgumentCaptor<TransactionRow> transaction = ArgumentCaptor.forClass(TransactionRow.class);
+        verify(transactionRepository).save(transaction.capture());
+        assertThat(transaction.getValue().getType()).isEqualTo(TransactionType.DEPOSIT);
+        verify(notificationClient).sendDepositNotification(ACCOUNT_ID, "50.00", "EUR");
+    }
+
+    @Test
+    @DisplayName("A deposit in a new currency opens the balance and bumps the account version")
+    void deposit_newCurrency() {
+        storedBalances(new BalanceRow(1L, ACCOUNT_ID, Currency.USD, new BigDecimal("10.00"), BigDecimal.ZERO, 0L));
+
+        StepVerifier.create(accountService.deposit(ACCOUNT_ID, new BigDecimal("5.00"), Currency.EUR))
+                .assertNext(response -> assertThat(response.getBalances())
+                        .extracting("currency")
+                        .containsExactly("EUR", "USD"))
+                .verifyComplete();
+
+        verify(accountRepository).save(any(AccountRow.class));
+        ArgumentCaptor<BalanceRow> saved = ArgumentCaptor.forClass(BalanceRow.class);
+        verify(balanceRepository).save(saved.capture());
+        assertThat(saved.getValue().getVersion()).isNull();
+        assertThat(saved.getValue().getAmount()).isEqualByComparingTo("5.00");
+    }
+
+    @Test
+    @DisplayName("A withdrawal exceeding the balance fails with InsufficientFundsException and writes nothing")
+    void withdraw_insufficientFunds() {
+        storedBalances(new BalanceRow(1L, ACCOUNT_ID, Currency.EUR, new BigDecimal("20.00"), BigDecimal.ZERO, 0L));
+
+        StepVerifier.create(accountService.withdraw(ACCOUNT_ID, new BigDecimal("20.01"), Currency.EUR))
+                .expectError(InsufficientFundsException.class)
+                .verify();
+
+        verify(balanceRepository, never()).save(any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("A withdrawal in a currency the account does not hold fails with BalanceNotFoundException")
+    void withdraw_missingBalance() {
+        storedBalances();
+
+        StepVerifier.create(accountService.withdraw(ACCOUNT_ID, BigDecimal.ONE, Currency.SEK))
+                .expectError(BalanceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("An exchange saves both balances and records both legs")
+    void exchange_savesBothLegs() {
+        storedBalances(new BalanceRow(1L, ACCOUNT_ID, Currency.EUR, new BigDecimal("100.00"), BigDecimal.ZERO, 0L),
+                new BalanceRow(2L, ACCOUNT_ID, Currency.USD, new BigDecimal("0.00"), BigDecimal.ZERO, 0L));
+        when(currencyExchangeService.calculateExchange(Currency.EUR, Currency.USD, new BigDecimal("50.00")))
+                .thenReturn(new BigDecimal("54.00"));
+
+        StepVerifier.create(accountService.exchange(ACCOUNT_ID, Currency.EUR, Currency.USD, new BigDecimal("50.00")))
+                .assertNext(response -> assertThat(response.getBalances())
+                        .extracting("amount")
+                        .usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                        .containsExactly(new BigDecimal("50.00"), new BigDecimal("54.00")))
+                .verifyComplete();
+
+        verify(balanceRepository, times(2)).save(any(BalanceRow.class));
+        verify(transactionRepository, times(2)).save(any(TransactionRow.class));
+    }
+
+    @Test
+    @DisplayName("A conflicting save is retried from freshly loaded rows")
+    void conflict_retriedAndSucceeds() {
+        storedBalances(new BalanceRow(1L, ACCOUNT_ID, Currency.EUR, new BigDecimal("100.00"), BigDecimal.ZERO, 0L));
+        AtomicInteger saves = new AtomicInteger();
+        when(balanceRepository.save(any(BalanceRow.class))).thenAnswer(invocation -> saves.getAndIncrement() == 0
+                ? Mono.error(new OptimisticLockingFailureException("stale balance"))
+                : Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(accountService.withdraw(ACCOUNT_ID, new BigDecimal("30.00"), Currency.EUR))
+                .assertNext(response -> assertThat(response.getBalances().get(0).getAmount())
+                        .isEqualByComparingTo("70.00"))
+                .verifyComplete();
+
+        verify(accountRepository, times(2)).findById(ACCOUNT_ID);
+        verify(transactionRepository, times(1)).save(any(TransactionRow.class));
+    }
+
+    @Test
+    @DisplayName("A conflict that outlasts the retry policy fails with OptimisticLockingConflictException")
+    void conflict_exhausted() {
+        storedBalances(new BalanceRow(1L, ACCOUNT_ID, Currency.EUR, new BigDecimal("100.00"), BigDecimal.ZERO, 0L));
+        when(balanceRepository.save(any(BalanceRow.class)))
+                .thenAnswer(invocation -> Mono.error(new OptimisticLockingFailureException("stale balance")));
+
+        StepVerifier.create(accountService.withdraw(ACCOUNT_ID, new BigDecimal("30.00"), Currency.EUR))
+                .expectError(OptimisticLockingConflictException.class)
+                .verify();
+
+        verify(accountRepository, times(ledgerProperties.getRetry().getMaxAttempts())).findById(ACCOUNT_ID);
+        verify(transactionRepository, never()).save(any());
+    }
+
+    /**
+     * Makes the balance repository return copies of the given rows on every load.
+     */
+    private void storedBalances(BalanceRow... rows) {
+        when(balanceRepository.findByAccountIdOrderByCurrency(anyString()))
+                .thenAnswer(invocation -> Flux.fromArray(rows)
+                        .map(row -> new BalanceRow(row.getId(), row.getAccountId(), row.getCurrency(),
+                                row.getAmount(), row.getHeldAmount(), row.getVersion())));
+    }
+}
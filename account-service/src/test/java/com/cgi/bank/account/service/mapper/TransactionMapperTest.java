@@ -147,6 +147,17 @@ class TransactionMapperTest {
         assertThat(description).isEqualTo("Exchange to 110 USD");
     }
     
+    @Test
+    void generateDescription_shouldReturnTransferDescriptions_forTransferTransactions() {
+        Transaction sent = Transaction.createTransferOut(account, Currency.EUR, BigDecimal.valueOf(40), "transfer-1");
+        Transaction received = Transaction.createTransferIn(account, Currency.SEK, BigDecimal.valueOf(440),
+                "transfer-1");
+        
+        assertThat(transactionMapper.generateDescription(sent)).isEqualTo("Transfer of 40 EUR sent");
+        assertThat(transactionMapper.generateDescription(received)).isEqualTo("Transfer of 440 SEK received");
+        assertThat(transactionMapper.toTransactionResponseDTO(received).getTransferId()).isEqualTo("transfer-1");
+    }
+    
     @Test
     void generateDescription_shouldReturnGenericDescription_forUnknownTransactionType() {
         Transaction transaction = new Transaction();